@@ -202,6 +202,18 @@ public class ConfigNodeConfig {
   /** Whether to enable auto leader balance for IoTConsensus protocol. */
   private boolean enableAutoLeaderBalanceForIoTConsensus = true;
 
+  /** Whether and how to migrate hot DataRegions off overloaded DataNodes. */
+  private RegionBalancer.RegionLoadBalanceMode regionLoadBalanceMode =
+      RegionBalancer.RegionLoadBalanceMode.NONE;
+
+  /** The interval between two rounds of load-aware DataRegion rebalancing. */
+  private long regionLoadBalanceIntervalInMs = 600000;
+
+  /**
+   * A DataNode is considered overloaded when its load exceeds the cluster average by this ratio.
+   */
+  private double regionLoadBalanceThreshold = 1.5;
+
   /** The route priority policy of cluster read/write requests. */
   private String routePriorityPolicy = IPriorityBalancer.LEADER_POLICY;
 
@@ -302,6 +314,11 @@ public class ConfigNodeConfig {
   private long schemaRegionRatisPeriodicSnapshotInterval = 60 * 60 * 24L; // 24h
   private long dataRegionRatisPeriodicSnapshotInterval = 60 * 60 * 24L; // 24h
 
+  /** Whether the Ratis leader serves linearizable reads locally while its lease is valid. */
+  private boolean configNodeRatisLeaderLeaseEnabled = false;
+
+  private boolean schemaRegionRatisLeaderLeaseEnabled = false;
+
   /** The getOrCreatePartitionTable interface will log new created Partition if set true. */
   private boolean isEnablePrintingNewlyCreatedPartition = false;
 
@@ -683,6 +700,30 @@ public class ConfigNodeConfig {
     this.enableAutoLeaderBalanceForIoTConsensus = enableAutoLeaderBalanceForIoTConsensus;
   }
 
+  public RegionBalancer.RegionLoadBalanceMode getRegionLoadBalanceMode() {
+    return regionLoadBalanceMode;
+  }
+
+  public void setRegionLoadBalanceMode(RegionBalancer.RegionLoadBalanceMode regionLoadBalanceMode) {
+    this.regionLoadBalanceMode = regionLoadBalanceMode;
+  }
+
+  public long getRegionLoadBalanceIntervalInMs() {
+    return regionLoadBalanceIntervalInMs;
+  }
+
+  public void setRegionLoadBalanceIntervalInMs(long regionLoadBalanceIntervalInMs) {
+    this.regionLoadBalanceIntervalInMs = regionLoadBalanceIntervalInMs;
+  }
+
+  public double getRegionLoadBalanceThreshold() {
+    return regionLoadBalanceThreshold;
+  }
+
+  public void setRegionLoadBalanceThreshold(double regionLoadBalanceThreshold) {
+    this.regionLoadBalanceThreshold = regionLoadBalanceThreshold;
+  }
+
   public String getRoutePriorityPolicy() {
     return routePriorityPolicy;
   }
@@ -1198,6 +1239,22 @@ public class ConfigNodeConfig {
     this.dataRegionRatisPeriodicSnapshotInterval = dataRegionRatisPeriodicSnapshotInterval;
   }
 
+  public boolean isConfigNodeRatisLeaderLeaseEnabled() {
+    return configNodeRatisLeaderLeaseEnabled;
+  }
+
+  public void setConfigNodeRatisLeaderLeaseEnabled(boolean configNodeRatisLeaderLeaseEnabled) {
+    this.configNodeRatisLeaderLeaseEnabled = configNodeRatisLeaderLeaseEnabled;
+  }
+
+  public boolean isSchemaRegionRatisLeaderLeaseEnabled() {
+    return schemaRegionRatisLeaderLeaseEnabled;
+  }
+
+  public void setSchemaRegionRatisLeaderLeaseEnabled(boolean schemaRegionRatisLeaderLeaseEnabled) {
+    this.schemaRegionRatisLeaderLeaseEnabled = schemaRegionRatisLeaderLeaseEnabled;
+  }
+
   public TConfigNodeLocation generateLocalConfigNodeLocationWithSpecifiedNodeId(int configNodeId) {
     return new TConfigNodeLocation(
         configNodeId,
@@ -338,6 +338,28 @@ public class ConfigNodeDescriptor {
                 "enable_auto_leader_balance_for_iot_consensus",
                 String.valueOf(conf.isEnableAutoLeaderBalanceForIoTConsensus()))));
 
+    try {
+      conf.setRegionLoadBalanceMode(
+          RegionBalancer.RegionLoadBalanceMode.valueOf(
+              properties
+                  .getProperty("region_load_balance_mode", conf.getRegionLoadBalanceMode().name())
+                  .trim()));
+    } catch (IllegalArgumentException e) {
+      throw new IOException(e);
+    }
+
+    conf.setRegionLoadBalanceIntervalInMs(
+        Long.parseLong(
+            properties.getProperty(
+                "region_load_balance_interval_in_ms",
+                String.valueOf(conf.getRegionLoadBalanceIntervalInMs()))));
+
+    conf.setRegionLoadBalanceThreshold(
+        Double.parseDouble(
+            properties.getProperty(
+                "region_load_balance_threshold",
+                String.valueOf(conf.getRegionLoadBalanceThreshold()))));
+
     String routePriorityPolicy =
         properties.getProperty("route_priority_policy", conf.getRoutePriorityPolicy());
     if (IPriorityBalancer.GREEDY_POLICY.equals(routePriorityPolicy)
@@ -686,6 +708,18 @@ public class ConfigNodeDescriptor {
                 "data_region_ratis_periodic_snapshot_interval",
                 String.valueOf(conf.getDataRegionRatisPeriodicSnapshotInterval()))));
 
+    conf.setConfigNodeRatisLeaderLeaseEnabled(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "config_node_ratis_leader_lease_enabled",
+                String.valueOf(conf.isConfigNodeRatisLeaderLeaseEnabled()))));
+
+    conf.setSchemaRegionRatisLeaderLeaseEnabled(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "schema_region_ratis_leader_lease_enabled",
+                String.valueOf(conf.isSchemaRegionRatisLeaderLeaseEnabled()))));
+
     conf.setEnablePrintingNewlyCreatedPartition(
         Boolean.parseBoolean(
             properties.getProperty(
@@ -222,6 +222,8 @@ public class ConsensusManager {
                                       .build())
                               .setRead(
                                   RatisConfig.Read.newBuilder()
+                                      .setLeaderLeaseEnabled(
+                                          CONF.isConfigNodeRatisLeaderLeaseEnabled())
                                       // use thrift connection timeout to unify read timeout
                                       .setReadTimeout(
                                           TimeDuration.valueOf(
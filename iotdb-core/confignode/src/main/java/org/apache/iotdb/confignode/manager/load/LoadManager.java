@@ -43,6 +43,7 @@ import org.apache.iotdb.confignode.manager.load.cache.node.NodeHeartbeatSample;
 import org.apache.iotdb.confignode.manager.load.cache.region.RegionHeartbeatSample;
 import org.apache.iotdb.confignode.manager.load.service.EventService;
 import org.apache.iotdb.confignode.manager.load.service.HeartbeatService;
+import org.apache.iotdb.confignode.manager.load.service.RegionLoadBalanceService;
 import org.apache.iotdb.confignode.manager.load.service.StatisticsService;
 import org.apache.iotdb.confignode.manager.load.service.TopologyService;
 import org.apache.iotdb.confignode.manager.partition.RegionGroupStatus;
@@ -74,6 +75,7 @@ public class LoadManager {
   private final StatisticsService statisticsService;
   private final EventService eventService;
   private final TopologyService topologyService;
+  private final RegionLoadBalanceService regionLoadBalanceService;
 
   public LoadManager(IManager configManager) {
     this.configManager = configManager;
@@ -87,6 +89,7 @@ public class LoadManager {
     this.statisticsService = new StatisticsService(loadCache);
     this.topologyService = new TopologyService(configManager, loadCache::updateTopology);
     this.eventService = new EventService(loadCache);
+    this.regionLoadBalanceService = new RegionLoadBalanceService(configManager, loadCache);
     this.eventService.register(configManager.getPipeManager().getPipeRuntimeCoordinator());
     this.eventService.register(routeBalancer);
     this.eventService.register(topologyService);
@@ -153,9 +156,11 @@ public class LoadManager {
     eventService.startEventService();
     partitionBalancer.setupPartitionBalancer();
     topologyService.startTopologyService();
+    regionLoadBalanceService.startRegionLoadBalanceService();
   }
 
   public void stopLoadServices() {
+    regionLoadBalanceService.stopRegionLoadBalanceService();
     heartbeatService.stopHeartbeatService();
     statisticsService.stopLoadStatisticsService();
     eventService.stopEventService();
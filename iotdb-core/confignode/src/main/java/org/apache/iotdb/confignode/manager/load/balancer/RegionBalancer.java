@@ -162,4 +162,13 @@ public class RegionBalancer {
     GCR,
     PGR
   }
+
+  public enum RegionLoadBalanceMode {
+    /** Never migrate DataRegions according to their load. */
+    NONE,
+    /** Only log the DataRegion migrations that would relieve overloaded DataNodes. */
+    PROPOSE,
+    /** Submit RegionMigrateProcedures to relieve overloaded DataNodes. */
+    EXECUTE
+  }
 }
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.balancer.region;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
+import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+import org.apache.iotdb.confignode.manager.load.cache.region.RegionLoadStatistics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Propose a single DataRegion migration that relieves the most loaded DataNode.
+ *
+ * <p>The load of a Region is its share of the cluster write throughput plus its share of the
+ * cluster read QPS, and the load of a DataNode is the sum of the loads of the Regions it holds.
+ * When the most loaded DataNode exceeds the average load by the threshold ratio, the planner moves
+ * the Region whose migration yields the lowest peak load of the source and destination DataNodes.
+ * Ties are broken by preferring the Region with less data to transfer.
+ */
+public class HotRegionMigrationPlanner {
+
+  private final double overloadThreshold;
+
+  public HotRegionMigrationPlanner(double overloadThreshold) {
+    this.overloadThreshold = overloadThreshold;
+  }
+
+  /**
+   * @param replicaSets the RegionReplicaSets of all DataRegionGroups
+   * @param availableDataNodeIds the DataNodes that can be migrated from or to
+   * @param regionLoadMap Map<DataNodeId, Map<RegionGroupId, RegionLoadStatistics>>
+   * @return the proposed migration, or empty if the cluster is balanced or no migration helps
+   */
+  public Optional<RegionMigrationPlan> plan(
+      List<TRegionReplicaSet> replicaSets,
+      Set<Integer> availableDataNodeIds,
+      Map<Integer, Map<Integer, RegionLoadStatistics>> regionLoadMap) {
+    if (availableDataNodeIds.size() < 2) {
+      return Optional.empty();
+    }
+
+    double totalWrite = 0;
+    double totalRead = 0;
+    for (Map<Integer, RegionLoadStatistics> regionLoads : regionLoadMap.values()) {
+      for (RegionLoadStatistics statistics : regionLoads.values()) {
+        totalWrite += statistics.getWritePointsPerSecond();
+        totalRead += statistics.getReadRequestsPerSecond();
+      }
+    }
+    if (totalWrite <= 0 && totalRead <= 0) {
+      return Optional.empty();
+    }
+
+    // Map<DataNodeId, load>
+    Map<Integer, Double> nodeLoadMap = new HashMap<>();
+    availableDataNodeIds.forEach(dataNodeId -> nodeLoadMap.put(dataNodeId, 0.0));
+    for (TRegionReplicaSet replicaSet : replicaSets) {
+      for (TDataNodeLocation location : replicaSet.getDataNodeLocations()) {
+        int dataNodeId = location.getDataNodeId();
+        if (nodeLoadMap.containsKey(dataNodeId)) {
+          nodeLoadMap.put(
+              dataNodeId,
+              nodeLoadMap.get(dataNodeId)
+                  + regionLoad(
+                      regionLoadMap, dataNodeId, replicaSet.getRegionId(), totalWrite, totalRead));
+        }
+      }
+    }
+
+    int sourceId = -1;
+    double sourceLoad = -1;
+    for (Map.Entry<Integer, Double> entry : nodeLoadMap.entrySet()) {
+      if (entry.getValue() > sourceLoad
+          || (entry.getValue() == sourceLoad && entry.getKey() < sourceId)) {
+        sourceId = entry.getKey();
+        sourceLoad = entry.getValue();
+      }
+    }
+    double averageLoad =
+        nodeLoadMap.values().stream().mapToDouble(Double::doubleValue).sum() / nodeLoadMap.size();
+    if (sourceLoad <= averageLoad * overloadThreshold) {
+      return Optional.empty();
+    }
+
+    RegionMigrationPlan bestPlan = null;
+    double bestPeakLoad = sourceLoad;
+    long bestDiskUsage = Long.MAX_VALUE;
+    for (TRegionReplicaSet replicaSet : replicaSets) {
+      Set<Integer> replicaNodeIds =
+          replicaSet.getDataNodeLocations().stream()
+              .map(TDataNodeLocation::getDataNodeId)
+              .collect(Collectors.toSet());
+      if (!replicaNodeIds.contains(sourceId)) {
+        continue;
+      }
+      TConsensusGroupId regionId = replicaSet.getRegionId();
+      double load = regionLoad(regionLoadMap, sourceId, regionId, totalWrite, totalRead);
+      if (load <= 0) {
+        continue;
+      }
+      long diskUsage = diskUsage(regionLoadMap, sourceId, regionId);
+      for (Map.Entry<Integer, Double> destination : nodeLoadMap.entrySet()) {
+        if (replicaNodeIds.contains(destination.getKey())) {
+          continue;
+        }
+        double peakLoad = Math.max(sourceLoad - load, destination.getValue() + load);
+        if (peakLoad < bestPeakLoad || (peakLoad == bestPeakLoad && diskUsage < bestDiskUsage)) {
+          bestPlan =
+              new RegionMigrationPlan(
+                  regionId, sourceId, destination.getKey(), sourceLoad, averageLoad, peakLoad);
+          bestPeakLoad = peakLoad;
+          bestDiskUsage = diskUsage;
+        }
+      }
+    }
+    return Optional.ofNullable(bestPlan);
+  }
+
+  private static double regionLoad(
+      Map<Integer, Map<Integer, RegionLoadStatistics>> regionLoadMap,
+      int dataNodeId,
+      TConsensusGroupId regionId,
+      double totalWrite,
+      double totalRead) {
+    RegionLoadStatistics statistics =
+        regionLoadMap.getOrDefault(dataNodeId, Collections.emptyMap()).get(regionId.getId());
+    if (statistics == null) {
+      return 0;
+    }
+    double load = 0;
+    if (totalWrite > 0) {
+      load += statistics.getWritePointsPerSecond() / totalWrite;
+    }
+    if (totalRead > 0) {
+      load += statistics.getReadRequestsPerSecond() / totalRead;
+    }
+    return load;
+  }
+
+  private static long diskUsage(
+      Map<Integer, Map<Integer, RegionLoadStatistics>> regionLoadMap,
+      int dataNodeId,
+      TConsensusGroupId regionId) {
+    RegionLoadStatistics statistics =
+        regionLoadMap.getOrDefault(dataNodeId, Collections.emptyMap()).get(regionId.getId());
+    return statistics == null ? 0 : statistics.getDiskUsage();
+  }
+
+  /** A proposed migration of one Region replica, together with the loads it was planned from. */
+  public static class RegionMigrationPlan {
+
+    private final TConsensusGroupId regionId;
+    private final int fromDataNodeId;
+    private final int toDataNodeId;
+    private final double sourceLoad;
+    private final double averageLoad;
+    private final double expectedPeakLoad;
+
+    public RegionMigrationPlan(
+        TConsensusGroupId regionId,
+        int fromDataNodeId,
+        int toDataNodeId,
+        double sourceLoad,
+        double averageLoad,
+        double expectedPeakLoad) {
+      this.regionId = regionId;
+      this.fromDataNodeId = fromDataNodeId;
+      this.toDataNodeId = toDataNodeId;
+      this.sourceLoad = sourceLoad;
+      this.averageLoad = averageLoad;
+      this.expectedPeakLoad = expectedPeakLoad;
+    }
+
+    public TConsensusGroupId getRegionId() {
+      return regionId;
+    }
+
+    public int getFromDataNodeId() {
+      return fromDataNodeId;
+    }
+
+    public int getToDataNodeId() {
+      return toDataNodeId;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "migrate %s from DataNode %d to DataNode %d, "
+              + "source load %.4f, average load %.4f, expected peak load %.4f",
+          regionId, fromDataNodeId, toDataNodeId, sourceLoad, averageLoad, expectedPeakLoad);
+    }
+  }
+}
@@ -46,8 +46,10 @@ import org.apache.iotdb.confignode.manager.load.cache.node.NodeStatistics;
 import org.apache.iotdb.confignode.manager.load.cache.region.RegionGroupCache;
 import org.apache.iotdb.confignode.manager.load.cache.region.RegionGroupStatistics;
 import org.apache.iotdb.confignode.manager.load.cache.region.RegionHeartbeatSample;
+import org.apache.iotdb.confignode.manager.load.cache.region.RegionLoadStatistics;
 import org.apache.iotdb.confignode.manager.load.cache.region.RegionStatistics;
 import org.apache.iotdb.confignode.manager.partition.RegionGroupStatus;
+import org.apache.iotdb.mpp.rpc.thrift.TRegionLoadSample;
 
 import org.apache.thrift.annotation.Nullable;
 import org.slf4j.Logger;
@@ -93,6 +95,8 @@ public class LoadCache {
   private final Map<TConsensusGroupId, RegionGroupCache> regionGroupCacheMap;
   // Map<NodeId, Map<RegionGroupId, RegionSize>>
   private final Map<Integer, Map<Integer, Long>> regionSizeMap;
+  // Map<DataNodeId, Map<RegionGroupId, RegionLoadStatistics>>
+  private final Map<Integer, Map<Integer, RegionLoadStatistics>> regionLoadMap;
   // Map<RegionGroupId, ConsensusGroupCache>
   private final Map<TConsensusGroupId, ConsensusGroupCache> consensusGroupCacheMap;
   // Map<DataNodeId, confirmedConfigNodes>
@@ -105,6 +109,7 @@ public class LoadCache {
     this.heartbeatProcessingMap = new ConcurrentHashMap<>();
     this.regionGroupCacheMap = new ConcurrentHashMap<>();
     this.regionSizeMap = new ConcurrentHashMap<>();
+    this.regionLoadMap = new ConcurrentHashMap<>();
     this.consensusGroupCacheMap = new ConcurrentHashMap<>();
     this.confirmedConfigNodeMap = new ConcurrentHashMap<>();
     this.topologyGraph = new HashMap<>();
@@ -196,6 +201,7 @@ public class LoadCache {
     nodeCacheMap.clear();
     regionGroupCacheMap.clear();
     consensusGroupCacheMap.clear();
+    regionLoadMap.clear();
   }
 
   /**
@@ -282,6 +288,7 @@ public class LoadCache {
   public void removeNodeCache(int nodeId) {
     nodeCacheMap.remove(nodeId);
     heartbeatProcessingMap.remove(nodeId);
+    regionLoadMap.remove(nodeId);
   }
 
   /**
@@ -810,4 +817,33 @@ public class LoadCache {
   public Map<Integer, Map<Integer, Long>> getRegionSizeMap() {
     return regionSizeMap;
   }
+
+  /**
+   * Smooth the latest load samples of the DataRegions on the specified DataNode into their
+   * RegionLoadStatistics. DataRegions that are no longer reported are dropped.
+   *
+   * @param dataNodeId the index of the DataNode
+   * @param regionLoadSamples Map<RegionGroupId, TRegionLoadSample>
+   */
+  public void updateRegionLoadStatistics(
+      int dataNodeId, Map<Integer, TRegionLoadSample> regionLoadSamples) {
+    Map<Integer, RegionLoadStatistics> previous =
+        regionLoadMap.getOrDefault(dataNodeId, Collections.emptyMap());
+    Map<Integer, RegionLoadStatistics> current = new HashMap<>();
+    regionLoadSamples.forEach(
+        (regionId, sample) ->
+            current.put(
+                regionId,
+                previous.containsKey(regionId)
+                    ? previous.get(regionId).merge(sample)
+                    : RegionLoadStatistics.fromSample(sample)));
+    regionLoadMap.put(dataNodeId, current);
+  }
+
+  /**
+   * @return Map<DataNodeId, Map<RegionGroupId, RegionLoadStatistics>>
+   */
+  public Map<Integer, Map<Integer, RegionLoadStatistics>> getRegionLoadMap() {
+    return regionLoadMap;
+  }
 }
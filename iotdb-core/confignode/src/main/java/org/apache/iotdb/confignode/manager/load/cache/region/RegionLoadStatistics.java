@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.cache.region;
+
+import org.apache.iotdb.mpp.rpc.thrift.TRegionLoadSample;
+
+import java.util.Objects;
+
+/**
+ * RegionLoadStatistics indicates the write throughput, read QPS and disk usage of a Region. The
+ * rates are smoothed by an exponentially weighted moving average over the reported samples, so a
+ * single burst doesn't make a Region look hot.
+ */
+public class RegionLoadStatistics {
+
+  /** The weight of the latest sample in the moving average. */
+  private static final double SMOOTHING_FACTOR = 0.5;
+
+  private final double writePointsPerSecond;
+  private final double readRequestsPerSecond;
+  private final long diskUsage;
+
+  public RegionLoadStatistics(
+      double writePointsPerSecond, double readRequestsPerSecond, long diskUsage) {
+    this.writePointsPerSecond = writePointsPerSecond;
+    this.readRequestsPerSecond = readRequestsPerSecond;
+    this.diskUsage = diskUsage;
+  }
+
+  public static RegionLoadStatistics fromSample(TRegionLoadSample sample) {
+    return new RegionLoadStatistics(
+        sample.getWritePointsPerSecond(), sample.getReadRequestsPerSecond(), sample.getDiskUsage());
+  }
+
+  /**
+   * @param sample the latest load sample of this Region
+   * @return the RegionLoadStatistics after smoothing the specified sample in
+   */
+  public RegionLoadStatistics merge(TRegionLoadSample sample) {
+    return new RegionLoadStatistics(
+        smooth(writePointsPerSecond, sample.getWritePointsPerSecond()),
+        smooth(readRequestsPerSecond, sample.getReadRequestsPerSecond()),
+        sample.getDiskUsage());
+  }
+
+  private static double smooth(double previous, double latest) {
+    return SMOOTHING_FACTOR * latest + (1 - SMOOTHING_FACTOR) * previous;
+  }
+
+  public double getWritePointsPerSecond() {
+    return writePointsPerSecond;
+  }
+
+  public double getReadRequestsPerSecond() {
+    return readRequestsPerSecond;
+  }
+
+  public long getDiskUsage() {
+    return diskUsage;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    RegionLoadStatistics that = (RegionLoadStatistics) o;
+    return Double.compare(that.writePointsPerSecond, writePointsPerSecond) == 0
+        && Double.compare(that.readRequestsPerSecond, readRequestsPerSecond) == 0
+        && diskUsage == that.diskUsage;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(writePointsPerSecond, readRequestsPerSecond, diskUsage);
+  }
+
+  @Override
+  public String toString() {
+    return "RegionLoadStatistics{"
+        + "writePointsPerSecond="
+        + writePointsPerSecond
+        + ", readRequestsPerSecond="
+        + readRequestsPerSecond
+        + ", diskUsage="
+        + diskUsage
+        + '}';
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.service;
+
+import org.apache.iotdb.common.rpc.thrift.Model;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.cluster.NodeStatus;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.concurrent.threadpool.ScheduledExecutorUtil;
+import org.apache.iotdb.confignode.conf.ConfigNodeConfig;
+import org.apache.iotdb.confignode.conf.ConfigNodeDescriptor;
+import org.apache.iotdb.confignode.manager.IManager;
+import org.apache.iotdb.confignode.manager.load.balancer.RegionBalancer;
+import org.apache.iotdb.confignode.manager.load.balancer.region.HotRegionMigrationPlanner;
+import org.apache.iotdb.confignode.manager.load.cache.LoadCache;
+import org.apache.iotdb.confignode.rpc.thrift.TMigrateRegionReq;
+import org.apache.iotdb.db.utils.constant.SqlConstant;
+import org.apache.iotdb.rpc.TSStatusCode;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * RegionLoadBalanceService periodically looks for DataNodes overloaded by hot DataRegions and, by
+ * region_load_balance_mode, either logs or executes the migration that relieves them most.
+ */
+public class RegionLoadBalanceService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RegionLoadBalanceService.class);
+
+  private static final ConfigNodeConfig CONF = ConfigNodeDescriptor.getInstance().getConf();
+
+  private final IManager configManager;
+  private final LoadCache loadCache;
+  private final HotRegionMigrationPlanner planner;
+
+  public RegionLoadBalanceService(IManager configManager, LoadCache loadCache) {
+    this.configManager = configManager;
+    this.loadCache = loadCache;
+    this.planner = new HotRegionMigrationPlanner(CONF.getRegionLoadBalanceThreshold());
+  }
+
+  /** Region load balance executor service. */
+  private final Object regionLoadBalanceMonitor = new Object();
+
+  private Future<?> currentRegionLoadBalanceFuture;
+  private final ScheduledExecutorService regionLoadBalanceExecutor =
+      IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor(
+          ThreadName.CONFIG_NODE_REGION_LOAD_BALANCE.getName());
+
+  /** Start the region load balance service if it is enabled. */
+  public void startRegionLoadBalanceService() {
+    if (RegionBalancer.RegionLoadBalanceMode.NONE.equals(CONF.getRegionLoadBalanceMode())) {
+      return;
+    }
+    synchronized (regionLoadBalanceMonitor) {
+      if (currentRegionLoadBalanceFuture == null) {
+        currentRegionLoadBalanceFuture =
+            ScheduledExecutorUtil.safelyScheduleWithFixedDelay(
+                regionLoadBalanceExecutor,
+                this::balanceRegionLoad,
+                CONF.getRegionLoadBalanceIntervalInMs(),
+                CONF.getRegionLoadBalanceIntervalInMs(),
+                TimeUnit.MILLISECONDS);
+        LOGGER.info(
+            "RegionLoadBalance service is started successfully in {} mode.",
+            CONF.getRegionLoadBalanceMode());
+      }
+    }
+  }
+
+  /** Stop the region load balance service. */
+  public void stopRegionLoadBalanceService() {
+    synchronized (regionLoadBalanceMonitor) {
+      if (currentRegionLoadBalanceFuture != null) {
+        currentRegionLoadBalanceFuture.cancel(false);
+        currentRegionLoadBalanceFuture = null;
+        LOGGER.info("RegionLoadBalance service is stopped successfully.");
+      }
+    }
+  }
+
+  private void balanceRegionLoad() {
+    // Migrate at most one Region at a time, and let the loads settle before the next round
+    if (!configManager.getProcedureManager().getRegionOperationConsensusIds().isEmpty()) {
+      LOGGER.info("[RegionLoadBalance] Skip this round since there are region operations running.");
+      return;
+    }
+
+    Set<Integer> runningDataNodeIds =
+        configManager.getNodeManager().filterDataNodeThroughStatus(NodeStatus.Running).stream()
+            .map(dataNodeConfiguration -> dataNodeConfiguration.getLocation().getDataNodeId())
+            .collect(Collectors.toSet());
+    Optional<HotRegionMigrationPlanner.RegionMigrationPlan> plan =
+        planner.plan(
+            configManager.getPartitionManager().getAllReplicaSets(TConsensusGroupType.DataRegion),
+            runningDataNodeIds,
+            loadCache.getRegionLoadMap());
+    if (!plan.isPresent()) {
+      return;
+    }
+
+    if (RegionBalancer.RegionLoadBalanceMode.PROPOSE.equals(CONF.getRegionLoadBalanceMode())) {
+      LOGGER.info("[RegionLoadBalance] Proposal: {}", plan.get());
+      return;
+    }
+
+    String database =
+        configManager.getPartitionManager().getRegionDatabase(plan.get().getRegionId());
+    if (database == null) {
+      return;
+    }
+    TMigrateRegionReq req =
+        new TMigrateRegionReq(
+            plan.get().getRegionId().getId(),
+            plan.get().getFromDataNodeId(),
+            plan.get().getToDataNodeId(),
+            database.startsWith(SqlConstant.TREE_MODEL_DATABASE_PREFIX) ? Model.TREE : Model.TABLE);
+    TSStatus status = configManager.getProcedureManager().migrateRegion(req);
+    if (status.getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+      LOGGER.info("[RegionLoadBalance] Submitted: {}", plan.get());
+    } else {
+      LOGGER.warn("[RegionLoadBalance] Failed to submit: {}, status: {}", plan.get(), status);
+    }
+  }
+}
@@ -238,6 +238,8 @@ public class NodeManager {
     ratisConfig.setDataRegionPeriodicSnapshotInterval(
         conf.getDataRegionRatisPeriodicSnapshotInterval());
 
+    ratisConfig.setSchemaRegionLeaderLeaseEnabled(conf.isSchemaRegionRatisLeaderLeaseEnabled());
+
     dataSet.setRatisConfig(ratisConfig);
   }
 
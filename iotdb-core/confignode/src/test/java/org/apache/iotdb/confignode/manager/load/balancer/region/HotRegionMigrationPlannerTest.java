@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.balancer.region;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
+import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+import org.apache.iotdb.confignode.manager.load.cache.region.RegionLoadStatistics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public class HotRegionMigrationPlannerTest {
+
+  private static final HotRegionMigrationPlanner PLANNER = new HotRegionMigrationPlanner(1.5);
+
+  private final List<TRegionReplicaSet> replicaSets = new ArrayList<>();
+  private final Map<Integer, Map<Integer, RegionLoadStatistics>> regionLoadMap = new HashMap<>();
+
+  private void addRegion(int regionId, RegionLoadStatistics statistics, int... dataNodeIds) {
+    TRegionReplicaSet replicaSet =
+        new TRegionReplicaSet()
+            .setRegionId(new TConsensusGroupId(TConsensusGroupType.DataRegion, regionId));
+    for (int dataNodeId : dataNodeIds) {
+      replicaSet.addToDataNodeLocations(new TDataNodeLocation().setDataNodeId(dataNodeId));
+      regionLoadMap.computeIfAbsent(dataNodeId, k -> new HashMap<>()).put(regionId, statistics);
+    }
+    replicaSets.add(replicaSet);
+  }
+
+  private static Set<Integer> dataNodes(Integer... dataNodeIds) {
+    return new HashSet<>(Arrays.asList(dataNodeIds));
+  }
+
+  @Test
+  public void testBalancedClusterKeepsRegions() {
+    addRegion(0, new RegionLoadStatistics(100, 10, 0), 0);
+    addRegion(1, new RegionLoadStatistics(90, 12, 0), 1);
+    addRegion(2, new RegionLoadStatistics(110, 8, 0), 2);
+    Assert.assertFalse(PLANNER.plan(replicaSets, dataNodes(0, 1, 2), regionLoadMap).isPresent());
+  }
+
+  @Test
+  public void testIdleClusterKeepsRegions() {
+    addRegion(0, new RegionLoadStatistics(0, 0, 100), 0);
+    addRegion(1, new RegionLoadStatistics(0, 0, 100), 0);
+    Assert.assertFalse(PLANNER.plan(replicaSets, dataNodes(0, 1), regionLoadMap).isPresent());
+  }
+
+  @Test
+  public void testMoveRegionThatMinimizesPeakLoad() {
+    addRegion(0, new RegionLoadStatistics(100, 0, 0), 0);
+    addRegion(1, new RegionLoadStatistics(50, 0, 0), 0);
+    addRegion(2, new RegionLoadStatistics(10, 0, 0), 1);
+    addRegion(3, new RegionLoadStatistics(10, 0, 0), 2);
+
+    Optional<HotRegionMigrationPlanner.RegionMigrationPlan> plan =
+        PLANNER.plan(replicaSets, dataNodes(0, 1, 2), regionLoadMap);
+    Assert.assertTrue(plan.isPresent());
+    // Moving the hottest Region would only make the destination the new hotspot
+    Assert.assertEquals(1, plan.get().getRegionId().getId());
+    Assert.assertEquals(0, plan.get().getFromDataNodeId());
+    Assert.assertNotEquals(0, plan.get().getToDataNodeId());
+  }
+
+  @Test
+  public void testPreferSmallerRegion() {
+    addRegion(0, new RegionLoadStatistics(100, 50, 1000), 0);
+    addRegion(1, new RegionLoadStatistics(100, 50, 10), 0);
+    addRegion(2, new RegionLoadStatistics(0, 0, 0), 1);
+
+    Optional<HotRegionMigrationPlanner.RegionMigrationPlan> plan =
+        PLANNER.plan(replicaSets, dataNodes(0, 1), regionLoadMap);
+    Assert.assertTrue(plan.isPresent());
+    Assert.assertEquals(1, plan.get().getRegionId().getId());
+    Assert.assertEquals(1, plan.get().getToDataNodeId());
+  }
+
+  @Test
+  public void testSkipDataNodesHoldingReplica() {
+    addRegion(0, new RegionLoadStatistics(100, 0, 0), 0, 1);
+    addRegion(1, new RegionLoadStatistics(100, 0, 0), 0, 2);
+    addRegion(2, new RegionLoadStatistics(1, 0, 0), 1, 2);
+    addRegion(3, new RegionLoadStatistics(1, 0, 0), 3, 4);
+
+    Optional<HotRegionMigrationPlanner.RegionMigrationPlan> plan =
+        PLANNER.plan(replicaSets, dataNodes(0, 1, 2, 3, 4), regionLoadMap);
+    Assert.assertTrue(plan.isPresent());
+    Assert.assertEquals(0, plan.get().getFromDataNodeId());
+    Assert.assertTrue(plan.get().getToDataNodeId() == 3 || plan.get().getToDataNodeId() == 4);
+  }
+
+  @Test
+  public void testIgnoreUnavailableDataNodes() {
+    addRegion(0, new RegionLoadStatistics(100, 0, 0), 0);
+    addRegion(1, new RegionLoadStatistics(100, 0, 0), 0);
+    addRegion(2, new RegionLoadStatistics(0, 0, 0), 1);
+    Assert.assertFalse(PLANNER.plan(replicaSets, dataNodes(0), regionLoadMap).isPresent());
+  }
+}
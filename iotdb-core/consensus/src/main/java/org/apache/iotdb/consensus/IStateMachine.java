@@ -52,6 +52,23 @@ public interface IStateMachine {
    */
   TSStatus write(IConsensusRequest request);
 
+  /**
+   * Apply consecutive committed requests in log order. By default, they are applied one by one;
+   * state machines can override this to share per-request costs such as locking and log forcing
+   * across the batch.
+   *
+   * <p>The status of each request is appended to results once it is applied, so that if this method
+   * throws, the requests with a status have been applied and only the next one failed.
+   *
+   * @param requests the deserialized requests, in log order
+   * @param results one status per request is appended, in the same order
+   */
+  default void writeBatch(List<IConsensusRequest> requests, List<TSStatus> results) {
+    for (IConsensusRequest request : requests) {
+      results.add(write(request));
+    }
+  }
+
   /**
    * deserialize IConsensusRequest.
    *
@@ -129,6 +146,18 @@ public interface IStateMachine {
     return Utils.listAllRegularFilesRecursively(latestSnapshotRootDir);
   }
 
+  /**
+   * Find a local file that may hold the same content as a snapshot file, so that an incremental
+   * snapshot transfer can link the local file instead of receiving it again. Only immutable files
+   * should be returned. By default, no local file is reused.
+   *
+   * @param relativePath path of the snapshot file relative to the snapshot root
+   * @return the local file, or null if there is no reusable local copy
+   */
+  default File getReusableLocalFile(String relativePath) {
+    return null;
+  }
+
   /** An optional API for event notifications. */
   interface EventApi {
     /**
@@ -44,4 +44,15 @@ public interface IConsensusRequest {
   default void markAsGeneratedByRemoteConsensusLeader() {
     // do nothing by default
   }
+
+  /**
+   * Requests with different keys can be applied concurrently by a follower, while the requests with
+   * the same key are applied in the order of the leader.
+   *
+   * @return the key, or null if the request must be applied after all the preceding requests and
+   *     before all the following ones
+   */
+  default Object getApplyPartitionKey() {
+    return null;
+  }
 }
@@ -34,6 +34,7 @@ public class IndexedConsensusRequest implements IConsensusRequest {
   private final List<IConsensusRequest> requests;
   private final List<ByteBuffer> serializedRequests;
   private long memorySize = 0;
+  private boolean serialized = false;
 
   public IndexedConsensusRequest(long searchIndex, List<IConsensusRequest> requests) {
     this.searchIndex = searchIndex;
@@ -50,7 +51,12 @@ public class IndexedConsensusRequest implements IConsensusRequest {
     this.serializedRequests = new ArrayList<>(requests.size());
   }
 
+  /** Serializes the requests once; later calls are no-ops. */
   public void buildSerializedRequests() {
+    if (serialized) {
+      return;
+    }
+    serialized = true;
     this.requests.forEach(
         r -> {
           ByteBuffer buffer = r.serializeToByteBuffer();
@@ -251,6 +251,11 @@ public class IoTConsensusConfig {
     private final IMemoryBlock consensusMemoryBlock;
     private final double maxMemoryRatioForQueue;
     private final long regionMigrationSpeedLimitBytesPerSecond;
+    private final long maxWALEntryCacheSizeInBytes;
+    private final boolean enableAdaptiveDispatchWindow;
+    private final int followerApplyParallelism;
+    private final boolean enableIncrementalSnapshot;
+    private final int snapshotTransmissionParallelism;
 
     private Replication(
         int maxLogEntriesNumPerBatch,
@@ -266,7 +271,12 @@ public class IoTConsensusConfig {
         long checkpointGap,
         IMemoryBlock consensusMemoryBlock,
         double maxMemoryRatioForQueue,
-        long regionMigrationSpeedLimitBytesPerSecond) {
+        long regionMigrationSpeedLimitBytesPerSecond,
+        long maxWALEntryCacheSizeInBytes,
+        boolean enableAdaptiveDispatchWindow,
+        int followerApplyParallelism,
+        boolean enableIncrementalSnapshot,
+        int snapshotTransmissionParallelism) {
       this.maxLogEntriesNumPerBatch = maxLogEntriesNumPerBatch;
       this.maxSizePerBatch = maxSizePerBatch;
       this.maxPendingBatchesNum = maxPendingBatchesNum;
@@ -281,6 +291,11 @@ public class IoTConsensusConfig {
       this.consensusMemoryBlock = consensusMemoryBlock;
       this.maxMemoryRatioForQueue = maxMemoryRatioForQueue;
       this.regionMigrationSpeedLimitBytesPerSecond = regionMigrationSpeedLimitBytesPerSecond;
+      this.maxWALEntryCacheSizeInBytes = maxWALEntryCacheSizeInBytes;
+      this.enableAdaptiveDispatchWindow = enableAdaptiveDispatchWindow;
+      this.followerApplyParallelism = followerApplyParallelism;
+      this.enableIncrementalSnapshot = enableIncrementalSnapshot;
+      this.snapshotTransmissionParallelism = snapshotTransmissionParallelism;
     }
 
     public int getMaxLogEntriesNumPerBatch() {
@@ -339,6 +354,26 @@ public class IoTConsensusConfig {
       return regionMigrationSpeedLimitBytesPerSecond;
     }
 
+    public long getMaxWALEntryCacheSizeInBytes() {
+      return maxWALEntryCacheSizeInBytes;
+    }
+
+    public boolean isEnableAdaptiveDispatchWindow() {
+      return enableAdaptiveDispatchWindow;
+    }
+
+    public int getFollowerApplyParallelism() {
+      return followerApplyParallelism;
+    }
+
+    public boolean isEnableIncrementalSnapshot() {
+      return enableIncrementalSnapshot;
+    }
+
+    public int getSnapshotTransmissionParallelism() {
+      return snapshotTransmissionParallelism;
+    }
+
     public static Replication.Builder newBuilder() {
       return new Replication.Builder();
     }
@@ -362,6 +397,11 @@ public class IoTConsensusConfig {
               "Consensus-Default", null, Runtime.getRuntime().maxMemory() / 10);
       private double maxMemoryRatioForQueue = 0.6;
       private long regionMigrationSpeedLimitBytesPerSecond = 32 * 1024 * 1024L;
+      private long maxWALEntryCacheSizeInBytes = 16 * 1024 * 1024L;
+      private boolean enableAdaptiveDispatchWindow = false;
+      private int followerApplyParallelism = 1;
+      private boolean enableIncrementalSnapshot = true;
+      private int snapshotTransmissionParallelism = 4;
 
       public Replication.Builder setMaxLogEntriesNumPerBatch(int maxLogEntriesNumPerBatch) {
         this.maxLogEntriesNumPerBatch = maxLogEntriesNumPerBatch;
@@ -436,6 +476,31 @@ public class IoTConsensusConfig {
         return this;
       }
 
+      public Builder setMaxWALEntryCacheSizeInBytes(long maxWALEntryCacheSizeInBytes) {
+        this.maxWALEntryCacheSizeInBytes = maxWALEntryCacheSizeInBytes;
+        return this;
+      }
+
+      public Builder setEnableAdaptiveDispatchWindow(boolean enableAdaptiveDispatchWindow) {
+        this.enableAdaptiveDispatchWindow = enableAdaptiveDispatchWindow;
+        return this;
+      }
+
+      public Builder setFollowerApplyParallelism(int followerApplyParallelism) {
+        this.followerApplyParallelism = followerApplyParallelism;
+        return this;
+      }
+
+      public Builder setEnableIncrementalSnapshot(boolean enableIncrementalSnapshot) {
+        this.enableIncrementalSnapshot = enableIncrementalSnapshot;
+        return this;
+      }
+
+      public Builder setSnapshotTransmissionParallelism(int snapshotTransmissionParallelism) {
+        this.snapshotTransmissionParallelism = snapshotTransmissionParallelism;
+        return this;
+      }
+
       public Replication build() {
         return new Replication(
             maxLogEntriesNumPerBatch,
@@ -451,7 +516,12 @@ public class IoTConsensusConfig {
             checkpointGap,
             consensusMemoryBlock,
             maxMemoryRatioForQueue,
-            regionMigrationSpeedLimitBytesPerSecond);
+            regionMigrationSpeedLimitBytesPerSecond,
+            maxWALEntryCacheSizeInBytes,
+            enableAdaptiveDispatchWindow,
+            followerApplyParallelism,
+            enableIncrementalSnapshot,
+            snapshotTransmissionParallelism);
       }
     }
   }
@@ -887,19 +887,23 @@ public class RatisConfig {
 
     private final long forceSnapshotInterval;
 
+    private final int applyBatchSizeMax;
+
     public Impl(
         int retryTimesMax,
         long retryWaitMillis,
         long retryMaxWaitMillis,
         long checkAndTakeSnapshotInterval,
         long raftLogSizeMaxThreshold,
-        long forceSnapshotInterval) {
+        long forceSnapshotInterval,
+        int applyBatchSizeMax) {
       this.retryTimesMax = retryTimesMax;
       this.retryWaitMillis = retryWaitMillis;
       this.retryMaxWaitMillis = retryMaxWaitMillis;
       this.checkAndTakeSnapshotInterval = checkAndTakeSnapshotInterval;
       this.raftLogSizeMaxThreshold = raftLogSizeMaxThreshold;
       this.forceSnapshotInterval = forceSnapshotInterval;
+      this.applyBatchSizeMax = applyBatchSizeMax;
     }
 
     public int getRetryTimesMax() {
@@ -926,6 +930,11 @@ public class RatisConfig {
       return retryMaxWaitMillis;
     }
 
+    /** The max number of consecutive committed entries applied to the state machine at once. */
+    public int getApplyBatchSizeMax() {
+      return applyBatchSizeMax;
+    }
+
     public static Impl.Builder newBuilder() {
       return new Builder();
     }
@@ -942,6 +951,8 @@ public class RatisConfig {
       private long raftLogSizeMaxThreshold = 20L << 30;
       // -1L means no force, measured in seconds
       private long forceSnapshotInterval = -1;
+      // 1 means applying entries one by one
+      private int applyBatchSizeMax = 1;
 
       public Impl build() {
         return new Impl(
@@ -950,7 +961,8 @@ public class RatisConfig {
             retryMaxWaitMillis,
             checkAndTakeSnapshotInterval,
             raftLogSizeMaxThreshold,
-            forceSnapshotInterval);
+            forceSnapshotInterval,
+            applyBatchSizeMax);
       }
 
       public Impl.Builder setRetryTimesMax(int retryTimesMax) {
@@ -982,6 +994,11 @@ public class RatisConfig {
         this.retryMaxWaitMillis = retryMaxWaitTimeMillis;
         return this;
       }
+
+      public Impl.Builder setApplyBatchSizeMax(int applyBatchSizeMax) {
+        this.applyBatchSizeMax = applyBatchSizeMax;
+        return this;
+      }
     }
   }
 
@@ -1054,10 +1071,18 @@ public class RatisConfig {
 
     private final Read.Option readOption;
     private final TimeDuration readTimeout;
-
-    private Read(Read.Option readOption, TimeDuration readTimeout) {
+    private final boolean leaderLeaseEnabled;
+    private final double leaderLeaseTimeoutRatio;
+
+    private Read(
+        Read.Option readOption,
+        TimeDuration readTimeout,
+        boolean leaderLeaseEnabled,
+        double leaderLeaseTimeoutRatio) {
       this.readOption = readOption;
       this.readTimeout = readTimeout;
+      this.leaderLeaseEnabled = leaderLeaseEnabled;
+      this.leaderLeaseTimeoutRatio = leaderLeaseTimeoutRatio;
     }
 
     public Option getReadOption() {
@@ -1068,6 +1093,23 @@ public class RatisConfig {
       return readTimeout;
     }
 
+    /**
+     * Whether the leader serves linearizable reads locally while its lease is valid. The lease is
+     * extended by heartbeat acknowledgements from a majority; once it expires the read falls back
+     * to read-index.
+     */
+    public boolean isLeaderLeaseEnabled() {
+      return leaderLeaseEnabled;
+    }
+
+    /**
+     * The lease lasts for this fraction of the minimum election timeout. The remaining part bounds
+     * the clock drift tolerated between the leader and its followers.
+     */
+    public double getLeaderLeaseTimeoutRatio() {
+      return leaderLeaseTimeoutRatio;
+    }
+
     public static Read.Builder newBuilder() {
       return new Read.Builder();
     }
@@ -1075,6 +1117,8 @@ public class RatisConfig {
     public static class Builder {
       private Read.Option readOption = Option.DEFAULT;
       private TimeDuration readTimeout = TimeDuration.valueOf(10, TimeUnit.SECONDS);
+      private boolean leaderLeaseEnabled = false;
+      private double leaderLeaseTimeoutRatio = 0.9;
 
       public Read.Builder setReadOption(Read.Option readOption) {
         this.readOption = readOption;
@@ -1086,8 +1130,18 @@ public class RatisConfig {
         return this;
       }
 
+      public Read.Builder setLeaderLeaseEnabled(boolean leaderLeaseEnabled) {
+        this.leaderLeaseEnabled = leaderLeaseEnabled;
+        return this;
+      }
+
+      public Read.Builder setLeaderLeaseTimeoutRatio(double leaderLeaseTimeoutRatio) {
+        this.leaderLeaseTimeoutRatio = leaderLeaseTimeoutRatio;
+        return this;
+      }
+
       public Read build() {
-        return new Read(readOption, readTimeout);
+        return new Read(readOption, readTimeout, leaderLeaseEnabled, leaderLeaseTimeoutRatio);
       }
     }
   }
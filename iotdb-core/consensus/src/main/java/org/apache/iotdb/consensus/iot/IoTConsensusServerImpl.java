@@ -39,13 +39,15 @@ import org.apache.iotdb.consensus.common.request.IConsensusRequest;
 import org.apache.iotdb.consensus.common.request.IndexedConsensusRequest;
 import org.apache.iotdb.consensus.config.IoTConsensusConfig;
 import org.apache.iotdb.consensus.exception.ConsensusGroupModifyPeerException;
+import org.apache.iotdb.consensus.iot.apply.PartitionedApplier;
 import org.apache.iotdb.consensus.iot.client.AsyncIoTConsensusServiceClient;
 import org.apache.iotdb.consensus.iot.client.SyncIoTConsensusServiceClient;
 import org.apache.iotdb.consensus.iot.log.ConsensusReqReader;
 import org.apache.iotdb.consensus.iot.log.GetConsensusReqReaderPlan;
 import org.apache.iotdb.consensus.iot.logdispatcher.LogDispatcher;
-import org.apache.iotdb.consensus.iot.snapshot.IoTConsensusRateLimiter;
-import org.apache.iotdb.consensus.iot.snapshot.SnapshotFragmentReader;
+import org.apache.iotdb.consensus.iot.snapshot.SnapshotFileDigest;
+import org.apache.iotdb.consensus.iot.snapshot.SnapshotTransmission;
+import org.apache.iotdb.consensus.iot.snapshot.SnapshotTransmitter;
 import org.apache.iotdb.consensus.iot.thrift.TActivatePeerReq;
 import org.apache.iotdb.consensus.iot.thrift.TActivatePeerRes;
 import org.apache.iotdb.consensus.iot.thrift.TBuildSyncLogChannelReq;
@@ -56,8 +58,9 @@ import org.apache.iotdb.consensus.iot.thrift.TInactivatePeerReq;
 import org.apache.iotdb.consensus.iot.thrift.TInactivatePeerRes;
 import org.apache.iotdb.consensus.iot.thrift.TRemoveSyncLogChannelReq;
 import org.apache.iotdb.consensus.iot.thrift.TRemoveSyncLogChannelRes;
-import org.apache.iotdb.consensus.iot.thrift.TSendSnapshotFragmentReq;
-import org.apache.iotdb.consensus.iot.thrift.TSendSnapshotFragmentRes;
+import org.apache.iotdb.consensus.iot.thrift.TReuseSnapshotFilesReq;
+import org.apache.iotdb.consensus.iot.thrift.TReuseSnapshotFilesRes;
+import org.apache.iotdb.consensus.iot.thrift.TSnapshotFileDigest;
 import org.apache.iotdb.consensus.iot.thrift.TTriggerSnapshotLoadReq;
 import org.apache.iotdb.consensus.iot.thrift.TTriggerSnapshotLoadRes;
 import org.apache.iotdb.consensus.iot.thrift.TWaitReleaseAllRegionRelatedResourceReq;
@@ -83,13 +86,19 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -103,6 +112,7 @@ import static org.apache.iotdb.commons.utils.FileUtils.humanReadableByteCountSI;
 public class IoTConsensusServerImpl {
 
   public static final String SNAPSHOT_DIR_NAME = "snapshot";
+  private static final long PUBLISH_WAIT_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(30);
   private static final Pattern SNAPSHOT_INDEX_PATTEN = Pattern.compile(".*[^\\d](?=(\\d+))");
   private static final PerformanceOverviewMetrics PERFORMANCE_OVERVIEW_METRICS =
       PerformanceOverviewMetrics.getInstance();
@@ -110,22 +120,35 @@ public class IoTConsensusServerImpl {
   private final Peer thisNode;
   private final IStateMachine stateMachine;
   private final ConcurrentHashMap<Integer, SyncLogCacheQueue> cacheQueueMap;
+
+  /** Only guards the write throttle; writers take it when the WAL exceeds the threshold. */
   private final Lock stateMachineLock = new ReentrantLock();
+
   private final Condition stateMachineCondition = stateMachineLock.newCondition();
+
+  /** Orders search index assignment with the state machine write of local requests. */
+  private final Lock writeOrderLock = new ReentrantLock();
+
   private final String storageDir;
   private final TreeSet<Peer> configuration;
+
+  /** The largest search index published to the {@link LogDispatcher}. */
   private final AtomicLong searchIndex;
+
+  /** The largest search index assigned to a successfully written local request. */
+  private final AtomicLong assignedSearchIndex;
+
   private final LogDispatcher logDispatcher;
   private IoTConsensusConfig config;
   private final ConsensusReqReader consensusReqReader;
   private volatile boolean active;
+  private volatile boolean stopped = false;
   private String newSnapshotDirName;
   private final IClientManager<TEndPoint, SyncIoTConsensusServiceClient> syncClientManager;
   private final IoTConsensusServerMetrics ioTConsensusServerMetrics;
   private final String consensusGroupId;
   private final ScheduledExecutorService backgroundTaskService;
-  private final IoTConsensusRateLimiter ioTConsensusRateLimiter =
-      IoTConsensusRateLimiter.getInstance();
+  private volatile SnapshotTransmission snapshotTransmission;
   private IndexedConsensusRequest lastConsensusRequest;
 
   public IoTConsensusServerImpl(
@@ -150,6 +173,7 @@ public class IoTConsensusServerImpl {
     this.consensusReqReader =
         (ConsensusReqReader) stateMachine.read(new GetConsensusReqReaderPlan());
     this.searchIndex = new AtomicLong(consensusReqReader.getCurrentSearchIndex());
+    this.assignedSearchIndex = new AtomicLong(searchIndex.get());
     this.ioTConsensusServerMetrics = new IoTConsensusServerMetrics(this);
     this.logDispatcher = new LogDispatcher(this, clientManager);
   }
@@ -166,6 +190,11 @@ public class IoTConsensusServerImpl {
   }
 
   public void stop() {
+    stopped = true;
+    // wake up the writers waiting for their predecessors to publish
+    synchronized (searchIndex) {
+      searchIndex.notifyAll();
+    }
     logDispatcher.stop();
     stateMachine.stop();
     MetricService.getInstance().removeMetricSet(this.ioTConsensusServerMetrics);
@@ -177,83 +206,178 @@ public class IoTConsensusServerImpl {
    */
   public TSStatus write(IConsensusRequest request) {
     long consensusWriteStartTime = System.nanoTime();
+    TSStatus throttleStatus = waitIfWriteThrottled();
+    if (throttleStatus != null) {
+      return throttleStatus;
+    }
+    IndexedConsensusRequest indexedConsensusRequest = null;
+    TSStatus result;
+    long writeToStateMachineEndTime;
+    boolean indexAssigned = false;
+    // Search indexes must reach the WAL in increasing order, so only index assignment and the
+    // state machine write are serialized here. Serializing the request for the dispatcher and
+    // publishing it are done outside of this critical section. The state machine write has to stay
+    // in it because DataRegion appends the WAL entry there.
+    try {
+      writeOrderLock.lock();
+      try {
+        long getStateMachineLockTime = System.nanoTime();
+        // statistic the time of acquiring stateMachine lock
+        ioTConsensusServerMetrics.recordGetStateMachineLockTime(
+            getStateMachineLockTime - consensusWriteStartTime);
+        long writeToStateMachineStartTime = System.nanoTime();
+        // statistic the time of checking write block
+        ioTConsensusServerMetrics.recordCheckingBeforeWriteTime(
+            writeToStateMachineStartTime - getStateMachineLockTime);
+        indexedConsensusRequest =
+            buildIndexedConsensusRequestForLocalRequest(request, assignedSearchIndex.get() + 1);
+        lastConsensusRequest = indexedConsensusRequest;
+        if (indexedConsensusRequest.getSearchIndex() % 100000 == 0) {
+          logger.info(
+              "DataRegion[{}]: index after build: safeIndex:{}, searchIndex: {}, lastConsensusRequest: {}",
+              thisNode.getGroupId(),
+              getMinSyncIndex(),
+              indexedConsensusRequest.getSearchIndex(),
+              lastConsensusRequest.getSerializedRequests());
+        }
+        IConsensusRequest planNode = stateMachine.deserializeRequest(indexedConsensusRequest);
+        long startWriteTime = System.nanoTime();
+        result = stateMachine.write(planNode);
+        if (result.getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+          // the index is only consumed by successful writes
+          assignedSearchIndex.incrementAndGet();
+          indexAssigned = true;
+        }
+        PERFORMANCE_OVERVIEW_METRICS.recordEngineCost(System.nanoTime() - startWriteTime);
+
+        writeToStateMachineEndTime = System.nanoTime();
+        // statistic the time of writing request into stateMachine
+        ioTConsensusServerMetrics.recordWriteStateMachineTime(
+            writeToStateMachineEndTime - writeToStateMachineStartTime);
+      } finally {
+        writeOrderLock.unlock();
+      }
+    } finally {
+      // Once assigned, the index must be published, otherwise the writers of later indexes
+      // would wait for it
+      if (indexAssigned) {
+        publish(indexedConsensusRequest);
+      }
+    }
+
+    if (result.getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+      // statistic the time of offering request into queue
+      ioTConsensusServerMetrics.recordOfferRequestToQueueTime(
+          System.nanoTime() - writeToStateMachineEndTime);
+    } else {
+      logger.debug(
+          "{}: write operation failed. searchIndex: {}. Code: {}",
+          thisNode.getGroupId(),
+          indexedConsensusRequest.getSearchIndex(),
+          result.getCode());
+    }
+    // statistic the time of total write process
+    ioTConsensusServerMetrics.recordConsensusWriteTime(System.nanoTime() - consensusWriteStartTime);
+    return result;
+  }
+
+  /**
+   * Blocks the caller while the WAL exceeds the throttle threshold. The check is lock free in the
+   * common case; {@link #stateMachineLock} is only taken when the write has to wait.
+   *
+   * @return the reject status if the wait timed out, otherwise null
+   */
+  private TSStatus waitIfWriteThrottled() {
+    if (!needBlockWrite()) {
+      return null;
+    }
     stateMachineLock.lock();
     try {
-      long getStateMachineLockTime = System.nanoTime();
-      // statistic the time of acquiring stateMachine lock
-      ioTConsensusServerMetrics.recordGetStateMachineLockTime(
-          getStateMachineLockTime - consensusWriteStartTime);
       if (needBlockWrite()) {
         logger.info("[Throttle Down] index:{}, safeIndex:{}", getSearchIndex(), getMinSyncIndex());
-        try {
-          boolean timeout =
-              !stateMachineCondition.await(
-                  config.getReplication().getThrottleTimeOutMs(), TimeUnit.MILLISECONDS);
-          if (timeout) {
-            return RpcUtils.getStatus(
-                TSStatusCode.WRITE_PROCESS_REJECT,
-                String.format(
-                    "The write is rejected because the wal directory size has reached the "
-                        + "threshold %d bytes. You may need to adjust the flush policy of the "
-                        + "storage storageengine or the IoTConsensus synchronization parameter",
-                    config.getReplication().getWalThrottleThreshold()));
-          }
-        } catch (InterruptedException e) {
-          logger.error("Failed to throttle down because ", e);
-          Thread.currentThread().interrupt();
+        boolean timeout =
+            !stateMachineCondition.await(
+                config.getReplication().getThrottleTimeOutMs(), TimeUnit.MILLISECONDS);
+        if (timeout) {
+          return RpcUtils.getStatus(
+              TSStatusCode.WRITE_PROCESS_REJECT,
+              String.format(
+                  "The write is rejected because the wal directory size has reached the "
+                      + "threshold %d bytes. You may need to adjust the flush policy of the "
+                      + "storage storageengine or the IoTConsensus synchronization parameter",
+                  config.getReplication().getWalThrottleThreshold()));
         }
       }
-      long writeToStateMachineStartTime = System.nanoTime();
-      // statistic the time of checking write block
-      ioTConsensusServerMetrics.recordCheckingBeforeWriteTime(
-          writeToStateMachineStartTime - getStateMachineLockTime);
-      IndexedConsensusRequest indexedConsensusRequest =
-          buildIndexedConsensusRequestForLocalRequest(request);
-      lastConsensusRequest = indexedConsensusRequest;
-      if (indexedConsensusRequest.getSearchIndex() % 100000 == 0) {
-        logger.info(
-            "DataRegion[{}]: index after build: safeIndex:{}, searchIndex: {}, lastConsensusRequest: {}",
-            thisNode.getGroupId(),
-            getMinSyncIndex(),
-            indexedConsensusRequest.getSearchIndex(),
-            lastConsensusRequest.getSerializedRequests());
+    } catch (InterruptedException e) {
+      logger.error("Failed to throttle down because ", e);
+      Thread.currentThread().interrupt();
+    } finally {
+      stateMachineLock.unlock();
+    }
+    return null;
+  }
+
+  /**
+   * Makes a successfully written request visible to the {@link LogDispatcher}. Requests are
+   * published in search index order: a writer waits until its predecessor has advanced {@link
+   * #searchIndex}, then offers its request and advances the index in one step. If the predecessor
+   * does not show up in time, or the writer is interrupted or the server is stopping, the writer
+   * advances the index without offering its request, and the dispatcher reads the skipped requests
+   * from the WAL instead.
+   */
+  private void publish(IndexedConsensusRequest indexedConsensusRequest) {
+    boolean serialized = false;
+    try {
+      logDispatcher.serialize(indexedConsensusRequest);
+      serialized = true;
+    } catch (RuntimeException e) {
+      // the request is still in the WAL, the dispatcher will read it from there
+      logger.warn(
+          "{}: failed to serialize request with searchIndex {} for dispatching",
+          thisNode.getGroupId(),
+          indexedConsensusRequest.getSearchIndex(),
+          e);
+    } finally {
+      advanceSearchIndex(indexedConsensusRequest, serialized);
+    }
+  }
+
+  private void advanceSearchIndex(
+      IndexedConsensusRequest indexedConsensusRequest, boolean serialized) {
+    long index = indexedConsensusRequest.getSearchIndex();
+    // The index is used when constructing batch in LogDispatcher. If its value
+    // increases but the corresponding request does not exist or is not put into
+    // the queue, the dispatcher will try to find the request in WAL. This behavior
+    // is not expected and will slow down the preparation speed for batch.
+    // So we need to use the lock to ensure the `offer()` and `set()` are
+    // in one transaction.
+    synchronized (searchIndex) {
+      long deadline = System.currentTimeMillis() + PUBLISH_WAIT_TIMEOUT_MS;
+      try {
+        while (searchIndex.get() < index - 1 && !stopped) {
+          long remaining = deadline - System.currentTimeMillis();
+          if (remaining <= 0) {
+            break;
+          }
+          searchIndex.wait(remaining);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
       }
-      IConsensusRequest planNode = stateMachine.deserializeRequest(indexedConsensusRequest);
-      long startWriteTime = System.nanoTime();
-      TSStatus result = stateMachine.write(planNode);
-      PERFORMANCE_OVERVIEW_METRICS.recordEngineCost(System.nanoTime() - startWriteTime);
-
-      long writeToStateMachineEndTime = System.nanoTime();
-      // statistic the time of writing request into stateMachine
-      ioTConsensusServerMetrics.recordWriteStateMachineTime(
-          writeToStateMachineEndTime - writeToStateMachineStartTime);
-      if (result.getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
-        // The index is used when constructing batch in LogDispatcher. If its value
-        // increases but the corresponding request does not exist or is not put into
-        // the queue, the dispatcher will try to find the request in WAL. This behavior
-        // is not expected and will slow down the preparation speed for batch.
-        // So we need to use the lock to ensure the `offer()` and `incrementAndGet()` are
-        // in one transaction.
-        synchronized (searchIndex) {
+      if (searchIndex.get() == index - 1) {
+        if (serialized) {
           logDispatcher.offer(indexedConsensusRequest);
-          searchIndex.incrementAndGet();
         }
-        // statistic the time of offering request into queue
-        ioTConsensusServerMetrics.recordOfferRequestToQueueTime(
-            System.nanoTime() - writeToStateMachineEndTime);
-      } else {
-        logger.debug(
-            "{}: write operation failed. searchIndex: {}. Code: {}",
+      } else if (searchIndex.get() < index - 1) {
+        logger.warn(
+            "{}: gave up waiting for the requests before searchIndex {} to be published, "
+                + "current searchIndex is {}, the dispatcher will read them from the WAL",
             thisNode.getGroupId(),
-            indexedConsensusRequest.getSearchIndex(),
-            result.getCode());
+            index,
+            searchIndex.get());
       }
-      // statistic the time of total write process
-      ioTConsensusServerMetrics.recordConsensusWriteTime(
-          System.nanoTime() - consensusWriteStartTime);
-      return result;
-    } finally {
-      stateMachineLock.unlock();
+      searchIndex.set(Math.max(searchIndex.get(), index));
+      searchIndex.notifyAll();
     }
   }
 
@@ -286,6 +410,9 @@ public class IoTConsensusServerImpl {
   public void transmitSnapshot(Peer targetPeer) throws ConsensusGroupModifyPeerException {
     File snapshotDir = new File(storageDir, newSnapshotDirName);
     List<File> snapshotPaths = stateMachine.getSnapshotFiles(snapshotDir);
+    if (config.getReplication().isEnableIncrementalSnapshot()) {
+      snapshotPaths = excludeFilesReusedByPeer(targetPeer, snapshotPaths);
+    }
     AtomicLong snapshotSizeSumAtomic = new AtomicLong();
     StringBuilder allFilesStr = new StringBuilder();
     snapshotPaths.forEach(
@@ -299,8 +426,6 @@ public class IoTConsensusServerImpl {
               .append(humanReadableByteCountSI(fileSize));
         });
     final long snapshotSizeSum = snapshotSizeSumAtomic.get();
-    long transitedSnapshotSizeSum = 0;
-    long transitedFilesNum = 0;
     long startTime = System.nanoTime();
     logger.info(
         "[SNAPSHOT TRANSMISSION] Start to transmit snapshots ({} files, total size {}) from dir {}",
@@ -309,51 +434,115 @@ public class IoTConsensusServerImpl {
         snapshotDir);
     logger.info(
         "[SNAPSHOT TRANSMISSION] All the files below shell be transmitted: {}", allFilesStr);
+    SnapshotTransmitter transmitter =
+        new SnapshotTransmitter(
+            newSnapshotDirName,
+            targetPeer,
+            snapshotPaths,
+            syncClientManager,
+            config.getReplication().getSnapshotTransmissionParallelism());
+    snapshotTransmission = transmitter.getTransmission();
+    transmitter.transmit();
+    logger.info(
+        "[SNAPSHOT TRANSMISSION] After {}, successfully transmit all snapshots from dir {}",
+        CommonDateTimeUtils.convertMillisecondToDurationStr(
+            (System.nanoTime() - startTime) / 1_000_000),
+        snapshotDir);
+  }
+
+  /**
+   * Ask the target peer to link the snapshot files it already holds into its snapshot dir, and
+   * return the files that still need to be transmitted. Any failure falls back to a full
+   * transmission.
+   */
+  private List<File> excludeFilesReusedByPeer(Peer targetPeer, List<File> snapshotFiles) {
+    List<String> reusedFilePaths;
     try (SyncIoTConsensusServiceClient client =
         syncClientManager.borrowClient(targetPeer.getEndpoint())) {
-      for (File file : snapshotPaths) {
-        SnapshotFragmentReader reader =
-            new SnapshotFragmentReader(newSnapshotDirName, file.toPath());
-        try {
-          while (reader.hasNext()) {
-            // TODO: zero copy ?
-            TSendSnapshotFragmentReq req = reader.next().toTSendSnapshotFragmentReq();
-            req.setConsensusGroupId(targetPeer.getGroupId().convertToTConsensusGroupId());
-            ioTConsensusRateLimiter.acquireTransitDataSizeWithRateLimiter(req.getChunkLength());
-            TSendSnapshotFragmentRes res = client.sendSnapshotFragment(req);
-            if (!isSuccess(res.getStatus())) {
-              throw new ConsensusGroupModifyPeerException(
-                  String.format(
-                      "[SNAPSHOT TRANSMISSION] Error when transmitting snapshot fragment to %s",
-                      targetPeer));
-            }
-          }
-          transitedSnapshotSizeSum += reader.getTotalReadSize();
-          transitedFilesNum++;
-          logger.info(
-              "[SNAPSHOT TRANSMISSION] The overall progress for dir {}: files {}/{} done, size {}/{} done, time {} passed. File {} done.",
-              newSnapshotDirName,
-              transitedFilesNum,
-              snapshotPaths.size(),
-              humanReadableByteCountSI(transitedSnapshotSizeSum),
-              humanReadableByteCountSI(snapshotSizeSum),
-              CommonDateTimeUtils.convertMillisecondToDurationStr(
-                  (System.nanoTime() - startTime) / 1_000_000),
-              file);
-        } finally {
-          reader.close();
-        }
+      List<TSnapshotFileDigest> fileDigests = new ArrayList<>(snapshotFiles.size());
+      for (File file : snapshotFiles) {
+        fileDigests.add(SnapshotFileDigest.of(file));
+      }
+      TReuseSnapshotFilesRes res =
+          client.reuseSnapshotFiles(
+              new TReuseSnapshotFilesReq(
+                  targetPeer.getGroupId().convertToTConsensusGroupId(),
+                  newSnapshotDirName,
+                  fileDigests));
+      if (!isSuccess(res.getStatus()) || !res.isSetReusedFilePaths()) {
+        logger.warn(
+            "[SNAPSHOT TRANSMISSION] {} cannot reuse local files for snapshot {}: {}, transmit all files",
+            targetPeer,
+            newSnapshotDirName,
+            res.getStatus());
+        return snapshotFiles;
       }
+      reusedFilePaths = res.getReusedFilePaths();
     } catch (Exception e) {
-      throw new ConsensusGroupModifyPeerException(
-          String.format("[SNAPSHOT TRANSMISSION] Error when send snapshot file to %s", targetPeer),
+      logger.warn(
+          "[SNAPSHOT TRANSMISSION] Failed to negotiate reusable files of snapshot {} with {}, transmit all files",
+          newSnapshotDirName,
+          targetPeer,
           e);
+      return snapshotFiles;
+    }
+    Set<String> reusedFiles = new HashSet<>(reusedFilePaths);
+    List<File> filesToTransmit = new ArrayList<>();
+    long reusedSize = 0;
+    for (File file : snapshotFiles) {
+      if (reusedFiles.contains(file.getAbsolutePath())) {
+        reusedSize += file.length();
+      } else {
+        filesToTransmit.add(file);
+      }
     }
     logger.info(
-        "[SNAPSHOT TRANSMISSION] After {}, successfully transmit all snapshots from dir {}",
-        CommonDateTimeUtils.convertMillisecondToDurationStr(
-            (System.nanoTime() - startTime) / 1_000_000),
-        snapshotDir);
+        "[SNAPSHOT TRANSMISSION] {} reuses {} local files (total size {}) of snapshot {}",
+        targetPeer,
+        snapshotFiles.size() - filesToTransmit.size(),
+        humanReadableByteCountSI(reusedSize),
+        newSnapshotDirName);
+    return filesToTransmit;
+  }
+
+  /**
+   * Link the local files that have the same digests as the leader's snapshot files into the
+   * snapshot dir, so that they do not need to be transmitted.
+   *
+   * @return the leader-side paths of the files that have been linked
+   */
+  public List<String> reuseLocalSnapshotFiles(
+      String snapshotId, List<TSnapshotFileDigest> fileDigests)
+      throws ConsensusGroupModifyPeerException {
+    List<String> reusedFilePaths = new ArrayList<>();
+    for (TSnapshotFileDigest digest : fileDigests) {
+      String snapshotPath = calculateSnapshotPath(snapshotId, digest.getFilePath());
+      String relativePath = snapshotPath.substring(snapshotId.length() + 1);
+      File localFile = stateMachine.getReusableLocalFile(relativePath);
+      if (localFile == null) {
+        continue;
+      }
+      File targetFile = new File(storageDir, snapshotPath);
+      try {
+        if (!SnapshotFileDigest.matches(digest, localFile)) {
+          continue;
+        }
+        Files.createDirectories(targetFile.getParentFile().toPath());
+        Files.deleteIfExists(targetFile.toPath());
+        Files.createLink(targetFile.toPath(), localFile.toPath());
+        reusedFilePaths.add(digest.getFilePath());
+      } catch (IOException e) {
+        // the file may have been removed by compaction, or the dirs are on different disks
+        logger.info(
+            "Cannot reuse {} for snapshot {}, it will be transmitted", localFile, snapshotId);
+      }
+    }
+    logger.info(
+        "Reused {}/{} local files for snapshot {}",
+        reusedFilePaths.size(),
+        fileDigests.size(),
+        snapshotId);
+    return reusedFilePaths;
   }
 
   public void receiveSnapshotFragment(
@@ -699,12 +888,16 @@ public class IoTConsensusServerImpl {
 
   public IndexedConsensusRequest buildIndexedConsensusRequestForLocalRequest(
       IConsensusRequest request) {
+    return buildIndexedConsensusRequestForLocalRequest(request, assignedSearchIndex.get() + 1);
+  }
+
+  private IndexedConsensusRequest buildIndexedConsensusRequestForLocalRequest(
+      IConsensusRequest request, long index) {
     if (request instanceof ComparableConsensusRequest) {
-      final IoTProgressIndex iotProgressIndex =
-          new IoTProgressIndex(thisNode.getNodeId(), searchIndex.get() + 1);
+      final IoTProgressIndex iotProgressIndex = new IoTProgressIndex(thisNode.getNodeId(), index);
       ((ComparableConsensusRequest) request).setProgressIndex(iotProgressIndex);
     }
-    return new IndexedConsensusRequest(searchIndex.get() + 1, Collections.singletonList(request));
+    return new IndexedConsensusRequest(index, Collections.singletonList(request));
   }
 
   public IndexedConsensusRequest buildIndexedConsensusRequestForRemoteRequest(
@@ -758,6 +951,10 @@ public class IoTConsensusServerImpl {
     return logDispatcher.getLogEntriesFromQueue();
   }
 
+  public long getLogEntriesFromWALCache() {
+    return logDispatcher.getLogEntriesFromWALCache();
+  }
+
   public boolean needBlockWrite() {
     return consensusReqReader.getTotalSize() > config.getReplication().getWalThrottleThreshold();
   }
@@ -886,6 +1083,7 @@ public class IoTConsensusServerImpl {
           currentSearchIndex,
           safelyDeletedSearchIndex);
       searchIndex.set(safelyDeletedSearchIndex);
+      assignedSearchIndex.set(safelyDeletedSearchIndex);
     }
   }
 
@@ -899,6 +1097,26 @@ public class IoTConsensusServerImpl {
     return consensusGroupId;
   }
 
+  /** Gets the sync index up to which the batches from the leader have been applied. */
+  public long getAppliedSyncIndex() {
+    return cacheQueueMap.values().stream()
+        .mapToLong(SyncLogCacheQueue::getAppliedSyncIndex)
+        .max()
+        .orElse(-1L);
+  }
+
+  /** The percentage of the last snapshot transmission from this peer. */
+  public double getSnapshotTransmissionProgress() {
+    SnapshotTransmission transmission = snapshotTransmission;
+    return transmission == null ? 0 : transmission.getProgress();
+  }
+
+  /** The estimated remaining time of the last snapshot transmission from this peer. */
+  public long getSnapshotTransmissionEtaInMs() {
+    SnapshotTransmission transmission = snapshotTransmission;
+    return transmission == null ? 0 : Math.max(0, transmission.getEtaInMs());
+  }
+
   /** This method is used for hot reload of IoTConsensusConfig. */
   public void reloadConsensusConfig(IoTConsensusConfig config) {
     this.config = config;
@@ -916,10 +1134,31 @@ public class IoTConsensusServerImpl {
     private final Condition queueSortCondition = queueLock.newCondition();
     private final PriorityQueue<DeserializedBatchIndexedConsensusRequest> requestCache;
     private long nextSyncIndex = -1;
+    // null if the requests are applied one by one in the order of the leader
+    private final PartitionedApplier applier;
+    // startSyncIndex -> endSyncIndex of the batches which are dispatched but not applied
+    private final ConcurrentSkipListMap<Long, Long> inFlightBatches = new ConcurrentSkipListMap<>();
+    private volatile long dispatchedSyncIndex = -1;
 
     public SyncLogCacheQueue(int sourcePeerId) {
       this.sourcePeerId = sourcePeerId;
       this.requestCache = new PriorityQueue<>();
+      int applyParallelism = config.getReplication().getFollowerApplyParallelism();
+      this.applier =
+          applyParallelism > 1
+              ? new PartitionedApplier(applyParallelism, stateMachine::write)
+              : null;
+    }
+
+    /**
+     * Gets the sync index up to which all the batches from the source peer have been applied.
+     * Batches may be applied out of order in parallel mode, so this is the end of the contiguous
+     * applied range rather than the end of the last applied batch.
+     */
+    private long getAppliedSyncIndex() {
+      long dispatched = dispatchedSyncIndex;
+      Map.Entry<Long, Long> firstInFlight = inFlightBatches.firstEntry();
+      return firstInFlight == null ? dispatched : Math.min(dispatched, firstInFlight.getKey() - 1);
     }
 
     /**
@@ -935,6 +1174,7 @@ public class IoTConsensusServerImpl {
           requestCache.size(),
           request.getStartSyncIndex(),
           request.getEndSyncIndex());
+      List<CompletableFuture<TSStatus>> applyResults;
       queueLock.lock();
       try {
         long insertStartTime = System.nanoTime();
@@ -998,27 +1238,78 @@ public class IoTConsensusServerImpl {
         }
         long sortTime = System.nanoTime();
         ioTConsensusServerMetrics.recordSortCost(sortTime - insertStartTime);
-        List<TSStatus> subStatus = new LinkedList<>();
         for (IConsensusRequest insertNode : request.getInsertNodes()) {
           insertNode.markAsGeneratedByRemoteConsensusLeader();
-          subStatus.add(stateMachine.write(insertNode));
         }
-        long applyTime = System.nanoTime();
-        ioTConsensusServerMetrics.recordApplyCost(applyTime - sortTime);
-        queueSortCondition.signalAll();
-        logger.debug(
-            "cacheAndInsert end: source = {}, region = {}, queue size {}, startSyncIndex = {}, endSyncIndex = {}, sortTime = {}ms, applyTime = {}ms",
-            sourcePeerId,
-            consensusGroupId,
-            requestCache.size(),
-            request.getStartSyncIndex(),
-            request.getEndSyncIndex(),
-            TimeUnit.NANOSECONDS.toMillis(sortTime - insertStartTime),
-            TimeUnit.NANOSECONDS.toMillis(applyTime - sortTime));
-        return new TSStatus().setSubStatus(subStatus);
+        if (applier != null) {
+          // Only dispatch the requests here, so that the following batches can be dispatched
+          // while these are being applied
+          inFlightBatches.put(request.getStartSyncIndex(), request.getEndSyncIndex());
+          dispatchedSyncIndex = Math.max(dispatchedSyncIndex, request.getEndSyncIndex());
+          applyResults = applier.dispatch(request.getInsertNodes());
+          queueSortCondition.signalAll();
+        } else {
+          List<TSStatus> subStatus = new LinkedList<>();
+          for (IConsensusRequest insertNode : request.getInsertNodes()) {
+            subStatus.add(stateMachine.write(insertNode));
+          }
+          long applyTime = System.nanoTime();
+          ioTConsensusServerMetrics.recordApplyCost(applyTime - sortTime);
+          ioTConsensusServerMetrics.recordApplyRequests(request.getInsertNodes().size());
+          dispatchedSyncIndex = Math.max(dispatchedSyncIndex, request.getEndSyncIndex());
+          queueSortCondition.signalAll();
+          logger.debug(
+              "cacheAndInsert end: source = {}, region = {}, queue size {}, startSyncIndex = {}, endSyncIndex = {}, sortTime = {}ms, applyTime = {}ms",
+              sourcePeerId,
+              consensusGroupId,
+              requestCache.size(),
+              request.getStartSyncIndex(),
+              request.getEndSyncIndex(),
+              TimeUnit.NANOSECONDS.toMillis(sortTime - insertStartTime),
+              TimeUnit.NANOSECONDS.toMillis(applyTime - sortTime));
+          return new TSStatus().setSubStatus(subStatus);
+        }
       } finally {
         queueLock.unlock();
       }
+      return waitForApplyResults(request, applyResults, System.nanoTime());
+    }
+
+    private TSStatus waitForApplyResults(
+        DeserializedBatchIndexedConsensusRequest request,
+        List<CompletableFuture<TSStatus>> applyResults,
+        long dispatchTime) {
+      List<TSStatus> subStatus = new ArrayList<>(applyResults.size());
+      try {
+        for (CompletableFuture<TSStatus> applyResult : applyResults) {
+          try {
+            subStatus.add(applyResult.join());
+          } catch (CompletionException e) {
+            logger.error(
+                "Failed to apply a request in batch [{}, {}] from {}",
+                request.getStartSyncIndex(),
+                request.getEndSyncIndex(),
+                sourcePeerId,
+                e.getCause());
+            subStatus.add(
+                RpcUtils.getStatus(
+                    TSStatusCode.INTERNAL_SERVER_ERROR, String.valueOf(e.getCause())));
+          }
+        }
+      } finally {
+        inFlightBatches.remove(request.getStartSyncIndex());
+      }
+      long applyTime = System.nanoTime();
+      ioTConsensusServerMetrics.recordApplyCost(applyTime - dispatchTime);
+      ioTConsensusServerMetrics.recordApplyRequests(applyResults.size());
+      logger.debug(
+          "cacheAndInsert end: source = {}, region = {}, startSyncIndex = {}, endSyncIndex = {}, applyTime = {}ms",
+          sourcePeerId,
+          consensusGroupId,
+          request.getStartSyncIndex(),
+          request.getEndSyncIndex(),
+          TimeUnit.NANOSECONDS.toMillis(applyTime - dispatchTime));
+      return new TSStatus().setSubStatus(subStatus);
     }
   }
 }
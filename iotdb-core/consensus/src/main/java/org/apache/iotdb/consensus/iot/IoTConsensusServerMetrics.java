@@ -24,6 +24,7 @@ import org.apache.iotdb.commons.service.metric.enums.Tag;
 import org.apache.iotdb.metrics.AbstractMetricService;
 import org.apache.iotdb.metrics.impl.DoNothingMetricManager;
 import org.apache.iotdb.metrics.metricsets.IMetricSet;
+import org.apache.iotdb.metrics.type.Rate;
 import org.apache.iotdb.metrics.type.Timer;
 import org.apache.iotdb.metrics.utils.MetricLevel;
 import org.apache.iotdb.metrics.utils.MetricType;
@@ -40,9 +41,13 @@ public class IoTConsensusServerMetrics implements IMetricSet {
   private Timer deserializeTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer sortTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer applyTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+  private Rate applyRequestRate = DoNothingMetricManager.DO_NOTHING_RATE;
   private static final String DESERIALIZE = "deserialize";
   private static final String SORT = "sort";
   private static final String APPLY = "apply";
+  private static final String APPLY_REQUEST = "applyRequest";
+  private static final String SNAPSHOT_TRANSMISSION_PROGRESS = "snapshotTransmissionProgress";
+  private static final String SNAPSHOT_TRANSMISSION_ETA = "snapshotTransmissionEtaInMs";
 
   public IoTConsensusServerMetrics(IoTConsensusServerImpl impl) {
     this.impl = impl;
@@ -62,6 +67,10 @@ public class IoTConsensusServerMetrics implements IMetricSet {
     applyTimer.updateNanos(costTimeInNanos);
   }
 
+  public void recordApplyRequests(long requestNum) {
+    applyRequestRate.mark(requestNum);
+  }
+
   @Override
   public void bindTo(AbstractMetricService metricService) {
     bindAutoGauge(metricService);
@@ -133,6 +142,50 @@ public class IoTConsensusServerMetrics implements IMetricSet {
         impl.getThisNode().getGroupId().toString(),
         Tag.TYPE.toString(),
         "LogEntriesFromQueue");
+    metricService.createAutoGauge(
+        Metric.IOT_CONSENSUS.toString(),
+        MetricLevel.IMPORTANT,
+        impl,
+        IoTConsensusServerImpl::getLogEntriesFromWALCache,
+        Tag.NAME.toString(),
+        IMPL,
+        Tag.REGION.toString(),
+        impl.getThisNode().getGroupId().toString(),
+        Tag.TYPE.toString(),
+        "LogEntriesFromWALCache");
+    metricService.createAutoGauge(
+        Metric.IOT_CONSENSUS.toString(),
+        MetricLevel.IMPORTANT,
+        impl,
+        IoTConsensusServerImpl::getAppliedSyncIndex,
+        Tag.NAME.toString(),
+        IMPL,
+        Tag.REGION.toString(),
+        impl.getThisNode().getGroupId().toString(),
+        Tag.TYPE.toString(),
+        "appliedSyncIndex");
+    metricService.createAutoGauge(
+        Metric.IOT_CONSENSUS.toString(),
+        MetricLevel.IMPORTANT,
+        impl,
+        IoTConsensusServerImpl::getSnapshotTransmissionProgress,
+        Tag.NAME.toString(),
+        IMPL,
+        Tag.REGION.toString(),
+        impl.getThisNode().getGroupId().toString(),
+        Tag.TYPE.toString(),
+        SNAPSHOT_TRANSMISSION_PROGRESS);
+    metricService.createAutoGauge(
+        Metric.IOT_CONSENSUS.toString(),
+        MetricLevel.IMPORTANT,
+        impl,
+        IoTConsensusServerImpl::getSnapshotTransmissionEtaInMs,
+        Tag.NAME.toString(),
+        IMPL,
+        Tag.REGION.toString(),
+        impl.getThisNode().getGroupId().toString(),
+        Tag.TYPE.toString(),
+        SNAPSHOT_TRANSMISSION_ETA);
   }
 
   private void bindStageTimer(AbstractMetricService metricService) {
@@ -214,6 +267,14 @@ public class IoTConsensusServerMetrics implements IMetricSet {
             APPLY,
             Tag.REGION.toString(),
             impl.getConsensusGroupId());
+    applyRequestRate =
+        metricService.getOrCreateRate(
+            IOT_RECEIVE_LOG,
+            MetricLevel.IMPORTANT,
+            Tag.STAGE.toString(),
+            APPLY_REQUEST,
+            Tag.REGION.toString(),
+            impl.getConsensusGroupId());
   }
 
   private void unbindAutoGauge(AbstractMetricService metricService) {
@@ -262,6 +323,42 @@ public class IoTConsensusServerMetrics implements IMetricSet {
         impl.getThisNode().getGroupId().toString(),
         Tag.TYPE.toString(),
         "LogEntriesFromQueue");
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.IOT_CONSENSUS.toString(),
+        Tag.NAME.toString(),
+        IMPL,
+        Tag.REGION.toString(),
+        impl.getThisNode().getGroupId().toString(),
+        Tag.TYPE.toString(),
+        "LogEntriesFromWALCache");
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.IOT_CONSENSUS.toString(),
+        Tag.NAME.toString(),
+        IMPL,
+        Tag.REGION.toString(),
+        impl.getThisNode().getGroupId().toString(),
+        Tag.TYPE.toString(),
+        "appliedSyncIndex");
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.IOT_CONSENSUS.toString(),
+        Tag.NAME.toString(),
+        IMPL,
+        Tag.REGION.toString(),
+        impl.getThisNode().getGroupId().toString(),
+        Tag.TYPE.toString(),
+        SNAPSHOT_TRANSMISSION_PROGRESS);
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.IOT_CONSENSUS.toString(),
+        Tag.NAME.toString(),
+        IMPL,
+        Tag.REGION.toString(),
+        impl.getThisNode().getGroupId().toString(),
+        Tag.TYPE.toString(),
+        SNAPSHOT_TRANSMISSION_ETA);
   }
 
   private void unbindStageTimer(AbstractMetricService metricService) {
@@ -340,6 +437,14 @@ public class IoTConsensusServerMetrics implements IMetricSet {
         APPLY,
         Tag.REGION.toString(),
         impl.getConsensusGroupId());
+    metricService.remove(
+        MetricType.RATE,
+        IOT_RECEIVE_LOG,
+        Tag.STAGE.toString(),
+        APPLY_REQUEST,
+        Tag.REGION.toString(),
+        impl.getConsensusGroupId());
+    applyRequestRate = DoNothingMetricManager.DO_NOTHING_RATE;
   }
 
   public void recordGetStateMachineLockTime(long costTimeInNanos) {
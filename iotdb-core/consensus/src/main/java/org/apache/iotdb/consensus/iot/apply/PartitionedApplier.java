@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.apply;
+
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.consensus.common.request.IConsensusRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * Applies the requests synchronized from a leader in several serial lanes. A request goes to the
+ * lane of its {@link IConsensusRequest#getApplyPartitionKey()}, so the requests with the same key
+ * are applied in the order they are dispatched while the others are applied concurrently. A request
+ * without a key is applied by the dispatching thread once all the dispatched requests have been
+ * applied, and the following requests are not dispatched before it is applied.
+ *
+ * <p>The lanes of all the regions share one cached thread pool, a lane only occupies a thread when
+ * it has requests to apply.
+ */
+public class PartitionedApplier {
+
+  private static class ExecutorHolder {
+    private static final ExecutorService APPLY_EXECUTOR =
+        IoTDBThreadPoolFactory.newCachedThreadPool(
+            ThreadName.IOT_CONSENSUS_FOLLOWER_APPLY.getName());
+
+    private ExecutorHolder() {
+      // Empty constructor
+    }
+  }
+
+  private final Function<IConsensusRequest, TSStatus> applyFunction;
+  private final ExecutorService executor;
+  // The last task of each lane, which never completes exceptionally
+  private final CompletableFuture<?>[] laneTails;
+
+  public PartitionedApplier(int laneNum, Function<IConsensusRequest, TSStatus> applyFunction) {
+    this(laneNum, applyFunction, ExecutorHolder.APPLY_EXECUTOR);
+  }
+
+  PartitionedApplier(
+      int laneNum, Function<IConsensusRequest, TSStatus> applyFunction, ExecutorService executor) {
+    this.applyFunction = applyFunction;
+    this.executor = executor;
+    this.laneTails = new CompletableFuture<?>[Math.max(1, laneNum)];
+    Arrays.fill(laneTails, CompletableFuture.completedFuture(null));
+  }
+
+  /**
+   * Dispatch the requests to the lanes. This method must not be called concurrently, and the
+   * requests must be dispatched in the order of the leader.
+   *
+   * @return the statuses of the requests, in the same order as the requests
+   */
+  public List<CompletableFuture<TSStatus>> dispatch(List<IConsensusRequest> requests) {
+    List<CompletableFuture<TSStatus>> results = new ArrayList<>(requests.size());
+    for (IConsensusRequest request : requests) {
+      CompletableFuture<TSStatus> result = new CompletableFuture<>();
+      Object key = request.getApplyPartitionKey();
+      if (key == null) {
+        awaitAllApplied();
+        apply(request, result);
+      } else {
+        int lane = Math.floorMod(key.hashCode(), laneTails.length);
+        laneTails[lane] = laneTails[lane].thenRunAsync(() -> apply(request, result), executor);
+      }
+      results.add(result);
+    }
+    return results;
+  }
+
+  private void apply(IConsensusRequest request, CompletableFuture<TSStatus> result) {
+    try {
+      result.complete(applyFunction.apply(request));
+    } catch (Throwable t) {
+      result.completeExceptionally(t);
+    }
+  }
+
+  /** Block until all the dispatched requests have been applied. */
+  public void awaitAllApplied() {
+    for (CompletableFuture<?> laneTail : laneTails) {
+      laneTail.join();
+    }
+  }
+
+  public int getLaneNum() {
+    return laneTails.length;
+  }
+}
@@ -69,6 +69,9 @@ public class DispatchLogHandler implements AsyncMethodCallback<TSyncLogEntriesRe
               .map(TSStatus::getMessage)
               .collect(Collectors.toList());
 
+      if (retryCount == 0) {
+        thread.getSyncStatus().recordBatchFailure();
+      }
       String messages = String.join(", ", retryStatusMessages);
       logger.warn(
           "Can not send {} to peer {} for {} times because {}",
@@ -91,6 +94,12 @@ public class DispatchLogHandler implements AsyncMethodCallback<TSyncLogEntriesRe
               response.getStatuses());
         }
       }
+      if (retryCount == 0) {
+        // Only the batches synchronized at the first attempt reflect the round trip time
+        long roundTripTime = System.nanoTime() - createTime;
+        thread.getSyncStatus().recordBatchRoundTripTime(roundTripTime);
+        logDispatcherThreadMetrics.recordBatchRoundTripTime(roundTripTime);
+      }
       completeBatch(batch);
     }
     logDispatcherThreadMetrics.recordSyncLogTimePerRequest(System.nanoTime() - createTime);
@@ -113,6 +122,9 @@ public class DispatchLogHandler implements AsyncMethodCallback<TSyncLogEntriesRe
       logDispatcherThreadMetrics.recordSyncLogTimePerRequest(System.nanoTime() - createTime);
       return;
     }
+    if (retryCount == 1) {
+      thread.getSyncStatus().recordBatchFailure();
+    }
     sleepCorrespondingTimeAndRetryAsynchronous();
   }
 
@@ -144,6 +156,8 @@ public class DispatchLogHandler implements AsyncMethodCallback<TSyncLogEntriesRe
 
   private void completeBatch(Batch batch) {
     thread.getSyncStatus().removeBatch(batch);
+    logDispatcherThreadMetrics.recordSyncLag(
+        thread.getImpl().getSearchIndex() - thread.getCurrentSyncIndex());
     // update safely deleted search index after last flushed sync index may be updated by
     // removeBatch
     thread.updateSafelyDeletedSearchIndex();
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.logdispatcher;
+
+/**
+ * The number of batches that can be in flight to one peer, adjusted by a delay based congestion
+ * control. The smallest round trip time observed is taken as the latency of an idle peer. As long
+ * as the smoothed round trip time stays close to it, the peer keeps up with the batches in flight,
+ * and the window grows by one batch per window of acknowledged batches. Once batches start queuing
+ * on the peer, which inflates the round trip time beyond the tolerance, or a batch fails, the
+ * window is cut multiplicatively. The window never drops below the configured maxPendingBatchesNum,
+ * and it only changes on acknowledgements, so an idle period does not shrink it.
+ */
+public class DispatchWindow {
+
+  // The weight of the latest sample in the moving average
+  private static final double ALPHA = 0.2;
+  // The round trip time is regarded as inflated by queuing beyond this ratio of the minimum one
+  private static final double RTT_INFLATION_THRESHOLD = 1.5;
+  private static final double DECREASE_FACTOR = 0.75;
+
+  private final int minSize;
+  private final int maxSize;
+
+  private long minRoundTripTimeInNanos = Long.MAX_VALUE;
+  private double avgRoundTripTimeInNanos = -1;
+  // The number of batches acknowledged since the last adjustment of the window
+  private int acknowledgedSinceLastAdjustment = 0;
+  private volatile int size;
+
+  public DispatchWindow(int minSize, int maxSize) {
+    this.minSize = Math.max(1, minSize);
+    this.maxSize = Math.max(this.minSize, maxSize);
+    this.size = this.minSize;
+  }
+
+  public synchronized void onBatchCompleted(long roundTripTimeInNanos) {
+    roundTripTimeInNanos = Math.max(1, roundTripTimeInNanos);
+    minRoundTripTimeInNanos = Math.min(minRoundTripTimeInNanos, roundTripTimeInNanos);
+    avgRoundTripTimeInNanos =
+        avgRoundTripTimeInNanos < 0
+            ? roundTripTimeInNanos
+            : ALPHA * roundTripTimeInNanos + (1 - ALPHA) * avgRoundTripTimeInNanos;
+    // Adjust at most once per window so that the effect of the last adjustment can be observed
+    if (++acknowledgedSinceLastAdjustment < size) {
+      return;
+    }
+    if (avgRoundTripTimeInNanos > minRoundTripTimeInNanos * RTT_INFLATION_THRESHOLD) {
+      decrease();
+    } else {
+      size = Math.min(maxSize, size + 1);
+      acknowledgedSinceLastAdjustment = 0;
+    }
+  }
+
+  public synchronized void onBatchFailed() {
+    decrease();
+  }
+
+  private void decrease() {
+    size = Math.max(minSize, (int) (size * DECREASE_FACTOR));
+    acknowledgedSinceLastAdjustment = 0;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public int getMinSize() {
+    return minSize;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+}
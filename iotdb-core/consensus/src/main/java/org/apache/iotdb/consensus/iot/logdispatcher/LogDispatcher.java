@@ -64,6 +64,8 @@ public class LogDispatcher {
   private ExecutorService executorService;
 
   private final ConsensusReqReader reader;
+  // Shared by all the dispatcher threads to avoid reading the same WAL entries once per peer
+  private final WALEntryCache walEntryCache;
   private boolean stopped = false;
 
   private final AtomicLong logEntriesFromWAL = new AtomicLong(0);
@@ -76,6 +78,8 @@ public class LogDispatcher {
     this.reader = (ConsensusReqReader) impl.getStateMachine().read(new GetConsensusReqReaderPlan());
     this.selfPeerId = impl.getThisNode().getNodeId();
     this.clientManager = clientManager;
+    this.walEntryCache =
+        new WALEntryCache(impl.getConfig().getReplication().getMaxWALEntryCacheSizeInBytes());
     this.threads =
         impl.getConfiguration().stream()
             .filter(x -> !Objects.equals(x, impl.getThisNode()))
@@ -117,6 +121,7 @@ public class LogDispatcher {
         logger.error("Unexpected Interruption when closing LogDispatcher service ");
       }
     }
+    walEntryCache.clear();
     stopped = true;
   }
 
@@ -173,6 +178,18 @@ public class LogDispatcher {
           });
       // do not set SafelyDeletedSearchIndex as it is Long.MAX_VALUE when replica is 1
       reader.setSafelyDeletedSearchIndex(impl.getMinFlushedSyncIndex());
+      walEntryCache.evictBefore(impl.getMinSyncIndex());
+    }
+  }
+
+  /**
+   * Serializes the request for the dispatcher threads in advance so that {@link
+   * #offer(IndexedConsensusRequest)} only needs to enqueue it.
+   */
+  public void serialize(IndexedConsensusRequest request) {
+    // we don't need to serialize request when replicaNum is 1.
+    if (!threads.isEmpty()) {
+      request.buildSerializedRequests();
     }
   }
 
@@ -208,6 +225,14 @@ public class LogDispatcher {
     return logEntriesFromQueue.get();
   }
 
+  public long getLogEntriesFromWALCache() {
+    return walEntryCache.getHitCount();
+  }
+
+  public WALEntryCache getWALEntryCache() {
+    return walEntryCache;
+  }
+
   public class LogDispatcherThread implements Runnable {
 
     private static final long PENDING_REQUEST_TAKING_TIME_OUT_IN_SEC = 10;
@@ -353,6 +378,9 @@ public class LogDispatcher {
       try {
         Batch batch;
         while (!Thread.interrupted() && !stopped) {
+          // we may block here if the synchronization pipeline is full, the requests arriving in
+          // the meantime will be coalesced into the next batch instead of waiting for another one
+          syncStatus.waitForAvailableSlot();
           long startTime = System.nanoTime();
           while ((batch = getBatch()).isEmpty()) {
             // we may block here if there is no requests in the queue
@@ -360,11 +388,6 @@ public class LogDispatcher {
                 pendingEntries.poll(PENDING_REQUEST_TAKING_TIME_OUT_IN_SEC, TimeUnit.SECONDS);
             if (request != null) {
               bufferedEntries.add(request);
-              // If write pressure is low, we simply sleep a little to reduce the number of RPC
-              if (pendingEntries.size() <= config.getReplication().getMaxLogEntriesNumPerBatch()
-                  && bufferedEntries.isEmpty()) {
-                Thread.sleep(config.getReplication().getMaxWaitingTimeForAccumulatingBatchInMs());
-              }
             }
             // Immediately check for interrupts after poll and sleep
             if (Thread.interrupted() || stopped) {
@@ -376,7 +399,7 @@ public class LogDispatcher {
             throw new InterruptedException("Interrupted after getting a batch");
           }
           logDispatcherThreadMetrics.recordConstructBatchTime(System.nanoTime() - startTime);
-          // we may block here if the synchronization pipeline is full
+          // we may block here if the memory for the batch is not enough
           syncStatus.addNextBatch(batch);
           logEntriesFromWAL.addAndGet(batch.getLogEntriesNumFromWAL());
           logEntriesFromQueue.addAndGet(
@@ -400,6 +423,8 @@ public class LogDispatcher {
       //
       // Use minFlushedSyncIndex here to reserve the WAL which are not flushed and support kill -9.
       reader.setSafelyDeletedSearchIndex(impl.getMinFlushedSyncIndex());
+      // the cached WAL entries which have been synchronized to all the peers are useless
+      walEntryCache.evictBefore(impl.getMinSyncIndex());
       // notify
       if (impl.unblockWrite()) {
         impl.signal();
@@ -535,11 +560,28 @@ public class LogDispatcher {
           currentIndex,
           maxIndex);
       boolean hasCorruptedData = false;
+      // The cache only pays off when more than one peer may read the same entries
+      boolean shareWALEntries = threads.size() > 1;
       // targetIndex is the index of request that we need to find
       long targetIndex = currentIndex;
-      // Even if there is no WAL files, these code won't produce error.
-      walEntryIterator.skipTo(targetIndex);
+      // Whether the walEntryIterator is positioned at targetIndex
+      boolean isIteratorPositioned = false;
       while (targetIndex < maxIndex && logBatches.canAccumulate()) {
+        if (shareWALEntries) {
+          TLogEntry cachedEntry = walEntryCache.get(targetIndex);
+          if (cachedEntry != null) {
+            logger.debug("construct from WAL cache for one Entry, index : {}", targetIndex);
+            logBatches.addTLogEntry(cachedEntry);
+            targetIndex++;
+            isIteratorPositioned = false;
+            continue;
+          }
+        }
+        if (!isIteratorPositioned) {
+          // Even if there is no WAL files, these code won't produce error.
+          walEntryIterator.skipTo(targetIndex);
+          isIteratorPositioned = true;
+        }
         logger.debug("construct from WAL for one Entry, index : {}", targetIndex);
         try {
           walEntryIterator.waitForNextReady();
@@ -566,9 +608,13 @@ public class LogDispatcher {
         targetIndex = data.getSearchIndex() + 1;
         data.buildSerializedRequests();
         // construct request from wal
-        logBatches.addTLogEntry(
+        TLogEntry entry =
             new TLogEntry(
-                data.getSerializedRequests(), data.getSearchIndex(), true, data.getMemorySize()));
+                data.getSerializedRequests(), data.getSearchIndex(), true, data.getMemorySize());
+        if (shareWALEntries) {
+          walEntryCache.put(entry);
+        }
+        logBatches.addTLogEntry(entry);
       }
       // In the case of corrupt Data, we return true so that we can send a batch as soon as
       // possible, avoiding potential duplication
@@ -24,6 +24,7 @@ import org.apache.iotdb.commons.service.metric.enums.Tag;
 import org.apache.iotdb.metrics.AbstractMetricService;
 import org.apache.iotdb.metrics.impl.DoNothingMetricManager;
 import org.apache.iotdb.metrics.metricsets.IMetricSet;
+import org.apache.iotdb.metrics.type.Histogram;
 import org.apache.iotdb.metrics.type.Timer;
 import org.apache.iotdb.metrics.utils.MetricLevel;
 import org.apache.iotdb.metrics.utils.MetricType;
@@ -34,6 +35,8 @@ public class LogDispatcherThreadMetrics implements IMetricSet {
 
   private Timer constructBatchTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer syncLogTimePerRequestTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+  private Timer batchRoundTripTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+  private Histogram syncLagHistogram = DoNothingMetricManager.DO_NOTHING_HISTOGRAM;
 
   public LogDispatcherThreadMetrics(LogDispatcher.LogDispatcherThread logDispatcherThread) {
     this.logDispatcherThread = logDispatcherThread;
@@ -48,6 +51,14 @@ public class LogDispatcherThreadMetrics implements IMetricSet {
     syncLogTimePerRequestTimer.updateNanos(costTimeInNanos);
   }
 
+  public void recordBatchRoundTripTime(long costTimeInNanos) {
+    batchRoundTripTimer.updateNanos(costTimeInNanos);
+  }
+
+  public void recordSyncLag(long syncLag) {
+    syncLagHistogram.update(syncLag);
+  }
+
   @Override
   public void bindTo(AbstractMetricService metricService) {
     bindAutoGauge(metricService);
@@ -88,6 +99,17 @@ public class LogDispatcherThreadMetrics implements IMetricSet {
         logDispatcherThread.getPeer().getGroupId().toString(),
         Tag.TYPE.toString(),
         "cachedRequestInMemoryQueue");
+    metricService.createAutoGauge(
+        Metric.IOT_CONSENSUS.toString(),
+        MetricLevel.IMPORTANT,
+        logDispatcherThread,
+        x -> x.getSyncStatus().getWindowSize(),
+        Tag.NAME.toString(),
+        formatName(),
+        Tag.REGION.toString(),
+        logDispatcherThread.getPeer().getGroupId().toString(),
+        Tag.TYPE.toString(),
+        "dispatchWindowSize");
   }
 
   private void bindStageTimer(AbstractMetricService metricService) {
@@ -111,6 +133,26 @@ public class LogDispatcherThreadMetrics implements IMetricSet {
             "syncLogTimePerRequest",
             Tag.REGION.toString(),
             peerGroupId);
+    batchRoundTripTimer =
+        metricService.getOrCreateTimer(
+            Metric.IOT_SEND_LOG.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            formatName(),
+            Tag.STAGE.toString(),
+            "batchRoundTrip",
+            Tag.REGION.toString(),
+            peerGroupId);
+    syncLagHistogram =
+        metricService.getOrCreateHistogram(
+            Metric.IOT_CONSENSUS.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            formatName(),
+            Tag.REGION.toString(),
+            peerGroupId,
+            Tag.TYPE.toString(),
+            "syncLag");
   }
 
   private void unbindStageTimer(AbstractMetricService metricService) {
@@ -132,6 +174,26 @@ public class LogDispatcherThreadMetrics implements IMetricSet {
         "syncLogTimePerRequest",
         Tag.REGION.toString(),
         peerGroupId);
+    metricService.remove(
+        MetricType.TIMER,
+        Metric.IOT_SEND_LOG.toString(),
+        Tag.NAME.toString(),
+        formatName(),
+        Tag.STAGE.toString(),
+        "batchRoundTrip",
+        Tag.REGION.toString(),
+        peerGroupId);
+    metricService.remove(
+        MetricType.HISTOGRAM,
+        Metric.IOT_CONSENSUS.toString(),
+        Tag.NAME.toString(),
+        formatName(),
+        Tag.REGION.toString(),
+        peerGroupId,
+        Tag.TYPE.toString(),
+        "syncLag");
+    batchRoundTripTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+    syncLagHistogram = DoNothingMetricManager.DO_NOTHING_HISTOGRAM;
   }
 
   @Override
@@ -168,6 +230,15 @@ public class LogDispatcherThreadMetrics implements IMetricSet {
         logDispatcherThread.getPeer().getGroupId().toString(),
         Tag.TYPE.toString(),
         "cachedRequestInMemoryQueue");
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.IOT_CONSENSUS.toString(),
+        Tag.NAME.toString(),
+        formatName(),
+        Tag.REGION.toString(),
+        logDispatcherThread.getPeer().getGroupId().toString(),
+        Tag.TYPE.toString(),
+        "dispatchWindowSize");
   }
 
   private String formatName() {
@@ -27,15 +27,38 @@ import java.util.List;
 
 public class SyncStatus {
 
+  // How far the adaptive window may grow beyond maxPendingBatchesNum
+  private static final int MAX_DISPATCH_WINDOW_MULTIPLE = 4;
+
   private final IoTConsensusConfig config;
   private final IndexController controller;
   private final LinkedList<Batch> pendingBatches = new LinkedList<>();
+  private final DispatchWindow dispatchWindow;
   private final IoTConsensusMemoryManager iotConsensusMemoryManager =
       IoTConsensusMemoryManager.getInstance();
 
   public SyncStatus(IndexController controller, IoTConsensusConfig config) {
     this.controller = controller;
     this.config = config;
+    this.dispatchWindow =
+        config.getReplication().isEnableAdaptiveDispatchWindow()
+            ? new DispatchWindow(
+                config.getReplication().getMaxPendingBatchesNum(),
+                config.getReplication().getMaxPendingBatchesNum() * MAX_DISPATCH_WINDOW_MULTIPLE)
+            : null;
+  }
+
+  /**
+   * we may block here until another batch can be sent. The dispatcher waits here before
+   * constructing a batch, so that the requests arriving when the pipeline is full are coalesced
+   * into the next batch.
+   *
+   * @throws InterruptedException
+   */
+  public synchronized void waitForAvailableSlot() throws InterruptedException {
+    while (pendingBatches.size() >= getWindowSize() && !Thread.interrupted()) {
+      wait();
+    }
   }
 
   /**
@@ -44,7 +67,7 @@ public class SyncStatus {
    * @throws InterruptedException
    */
   public synchronized void addNextBatch(Batch batch) throws InterruptedException {
-    while ((pendingBatches.size() >= config.getReplication().getMaxPendingBatchesNum()
+    while ((pendingBatches.size() >= getWindowSize()
             || !iotConsensusMemoryManager.reserve(batch.getMemorySize(), false))
         && !Thread.interrupted()) {
       wait();
@@ -77,6 +100,27 @@ public class SyncStatus {
     }
   }
 
+  /** Feed the round trip time of a batch synchronized at the first attempt to the window. */
+  public void recordBatchRoundTripTime(long roundTripTimeInNanos) {
+    if (dispatchWindow != null) {
+      dispatchWindow.onBatchCompleted(roundTripTimeInNanos);
+    }
+  }
+
+  /** Tell the window that a batch has to be retried, which is taken as a sign of congestion. */
+  public void recordBatchFailure() {
+    if (dispatchWindow != null) {
+      dispatchWindow.onBatchFailed();
+    }
+  }
+
+  /** Gets the number of batches that can be in flight. */
+  public int getWindowSize() {
+    return dispatchWindow != null
+        ? dispatchWindow.getSize()
+        : config.getReplication().getMaxPendingBatchesNum();
+  }
+
   public synchronized void free() {
     long size = 0;
     for (Batch pendingBatch : pendingBatches) {
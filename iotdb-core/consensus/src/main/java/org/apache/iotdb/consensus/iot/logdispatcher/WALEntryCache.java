@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.logdispatcher;
+
+import org.apache.iotdb.consensus.iot.thrift.TLogEntry;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * A cache of the serialized WAL entries of one region, shared by all the {@link
+ * LogDispatcher.LogDispatcherThread}s of the region. When several peers lag behind, the entries
+ * read from the WAL and serialized by one dispatcher are reused by the others instead of being read
+ * again. An entry is retained until all the peers have synchronized it, and the memory of the
+ * entries is reserved from the {@link IoTConsensusMemoryManager}.
+ */
+public class WALEntryCache {
+
+  private final ConcurrentNavigableMap<Long, TLogEntry> searchIndex2EntryMap =
+      new ConcurrentSkipListMap<>();
+  private final AtomicLong cachedSizeInBytes = new AtomicLong(0);
+  private final AtomicLong hitCount = new AtomicLong(0);
+  private final long maxSizeInBytes;
+  private final IoTConsensusMemoryManager iotConsensusMemoryManager;
+
+  public WALEntryCache(long maxSizeInBytes) {
+    this(maxSizeInBytes, IoTConsensusMemoryManager.getInstance());
+  }
+
+  WALEntryCache(long maxSizeInBytes, IoTConsensusMemoryManager iotConsensusMemoryManager) {
+    this.maxSizeInBytes = maxSizeInBytes;
+    this.iotConsensusMemoryManager = iotConsensusMemoryManager;
+  }
+
+  /**
+   * Get the cached entry of the given search index.
+   *
+   * @return a {@link TLogEntry} with its own view of the serialized requests, or null if the entry
+   *     is not cached
+   */
+  public TLogEntry get(long searchIndex) {
+    TLogEntry entry = searchIndex2EntryMap.get(searchIndex);
+    if (entry == null) {
+      return null;
+    }
+    hitCount.incrementAndGet();
+    return duplicate(entry);
+  }
+
+  /**
+   * Cache an entry read from the WAL. The entry is ignored if the cache is full or the memory can
+   * not be reserved.
+   */
+  public void put(TLogEntry entry) {
+    long size = entry.getMemorySize();
+    if (maxSizeInBytes <= 0
+        || searchIndex2EntryMap.containsKey(entry.getSearchIndex())
+        || cachedSizeInBytes.get() + size > maxSizeInBytes
+        || !iotConsensusMemoryManager.reserve(size, true)) {
+      return;
+    }
+    if (searchIndex2EntryMap.putIfAbsent(entry.getSearchIndex(), duplicate(entry)) != null) {
+      // Another dispatcher has cached the same entry concurrently
+      iotConsensusMemoryManager.free(size, true);
+      return;
+    }
+    cachedSizeInBytes.addAndGet(size);
+  }
+
+  /** The buffers are sent concurrently by different dispatchers, so each of them gets a view. */
+  private static TLogEntry duplicate(TLogEntry entry) {
+    List<ByteBuffer> data =
+        entry.getData().stream().map(ByteBuffer::duplicate).collect(Collectors.toList());
+    return new TLogEntry(data, entry.getSearchIndex(), true, entry.getMemorySize());
+  }
+
+  /** Release the entries whose search index is smaller than the given one. */
+  public void evictBefore(long searchIndex) {
+    ConcurrentNavigableMap<Long, TLogEntry> outdated =
+        searchIndex2EntryMap.headMap(searchIndex, false);
+    for (Map.Entry<Long, TLogEntry> entry : outdated.entrySet()) {
+      if (outdated.remove(entry.getKey(), entry.getValue())) {
+        release(entry.getValue());
+      }
+    }
+  }
+
+  public void clear() {
+    evictBefore(Long.MAX_VALUE);
+  }
+
+  private void release(TLogEntry entry) {
+    cachedSizeInBytes.addAndGet(-entry.getMemorySize());
+    iotConsensusMemoryManager.free(entry.getMemorySize(), true);
+  }
+
+  public int getCachedEntryNum() {
+    return searchIndex2EntryMap.size();
+  }
+
+  public long getCachedSizeInBytes() {
+    return cachedSizeInBytes.get();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+}
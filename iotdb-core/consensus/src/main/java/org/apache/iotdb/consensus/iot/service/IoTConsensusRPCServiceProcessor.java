@@ -44,6 +44,8 @@ import org.apache.iotdb.consensus.iot.thrift.TInactivatePeerRes;
 import org.apache.iotdb.consensus.iot.thrift.TLogEntry;
 import org.apache.iotdb.consensus.iot.thrift.TRemoveSyncLogChannelReq;
 import org.apache.iotdb.consensus.iot.thrift.TRemoveSyncLogChannelRes;
+import org.apache.iotdb.consensus.iot.thrift.TReuseSnapshotFilesReq;
+import org.apache.iotdb.consensus.iot.thrift.TReuseSnapshotFilesRes;
 import org.apache.iotdb.consensus.iot.thrift.TSendSnapshotFragmentReq;
 import org.apache.iotdb.consensus.iot.thrift.TSendSnapshotFragmentRes;
 import org.apache.iotdb.consensus.iot.thrift.TSyncLogEntriesReq;
@@ -323,5 +325,29 @@ public class IoTConsensusRPCServiceProcessor implements IoTConsensusIService.Ifa
     return new TCleanupTransferredSnapshotRes(responseStatus);
   }
 
+  @Override
+  public TReuseSnapshotFilesRes reuseSnapshotFiles(TReuseSnapshotFilesReq req) throws TException {
+    ConsensusGroupId groupId =
+        ConsensusGroupId.Factory.createFromTConsensusGroupId(req.getConsensusGroupId());
+    IoTConsensusServerImpl impl = consensus.getImpl(groupId);
+    if (impl == null) {
+      String message =
+          String.format("unexpected consensusGroupId %s for reuseSnapshotFiles request", groupId);
+      LOGGER.error(message);
+      TSStatus status = new TSStatus(TSStatusCode.INTERNAL_SERVER_ERROR.getStatusCode());
+      status.setMessage(message);
+      return new TReuseSnapshotFilesRes(status);
+    }
+    try {
+      return new TReuseSnapshotFilesRes(new TSStatus(TSStatusCode.SUCCESS_STATUS.getStatusCode()))
+          .setReusedFilePaths(impl.reuseLocalSnapshotFiles(req.snapshotId, req.fileDigests));
+    } catch (ConsensusGroupModifyPeerException e) {
+      LOGGER.error("failed to reuse local files for snapshot {}", req.snapshotId, e);
+      TSStatus status = new TSStatus(TSStatusCode.INTERNAL_SERVER_ERROR.getStatusCode());
+      status.setMessage(e.getMessage());
+      return new TReuseSnapshotFilesRes(status);
+    }
+  }
+
   public void handleClientExit() {}
 }
@@ -19,38 +19,61 @@
 
 package org.apache.iotdb.consensus.iot.snapshot;
 
-import com.google.common.util.concurrent.RateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Limits the total speed of snapshot transmissions. The speed limit is shared equally by all the
+ * transmissions in progress, so that concurrently migrating regions progress at the same pace
+ * instead of competing for bandwidth.
+ */
 public class IoTConsensusRateLimiter {
   private static final Logger logger = LoggerFactory.getLogger(IoTConsensusRateLimiter.class);
 
-  private final RateLimiter rateLimiter = RateLimiter.create(Double.MAX_VALUE);
+  private final Set<SnapshotTransmission> activeTransmissions = new HashSet<>();
+  private double totalRate = Double.MAX_VALUE;
 
   private IoTConsensusRateLimiter() {}
 
-  public void init(long regionMigrationSpeedLimitBytesPerSecond) {
-    rateLimiter.setRate(
+  public synchronized void init(long regionMigrationSpeedLimitBytesPerSecond) {
+    totalRate =
         regionMigrationSpeedLimitBytesPerSecond <= 0
             ? Double.MAX_VALUE
-            : regionMigrationSpeedLimitBytesPerSecond);
+            : regionMigrationSpeedLimitBytesPerSecond;
+    rebalance();
+  }
+
+  public synchronized void register(SnapshotTransmission transmission) {
+    activeTransmissions.add(transmission);
+    rebalance();
   }
 
-  /**
-   * Acquire the size of the data to be sent.
-   *
-   * @param transitDataSize the size of the data to be sent
-   */
-  public void acquireTransitDataSizeWithRateLimiter(long transitDataSize) {
-    while (transitDataSize > 0) {
-      if (transitDataSize > Integer.MAX_VALUE) {
-        rateLimiter.acquire(Integer.MAX_VALUE);
-        transitDataSize -= Integer.MAX_VALUE;
-      } else {
-        rateLimiter.acquire((int) transitDataSize);
-        return;
-      }
+  public synchronized void unregister(SnapshotTransmission transmission) {
+    if (activeTransmissions.remove(transmission)) {
+      rebalance();
+    }
+  }
+
+  public synchronized int getActiveTransmissionNum() {
+    return activeTransmissions.size();
+  }
+
+  private void rebalance() {
+    if (activeTransmissions.isEmpty()) {
+      return;
+    }
+    double share = totalRate / activeTransmissions.size();
+    for (SnapshotTransmission transmission : activeTransmissions) {
+      transmission.setRate(share);
+    }
+    if (totalRate != Double.MAX_VALUE) {
+      logger.info(
+          "[SNAPSHOT TRANSMISSION] {} transmissions in progress, each is limited to {} bytes/s",
+          activeTransmissions.size(),
+          (long) share);
     }
   }
 
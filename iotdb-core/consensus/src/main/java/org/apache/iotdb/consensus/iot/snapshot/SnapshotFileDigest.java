@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.snapshot;
+
+import org.apache.iotdb.consensus.iot.thrift.TSnapshotFileDigest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Identifies a snapshot file by its path, size and a checksum of its tail, so that a receiver can
+ * tell whether it already holds the same file and the file does not need to be transferred again.
+ *
+ * <p>Only the tail of a file is checksummed. Reusable files (e.g. TsFiles) are immutable once
+ * sealed and end with their metadata index, so the tail together with the name and size is enough
+ * to tell two versions apart without reading whole files on both sides.
+ */
+public class SnapshotFileDigest {
+
+  private static final int CHECKSUM_TAIL_SIZE = 64 * 1024;
+
+  private SnapshotFileDigest() {}
+
+  public static TSnapshotFileDigest of(File file) throws IOException {
+    return new TSnapshotFileDigest(file.getAbsolutePath(), file.length(), checksum(file.toPath()));
+  }
+
+  public static boolean matches(TSnapshotFileDigest digest, File localFile) throws IOException {
+    return localFile.length() == digest.getFileSize()
+        && checksum(localFile.toPath()) == digest.getChecksum();
+  }
+
+  public static long checksum(Path path) throws IOException {
+    CRC32 crc32 = new CRC32();
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long position = Math.max(0, size - CHECKSUM_TAIL_SIZE);
+      ByteBuffer buffer = ByteBuffer.allocate((int) (size - position));
+      while (buffer.hasRemaining()) {
+        int read = channel.read(buffer, position + buffer.position());
+        if (read < 0) {
+          break;
+        }
+      }
+      crc32.update(buffer.array(), 0, buffer.position());
+    }
+    return crc32.getValue();
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.snapshot;
+
+import org.apache.iotdb.commons.utils.CommonDateTimeUtils;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.iotdb.commons.utils.FileUtils.humanReadableByteCountSI;
+
+/**
+ * The progress and the bandwidth share of transmitting one snapshot to one peer. The share is
+ * adjusted by {@link IoTConsensusRateLimiter} when other transmissions start or finish.
+ */
+public class SnapshotTransmission {
+
+  private final int totalFiles;
+  private final long totalBytes;
+  private final AtomicInteger transmittedFiles = new AtomicInteger();
+  private final AtomicLong transmittedBytes = new AtomicLong();
+  private final long startTime = System.nanoTime();
+  private final RateLimiter rateLimiter = RateLimiter.create(Double.MAX_VALUE);
+
+  public SnapshotTransmission(List<File> files) {
+    this.totalFiles = files.size();
+    this.totalBytes = files.stream().mapToLong(File::length).sum();
+  }
+
+  void setRate(double bytesPerSecond) {
+    rateLimiter.setRate(bytesPerSecond);
+  }
+
+  double getRate() {
+    return rateLimiter.getRate();
+  }
+
+  /**
+   * Acquire the size of the data to be sent from this transmission's share.
+   *
+   * @param transitDataSize the size of the data to be sent
+   */
+  public void acquire(long transitDataSize) {
+    while (transitDataSize > 0) {
+      if (transitDataSize > Integer.MAX_VALUE) {
+        rateLimiter.acquire(Integer.MAX_VALUE);
+        transitDataSize -= Integer.MAX_VALUE;
+      } else {
+        rateLimiter.acquire((int) transitDataSize);
+        return;
+      }
+    }
+  }
+
+  public void recordTransmittedBytes(long bytes) {
+    transmittedBytes.addAndGet(bytes);
+  }
+
+  public void recordTransmittedFile() {
+    transmittedFiles.incrementAndGet();
+  }
+
+  public long getTotalBytes() {
+    return totalBytes;
+  }
+
+  public long getTransmittedBytes() {
+    return transmittedBytes.get();
+  }
+
+  /** The percentage of transmitted bytes. */
+  public double getProgress() {
+    return totalBytes == 0 ? 100 : 100.0 * transmittedBytes.get() / totalBytes;
+  }
+
+  public long getElapsedTimeInMs() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+  }
+
+  /**
+   * Estimate the remaining time by the average speed so far.
+   *
+   * @return the estimated remaining time, or -1 if nothing has been transmitted yet
+   */
+  public long getEtaInMs() {
+    long transmitted = transmittedBytes.get();
+    if (transmitted >= totalBytes) {
+      return 0;
+    }
+    if (transmitted == 0) {
+      return -1;
+    }
+    return (long) ((double) getElapsedTimeInMs() * (totalBytes - transmitted) / transmitted);
+  }
+
+  @Override
+  public String toString() {
+    long eta = getEtaInMs();
+    return String.format(
+        "files %d/%d done, size %s/%s (%.1f%%) done, time %s passed, ETA %s",
+        transmittedFiles.get(),
+        totalFiles,
+        humanReadableByteCountSI(transmittedBytes.get()),
+        humanReadableByteCountSI(totalBytes),
+        getProgress(),
+        CommonDateTimeUtils.convertMillisecondToDurationStr(getElapsedTimeInMs()),
+        eta < 0 ? "unknown" : CommonDateTimeUtils.convertMillisecondToDurationStr(eta));
+  }
+}
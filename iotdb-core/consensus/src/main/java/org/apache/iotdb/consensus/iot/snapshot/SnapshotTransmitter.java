@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.snapshot;
+
+import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.commons.client.IClientManager;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.consensus.common.Peer;
+import org.apache.iotdb.consensus.exception.ConsensusGroupModifyPeerException;
+import org.apache.iotdb.consensus.iot.client.SyncIoTConsensusServiceClient;
+import org.apache.iotdb.consensus.iot.thrift.TSendSnapshotFragmentReq;
+import org.apache.iotdb.consensus.iot.thrift.TSendSnapshotFragmentRes;
+import org.apache.iotdb.rpc.TSStatusCode;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transmits the files of a snapshot to a peer in several lanes. Each lane sends the fragments of
+ * one file at a time in order, so the peer receives each file sequentially while up to {@code
+ * parallelism} fragments are outstanding. All the lanes draw from the bandwidth share of one {@link
+ * SnapshotTransmission}.
+ *
+ * <p>The lanes of all the regions share one cached thread pool.
+ */
+public class SnapshotTransmitter {
+
+  private static final Logger logger = LoggerFactory.getLogger(SnapshotTransmitter.class);
+
+  private static class ExecutorHolder {
+    private static final ExecutorService TRANSMISSION_EXECUTOR =
+        IoTDBThreadPoolFactory.newCachedThreadPool(
+            ThreadName.IOT_CONSENSUS_SNAPSHOT_TRANSMISSION.getName());
+
+    private ExecutorHolder() {
+      // Empty constructor
+    }
+  }
+
+  private final String snapshotId;
+  private final Peer targetPeer;
+  private final IClientManager<TEndPoint, SyncIoTConsensusServiceClient> clientManager;
+  private final int parallelism;
+  private final List<File> files;
+  private final SnapshotTransmission transmission;
+  private final AtomicBoolean failed = new AtomicBoolean(false);
+
+  public SnapshotTransmitter(
+      String snapshotId,
+      Peer targetPeer,
+      List<File> files,
+      IClientManager<TEndPoint, SyncIoTConsensusServiceClient> clientManager,
+      int parallelism) {
+    this.snapshotId = snapshotId;
+    this.targetPeer = targetPeer;
+    this.files = files;
+    this.clientManager = clientManager;
+    this.parallelism = Math.max(1, parallelism);
+    this.transmission = new SnapshotTransmission(files);
+  }
+
+  public SnapshotTransmission getTransmission() {
+    return transmission;
+  }
+
+  public void transmit() throws ConsensusGroupModifyPeerException {
+    Queue<File> pendingFiles = new ConcurrentLinkedQueue<>(files);
+    IoTConsensusRateLimiter.getInstance().register(transmission);
+    try {
+      List<Future<Void>> lanes = new ArrayList<>();
+      for (int i = 0; i < Math.min(parallelism, files.size()); i++) {
+        lanes.add(ExecutorHolder.TRANSMISSION_EXECUTOR.submit(() -> transmitFiles(pendingFiles)));
+      }
+      Throwable failure = null;
+      for (Future<Void> lane : lanes) {
+        try {
+          lane.get();
+        } catch (ExecutionException e) {
+          failure = failure == null ? e.getCause() : failure;
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          failed.set(true);
+          failure = failure == null ? e : failure;
+        }
+      }
+      if (failure != null) {
+        throw new ConsensusGroupModifyPeerException(
+            String.format(
+                "[SNAPSHOT TRANSMISSION] Error when send snapshot file to %s", targetPeer),
+            failure);
+      }
+    } finally {
+      IoTConsensusRateLimiter.getInstance().unregister(transmission);
+    }
+  }
+
+  private Void transmitFiles(Queue<File> pendingFiles) throws Exception {
+    try (SyncIoTConsensusServiceClient client =
+        clientManager.borrowClient(targetPeer.getEndpoint())) {
+      File file;
+      while (!failed.get() && (file = pendingFiles.poll()) != null) {
+        transmitFile(client, file);
+      }
+      return null;
+    } catch (Exception e) {
+      // stop the other lanes
+      failed.set(true);
+      throw e;
+    }
+  }
+
+  private void transmitFile(SyncIoTConsensusServiceClient client, File file) throws Exception {
+    SnapshotFragmentReader reader = new SnapshotFragmentReader(snapshotId, file.toPath());
+    try {
+      while (!failed.get() && reader.hasNext()) {
+        // TODO: zero copy ?
+        TSendSnapshotFragmentReq req = reader.next().toTSendSnapshotFragmentReq();
+        req.setConsensusGroupId(targetPeer.getGroupId().convertToTConsensusGroupId());
+        transmission.acquire(req.getChunkLength());
+        TSendSnapshotFragmentRes res = client.sendSnapshotFragment(req);
+        if (res.getStatus().getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+          throw new ConsensusGroupModifyPeerException(
+              String.format(
+                  "[SNAPSHOT TRANSMISSION] Error when transmitting snapshot fragment to %s",
+                  targetPeer));
+        }
+        transmission.recordTransmittedBytes(req.getChunkLength());
+      }
+    } finally {
+      reader.close();
+    }
+    if (failed.get()) {
+      return;
+    }
+    transmission.recordTransmittedFile();
+    logger.info(
+        "[SNAPSHOT TRANSMISSION] The overall progress for dir {} to {}: {}. File {} done.",
+        snapshotId,
+        targetPeer,
+        transmission,
+        file);
+  }
+}
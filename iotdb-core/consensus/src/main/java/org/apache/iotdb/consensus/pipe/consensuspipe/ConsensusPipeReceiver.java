@@ -20,11 +20,25 @@
 package org.apache.iotdb.consensus.pipe.consensuspipe;
 
 import org.apache.iotdb.commons.consensus.DataRegionId;
+import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusBatchTransferReq;
+import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusBatchTransferResp;
 import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusTransferReq;
 import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusTransferResp;
 
+import java.util.stream.Collectors;
+
 public interface ConsensusPipeReceiver {
   TPipeConsensusTransferResp receive(TPipeConsensusTransferReq req);
 
+  /**
+   * Receive a batch of requests sent by the same consensus pipe. The responses are in the same
+   * order as the requests. Receivers that can acknowledge progress cumulatively should override
+   * this method and set {@link TPipeConsensusBatchTransferResp#ack}.
+   */
+  default TPipeConsensusBatchTransferResp receiveBatch(TPipeConsensusBatchTransferReq req) {
+    return new TPipeConsensusBatchTransferResp(
+        req.getBatchReqs().stream().map(this::receive).collect(Collectors.toList()));
+  }
+
   void releaseReceiverResource(DataRegionId regionId);
 }
@@ -69,11 +69,10 @@ public class PipeConsensusRPCServiceProcessor implements PipeConsensusIService.I
     return config.getConsensusPipeReceiver().receive(req);
   }
 
-  // TODO: consider batch transfer
   @Override
   public TPipeConsensusBatchTransferResp pipeConsensusBatchTransfer(
       TPipeConsensusBatchTransferReq req) throws TException {
-    return new TPipeConsensusBatchTransferResp();
+    return config.getConsensusPipeReceiver().receiveBatch(req);
   }
 
   @Override
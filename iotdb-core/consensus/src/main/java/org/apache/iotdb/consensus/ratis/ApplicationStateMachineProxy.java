@@ -21,6 +21,8 @@ package org.apache.iotdb.consensus.ratis;
 
 import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
 import org.apache.iotdb.commons.service.metric.PerformanceOverviewMetrics;
 import org.apache.iotdb.consensus.IStateMachine;
 import org.apache.iotdb.consensus.common.DataSet;
@@ -37,6 +39,7 @@ import org.apache.ratis.protocol.Message;
 import org.apache.ratis.protocol.RaftGroupId;
 import org.apache.ratis.protocol.RaftGroupMemberId;
 import org.apache.ratis.protocol.RaftPeerId;
+import org.apache.ratis.protocol.exceptions.AlreadyClosedException;
 import org.apache.ratis.server.RaftServer;
 import org.apache.ratis.server.protocol.TermIndex;
 import org.apache.ratis.server.raftlog.RaftLog;
@@ -54,8 +57,15 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 
 public class ApplicationStateMachineProxy extends BaseStateMachine {
@@ -69,16 +79,34 @@ public class ApplicationStateMachineProxy extends BaseStateMachine {
   private final TConsensusGroupType consensusGroupType;
   private final BiConsumer<RaftGroupMemberId, RaftPeerId> leaderChangeListener;
 
+  /** Shared by all groups; each group drains its own queue on it one batch after another. */
+  private static volatile ExecutorService applyExecutor;
+
+  /**
+   * The max number of consecutive committed entries applied at once. When it is larger than 1,
+   * entries are queued by the Ratis StateMachineUpdater and applied on {@link #applyExecutor}, so
+   * that a burst of entries is handed to {@link IStateMachine#writeBatch(List)} together.
+   */
+  private final int applyBatchSizeMax;
+
+  private final Queue<PendingApply> pendingApplies = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean applyScheduled = new AtomicBoolean(false);
+
+  /** Set on close, so that the drain fails the queued entries instead of applying them. */
+  private volatile boolean drainStopped = false;
+
   ApplicationStateMachineProxy(IStateMachine stateMachine, RaftGroupId id) {
-    this(stateMachine, id, null);
+    this(stateMachine, id, null, 1);
   }
 
   ApplicationStateMachineProxy(
       IStateMachine stateMachine,
       RaftGroupId id,
-      BiConsumer<RaftGroupMemberId, RaftPeerId> onLeaderChanged) {
+      BiConsumer<RaftGroupMemberId, RaftPeerId> onLeaderChanged,
+      int applyBatchSizeMax) {
     this.applicationStateMachine = stateMachine;
     this.leaderChangeListener = onLeaderChanged;
+    this.applyBatchSizeMax = applyBatchSizeMax;
     this.groupId = id;
     snapshotStorage = new SnapshotStorage(applicationStateMachine, groupId);
     consensusGroupType = Utils.getConsensusGroupTypeFromPrefix(groupId.toString());
@@ -98,6 +126,8 @@ public class ApplicationStateMachineProxy extends BaseStateMachine {
 
   @Override
   public void reinitialize() {
+    // the entries queued before the snapshot must not be applied on top of it
+    awaitPendingApplies();
     setLastAppliedTermIndex(null);
     loadSnapshot(snapshotStorage.findLatestSnapshotDir());
     if (getLifeCycleState() == LifeCycle.State.PAUSED) {
@@ -108,6 +138,7 @@ public class ApplicationStateMachineProxy extends BaseStateMachine {
 
   @Override
   public void pause() {
+    awaitPendingApplies();
     if (getLifeCycleState() == LifeCycle.State.RUNNING) {
       getLifeCycle().transition(LifeCycle.State.PAUSING);
       getLifeCycle().transition(LifeCycle.State.PAUSED);
@@ -116,6 +147,8 @@ public class ApplicationStateMachineProxy extends BaseStateMachine {
 
   @Override
   public void close() throws IOException {
+    drainStopped = true;
+    awaitPendingApplies();
     getLifeCycle().checkStateAndClose(applicationStateMachine::stop);
   }
 
@@ -124,7 +157,6 @@ public class ApplicationStateMachineProxy extends BaseStateMachine {
     boolean isLeader = false;
     long writeToStateMachineStartTime = System.nanoTime();
     RaftProtos.LogEntryProto log = trx.getLogEntry();
-    updateLastAppliedTermIndex(log.getTerm(), log.getIndex());
 
     final IConsensusRequest applicationRequest;
 
@@ -142,43 +174,174 @@ public class ApplicationStateMachineProxy extends BaseStateMachine {
     }
     final IConsensusRequest deserializedRequest =
         applicationStateMachine.deserializeRequest(applicationRequest);
+    if (!isLeader) {
+      deserializedRequest.markAsGeneratedByRemoteConsensusLeader();
+    }
+    final PendingApply pendingApply =
+        new PendingApply(
+            TermIndex.valueOf(log), deserializedRequest, isLeader, writeToStateMachineStartTime);
+
+    if (applyBatchSizeMax <= 1) {
+      updateLastAppliedTermIndex(log.getTerm(), log.getIndex());
+      applyBatch(Collections.singletonList(pendingApply));
+    } else {
+      enqueue(pendingApply);
+    }
+    return pendingApply.future;
+  }
+
+  @Override
+  public void notifyTermIndexUpdated(long term, long index) {
+    if (applyBatchSizeMax <= 1) {
+      super.notifyTermIndexUpdated(term, index);
+    } else {
+      // keep the applied term index increasing with respect to the queued transactions
+      enqueue(new PendingApply(TermIndex.valueOf(term, index), null, false, System.nanoTime()));
+    }
+  }
+
+  private void enqueue(PendingApply pendingApply) {
+    pendingApplies.add(pendingApply);
+    if (applyScheduled.compareAndSet(false, true)) {
+      getApplyExecutor().execute(this::drainPendingApplies);
+    }
+  }
+
+  /**
+   * Waits until the queued entries are drained and the drain has finished. After {@link #close()}
+   * the queued entries are failed instead of applied.
+   */
+  private void awaitPendingApplies() {
+    synchronized (pendingApplies) {
+      while (applyScheduled.get()) {
+        try {
+          pendingApplies.wait();
+        } catch (InterruptedException e) {
+          logger.warn("{}: interrupted when waiting for the pending applies", this, e);
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Applies the queued entries in log order, batching up to {@link #applyBatchSizeMax} consecutive
+   * transactions. At most one drain runs per state machine at a time.
+   */
+  private void drainPendingApplies() {
+    final List<PendingApply> batch = new ArrayList<>(applyBatchSizeMax);
+    while (true) {
+      PendingApply next = pendingApplies.poll();
+      if (next == null) {
+        applyScheduled.set(false);
+        synchronized (pendingApplies) {
+          pendingApplies.notifyAll();
+        }
+        // an entry may have been queued after the poll but before the flag was cleared
+        if (pendingApplies.isEmpty() || !applyScheduled.compareAndSet(false, true)) {
+          return;
+        }
+        continue;
+      }
+      while (next != null) {
+        if (drainStopped) {
+          next.future.completeExceptionally(
+              new AlreadyClosedException(this + " is closed before applying " + next.termIndex));
+        } else if (next.request == null) {
+          // a term index update without transaction, apply what is collected before it
+          applyBatch(batch);
+          batch.clear();
+          updateLastAppliedTermIndex(next.termIndex);
+          next.future.complete(null);
+        } else {
+          batch.add(next);
+          if (batch.size() >= applyBatchSizeMax) {
+            applyBatch(batch);
+            batch.clear();
+          }
+        }
+        next = pendingApplies.poll();
+      }
+      applyBatch(batch);
+      batch.clear();
+    }
+  }
 
-    Message ret;
+  private void applyBatch(List<PendingApply> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    final List<IConsensusRequest> requests = new ArrayList<>(batch.size());
+    for (PendingApply pendingApply : batch) {
+      requests.add(pendingApply.request);
+    }
+
+    final List<TSStatus> results = new ArrayList<>(requests.size());
     waitUntilSystemAllowApply();
-    do {
+    while (results.size() < requests.size()) {
+      final int appliedCount = results.size();
       try {
-        if (!isLeader) {
-          deserializedRequest.markAsGeneratedByRemoteConsensusLeader();
+        applicationStateMachine.writeBatch(
+            requests.subList(appliedCount, requests.size()), results);
+        if (results.size() != requests.size()) {
+          logger.error(
+              "application statemachine returns {} results for {} requests",
+              results.size() - appliedCount,
+              requests.size() - appliedCount);
+          // the requests without a result are regarded as failed, and are not retried
+          while (results.size() > requests.size()) {
+            results.remove(results.size() - 1);
+          }
+          while (results.size() < requests.size()) {
+            results.add(
+                new TSStatus(TSStatusCode.INTERNAL_SERVER_ERROR.getStatusCode())
+                    .setMessage("internal error. statemachine returns mismatched results"));
+          }
         }
-        final TSStatus result = applicationStateMachine.write(deserializedRequest);
-        ret = new ResponseMessage(result);
-        break;
       } catch (Throwable rte) {
+        // the requests with a result have been applied, only the next one failed
         logger.error("application statemachine throws a runtime exception: ", rte);
-        ret =
-            new ResponseMessage(
-                new TSStatus(TSStatusCode.INTERNAL_SERVER_ERROR.getStatusCode())
-                    .setMessage("internal error. statemachine throws a runtime exception: " + rte));
         if (Utils.stallApply(consensusGroupType)) {
           waitUntilSystemAllowApply();
         } else {
-          break;
+          results.add(
+              new TSStatus(TSStatusCode.INTERNAL_SERVER_ERROR.getStatusCode())
+                  .setMessage("internal error. statemachine throws a runtime exception: " + rte));
+        }
+      }
+    }
+
+    if (applyBatchSizeMax > 1) {
+      updateLastAppliedTermIndex(batch.get(batch.size() - 1).termIndex);
+    }
+    RatisMetricsManager.getInstance().recordApplyBatch(batch.size(), consensusGroupType);
+    final long writeToStateMachineEndTime = System.nanoTime();
+    for (int i = 0; i < batch.size(); i++) {
+      final PendingApply pendingApply = batch.get(i);
+      if (pendingApply.isLeader) {
+        final long costTime = writeToStateMachineEndTime - pendingApply.startTime;
+        // only record time cost for data region in Performance Overview Dashboard
+        if (consensusGroupType == TConsensusGroupType.DataRegion) {
+          PERFORMANCE_OVERVIEW_METRICS.recordEngineCost(costTime);
         }
+        // statistic the time of write stateMachine
+        RatisMetricsManager.getInstance().recordWriteStateMachineCost(costTime, consensusGroupType);
       }
-    } while (Utils.stallApply(consensusGroupType));
+      pendingApply.future.complete(new ResponseMessage(results.get(i)));
+    }
+  }
 
-    if (isLeader) {
-      // only record time cost for data region in Performance Overview Dashboard
-      if (consensusGroupType == TConsensusGroupType.DataRegion) {
-        PERFORMANCE_OVERVIEW_METRICS.recordEngineCost(
-            System.nanoTime() - writeToStateMachineStartTime);
+  private static ExecutorService getApplyExecutor() {
+    if (applyExecutor == null) {
+      synchronized (ApplicationStateMachineProxy.class) {
+        if (applyExecutor == null) {
+          applyExecutor =
+              IoTDBThreadPoolFactory.newCachedThreadPool(ThreadName.RATIS_APPLY.getName());
+        }
       }
-      // statistic the time of write stateMachine
-      RatisMetricsManager.getInstance()
-          .recordWriteStateMachineCost(
-              System.nanoTime() - writeToStateMachineStartTime, consensusGroupType);
     }
-    return CompletableFuture.completedFuture(ret);
+    return applyExecutor;
   }
 
   private void waitUntilSystemAllowApply() {
@@ -313,4 +476,24 @@ public class ApplicationStateMachineProxy extends BaseStateMachine {
             Utils.fromRaftProtoListAndRaftGroupIdToPeers(
                 newRaftConfiguration.getPeersList(), groupId));
   }
+
+  private static class PendingApply {
+
+    private final TermIndex termIndex;
+
+    /** null for a term index update without transaction. */
+    private final IConsensusRequest request;
+
+    private final boolean isLeader;
+    private final long startTime;
+    private final CompletableFuture<Message> future = new CompletableFuture<>();
+
+    private PendingApply(
+        TermIndex termIndex, IConsensusRequest request, boolean isLeader, long startTime) {
+      this.termIndex = termIndex;
+      this.request = request;
+      this.isLeader = isLeader;
+      this.startTime = startTime;
+    }
+  }
 }
@@ -28,6 +28,9 @@ import org.apache.iotdb.commons.client.IClientManager;
 import org.apache.iotdb.commons.client.IClientPoolFactory;
 import org.apache.iotdb.commons.client.exception.ClientManagerException;
 import org.apache.iotdb.commons.client.property.ClientPoolProperty;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.concurrent.threadpool.ScheduledExecutorUtil;
 import org.apache.iotdb.commons.consensus.ConsensusGroupId;
 import org.apache.iotdb.commons.service.metric.MetricService;
 import org.apache.iotdb.commons.utils.StatusUtils;
@@ -59,6 +62,7 @@ import org.apache.ratis.conf.Parameters;
 import org.apache.ratis.conf.RaftProperties;
 import org.apache.ratis.grpc.GrpcConfigKeys;
 import org.apache.ratis.grpc.GrpcFactory;
+import org.apache.ratis.proto.RaftProtos;
 import org.apache.ratis.protocol.ClientId;
 import org.apache.ratis.protocol.GroupManagementRequest;
 import org.apache.ratis.protocol.Message;
@@ -102,6 +106,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -139,6 +144,16 @@ class RatisConsensus implements IConsensus {
 
   private final RatisConfig config;
   private final RatisConfig.Read.Option readOption;
+  private final boolean leaderLeaseEnabled;
+  private final long leaderLeaseTimeoutMs;
+
+  /**
+   * The groups whose leader lease was held at the last sample, only used to classify linearizable
+   * reads in metrics.
+   */
+  private final Set<RaftGroupId> groupsHoldingLeaderLease = ConcurrentHashMap.newKeySet();
+
+  private ScheduledExecutorService leaderLeaseSampler;
   private final RetryPolicy<RaftClientReply> readRetryPolicy;
   private final RetryPolicy<RaftClientReply> writeRetryPolicy;
 
@@ -161,6 +176,11 @@ class RatisConsensus implements IConsensus {
     Utils.initRatisConfig(properties, config.getRatisConfig());
     this.config = config.getRatisConfig();
     this.readOption = this.config.getRead().getReadOption();
+    this.leaderLeaseEnabled = this.config.getRead().isLeaderLeaseEnabled();
+    this.leaderLeaseTimeoutMs =
+        (long)
+            (this.config.getRpc().getTimeoutMin().toLong(TimeUnit.MILLISECONDS)
+                * this.config.getRead().getLeaderLeaseTimeoutRatio());
     this.canServeStaleRead =
         this.readOption == RatisConfig.Read.Option.DEFAULT ? new ConcurrentHashMap<>() : null;
     this.consensusGroupType = config.getConsensusGroupType();
@@ -227,7 +247,8 @@ class RatisConsensus implements IConsensus {
                                 registry.apply(
                                     Utils.fromRaftGroupIdToConsensusGroupId(raftGroupId)),
                                 raftGroupId,
-                                this::onLeaderChanged))
+                                this::onLeaderChanged,
+                                this.config.getImpl().getApplyBatchSizeMax()))
                     .build());
   }
 
@@ -236,6 +257,9 @@ class RatisConsensus implements IConsensus {
     MetricService.getInstance().addMetricSet(this.ratisMetricSet);
     server.get().start();
     registerAndStartDiskGuardian();
+    if (leaderLeaseEnabled) {
+      startLeaderLeaseSampler();
+    }
 
     if (correctPeerListBeforeStart != null) {
       BiConsumer<ConsensusGroupId, List<Peer>> resetPeerListWithoutThrow =
@@ -262,6 +286,9 @@ class RatisConsensus implements IConsensus {
   @Override
   public synchronized void stop() throws IOException {
     try {
+      if (leaderLeaseSampler != null) {
+        leaderLeaseSampler.shutdownNow();
+      }
       diskGuardian.stop();
     } catch (InterruptedException e) {
       logger.warn("{}: interrupted when shutting down add Executor with exception {}", this, e);
@@ -411,6 +438,14 @@ class RatisConsensus implements IConsensus {
         readOption == RatisConfig.Read.Option.LINEARIZABLE
             || !canServeStaleRead.computeIfAbsent(groupId, id -> new AtomicBoolean(false)).get();
 
+    if (isLinearizableRead) {
+      // with leader lease enabled, Ratis serves the read locally while the lease is valid and
+      // falls back to read-index otherwise
+      RatisMetricsManager.getInstance()
+          .recordLinearizableRead(
+              groupsHoldingLeaderLease.contains(raftGroupId), consensusGroupType);
+    }
+
     RaftClientReply reply;
     try {
       reply = doRead(raftGroupId, request, isLinearizableRead);
@@ -762,6 +797,61 @@ class RatisConsensus implements IConsensus {
     }
   }
 
+  /**
+   * Ratis keeps the authoritative lease in its leader state without exposing it, so the lease of
+   * every group is sampled periodically in the background instead of on each read. A sample is at
+   * most a quarter of the lease timeout old.
+   */
+  private void startLeaderLeaseSampler() {
+    leaderLeaseSampler =
+        IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor(
+            ThreadName.RATIS_BG_LEADER_LEASE_SAMPLER.getName());
+    final long sampleIntervalMs = Math.max(1, leaderLeaseTimeoutMs / 4);
+    ScheduledExecutorUtil.safelyScheduleWithFixedDelay(
+        leaderLeaseSampler, this::sampleLeaderLeases, 0, sampleIntervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  private void sampleLeaderLeases() {
+    final Set<RaftGroupId> groupIds = new HashSet<>();
+    try {
+      server.get().getGroupIds().forEach(groupIds::add);
+    } catch (IOException e) {
+      logger.debug("{}: failed to sample leader leases", this, e);
+    }
+    groupsHoldingLeaderLease.retainAll(groupIds);
+    for (RaftGroupId groupId : groupIds) {
+      if (hasValidLeaderLease(groupId)) {
+        groupsHoldingLeaderLease.add(groupId);
+      } else {
+        groupsHoldingLeaderLease.remove(groupId);
+      }
+    }
+  }
+
+  /**
+   * Whether this peer is a ready leader and a majority, including itself, has acknowledged an RPC
+   * within the lease timeout, which is how Ratis extends the lease.
+   */
+  private boolean hasValidLeaderLease(RaftGroupId raftGroupId) {
+    final DivisionInfo divisionInfo;
+    try {
+      divisionInfo = server.get().getDivision(raftGroupId).getInfo();
+    } catch (IOException e) {
+      return false;
+    }
+    if (!divisionInfo.isLeader() || !divisionInfo.isLeaderReady()) {
+      return false;
+    }
+    final List<RaftProtos.ServerRpcProto> followers =
+        divisionInfo.getRoleInfoProto().getLeaderInfo().getFollowerInfoList();
+    final long ackedPeers =
+        1
+            + followers.stream()
+                .filter(follower -> follower.getLastRpcElapsedTimeMs() < leaderLeaseTimeoutMs)
+                .count();
+    return ackedPeers > (followers.size() + 1) / 2;
+  }
+
   private boolean waitUntilLeaderReady(RaftGroupId groupId) {
     DivisionInfo divisionInfo;
     try {
@@ -40,6 +40,8 @@ public class RatisMetricSet implements IMetricSet {
   private static final Map<String, MetricInfo> metricInfoMap = new HashMap<>();
   private static final String RATIS_CONSENSUS_WRITE = Metric.RATIS_CONSENSUS_WRITE.toString();
   private static final String RATIS_CONSENSUS_READ = Metric.RATIS_CONSENSUS_READ.toString();
+  private static final String RATIS_CONSENSUS_LINEARIZABLE_READ =
+      Metric.RATIS_CONSENSUS_LINEARIZABLE_READ.toString();
 
   private static final String DATA_REGION_RATIS_CONSENSUS_WRITE =
       TConsensusGroupType.DataRegion + "_" + RATIS_CONSENSUS_WRITE;
@@ -58,6 +60,10 @@ public class RatisMetricSet implements IMetricSet {
   public static final String WRITE_REMOTELY = "writeRemotely";
   public static final String SUBMIT_READ_REQUEST = "submitReadRequest";
   public static final String WRITE_STATE_MACHINE = "writeStateMachine";
+  public static final String LEASE_READ = "leaseRead";
+  public static final String READ_INDEX = "readIndex";
+  private static final List<MetricInfo> linearizableReadMetricInfos = new ArrayList<>();
+  private static final List<MetricInfo> applyMetricInfos = new ArrayList<>();
   private static final List<String> RATIS_WRITE_METRICS = new ArrayList<>();
   private static final List<String> RATIS_WRITE_STAGES = new ArrayList<>();
   private static final List<String> RATIS_READ_METRICS = new ArrayList<>();
@@ -78,6 +84,25 @@ public class RatisMetricSet implements IMetricSet {
 
     RATIS_READ_STAGES.add(SUBMIT_READ_REQUEST);
 
+    for (TConsensusGroupType groupType : TConsensusGroupType.values()) {
+      for (String readType : new String[] {LEASE_READ, READ_INDEX}) {
+        linearizableReadMetricInfos.add(
+            new MetricInfo(
+                MetricType.COUNTER,
+                groupType + "_" + RATIS_CONSENSUS_LINEARIZABLE_READ,
+                Tag.TYPE.toString(),
+                readType));
+      }
+    }
+
+    for (TConsensusGroupType groupType : TConsensusGroupType.values()) {
+      applyMetricInfos.add(
+          new MetricInfo(MetricType.RATE, groupType + "_" + Metric.RATIS_CONSENSUS_APPLY));
+      applyMetricInfos.add(
+          new MetricInfo(
+              MetricType.HISTOGRAM, groupType + "_" + Metric.RATIS_CONSENSUS_APPLY_BATCH_SIZE));
+    }
+
     for (String ratisWriteMetric : RATIS_WRITE_METRICS) {
       for (String ratisWriteStage : RATIS_WRITE_STAGES) {
         metricInfoMap.put(
@@ -104,6 +129,17 @@ public class RatisMetricSet implements IMetricSet {
       metricService.getOrCreateTimer(
           metricInfo.getName(), MetricLevel.CORE, metricInfo.getTagsInArray());
     }
+    for (MetricInfo metricInfo : linearizableReadMetricInfos) {
+      metricService.getOrCreateCounter(
+          metricInfo.getName(), MetricLevel.IMPORTANT, metricInfo.getTagsInArray());
+    }
+    for (MetricInfo metricInfo : applyMetricInfos) {
+      if (metricInfo.getMetaInfo().getType() == MetricType.RATE) {
+        metricService.getOrCreateRate(metricInfo.getName(), MetricLevel.IMPORTANT);
+      } else {
+        metricService.getOrCreateHistogram(metricInfo.getName(), MetricLevel.IMPORTANT);
+      }
+    }
   }
 
   @Override
@@ -112,5 +148,11 @@ public class RatisMetricSet implements IMetricSet {
     for (MetricInfo metricInfo : metricInfoMap.values()) {
       metricService.remove(MetricType.TIMER, metricInfo.getName(), metricInfo.getTagsInArray());
     }
+    for (MetricInfo metricInfo : linearizableReadMetricInfos) {
+      metricService.remove(MetricType.COUNTER, metricInfo.getName(), metricInfo.getTagsInArray());
+    }
+    for (MetricInfo metricInfo : applyMetricInfos) {
+      metricService.remove(metricInfo.getMetaInfo().getType(), metricInfo.getName());
+    }
   }
 }
@@ -114,6 +114,31 @@ public class RatisMetricsManager {
         RatisMetricSet.WRITE_STATE_MACHINE);
   }
 
+  /**
+   * Count a linearizable read, distinguishing reads served under the leader lease from reads that
+   * need a read-index round trip, according to the last sampled lease of the group.
+   */
+  public void recordLinearizableRead(boolean leaseRead, TConsensusGroupType consensusGroupType) {
+    metricService.count(
+        1,
+        consensusGroupType.toString() + "_" + Metric.RATIS_CONSENSUS_LINEARIZABLE_READ,
+        MetricLevel.IMPORTANT,
+        Tag.TYPE.toString(),
+        leaseRead ? RatisMetricSet.LEASE_READ : RatisMetricSet.READ_INDEX);
+  }
+
+  /** Record a batch of committed entries applied to the state machine. */
+  public void recordApplyBatch(int batchSize, TConsensusGroupType consensusGroupType) {
+    metricService.rate(
+        batchSize,
+        consensusGroupType.toString() + "_" + Metric.RATIS_CONSENSUS_APPLY,
+        MetricLevel.IMPORTANT);
+    metricService.histogram(
+        batchSize,
+        consensusGroupType.toString() + "_" + Metric.RATIS_CONSENSUS_APPLY_BATCH_SIZE,
+        MetricLevel.IMPORTANT);
+  }
+
   private RatisMetricsManager() {
     // empty constructor
   }
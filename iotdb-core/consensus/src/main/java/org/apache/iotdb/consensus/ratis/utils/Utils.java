@@ -334,6 +334,10 @@ public class Utils {
     If we prefer latency, we can directly use staleRead */
     RaftServerConfigKeys.Read.setOption(properties, RaftServerConfigKeys.Read.Option.LINEARIZABLE);
     RaftServerConfigKeys.Read.setTimeout(properties, config.getRead().getReadTimeout());
+    RaftServerConfigKeys.Read.setLeaderLeaseEnabled(
+        properties, config.getRead().isLeaderLeaseEnabled());
+    RaftServerConfigKeys.Read.setLeaderLeaseTimeoutRatio(
+        properties, config.getRead().getLeaderLeaseTimeoutRatio());
 
     RaftServerConfigKeys.setSleepDeviationThreshold(
         properties,
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.consensus.ConsensusGroupId;
+import org.apache.iotdb.commons.consensus.DataRegionId;
+import org.apache.iotdb.consensus.ConsensusFactory;
+import org.apache.iotdb.consensus.common.Peer;
+import org.apache.iotdb.consensus.common.request.IndexedConsensusRequest;
+import org.apache.iotdb.consensus.config.ConsensusConfig;
+import org.apache.iotdb.consensus.iot.util.TestEntry;
+import org.apache.iotdb.consensus.iot.util.TestStateMachine;
+import org.apache.iotdb.rpc.TSStatusCode;
+
+import org.apache.ratis.util.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/** Multi-threaded write benchmark for a single IoTConsensus region. */
+public class ConcurrentWriteTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentWriteTest.class);
+
+  private static final int WRITER_NUM = 8;
+  private static final int REQUEST_NUM_PER_WRITER = 5000;
+
+  private final ConsensusGroupId dataRegionId = new DataRegionId(1);
+
+  private final File storageDir = new File("target" + File.separator + "concurrent-write");
+
+  private final TestStateMachine stateMachine = new TestStateMachine();
+
+  private final int basePort = 6667;
+
+  private IoTConsensus consensusImpl;
+
+  @Before
+  public void setUp() throws Exception {
+    FileUtils.deleteFully(storageDir);
+    consensusImpl =
+        (IoTConsensus)
+            ConsensusFactory.getConsensusImpl(
+                    ConsensusFactory.IOT_CONSENSUS,
+                    ConsensusConfig.newBuilder()
+                        .setThisNodeId(1)
+                        .setThisNode(new TEndPoint("0.0.0.0", basePort))
+                        .setStorageDir(storageDir.getAbsolutePath())
+                        .setConsensusGroupType(TConsensusGroupType.DataRegion)
+                        .build(),
+                    gid -> stateMachine)
+                .orElseThrow(
+                    () ->
+                        new IllegalArgumentException(
+                            String.format(
+                                ConsensusFactory.CONSTRUCT_FAILED_MSG,
+                                ConsensusFactory.IOT_CONSENSUS)));
+    consensusImpl.start();
+    consensusImpl.createLocalPeer(
+        dataRegionId,
+        Collections.singletonList(new Peer(dataRegionId, 1, new TEndPoint("0.0.0.0", basePort))));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    consensusImpl.deleteLocalPeer(dataRegionId);
+    consensusImpl.stop();
+    FileUtils.deleteFully(storageDir);
+  }
+
+  @Test
+  public void concurrentWriteTest() throws Exception {
+    Peer peer = new Peer(dataRegionId, 1, new TEndPoint("0.0.0.0", basePort));
+    ExecutorService writers = Executors.newFixedThreadPool(WRITER_NUM);
+    List<Future<?>> futures = new ArrayList<>();
+    long startTime = System.nanoTime();
+    try {
+      for (int i = 0; i < WRITER_NUM; i++) {
+        int writer = i;
+        futures.add(
+            writers.submit(
+                () -> {
+                  for (int j = 0; j < REQUEST_NUM_PER_WRITER; j++) {
+                    TSStatus status =
+                        consensusImpl.write(
+                            dataRegionId, new TestEntry(writer * REQUEST_NUM_PER_WRITER + j, peer));
+                    Assert.assertEquals(
+                        TSStatusCode.SUCCESS_STATUS.getStatusCode(), status.getCode());
+                  }
+                  return null;
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      writers.shutdownNow();
+    }
+    long costInMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    int total = WRITER_NUM * REQUEST_NUM_PER_WRITER;
+    LOGGER.info(
+        "{} writers wrote {} requests into one region in {} ms ({} requests/s)",
+        WRITER_NUM,
+        total,
+        costInMs,
+        total * 1000L / Math.max(costInMs, 1));
+
+    // every successful write gets its own search index and all of them are published
+    TreeSet<Long> searchIndexes = new TreeSet<>();
+    for (IndexedConsensusRequest request : stateMachine.getRequestSet()) {
+      searchIndexes.add(request.getSearchIndex());
+    }
+    Assert.assertEquals(total, searchIndexes.size());
+    Assert.assertEquals(1L, (long) searchIndexes.first());
+    Assert.assertEquals(total, (long) searchIndexes.last());
+    Assert.assertEquals(total, consensusImpl.getImpl(dataRegionId).getSearchIndex());
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.commons.consensus.ConsensusGroupId;
+import org.apache.iotdb.commons.consensus.DataRegionId;
+import org.apache.iotdb.commons.exception.StartupException;
+import org.apache.iotdb.consensus.ConsensusFactory;
+import org.apache.iotdb.consensus.common.Peer;
+import org.apache.iotdb.consensus.config.ConsensusConfig;
+import org.apache.iotdb.consensus.iot.util.TestStateMachine;
+
+import org.apache.ratis.util.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class IncrementalSnapshotTest {
+
+  private final ConsensusGroupId gid = new DataRegionId(1);
+
+  private final int basePort = 9100;
+
+  private final List<Peer> peers =
+      Arrays.asList(
+          new Peer(gid, 1, new TEndPoint("127.0.0.1", basePort)),
+          new Peer(gid, 2, new TEndPoint("127.0.0.1", basePort + 1)));
+
+  private final File baseDir = new File("target" + File.separator + "incremental_snapshot");
+
+  private final List<File> peersStorage =
+      Arrays.asList(new File(baseDir, "consensus1"), new File(baseDir, "consensus2"));
+
+  private final List<File> dataDirs =
+      Arrays.asList(new File(baseDir, "region1"), new File(baseDir, "region2"));
+
+  private final List<IoTConsensus> servers = new ArrayList<>();
+
+  private final Random random = new Random(0);
+
+  @Before
+  public void setUp() throws Exception {
+    FileUtils.deleteFully(baseDir);
+    Assume.assumeTrue(checkPortAvailable());
+    try {
+      for (int i = 0; i < peers.size(); i++) {
+        peersStorage.get(i).mkdirs();
+        new File(dataDirs.get(i), "data").mkdirs();
+        FileStateMachine stateMachine = new FileStateMachine(dataDirs.get(i));
+        servers.add(
+            (IoTConsensus)
+                ConsensusFactory.getConsensusImpl(
+                        ConsensusFactory.IOT_CONSENSUS,
+                        ConsensusConfig.newBuilder()
+                            .setThisNodeId(peers.get(i).getNodeId())
+                            .setThisNode(peers.get(i).getEndpoint())
+                            .setStorageDir(peersStorage.get(i).getAbsolutePath())
+                            .setConsensusGroupType(TConsensusGroupType.DataRegion)
+                            .build(),
+                        groupId -> stateMachine)
+                    .orElseThrow(
+                        () ->
+                            new IllegalArgumentException(
+                                String.format(
+                                    ConsensusFactory.CONSTRUCT_FAILED_MSG,
+                                    ConsensusFactory.IOT_CONSENSUS))));
+        servers.get(i).recordCorrectPeerListBeforeStarting(Collections.singletonMap(gid, peers));
+      }
+      for (IoTConsensus server : servers) {
+        server.start();
+      }
+    } catch (IOException e) {
+      // just succeed when can not bind socket
+      Assume.assumeFalse(e.getCause() instanceof StartupException);
+      throw e;
+    }
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    servers.parallelStream().forEach(IoTConsensus::stop);
+    servers.clear();
+    FileUtils.deleteFully(baseDir);
+  }
+
+  @Test
+  public void transmitOnlyMissingOrChangedFiles() throws Exception {
+    servers.get(0).createLocalPeer(gid, peers);
+    servers.get(1).createLocalPeer(gid, peers);
+
+    byte[] sameContent = randomBytes(200 * 1024);
+    byte[] leaderChangedContent = randomBytes(100 * 1024);
+    byte[] followerChangedContent = randomBytes(100 * 1024);
+    byte[] missingContent = randomBytes(1024);
+    writeDataFile(0, "same.tsfile", sameContent);
+    writeDataFile(0, "changed.tsfile", leaderChangedContent);
+    writeDataFile(0, "missing.tsfile", missingContent);
+    writeDataFile(1, "same.tsfile", sameContent);
+    writeDataFile(1, "changed.tsfile", followerChangedContent);
+
+    IoTConsensusServerImpl leader = servers.get(0).getImpl(gid);
+    leader.takeSnapshot();
+    leader.transmitSnapshot(peers.get(1));
+
+    File followerPeerDir = new File(IoTConsensus.buildPeerDir(peersStorage.get(1), gid));
+    File[] snapshotDirs =
+        followerPeerDir.listFiles(
+            (dir, name) -> name.startsWith(IoTConsensusServerImpl.SNAPSHOT_DIR_NAME));
+    Assert.assertNotNull(snapshotDirs);
+    Assert.assertEquals(1, snapshotDirs.length);
+    File receivedDataDir = new File(snapshotDirs[0], "data");
+
+    File receivedSame = new File(receivedDataDir, "same.tsfile");
+    Assert.assertArrayEquals(sameContent, Files.readAllBytes(receivedSame.toPath()));
+    // the unchanged file is linked from the follower's own copy instead of being transmitted
+    Assert.assertTrue(
+        Files.isSameFile(
+            receivedSame.toPath(), new File(dataDirs.get(1), "data/same.tsfile").toPath()));
+
+    File receivedChanged = new File(receivedDataDir, "changed.tsfile");
+    Assert.assertArrayEquals(leaderChangedContent, Files.readAllBytes(receivedChanged.toPath()));
+    Assert.assertFalse(
+        Files.isSameFile(
+            receivedChanged.toPath(), new File(dataDirs.get(1), "data/changed.tsfile").toPath()));
+
+    Assert.assertArrayEquals(
+        missingContent, Files.readAllBytes(new File(receivedDataDir, "missing.tsfile").toPath()));
+  }
+
+  private byte[] randomBytes(int size) {
+    byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+
+  private void writeDataFile(int peerIndex, String name, byte[] content) throws IOException {
+    Files.write(
+        new File(dataDirs.get(peerIndex), "data" + File.separator + name).toPath(), content);
+  }
+
+  private boolean checkPortAvailable() {
+    for (Peer peer : peers) {
+      try (ServerSocket ignored = new ServerSocket(peer.getEndpoint().port)) {
+        // port is available
+      } catch (IOException e) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Takes snapshots by copying its data files, and offers them for reuse. */
+  private static class FileStateMachine extends TestStateMachine {
+
+    private final File root;
+
+    private FileStateMachine(File root) {
+      this.root = root;
+    }
+
+    @Override
+    public boolean takeSnapshot(File snapshotDir) {
+      File[] files = new File(root, "data").listFiles();
+      if (files == null) {
+        return false;
+      }
+      try {
+        File snapshotDataDir = new File(snapshotDir, "data");
+        Files.createDirectories(snapshotDataDir.toPath());
+        for (File file : files) {
+          Files.copy(file.toPath(), new File(snapshotDataDir, file.getName()).toPath());
+        }
+        return true;
+      } catch (IOException e) {
+        return false;
+      }
+    }
+
+    @Override
+    public File getReusableLocalFile(String relativePath) {
+      File localFile = new File(root, relativePath);
+      return localFile.exists() ? localFile : null;
+    }
+  }
+}
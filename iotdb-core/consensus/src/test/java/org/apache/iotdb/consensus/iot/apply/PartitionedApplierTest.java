@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.apply;
+
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.consensus.common.request.IConsensusRequest;
+import org.apache.iotdb.rpc.TSStatusCode;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PartitionedApplierTest {
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private static class KeyedRequest implements IConsensusRequest {
+
+    private final String key;
+    private final int sequence;
+
+    private KeyedRequest(String key, int sequence) {
+      this.key = key;
+      this.sequence = sequence;
+    }
+
+    @Override
+    public ByteBuffer serializeToByteBuffer() {
+      return ByteBuffer.allocate(0);
+    }
+
+    @Override
+    public Object getApplyPartitionKey() {
+      return key;
+    }
+  }
+
+  @Test
+  public void testKeyOrderAndBarrier() throws Exception {
+    Map<String, List<Integer>> appliedSequences = new ConcurrentHashMap<>();
+    AtomicInteger appliedCount = new AtomicInteger(0);
+    List<Integer> appliedCountSeenByBarriers = new CopyOnWriteArrayList<>();
+    PartitionedApplier applier =
+        new PartitionedApplier(
+            4,
+            request -> {
+              KeyedRequest keyedRequest = (KeyedRequest) request;
+              if (keyedRequest.key == null) {
+                appliedCountSeenByBarriers.add(appliedCount.get());
+              } else {
+                try {
+                  Thread.sleep(ThreadLocalRandom.current().nextInt(2));
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+                appliedSequences
+                    .computeIfAbsent(keyedRequest.key, k -> new CopyOnWriteArrayList<>())
+                    .add(keyedRequest.sequence);
+              }
+              appliedCount.incrementAndGet();
+              return new TSStatus(TSStatusCode.SUCCESS_STATUS.getStatusCode())
+                  .setMessage(String.valueOf(keyedRequest.sequence));
+            },
+            executor);
+
+    List<IConsensusRequest> requests = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      // Every 50th request has no key and must be applied exclusively
+      requests.add(new KeyedRequest(i % 50 == 49 ? null : "device" + (i % 8), i));
+    }
+    List<CompletableFuture<TSStatus>> results = new ArrayList<>();
+    for (int i = 0; i < requests.size(); i += 20) {
+      results.addAll(applier.dispatch(requests.subList(i, i + 20)));
+    }
+
+    // The statuses are returned in the order of the requests
+    for (int i = 0; i < results.size(); i++) {
+      Assert.assertEquals(String.valueOf(i), results.get(i).get(30, TimeUnit.SECONDS).getMessage());
+    }
+    // The requests of one key are applied in order
+    for (List<Integer> sequences : appliedSequences.values()) {
+      for (int i = 1; i < sequences.size(); i++) {
+        Assert.assertTrue(sequences.get(i - 1) < sequences.get(i));
+      }
+    }
+    // A barrier is applied after all the preceding requests and before the following ones
+    List<Integer> expectedAppliedCounts = new ArrayList<>();
+    for (int i = 49; i < 200; i += 50) {
+      expectedAppliedCounts.add(i);
+    }
+    Assert.assertEquals(expectedAppliedCounts, appliedCountSeenByBarriers);
+    Assert.assertEquals(200, appliedCount.get());
+  }
+
+  @Test
+  public void testFailureIsReportedToItsRequest() throws Exception {
+    PartitionedApplier applier =
+        new PartitionedApplier(
+            2,
+            request -> {
+              if (((KeyedRequest) request).sequence == 1) {
+                throw new IllegalStateException("apply failed");
+              }
+              return new TSStatus(TSStatusCode.SUCCESS_STATUS.getStatusCode());
+            },
+            executor);
+    List<IConsensusRequest> requests = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      requests.add(new KeyedRequest("device", i));
+    }
+    List<CompletableFuture<TSStatus>> results = applier.dispatch(requests);
+    applier.awaitAllApplied();
+
+    Assert.assertEquals(
+        TSStatusCode.SUCCESS_STATUS.getStatusCode(), results.get(0).get().getCode());
+    Assert.assertTrue(results.get(1).isCompletedExceptionally());
+    // The lane keeps applying the following requests
+    Assert.assertEquals(
+        TSStatusCode.SUCCESS_STATUS.getStatusCode(), results.get(2).get().getCode());
+  }
+}
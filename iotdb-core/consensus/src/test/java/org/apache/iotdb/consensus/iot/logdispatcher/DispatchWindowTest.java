@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.logdispatcher;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class DispatchWindowTest {
+
+  private static final long BASE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+  /**
+   * A peer which applies up to capacity batches concurrently. The batches beyond that queue up on
+   * the peer, so the round trip time grows with the window.
+   */
+  private static long roundTripTimeOf(int windowSize, int capacity) {
+    return BASE_RTT * Math.max(windowSize, capacity) / capacity;
+  }
+
+  @Test
+  public void testStartFromMinSize() {
+    DispatchWindow window = new DispatchWindow(5, 20);
+    Assert.assertEquals(5, window.getSize());
+    Assert.assertEquals(5, window.getMinSize());
+    Assert.assertEquals(20, window.getMaxSize());
+  }
+
+  @Test
+  public void testWindowConvergesToPeerCapacity() {
+    int capacity = 12;
+    DispatchWindow window = new DispatchWindow(4, 64);
+    int minSizeAfterWarmUp = Integer.MAX_VALUE;
+    int maxSizeAfterWarmUp = 0;
+    for (int i = 0; i < 5000; i++) {
+      window.onBatchCompleted(roundTripTimeOf(window.getSize(), capacity));
+      if (i >= 1000) {
+        minSizeAfterWarmUp = Math.min(minSizeAfterWarmUp, window.getSize());
+        maxSizeAfterWarmUp = Math.max(maxSizeAfterWarmUp, window.getSize());
+      }
+    }
+    // The window keeps the peer busy without letting the queue on the peer grow unbounded
+    Assert.assertTrue(String.valueOf(minSizeAfterWarmUp), minSizeAfterWarmUp >= capacity * 3 / 4);
+    Assert.assertTrue(String.valueOf(maxSizeAfterWarmUp), maxSizeAfterWarmUp <= capacity * 2);
+  }
+
+  @Test
+  public void testWindowShrinksWhenPeerSlowsDown() {
+    DispatchWindow window = new DispatchWindow(4, 64);
+    for (int i = 0; i < 5000; i++) {
+      window.onBatchCompleted(roundTripTimeOf(window.getSize(), 32));
+    }
+    int sizeForFastPeer = window.getSize();
+    Assert.assertTrue(String.valueOf(sizeForFastPeer), sizeForFastPeer >= 24);
+
+    // The peer can only handle a quarter of the batches now
+    for (int i = 0; i < 5000; i++) {
+      window.onBatchCompleted(roundTripTimeOf(window.getSize(), 8));
+    }
+    Assert.assertTrue(String.valueOf(window.getSize()), window.getSize() <= 16);
+  }
+
+  @Test
+  public void testWindowNeverBelowMinSize() {
+    DispatchWindow window = new DispatchWindow(5, 64);
+    // The round trip time grows with every batch, as if the peer is overloaded
+    for (int i = 0; i < 1000; i++) {
+      window.onBatchCompleted(BASE_RTT * (i + 1));
+      Assert.assertTrue(window.getSize() >= 5);
+    }
+    Assert.assertEquals(5, window.getSize());
+    for (int i = 0; i < 10; i++) {
+      window.onBatchFailed();
+    }
+    Assert.assertEquals(5, window.getSize());
+  }
+
+  @Test
+  public void testWindowGrowsToMaxSizeWithoutCongestion() {
+    DispatchWindow window = new DispatchWindow(2, 16);
+    for (int i = 0; i < 1000; i++) {
+      window.onBatchCompleted(BASE_RTT);
+    }
+    Assert.assertEquals(16, window.getSize());
+  }
+
+  @Test
+  public void testFailureShrinksWindow() {
+    DispatchWindow window = new DispatchWindow(2, 16);
+    for (int i = 0; i < 1000; i++) {
+      window.onBatchCompleted(BASE_RTT);
+    }
+    window.onBatchFailed();
+    Assert.assertEquals(12, window.getSize());
+  }
+
+  @Test
+  public void testIdleGapKeepsWindow() {
+    DispatchWindow window = new DispatchWindow(2, 16);
+    for (int i = 0; i < 1000; i++) {
+      window.onBatchCompleted(BASE_RTT);
+    }
+    Assert.assertEquals(16, window.getSize());
+    // The window is only adjusted on acknowledgements, so however long the peer has been idle, the
+    // first batch after that still gets the full window
+    window.onBatchCompleted(BASE_RTT);
+    Assert.assertEquals(16, window.getSize());
+  }
+}
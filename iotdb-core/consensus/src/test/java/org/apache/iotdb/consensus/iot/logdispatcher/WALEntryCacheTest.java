@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.logdispatcher;
+
+import org.apache.iotdb.consensus.iot.thrift.TLogEntry;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+
+public class WALEntryCacheTest {
+
+  private static final int ENTRY_SIZE = 100;
+
+  private final IoTConsensusMemoryManager memoryManager = IoTConsensusMemoryManager.getInstance();
+  private final WALEntryCache cache = new WALEntryCache(10 * ENTRY_SIZE, memoryManager);
+
+  @After
+  public void tearDown() {
+    cache.clear();
+  }
+
+  private static TLogEntry newEntry(long searchIndex) {
+    return new TLogEntry(
+        Collections.singletonList(ByteBuffer.wrap(new byte[ENTRY_SIZE])),
+        searchIndex,
+        true,
+        ENTRY_SIZE);
+  }
+
+  @Test
+  public void testGetReturnsIndependentViews() {
+    long memoryBefore = memoryManager.getMemorySizeInByte();
+    cache.put(newEntry(1));
+    Assert.assertEquals(memoryBefore + ENTRY_SIZE, memoryManager.getMemorySizeInByte());
+
+    TLogEntry first = cache.get(1);
+    TLogEntry second = cache.get(1);
+    Assert.assertNotNull(first);
+    Assert.assertNotNull(second);
+    Assert.assertEquals(1, first.getSearchIndex());
+    Assert.assertTrue(first.isFromWAL());
+
+    // Consuming the buffer of one dispatcher must not affect the others
+    first.getData().get(0).position(ENTRY_SIZE);
+    Assert.assertEquals(ENTRY_SIZE, second.getData().get(0).remaining());
+    Assert.assertEquals(ENTRY_SIZE, cache.get(1).getData().get(0).remaining());
+
+    Assert.assertNull(cache.get(2));
+    Assert.assertEquals(3, cache.getHitCount());
+  }
+
+  @Test
+  public void testSizeBoundAndEviction() {
+    long memoryBefore = memoryManager.getMemorySizeInByte();
+    for (long i = 0; i < 20; i++) {
+      cache.put(newEntry(i));
+    }
+    // Only the entries within the bound are cached
+    Assert.assertEquals(10, cache.getCachedEntryNum());
+    Assert.assertEquals(10 * ENTRY_SIZE, cache.getCachedSizeInBytes());
+    Assert.assertNotNull(cache.get(9));
+    Assert.assertNull(cache.get(10));
+
+    // Re-caching an existing entry reserves nothing
+    cache.put(newEntry(5));
+    Assert.assertEquals(memoryBefore + 10 * ENTRY_SIZE, memoryManager.getMemorySizeInByte());
+
+    // The entries synchronized to all the peers are released
+    cache.evictBefore(4);
+    Assert.assertEquals(6, cache.getCachedEntryNum());
+    Assert.assertNull(cache.get(3));
+    Assert.assertNotNull(cache.get(4));
+    Assert.assertEquals(memoryBefore + 6 * ENTRY_SIZE, memoryManager.getMemorySizeInByte());
+
+    cache.clear();
+    Assert.assertEquals(0, cache.getCachedEntryNum());
+    Assert.assertEquals(memoryBefore, memoryManager.getMemorySizeInByte());
+  }
+}
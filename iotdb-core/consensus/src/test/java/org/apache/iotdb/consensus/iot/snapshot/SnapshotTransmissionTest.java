@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.snapshot;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+
+public class SnapshotTransmissionTest {
+
+  private final IoTConsensusRateLimiter rateLimiter = IoTConsensusRateLimiter.getInstance();
+
+  @After
+  public void tearDown() {
+    rateLimiter.init(0);
+  }
+
+  @Test
+  public void shareSpeedLimitEqually() {
+    rateLimiter.init(300);
+    SnapshotTransmission first = new SnapshotTransmission(Collections.emptyList());
+    SnapshotTransmission second = new SnapshotTransmission(Collections.emptyList());
+    SnapshotTransmission third = new SnapshotTransmission(Collections.emptyList());
+    try {
+      rateLimiter.register(first);
+      Assert.assertEquals(300, first.getRate(), 0.001);
+
+      rateLimiter.register(second);
+      rateLimiter.register(third);
+      Assert.assertEquals(3, rateLimiter.getActiveTransmissionNum());
+      Assert.assertEquals(100, first.getRate(), 0.001);
+      Assert.assertEquals(100, second.getRate(), 0.001);
+      Assert.assertEquals(100, third.getRate(), 0.001);
+
+      rateLimiter.unregister(second);
+      Assert.assertEquals(150, first.getRate(), 0.001);
+      Assert.assertEquals(150, third.getRate(), 0.001);
+
+      // a new speed limit is applied to the transmissions in progress
+      rateLimiter.init(600);
+      Assert.assertEquals(300, first.getRate(), 0.001);
+      Assert.assertEquals(300, third.getRate(), 0.001);
+    } finally {
+      rateLimiter.unregister(first);
+      rateLimiter.unregister(second);
+      rateLimiter.unregister(third);
+    }
+    Assert.assertEquals(0, rateLimiter.getActiveTransmissionNum());
+  }
+
+  @Test
+  public void reportProgress() throws IOException {
+    File file = File.createTempFile("snapshot", ".tsfile");
+    try {
+      Files.write(file.toPath(), new byte[1000]);
+      SnapshotTransmission transmission = new SnapshotTransmission(Collections.singletonList(file));
+      Assert.assertEquals(1000, transmission.getTotalBytes());
+      Assert.assertEquals(0, transmission.getProgress(), 0.001);
+      Assert.assertEquals(-1, transmission.getEtaInMs());
+
+      transmission.recordTransmittedBytes(250);
+      Assert.assertEquals(25, transmission.getProgress(), 0.001);
+      Assert.assertTrue(transmission.getEtaInMs() >= 0);
+
+      transmission.recordTransmittedBytes(750);
+      transmission.recordTransmittedFile();
+      Assert.assertEquals(100, transmission.getProgress(), 0.001);
+      Assert.assertEquals(0, transmission.getEtaInMs());
+      Assert.assertTrue(transmission.toString().startsWith("files 1/1 done"));
+    } finally {
+      Files.deleteIfExists(file.toPath());
+    }
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.ratis;
+
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.consensus.SchemaRegionId;
+import org.apache.iotdb.consensus.common.request.IConsensusRequest;
+import org.apache.iotdb.consensus.ratis.utils.Utils;
+import org.apache.iotdb.rpc.TSStatusCode;
+
+import org.apache.ratis.proto.RaftProtos;
+import org.apache.ratis.protocol.Message;
+import org.apache.ratis.statemachine.TransactionContext;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class ApplicationStateMachineProxyTest {
+
+  private static final int BATCH_SIZE_MAX = 16;
+
+  /** Counts the applied requests; fails the request at failingIndex and may block the first. */
+  private static class FaultyCounter extends TestUtils.IntegerCounter {
+
+    private final int failingIndex;
+    private final CountDownLatch firstBatchEntered = new CountDownLatch(1);
+    private final CountDownLatch firstBatchReleased;
+    private int requestCount = 0;
+
+    private FaultyCounter(int failingIndex, boolean blockFirstBatch) {
+      this.failingIndex = failingIndex;
+      this.firstBatchReleased = new CountDownLatch(blockFirstBatch ? 1 : 0);
+    }
+
+    @Override
+    public void writeBatch(List<IConsensusRequest> requests, List<TSStatus> results) {
+      firstBatchEntered.countDown();
+      try {
+        firstBatchReleased.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      super.writeBatch(requests, results);
+    }
+
+    @Override
+    public TSStatus write(IConsensusRequest request) {
+      if (requestCount++ == failingIndex) {
+        throw new IllegalStateException("failed to apply request " + failingIndex);
+      }
+      return super.write(request);
+    }
+  }
+
+  private static ApplicationStateMachineProxy newProxy(FaultyCounter stateMachine) {
+    return new ApplicationStateMachineProxy(
+        stateMachine,
+        Utils.fromConsensusGroupIdToRaftGroupId(new SchemaRegionId(1)),
+        (memberId, leaderId) -> {},
+        BATCH_SIZE_MAX);
+  }
+
+  private static CompletableFuture<Message> apply(ApplicationStateMachineProxy proxy, long index) {
+    final RaftProtos.LogEntryProto entry =
+        RaftProtos.LogEntryProto.newBuilder()
+            .setTerm(1)
+            .setIndex(index)
+            .setStateMachineLogEntry(
+                RaftProtos.StateMachineLogEntryProto.newBuilder()
+                    .setLogData(
+                        ByteString.copyFrom(
+                            TestUtils.TestRequest.incrRequest().serializeToByteBuffer())))
+            .build();
+    return proxy.applyTransaction(
+        TransactionContext.newBuilder()
+            .setStateMachine(proxy)
+            .setServerRole(RaftProtos.RaftPeerRole.FOLLOWER)
+            .setLogEntry(entry)
+            .build());
+  }
+
+  private static int getCode(CompletableFuture<Message> future) throws Exception {
+    final Message message = future.get(10, TimeUnit.SECONDS);
+    return ((TSStatus) ((ResponseMessage) message).getContentHolder()).getCode();
+  }
+
+  @Test
+  public void testOnlyFailedEntryFails() throws Exception {
+    final FaultyCounter stateMachine = new FaultyCounter(3, false);
+    final ApplicationStateMachineProxy proxy = newProxy(stateMachine);
+    final List<CompletableFuture<Message>> futures = new ArrayList<>();
+    for (int i = 1; i <= 10; i++) {
+      futures.add(apply(proxy, i));
+    }
+    for (int i = 0; i < futures.size(); i++) {
+      Assert.assertEquals(
+          i == 3
+              ? TSStatusCode.INTERNAL_SERVER_ERROR.getStatusCode()
+              : TSStatusCode.SUCCESS_STATUS.getStatusCode(),
+          getCode(futures.get(i)));
+    }
+    // the requests before the failed one are not applied again
+    Assert.assertEquals(9, stateMachine.integer.get());
+    Assert.assertEquals(10, stateMachine.requestCount);
+    Assert.assertEquals(10, proxy.getLastAppliedTermIndex().getIndex());
+  }
+
+  @Test
+  public void testPauseWaitsForPendingApplies() throws Exception {
+    final FaultyCounter stateMachine = new FaultyCounter(-1, true);
+    final ApplicationStateMachineProxy proxy = newProxy(stateMachine);
+    final List<CompletableFuture<Message>> futures = new ArrayList<>();
+    futures.add(apply(proxy, 1));
+    Assert.assertTrue(stateMachine.firstBatchEntered.await(10, TimeUnit.SECONDS));
+    for (int i = 2; i <= 40; i++) {
+      futures.add(apply(proxy, i));
+    }
+
+    final CompletableFuture<Void> pause = CompletableFuture.runAsync(proxy::pause);
+    TimeUnit.MILLISECONDS.sleep(200);
+    Assert.assertFalse(pause.isDone());
+
+    stateMachine.firstBatchReleased.countDown();
+    pause.get(10, TimeUnit.SECONDS);
+    // all the queued entries have been applied once pause returns
+    for (CompletableFuture<Message> future : futures) {
+      Assert.assertTrue(future.isDone());
+    }
+    Assert.assertEquals(40, stateMachine.integer.get());
+    Assert.assertEquals(40, proxy.getLastAppliedTermIndex().getIndex());
+  }
+
+  @Test
+  public void testCloseFailsQueuedEntries() throws Exception {
+    final FaultyCounter stateMachine = new FaultyCounter(-1, true);
+    final ApplicationStateMachineProxy proxy = newProxy(stateMachine);
+    final CompletableFuture<Message> first = apply(proxy, 1);
+    Assert.assertTrue(stateMachine.firstBatchEntered.await(10, TimeUnit.SECONDS));
+    final List<CompletableFuture<Message>> queued = new ArrayList<>();
+    for (int i = 2; i <= 10; i++) {
+      queued.add(apply(proxy, i));
+    }
+
+    final CompletableFuture<Void> close =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                proxy.close();
+              } catch (Exception e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    TimeUnit.MILLISECONDS.sleep(200);
+    // close waits for the batch being applied
+    Assert.assertFalse(close.isDone());
+
+    stateMachine.firstBatchReleased.countDown();
+    close.get(10, TimeUnit.SECONDS);
+    Assert.assertEquals(TSStatusCode.SUCCESS_STATUS.getStatusCode(), getCode(first));
+    for (CompletableFuture<Message> future : queued) {
+      try {
+        future.get(10, TimeUnit.SECONDS);
+        Assert.fail("the entries queued when closing should not be applied");
+      } catch (ExecutionException e) {
+        // expected
+      }
+    }
+    Assert.assertEquals(1, stateMachine.integer.get());
+  }
+}
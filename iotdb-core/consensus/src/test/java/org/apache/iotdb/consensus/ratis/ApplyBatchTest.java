@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.ratis;
+
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.consensus.ConsensusGroupId;
+import org.apache.iotdb.consensus.IStateMachine;
+import org.apache.iotdb.consensus.common.Peer;
+import org.apache.iotdb.consensus.common.request.IConsensusRequest;
+import org.apache.iotdb.consensus.config.RatisConfig;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ApplyBatchTest {
+
+  private static class BatchCounter extends TestUtils.IntegerCounter {
+
+    private final AtomicInteger batchAppliedRequests = new AtomicInteger(0);
+
+    @Override
+    public void writeBatch(List<IConsensusRequest> requests, List<TSStatus> results) {
+      batchAppliedRequests.addAndGet(requests.size());
+      super.writeBatch(requests, results);
+    }
+  }
+
+  private TestUtils.MiniCluster miniCluster;
+  private ExecutorService writeExecutor;
+
+  @Before
+  public void setUp() throws Exception {
+    writeExecutor = Executors.newFixedThreadPool(8);
+    miniCluster =
+        new TestUtils.MiniClusterFactory()
+            .setSMProvider(BatchCounter::new)
+            .setRatisConfig(
+                RatisConfig.newBuilder()
+                    .setImpl(RatisConfig.Impl.newBuilder().setApplyBatchSizeMax(16).build())
+                    .build())
+            .create();
+    miniCluster.start();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    miniCluster.cleanUp();
+    writeExecutor.shutdownNow();
+  }
+
+  @Test
+  public void applyConcurrentWritesInBatches() throws Exception {
+    final ConsensusGroupId gid = miniCluster.getGid();
+    final List<Peer> members = miniCluster.getPeers();
+    for (RatisConsensus server : miniCluster.getServers()) {
+      server.createLocalPeer(gid, members);
+    }
+    miniCluster.waitUntilActiveLeaderElectedAndReady();
+
+    miniCluster.writeManyParallel(writeExecutor, 0, 100);
+
+    for (int i = 0; i < members.size(); i++) {
+      Assert.assertEquals(100, miniCluster.mustRead(i));
+    }
+    // every committed entry went through the batch method exactly once on each peer
+    for (IStateMachine stateMachine : miniCluster.getStateMachines()) {
+      Assert.assertEquals(100, ((BatchCounter) stateMachine).batchAppliedRequests.get());
+    }
+  }
+}
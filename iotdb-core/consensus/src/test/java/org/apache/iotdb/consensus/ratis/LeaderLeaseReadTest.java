@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.ratis;
+
+import org.apache.iotdb.commons.consensus.ConsensusGroupId;
+import org.apache.iotdb.consensus.common.Peer;
+import org.apache.iotdb.consensus.config.RatisConfig;
+
+import org.apache.ratis.util.TimeDuration;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class LeaderLeaseReadTest {
+
+  private TestUtils.MiniCluster miniCluster;
+
+  @Before
+  public void setUp() throws Exception {
+    miniCluster =
+        new TestUtils.MiniClusterFactory()
+            .setRatisConfig(
+                RatisConfig.newBuilder()
+                    .setRead(
+                        RatisConfig.Read.newBuilder()
+                            .setReadOption(RatisConfig.Read.Option.LINEARIZABLE)
+                            .setLeaderLeaseEnabled(true)
+                            .setReadTimeout(TimeDuration.valueOf(20, TimeUnit.SECONDS))
+                            .build())
+                    .setRpc(
+                        RatisConfig.Rpc.newBuilder()
+                            .setFirstElectionTimeoutMin(TimeDuration.valueOf(1, TimeUnit.SECONDS))
+                            .setFirstElectionTimeoutMax(TimeDuration.valueOf(2, TimeUnit.SECONDS))
+                            .build())
+                    .build())
+            .create();
+    miniCluster.start();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    miniCluster.cleanUp();
+  }
+
+  @Test
+  public void linearizableReadWithLeaderLease() throws Exception {
+    final ConsensusGroupId gid = miniCluster.getGid();
+    final List<Peer> members = miniCluster.getPeers();
+    for (RatisConsensus server : miniCluster.getServers()) {
+      server.createLocalPeer(gid, members);
+    }
+    miniCluster.waitUntilActiveLeaderElectedAndReady();
+
+    int leaderIndex = -1;
+    for (int i = 0; i < members.size(); i++) {
+      if (miniCluster.getServer(i).isLeader(gid)) {
+        leaderIndex = i;
+      }
+    }
+    Assert.assertNotEquals(-1, leaderIndex);
+
+    // every read on the leader observes the preceding write, whether it is served under the
+    // lease or falls back to read-index
+    for (int i = 1; i <= 10; i++) {
+      miniCluster.writeOnce(leaderIndex);
+      Assert.assertEquals(i, miniCluster.mustRead(leaderIndex));
+    }
+
+    // followers still go through read-index on the leader
+    for (int i = 0; i < members.size(); i++) {
+      Assert.assertEquals(10, miniCluster.mustRead(i));
+    }
+  }
+}
@@ -562,6 +562,39 @@ public class IoTDBConfig {
   /** the max executing time of query in ms. Unit: millisecond */
   private long queryTimeoutThreshold = 60000;
 
+  /**
+   * Whether to cache the aggregation results of GROUP BY time windows which are fully covered by
+   * sealed TsFiles.
+   */
+  private boolean enableAggregationResultCache = false;
+
+  /** Max memory used by the aggregation result cache. Unit: byte */
+  private long aggregationResultCacheSizeInBytes = 32 * 1024 * 1024L;
+
+  /**
+   * Whether to generate rollup files, which contain the per series statistics of each rollup
+   * interval, for the TsFiles sealed by flush and compaction.
+   */
+  private boolean enableRollup = false;
+
+  /** Intervals of the rollup files. Unit: ms */
+  private long[] rollupIntervalsInMs = {60_000L, 3_600_000L, 86_400_000L};
+
+  /**
+   * Whether concurrent queries share the decoded pages of TsFiles, so that a page read by many
+   * queries at the same time is only decoded once.
+   */
+  private boolean enableSharedScan = false;
+
+  /** Max memory used by the decoded pages shared among queries. Unit: byte */
+  private long sharedScanCacheSizeInBytes = 64 * 1024 * 1024L;
+
+  /**
+   * Whether table scans with a push down filter decode the columns used by the filter first, and
+   * only decode the other columns of the rows satisfying the filter.
+   */
+  private boolean enableLateMaterialization = true;
+
   /** the max time to live of a session in ms. Unit: millisecond */
   private int sessionTimeoutThreshold = 0;
 
@@ -1033,6 +1066,9 @@ public class IoTDBConfig {
   private long dataRatisPeriodicSnapshotInterval = 24L * 60 * 60; // 24hr
   private long schemaRatisPeriodicSnapshotInterval = 24L * 60 * 60; // 24hr
 
+  /** Whether the schema region leader serves linearizable reads under its lease. */
+  private boolean schemaRatisLeaderLeaseEnabled = false;
+
   /** whether to enable the audit log * */
   private boolean enableAuditLog = false;
 
@@ -1054,11 +1090,15 @@ public class IoTDBConfig {
   private int maxLogEntriesNumPerBatch = 1024;
   private int maxSizePerBatch = 16 * 1024 * 1024;
   private int maxPendingBatchesNum = 5;
+  private int followerApplyParallelism = 1;
+  private boolean enableIncrementalSnapshot = true;
+  private int snapshotTransmissionParallelism = 4;
   private double maxMemoryRatioForQueue = 0.6;
   private long regionMigrationSpeedLimitBytesPerSecond = 48 * 1024 * 1024L;
 
   // IoTConsensusV2 Config
   private int iotConsensusV2PipelineSize = 5;
+  private boolean iotConsensusV2EnableTabletBatch = false;
   private String iotConsensusV2Mode = ConsensusFactory.IOT_CONSENSUS_V2_BATCH_MODE;
   private long tsFileWriterCheckInterval = TimeUnit.MINUTES.toMillis(5);
   private long tsFileWriterZombieThreshold = TimeUnit.MINUTES.toMillis(10);
@@ -1201,6 +1241,14 @@ public class IoTDBConfig {
     this.iotConsensusV2PipelineSize = iotConsensusV2PipelineSize;
   }
 
+  public boolean isIotConsensusV2EnableTabletBatch() {
+    return iotConsensusV2EnableTabletBatch;
+  }
+
+  public void setIotConsensusV2EnableTabletBatch(boolean iotConsensusV2EnableTabletBatch) {
+    this.iotConsensusV2EnableTabletBatch = iotConsensusV2EnableTabletBatch;
+  }
+
   public long getTsFileWriterCheckInterval() {
     return tsFileWriterCheckInterval;
   }
@@ -1225,6 +1273,30 @@ public class IoTDBConfig {
     this.maxPendingBatchesNum = maxPendingBatchesNum;
   }
 
+  public int getFollowerApplyParallelism() {
+    return followerApplyParallelism;
+  }
+
+  public void setFollowerApplyParallelism(int followerApplyParallelism) {
+    this.followerApplyParallelism = followerApplyParallelism;
+  }
+
+  public boolean isEnableIncrementalSnapshot() {
+    return enableIncrementalSnapshot;
+  }
+
+  public void setEnableIncrementalSnapshot(boolean enableIncrementalSnapshot) {
+    this.enableIncrementalSnapshot = enableIncrementalSnapshot;
+  }
+
+  public int getSnapshotTransmissionParallelism() {
+    return snapshotTransmissionParallelism;
+  }
+
+  public void setSnapshotTransmissionParallelism(int snapshotTransmissionParallelism) {
+    this.snapshotTransmissionParallelism = snapshotTransmissionParallelism;
+  }
+
   public void setMaxMemoryRatioForQueue(double maxMemoryRatioForQueue) {
     this.maxMemoryRatioForQueue = maxMemoryRatioForQueue;
   }
@@ -1850,6 +1922,62 @@ public class IoTDBConfig {
     this.queryTimeoutThreshold = queryTimeoutThreshold;
   }
 
+  public boolean isEnableAggregationResultCache() {
+    return enableAggregationResultCache;
+  }
+
+  public void setEnableAggregationResultCache(boolean enableAggregationResultCache) {
+    this.enableAggregationResultCache = enableAggregationResultCache;
+  }
+
+  public boolean isEnableRollup() {
+    return enableRollup;
+  }
+
+  public void setEnableRollup(boolean enableRollup) {
+    this.enableRollup = enableRollup;
+  }
+
+  public long[] getRollupIntervalsInMs() {
+    return rollupIntervalsInMs;
+  }
+
+  public void setRollupIntervalsInMs(long[] rollupIntervalsInMs) {
+    this.rollupIntervalsInMs = rollupIntervalsInMs;
+  }
+
+  public long getAggregationResultCacheSizeInBytes() {
+    return aggregationResultCacheSizeInBytes;
+  }
+
+  public void setAggregationResultCacheSizeInBytes(long aggregationResultCacheSizeInBytes) {
+    this.aggregationResultCacheSizeInBytes = aggregationResultCacheSizeInBytes;
+  }
+
+  public boolean isEnableSharedScan() {
+    return enableSharedScan;
+  }
+
+  public void setEnableSharedScan(boolean enableSharedScan) {
+    this.enableSharedScan = enableSharedScan;
+  }
+
+  public long getSharedScanCacheSizeInBytes() {
+    return sharedScanCacheSizeInBytes;
+  }
+
+  public void setSharedScanCacheSizeInBytes(long sharedScanCacheSizeInBytes) {
+    this.sharedScanCacheSizeInBytes = sharedScanCacheSizeInBytes;
+  }
+
+  public boolean isEnableLateMaterialization() {
+    return enableLateMaterialization;
+  }
+
+  public void setEnableLateMaterialization(boolean enableLateMaterialization) {
+    this.enableLateMaterialization = enableLateMaterialization;
+  }
+
   public int getSessionTimeoutThreshold() {
     return sessionTimeoutThreshold;
   }
@@ -4042,6 +4170,14 @@ public class IoTDBConfig {
     this.schemaRatisPeriodicSnapshotInterval = schemaRatisPeriodicSnapshotInterval;
   }
 
+  public boolean isSchemaRatisLeaderLeaseEnabled() {
+    return schemaRatisLeaderLeaseEnabled;
+  }
+
+  public void setSchemaRatisLeaderLeaseEnabled(boolean schemaRatisLeaderLeaseEnabled) {
+    this.schemaRatisLeaderLeaseEnabled = schemaRatisLeaderLeaseEnabled;
+  }
+
   public boolean isEnableTsFileValidation() {
     return enableTsFileValidation;
   }
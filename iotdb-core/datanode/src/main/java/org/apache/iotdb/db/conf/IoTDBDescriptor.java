@@ -481,6 +481,50 @@ public class IoTDBDescriptor {
             properties.getProperty(
                 "query_timeout_threshold", Long.toString(conf.getQueryTimeoutThreshold()))));
 
+    conf.setEnableAggregationResultCache(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_aggregation_result_cache",
+                Boolean.toString(conf.isEnableAggregationResultCache()))));
+
+    conf.setAggregationResultCacheSizeInBytes(
+        Long.parseLong(
+            properties.getProperty(
+                "aggregation_result_cache_size_in_bytes",
+                Long.toString(conf.getAggregationResultCacheSizeInBytes()))));
+
+    conf.setEnableRollup(
+        Boolean.parseBoolean(
+            properties.getProperty("enable_rollup", Boolean.toString(conf.isEnableRollup()))));
+
+    String rollupIntervals = properties.getProperty("rollup_intervals_in_ms");
+    if (rollupIntervals != null) {
+      conf.setRollupIntervalsInMs(
+          Arrays.stream(rollupIntervals.split(","))
+              .map(String::trim)
+              .filter(interval -> !interval.isEmpty())
+              .mapToLong(Long::parseLong)
+              .filter(interval -> interval > 0)
+              .toArray());
+    }
+
+    conf.setEnableSharedScan(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_shared_scan", Boolean.toString(conf.isEnableSharedScan()))));
+
+    conf.setSharedScanCacheSizeInBytes(
+        Long.parseLong(
+            properties.getProperty(
+                "shared_scan_cache_size_in_bytes",
+                Long.toString(conf.getSharedScanCacheSizeInBytes()))));
+
+    conf.setEnableLateMaterialization(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_late_materialization",
+                Boolean.toString(conf.isEnableLateMaterialization()))));
+
     conf.setSessionTimeoutThreshold(
         Integer.parseInt(
             properties.getProperty(
@@ -1110,6 +1154,24 @@ public class IoTDBDescriptor {
                 "data_region_iot_max_pending_batches_num",
                 ConfigurationFileUtils.getConfigurationDefaultValue(
                     "data_region_iot_max_pending_batches_num"))));
+    conf.setFollowerApplyParallelism(
+        Integer.parseInt(
+            properties.getProperty(
+                "data_region_iot_follower_apply_parallelism",
+                ConfigurationFileUtils.getConfigurationDefaultValue(
+                    "data_region_iot_follower_apply_parallelism"))));
+    conf.setEnableIncrementalSnapshot(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "data_region_iot_enable_incremental_snapshot",
+                ConfigurationFileUtils.getConfigurationDefaultValue(
+                    "data_region_iot_enable_incremental_snapshot"))));
+    conf.setSnapshotTransmissionParallelism(
+        Integer.parseInt(
+            properties.getProperty(
+                "data_region_iot_snapshot_transmission_parallelism",
+                ConfigurationFileUtils.getConfigurationDefaultValue(
+                    "data_region_iot_snapshot_transmission_parallelism"))));
     conf.setMaxMemoryRatioForQueue(
         Double.parseDouble(
             properties.getProperty(
@@ -1134,6 +1196,12 @@ public class IoTDBDescriptor {
     if (conf.getIotConsensusV2PipelineSize() <= 0) {
       conf.setIotConsensusV2PipelineSize(5);
     }
+    conf.setIotConsensusV2EnableTabletBatch(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "iot_consensus_v2_enable_tablet_batch",
+                ConfigurationFileUtils.getConfigurationDefaultValue(
+                    "iot_consensus_v2_enable_tablet_batch"))));
     conf.setIotConsensusV2Mode(
         properties.getProperty(
             "iot_consensus_v2_mode", PipeConsensusConfig.ReplicateMode.BATCH.getValue()));
@@ -2641,6 +2709,10 @@ public class IoTDBDescriptor {
     conf.setSchemaRatisPeriodicSnapshotInterval(
         ratisConfig.getSchemaRegionPeriodicSnapshotInterval());
     conf.setDataRatisPeriodicSnapshotInterval(ratisConfig.getDataRegionPeriodicSnapshotInterval());
+
+    if (ratisConfig.isSetSchemaRegionLeaderLeaseEnabled()) {
+      conf.setSchemaRatisLeaderLeaseEnabled(ratisConfig.isSchemaRegionLeaderLeaseEnabled());
+    }
   }
 
   public void loadCQConfig(TCQConfig cqConfig) {
@@ -143,6 +143,10 @@ public class DataRegionConsensusImpl {
                           .setMaxLogEntriesNumPerBatch(CONF.getMaxLogEntriesNumPerBatch())
                           .setMaxSizePerBatch(CONF.getMaxSizePerBatch())
                           .setMaxPendingBatchesNum(CONF.getMaxPendingBatchesNum())
+                          .setFollowerApplyParallelism(CONF.getFollowerApplyParallelism())
+                          .setEnableIncrementalSnapshot(CONF.isEnableIncrementalSnapshot())
+                          .setSnapshotTransmissionParallelism(
+                              CONF.getSnapshotTransmissionParallelism())
                           .setMaxMemoryRatioForQueue(CONF.getMaxMemoryRatioForQueue())
                           .setRegionMigrationSpeedLimitBytesPerSecond(
                               CONF.getRegionMigrationSpeedLimitBytesPerSecond())
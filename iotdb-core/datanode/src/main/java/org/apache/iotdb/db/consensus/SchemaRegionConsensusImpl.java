@@ -160,6 +160,7 @@ public class SchemaRegionConsensusImpl {
                               .setRead(
                                   RatisConfig.Read.newBuilder()
                                       .setReadOption(RatisConfig.Read.Option.LINEARIZABLE)
+                                      .setLeaderLeaseEnabled(CONF.isSchemaRatisLeaderLeaseEnabled())
                                       // use thrift connection timeout to unify read timeout
                                       .setReadTimeout(
                                           TimeDuration.valueOf(
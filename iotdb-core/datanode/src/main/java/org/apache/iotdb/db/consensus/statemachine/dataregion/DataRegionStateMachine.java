@@ -39,10 +39,13 @@ import org.apache.iotdb.db.storageengine.buffer.BloomFilterCache;
 import org.apache.iotdb.db.storageengine.buffer.ChunkCache;
 import org.apache.iotdb.db.storageengine.buffer.TimeSeriesMetadataCache;
 import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
+import org.apache.iotdb.db.storageengine.dataregion.rollup.RollupFileGenerator;
 import org.apache.iotdb.db.storageengine.dataregion.snapshot.SnapshotLoader;
 import org.apache.iotdb.db.storageengine.dataregion.snapshot.SnapshotTaker;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.rpc.TSStatusCode;
 
+import org.apache.tsfile.common.constant.TsFileConstant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -197,6 +200,40 @@ public class DataRegionStateMachine extends BaseStateMachine {
     }
   }
 
+  /**
+   * Sealed TsFiles and their resource and rollup files are immutable, so they can be reused by an
+   * incremental snapshot if this region already holds them. Mods files may still change and are
+   * always transmitted.
+   */
+  @Override
+  public File getReusableLocalFile(String relativePath) {
+    // (un)sequence sgName dataRegionId timePartition fileName
+    String[] splittedPath =
+        relativePath.split(File.separator.equals("\\") ? "\\\\" : File.separator);
+    if (splittedPath.length != 5
+        || !splittedPath[1].equals(region.getDatabaseName())
+        || !splittedPath[2].equals(region.getDataRegionId())) {
+      return null;
+    }
+    String fileName = splittedPath[4];
+    boolean isTsFile = fileName.endsWith(TsFileConstant.TSFILE_SUFFIX);
+    if (!isTsFile
+        && !fileName.endsWith(TsFileResource.RESOURCE_SUFFIX)
+        && !fileName.endsWith(RollupFileGenerator.ROLLUP_SUFFIX)) {
+      return null;
+    }
+    for (String dataDir : IoTDBDescriptor.getInstance().getConfig().getLocalDataDirs()) {
+      File localFile = new File(dataDir, relativePath);
+      // a TsFile without its resource file is still being written
+      if (localFile.exists()
+          && (!isTsFile
+              || new File(localFile.getPath() + TsFileResource.RESOURCE_SUFFIX).exists())) {
+        return localFile;
+      }
+    }
+    return null;
+  }
+
   @Override
   public TSStatus write(IConsensusRequest request) {
     try {
@@ -252,6 +289,7 @@ public class DataRegionStateMachine extends BaseStateMachine {
         logger.error("Get fragment instance failed", e);
         return null;
       }
+      region.recordReadRequest();
       return QUERY_INSTANCE_MANAGER.execDataQueryFragmentInstance(fragmentInstance, region);
     }
   }
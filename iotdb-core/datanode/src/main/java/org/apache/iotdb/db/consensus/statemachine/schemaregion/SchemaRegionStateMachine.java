@@ -22,6 +22,7 @@ package org.apache.iotdb.db.consensus.statemachine.schemaregion;
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.commons.conf.CommonDescriptor;
 import org.apache.iotdb.commons.consensus.ConsensusGroupId;
+import org.apache.iotdb.commons.exception.MetadataException;
 import org.apache.iotdb.consensus.common.DataSet;
 import org.apache.iotdb.consensus.common.request.IConsensusRequest;
 import org.apache.iotdb.consensus.ratis.utils.Utils;
@@ -35,6 +36,7 @@ import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.ISchemaRegion;
 import org.apache.iotdb.db.schemaengine.schemaregion.attribute.update.GeneralRegionAttributeSecurityService;
 import org.apache.iotdb.db.tools.schema.SchemaRegionSnapshotParser;
+import org.apache.iotdb.rpc.RpcUtils;
 import org.apache.iotdb.rpc.TSStatusCode;
 
 import org.slf4j.Logger;
@@ -192,6 +194,31 @@ public class SchemaRegionStateMachine extends BaseStateMachine {
     }
   }
 
+  @Override
+  public void writeBatch(final List<IConsensusRequest> requests, final List<TSStatus> results) {
+    // force the mlog once for the whole batch instead of once per plan
+    final int firstResultIndex = results.size();
+    schemaRegion.beginBatchWrite();
+    try {
+      for (final IConsensusRequest request : requests) {
+        results.add(write(request));
+      }
+    } finally {
+      try {
+        schemaRegion.endBatchWrite();
+      } catch (final MetadataException e) {
+        logger.error("Failed to force the mlog of {}", schemaRegion.getSchemaRegionId(), e);
+        // the plans are not durable, fail them as a failed mlog write fails a single plan
+        final TSStatus failure = RpcUtils.getStatus(e.getErrorCode(), e.getMessage());
+        for (int i = firstResultIndex; i < results.size(); i++) {
+          if (results.get(i).getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+            results.set(i, failure);
+          }
+        }
+      }
+    }
+  }
+
   @Override
   public DataSet read(final IConsensusRequest request) {
     final FragmentInstance fragmentInstance;
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.agent.task.connection;
+
+import org.apache.iotdb.commons.utils.FileUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Append-only local segment files holding serialized events spilled from a pending queue. Records
+ * are appended to the last segment, which rolls over once it reaches the segment size, and are read
+ * back by their positions. A segment is deleted once every record in it is released, so the disk
+ * usage follows the live records even if the queue is never drained completely.
+ */
+class PipeEventSpillLog {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PipeEventSpillLog.class);
+
+  private final File dir;
+  private final String fileNamePrefix;
+  private final long segmentSizeInBytes;
+
+  private final Map<Long, Segment> segments = new TreeMap<>();
+  private Segment currentSegment;
+  private long nextSegmentId = 0;
+
+  private int liveRecordCount = 0;
+  private long fileSize = 0;
+
+  PipeEventSpillLog(final File dir, final String fileNamePrefix, final long segmentSizeInBytes) {
+    this.dir = dir;
+    this.fileNamePrefix = fileNamePrefix;
+    this.segmentSizeInBytes = segmentSizeInBytes;
+  }
+
+  synchronized Position append(final ByteBuffer record) throws IOException {
+    if (currentSegment == null || currentSegment.writePosition >= segmentSizeInBytes) {
+      rollSegment();
+    }
+
+    final Segment segment = currentSegment;
+    final long offset = segment.writePosition;
+    final int length = record.remaining();
+    while (record.hasRemaining()) {
+      segment.writePosition += segment.channel.write(record, segment.writePosition);
+    }
+    ++segment.liveRecordCount;
+    ++liveRecordCount;
+    fileSize += length;
+    return new Position(segment.id, offset, length);
+  }
+
+  private void rollSegment() throws IOException {
+    if (!dir.exists() && !dir.mkdirs() && !dir.exists()) {
+      throw new IOException("Failed to create pipe spill dir " + dir);
+    }
+
+    final File file = new File(dir, fileNamePrefix + "-" + nextSegmentId + ".spill");
+    final Segment segment =
+        new Segment(
+            nextSegmentId,
+            file,
+            FileChannel.open(
+                file.toPath(),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING));
+    ++nextSegmentId;
+
+    // The previous segment is kept until its records are released
+    if (currentSegment != null && currentSegment.liveRecordCount == 0) {
+      deleteSegment(currentSegment);
+    }
+    segments.put(segment.id, segment);
+    currentSegment = segment;
+  }
+
+  synchronized ByteBuffer read(final Position position) throws IOException {
+    final Segment segment = segments.get(position.segmentId);
+    if (segment == null) {
+      throw new IOException(
+          String.format(
+              "Segment %d of pipe spill log %s is already deleted",
+              position.segmentId, fileNamePrefix));
+    }
+
+    final ByteBuffer buffer = ByteBuffer.allocate(position.length);
+    while (buffer.hasRemaining()) {
+      if (segment.channel.read(buffer, position.offset + buffer.position()) < 0) {
+        throw new IOException(
+            String.format(
+                "Unexpected end of pipe spill log %s, offset %d, length %d",
+                segment.file, position.offset, position.length));
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * Mark a record as consumed. A segment without live records is deleted, or truncated if it is
+   * still being appended to.
+   */
+  synchronized void release(final Position position) {
+    final Segment segment = segments.get(position.segmentId);
+    if (segment == null || segment.liveRecordCount == 0) {
+      return;
+    }
+
+    --liveRecordCount;
+    if (--segment.liveRecordCount > 0) {
+      return;
+    }
+
+    if (segment != currentSegment) {
+      deleteSegment(segment);
+      return;
+    }
+    try {
+      segment.channel.truncate(0);
+      fileSize -= segment.writePosition;
+      segment.writePosition = 0;
+    } catch (final IOException e) {
+      LOGGER.warn("Failed to truncate pipe spill log {}.", segment.file, e);
+    }
+  }
+
+  private void deleteSegment(final Segment segment) {
+    segments.remove(segment.id);
+    fileSize -= segment.writePosition;
+    segment.close();
+  }
+
+  synchronized int getLiveRecordCount() {
+    return liveRecordCount;
+  }
+
+  synchronized long getFileSize() {
+    return fileSize;
+  }
+
+  synchronized int getSegmentCount() {
+    return segments.size();
+  }
+
+  synchronized void close() {
+    segments.values().forEach(Segment::close);
+    segments.clear();
+    currentSegment = null;
+    liveRecordCount = 0;
+    fileSize = 0;
+  }
+
+  /** The position of a record in the log. */
+  static class Position {
+
+    private final long segmentId;
+    private final long offset;
+    private final int length;
+
+    private Position(final long segmentId, final long offset, final int length) {
+      this.segmentId = segmentId;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public String toString() {
+      return "Position{segmentId=" + segmentId + ", offset=" + offset + ", length=" + length + '}';
+    }
+  }
+
+  private static class Segment {
+
+    private final long id;
+    private final File file;
+    private final FileChannel channel;
+    private long writePosition = 0;
+    private int liveRecordCount = 0;
+
+    private Segment(final long id, final File file, final FileChannel channel) {
+      this.id = id;
+      this.file = file;
+      this.channel = channel;
+    }
+
+    private void close() {
+      try {
+        channel.close();
+      } catch (final IOException e) {
+        LOGGER.warn("Failed to close pipe spill log {}.", file, e);
+      }
+      FileUtils.deleteFileIfExist(file);
+    }
+  }
+}
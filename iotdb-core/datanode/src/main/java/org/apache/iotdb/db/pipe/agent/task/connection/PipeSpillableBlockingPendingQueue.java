@@ -0,0 +1,521 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.agent.task.connection;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.IoTThreadFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.consensus.index.ProgressIndex;
+import org.apache.iotdb.commons.pipe.agent.task.connection.UnboundedBlockingPendingQueue;
+import org.apache.iotdb.commons.pipe.agent.task.meta.PipeTaskMeta;
+import org.apache.iotdb.commons.pipe.agent.task.progress.CommitterKey;
+import org.apache.iotdb.commons.pipe.config.PipeConfig;
+import org.apache.iotdb.commons.pipe.event.EnrichedEvent;
+import org.apache.iotdb.commons.pipe.metric.PipeEventCounter;
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.pipe.event.common.PipeInsertionEvent;
+import org.apache.iotdb.db.pipe.event.common.tablet.PipeInsertNodeTabletInsertionEvent;
+import org.apache.iotdb.db.pipe.event.common.tablet.PipeRawTabletInsertionEvent;
+import org.apache.iotdb.db.pipe.event.common.tsfile.PipeTsFileInsertionEvent;
+import org.apache.iotdb.pipe.api.event.Event;
+import org.apache.iotdb.pipe.api.exception.PipeException;
+
+import org.apache.tsfile.utils.PublicBAOS;
+import org.apache.tsfile.utils.ReadWriteIOUtils;
+import org.apache.tsfile.write.record.Tablet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An {@link UnboundedBlockingPendingQueue} that keeps at most {@link
+ * PipeConfig#getPipeConnectorPendingQueueSpillThreshold()} tablet events in memory. A tablet event
+ * offered beyond the threshold is replaced by a placeholder in the queue, and a background spiller
+ * serializes it to a local {@link PipeEventSpillLog} and then releases it, so that it no longer
+ * pins WAL entries or pipe memory. The offering thread never converts or writes the event. The
+ * placeholder is turned back into tablet events when it reaches the head, or hands back the event
+ * itself if it has not been spilled by then.
+ *
+ * <p>A spilled event keeps its commit id, and the replayed event carrying it reports the original
+ * progress index, so the progress of the pipe never passes data that is only on the spill log.
+ */
+public class PipeSpillableBlockingPendingQueue extends UnboundedBlockingPendingQueue<Event> {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(PipeSpillableBlockingPendingQueue.class);
+
+  private static final PipeConfig PIPE_CONFIG = PipeConfig.getInstance();
+
+  private static final String SPILL_DIR_NAME = "spill";
+  private static final AtomicLong SPILL_LOG_ID_GENERATOR = new AtomicLong(0);
+  private static final long SPILL_LOG_SEGMENT_SIZE_IN_BYTES = 64L * 1024 * 1024;
+  private static final int MAX_PENDING_SPILL_TASK_NUM = 1024;
+
+  private final BlockingDeque<Event> pendingDeque;
+
+  private final boolean isSpillEnabled;
+  private final PipeEventSpillLog spillLog;
+  // The placeholders whose events are still in memory, because they are waiting to be spilled or
+  // failed to be spilled
+  private final AtomicInteger unspilledEventCount = new AtomicInteger(0);
+
+  public PipeSpillableBlockingPendingQueue(final PipeEventCounter eventCounter) {
+    this(eventCounter, PIPE_CONFIG.isPipeConnectorPendingQueueSpillEnabled());
+  }
+
+  public PipeSpillableBlockingPendingQueue(
+      final PipeEventCounter eventCounter, final boolean isSpillEnabled) {
+    this(eventCounter, isSpillEnabled, SPILL_LOG_SEGMENT_SIZE_IN_BYTES);
+  }
+
+  @TestOnly
+  public PipeSpillableBlockingPendingQueue(
+      final PipeEventCounter eventCounter,
+      final boolean isSpillEnabled,
+      final long spillLogSegmentSizeInBytes) {
+    super(eventCounter);
+    pendingDeque = (BlockingDeque<Event>) pendingQueue;
+
+    this.isSpillEnabled = isSpillEnabled;
+    // The pipe dir under data dirs is cleaned on startup, so are the stale spill logs
+    spillLog =
+        new PipeEventSpillLog(
+            new File(
+                IoTDBDescriptor.getInstance().getConfig().getDataDirs()[0]
+                    + File.separator
+                    + PIPE_CONFIG.getPipeHardlinkBaseDirName()
+                    + File.separator
+                    + SPILL_DIR_NAME),
+            "pending-queue-" + SPILL_LOG_ID_GENERATOR.incrementAndGet(),
+            spillLogSegmentSizeInBytes);
+  }
+
+  /////////////////////////////// offer ///////////////////////////////
+
+  @Override
+  public boolean waitedOffer(final Event event) {
+    return super.waitedOffer(spillIfNecessary(event));
+  }
+
+  @Override
+  public boolean directOffer(final Event event) {
+    return super.directOffer(spillIfNecessary(event));
+  }
+
+  @Override
+  public boolean put(final Event event) {
+    return super.put(spillIfNecessary(event));
+  }
+
+  private Event spillIfNecessary(final Event event) {
+    if (!isSpillEnabled
+        || isClosed.get()
+        || super.getTabletInsertionEventCount()
+            < PIPE_CONFIG.getPipeConnectorPendingQueueSpillThreshold()
+        || !isSpillable(event)) {
+      return event;
+    }
+
+    final SpilledTabletEvent spilledEvent = new SpilledTabletEvent((PipeInsertionEvent) event);
+    unspilledEventCount.incrementAndGet();
+    try {
+      SpillerHolder.EXECUTOR.execute(() -> spill(spilledEvent));
+    } catch (final RejectedExecutionException e) {
+      unspilledEventCount.decrementAndGet();
+      LOGGER.debug("Too many events are waiting to be spilled, keep {} in memory.", event);
+      return event;
+    }
+    return spilledEvent;
+  }
+
+  private static boolean isSpillable(final Event event) {
+    if (event instanceof PipeRawTabletInsertionEvent) {
+      // Tablets parsed from a TsFile are released together with the TsFile
+      if (((PipeRawTabletInsertionEvent) event).getSourceEvent()
+          instanceof PipeTsFileInsertionEvent) {
+        return false;
+      }
+    } else if (!(event instanceof PipeInsertNodeTabletInsertionEvent)) {
+      return false;
+    }
+    return ((EnrichedEvent) event).getReferenceCount() == 1;
+  }
+
+  /** Runs on the spiller thread. The event stays in the placeholder if anything goes wrong. */
+  private void spill(final SpilledTabletEvent spilledEvent) {
+    final PipeInsertionEvent event;
+    synchronized (spilledEvent) {
+      if (spilledEvent.isResolved) {
+        return;
+      }
+      event = spilledEvent.event;
+    }
+
+    final ByteBuffer record;
+    try {
+      record = serialize(event);
+    } catch (final Exception e) {
+      LOGGER.warn("Failed to spill event {}, keep it in memory.", event.coreReportMessage(), e);
+      return;
+    }
+    if (record == null) {
+      return;
+    }
+
+    synchronized (spilledEvent) {
+      // Polled or discarded while being serialized
+      if (spilledEvent.isResolved || isClosed.get()) {
+        return;
+      }
+      try {
+        spilledEvent.position = spillLog.append(record);
+      } catch (final IOException e) {
+        LOGGER.warn("Failed to spill event {}, keep it in memory.", event.coreReportMessage(), e);
+        return;
+      }
+      spilledEvent.event = null;
+      unspilledEventCount.decrementAndGet();
+    }
+
+    // Release the resources without committing, the replayed event will commit in its place
+    event.clearReferenceCount(PipeSpillableBlockingPendingQueue.class.getName());
+  }
+
+  private static ByteBuffer serialize(final PipeInsertionEvent event) throws IOException {
+    final List<Tablet> tablets = new ArrayList<>();
+    final List<Boolean> isAlignedList = new ArrayList<>();
+    if (event instanceof PipeInsertNodeTabletInsertionEvent) {
+      final PipeInsertNodeTabletInsertionEvent insertNodeEvent =
+          (PipeInsertNodeTabletInsertionEvent) event;
+      final List<Tablet> convertedTablets = insertNodeEvent.convertToTablets();
+      for (int i = 0; i < convertedTablets.size(); ++i) {
+        tablets.add(convertedTablets.get(i));
+        isAlignedList.add(insertNodeEvent.isAligned(i));
+      }
+    } else {
+      final PipeRawTabletInsertionEvent rawEvent = (PipeRawTabletInsertionEvent) event;
+      tablets.add(rawEvent.convertToTablet());
+      isAlignedList.add(rawEvent.isAligned());
+    }
+    for (int i = tablets.size() - 1; i >= 0; --i) {
+      if (PipeRawTabletInsertionEvent.isTabletEmpty(tablets.get(i))) {
+        tablets.remove(i);
+        isAlignedList.remove(i);
+      }
+    }
+    if (tablets.isEmpty()) {
+      return null;
+    }
+
+    try (final PublicBAOS byteArrayOutputStream = new PublicBAOS();
+        final DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream)) {
+      ReadWriteIOUtils.write(tablets.size(), outputStream);
+      for (int i = 0; i < tablets.size(); ++i) {
+        ReadWriteIOUtils.write(isAlignedList.get(i), outputStream);
+        tablets.get(i).serialize(outputStream);
+      }
+      return ByteBuffer.wrap(byteArrayOutputStream.getBuf(), 0, byteArrayOutputStream.size());
+    }
+  }
+
+  /////////////////////////////// poll ///////////////////////////////
+
+  @Override
+  public Event directPoll() {
+    return replayIfSpilled(super.directPoll());
+  }
+
+  @Override
+  public Event waitedPoll() {
+    return replayIfSpilled(super.waitedPoll());
+  }
+
+  @Override
+  public Event peek() {
+    while (true) {
+      final Event event = pendingDeque.peekFirst();
+      if (!(event instanceof SpilledTabletEvent)) {
+        return event;
+      }
+      // The placeholder may be polled concurrently, peek again in that case
+      if (!pendingDeque.remove(event)) {
+        continue;
+      }
+      final List<EnrichedEvent> replayedEvents = replay((SpilledTabletEvent) event);
+      for (int i = replayedEvents.size() - 1; i >= 0; --i) {
+        pendingDeque.offerFirst(replayedEvents.get(i));
+        eventCounter.increaseEventCount(replayedEvents.get(i));
+      }
+      return replayedEvents.get(0);
+    }
+  }
+
+  private Event replayIfSpilled(final Event event) {
+    if (!(event instanceof SpilledTabletEvent)) {
+      return event;
+    }
+
+    final List<EnrichedEvent> replayedEvents = replay((SpilledTabletEvent) event);
+    // Put the rest back in front, so that they are polled before the later events
+    for (int i = replayedEvents.size() - 1; i > 0; --i) {
+      pendingDeque.offerFirst(replayedEvents.get(i));
+      eventCounter.increaseEventCount(replayedEvents.get(i));
+    }
+    return replayedEvents.get(0);
+  }
+
+  private List<EnrichedEvent> replay(final SpilledTabletEvent spilledEvent) {
+    final ByteBuffer record;
+    synchronized (spilledEvent) {
+      if (spilledEvent.position == null) {
+        // Not spilled yet, hand back the event itself and stop the spiller from spilling it
+        spilledEvent.isResolved = true;
+        unspilledEventCount.decrementAndGet();
+        final EnrichedEvent event = spilledEvent.event;
+        spilledEvent.event = null;
+        return Collections.singletonList(event);
+      }
+
+      try {
+        record = spillLog.read(spilledEvent.position);
+      } catch (final IOException e) {
+        // Keep the placeholder at the head to retry later
+        pendingDeque.offerFirst(spilledEvent);
+        throw new PipeException(
+            String.format(
+                "Failed to read spilled event of pipe %s from the spill log",
+                spilledEvent.pipeName),
+            e);
+      }
+      spilledEvent.isResolved = true;
+    }
+
+    final int tabletCount = ReadWriteIOUtils.readInt(record);
+    final List<EnrichedEvent> replayedEvents = new ArrayList<>(tabletCount);
+    for (int i = 0; i < tabletCount; ++i) {
+      final boolean isAligned = ReadWriteIOUtils.readBool(record);
+      final Tablet tablet = Tablet.deserialize(record);
+      final PipeRawTabletInsertionEvent replayedEvent =
+          new PipeRawTabletInsertionEvent(
+              spilledEvent.isTableModelEvent,
+              spilledEvent.sourceDatabaseName,
+              spilledEvent.tableModelDatabaseName,
+              spilledEvent.treeModelDatabaseName,
+              tablet,
+              isAligned,
+              spilledEvent.pipeName,
+              spilledEvent.creationTime,
+              spilledEvent.pipeTaskMeta,
+              null,
+              false,
+              spilledEvent.userName);
+      replayedEvent.setRebootTimes(spilledEvent.rebootTimes);
+      replayedEvents.add(replayedEvent);
+    }
+
+    // The last replayed event commits on behalf of the spilled event
+    final PipeRawTabletInsertionEvent lastEvent =
+        (PipeRawTabletInsertionEvent) replayedEvents.get(tabletCount - 1);
+    lastEvent.setCommitterKeyAndCommitId(spilledEvent.committerKey, spilledEvent.commitId);
+    if (spilledEvent.shouldReport) {
+      lastEvent.bindProgressIndex(spilledEvent.progressIndex);
+    }
+
+    for (final EnrichedEvent replayedEvent : replayedEvents) {
+      replayedEvent.increaseReferenceCount(PipeSpillableBlockingPendingQueue.class.getName());
+    }
+    spillLog.release(spilledEvent.position);
+    return replayedEvents;
+  }
+
+  /////////////////////////////// discard ///////////////////////////////
+
+  @Override
+  public void clear() {
+    pendingQueue.forEach(this::discardIfSpilled);
+    super.clear();
+    spillLog.close();
+  }
+
+  @Override
+  public void discardAllEvents() {
+    pendingQueue.forEach(this::discardIfSpilled);
+    super.discardAllEvents();
+    spillLog.close();
+  }
+
+  @Override
+  public void discardEventsOfPipe(final String pipeNameToDrop, final int regionId) {
+    super.discardEventsOfPipe(pipeNameToDrop, regionId);
+    pendingQueue.removeIf(
+        event -> {
+          if (event instanceof SpilledTabletEvent
+              && pipeNameToDrop.equals(((SpilledTabletEvent) event).pipeName)
+              && regionId == ((SpilledTabletEvent) event).regionId) {
+            discardIfSpilled(event);
+            return true;
+          }
+          return false;
+        });
+  }
+
+  /** Release the record of a placeholder, or the event itself if it is not spilled yet. */
+  private void discardIfSpilled(final Event event) {
+    if (!(event instanceof SpilledTabletEvent)) {
+      return;
+    }
+
+    final SpilledTabletEvent spilledEvent = (SpilledTabletEvent) event;
+    final EnrichedEvent unspilledEvent;
+    synchronized (spilledEvent) {
+      if (spilledEvent.isResolved) {
+        return;
+      }
+      spilledEvent.isResolved = true;
+      if (spilledEvent.position != null) {
+        spillLog.release(spilledEvent.position);
+        return;
+      }
+      unspilledEventCount.decrementAndGet();
+      unspilledEvent = spilledEvent.event;
+      spilledEvent.event = null;
+    }
+    unspilledEvent.clearReferenceCount(PipeSpillableBlockingPendingQueue.class.getName());
+  }
+
+  /////////////////////////////// metrics ///////////////////////////////
+
+  @Override
+  public int getTabletInsertionEventCount() {
+    return super.getTabletInsertionEventCount()
+        + spillLog.getLiveRecordCount()
+        + unspilledEventCount.get();
+  }
+
+  public int getSpilledEventCount() {
+    return spillLog.getLiveRecordCount();
+  }
+
+  public long getSpilledSizeInBytes() {
+    return spillLog.getFileSize();
+  }
+
+  @TestOnly
+  public int getSpillLogSegmentCount() {
+    return spillLog.getSegmentCount();
+  }
+
+  /**
+   * The placeholder of a tablet event whose data is kept in the {@link PipeEventSpillLog}, or still
+   * in memory before the spiller gets to it. The mutable fields are guarded by the placeholder.
+   */
+  private static class SpilledTabletEvent implements Event {
+
+    private final Boolean isTableModelEvent;
+    private final String sourceDatabaseName;
+    private final String tableModelDatabaseName;
+    private final String treeModelDatabaseName;
+
+    private final String pipeName;
+    private final long creationTime;
+    private final PipeTaskMeta pipeTaskMeta;
+    private final String userName;
+    private final int regionId;
+    private final int rebootTimes;
+
+    private final CommitterKey committerKey;
+    private final long commitId;
+    private final boolean shouldReport;
+    private final ProgressIndex progressIndex;
+
+    private PipeInsertionEvent event;
+    private PipeEventSpillLog.Position position;
+    // Whether the placeholder is replayed or discarded, after which it must not be spilled
+    private boolean isResolved = false;
+
+    private SpilledTabletEvent(final PipeInsertionEvent event) {
+      this.event = event;
+
+      isTableModelEvent = event.getRawIsTableModelEvent();
+      sourceDatabaseName = event.getSourceDatabaseNameFromDataRegion();
+      tableModelDatabaseName = event.getRawTableModelDataBase();
+      treeModelDatabaseName = event.getRawTreeModelDataBase();
+
+      pipeName = event.getPipeName();
+      creationTime = event.getCreationTime();
+      pipeTaskMeta = event.getPipeTaskMeta();
+      userName = event.getUserName();
+      regionId = event.getRegionId();
+      rebootTimes = event.getRebootTimes();
+
+      committerKey = event.getCommitterKey();
+      commitId = event.getCommitId();
+      shouldReport =
+          !(event instanceof PipeRawTabletInsertionEvent)
+              || ((PipeRawTabletInsertionEvent) event).isNeedToReport();
+      progressIndex = event.getProgressIndex();
+    }
+
+    @Override
+    public String toString() {
+      return "SpilledTabletEvent{pipeName='"
+          + pipeName
+          + "', creationTime="
+          + creationTime
+          + ", commitId="
+          + commitId
+          + ", position="
+          + position
+          + '}';
+    }
+  }
+
+  private static class SpillerHolder {
+
+    private static final ExecutorService EXECUTOR =
+        IoTDBThreadPoolFactory.newThreadPool(
+            1,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(MAX_PENDING_SPILL_TASK_NUM),
+            new IoTThreadFactory(ThreadName.PIPE_CONNECTOR_PENDING_QUEUE_SPILLER.getName()),
+            ThreadName.PIPE_CONNECTOR_PENDING_QUEUE_SPILLER.getName());
+
+    private SpillerHolder() {
+      // empty constructor
+    }
+  }
+}
@@ -29,7 +29,8 @@ public class PipeConnectorSubtaskExecutor extends PipeSubtaskExecutor {
     super(
         PipeConfig.getInstance().getPipeSubtaskExecutorMaxThreadNum(),
         ThreadName.PIPE_CONNECTOR_EXECUTOR_POOL,
-        true);
+        true,
+        PipeConfig.getInstance().isPipeSubtaskExecutorElasticEnabled());
   }
 
   public PipeConnectorSubtaskExecutor(final int corePoolSize, final ThreadName threadName) {
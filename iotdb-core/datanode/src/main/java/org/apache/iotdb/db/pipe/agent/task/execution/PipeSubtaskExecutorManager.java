@@ -19,6 +19,8 @@
 
 package org.apache.iotdb.db.pipe.agent.task.execution;
 
+import org.apache.iotdb.commons.pipe.config.PipeConfig;
+import org.apache.iotdb.db.pipe.agent.PipeDataNodeAgent;
 import org.apache.iotdb.db.pipe.consensus.PipeConsensusSubtaskExecutor;
 import org.apache.iotdb.db.subscription.task.execution.SubscriptionSubtaskExecutor;
 
@@ -55,6 +57,16 @@ public class PipeSubtaskExecutorManager {
     connectorExecutor = new PipeConnectorSubtaskExecutor();
     subscriptionExecutor = new SubscriptionSubtaskExecutor();
     consensusExecutor = new PipeConsensusSubtaskExecutor();
+
+    if (connectorExecutor.isElastic()) {
+      PipeDataNodeAgent.runtime()
+          .registerPeriodicalJob(
+              "PipeSubtaskExecutorManager#adjustConnectorThreadNumber()",
+              () ->
+                  connectorExecutor.adjustThreadNumber(
+                      PipeConfig.getInstance().getPipeSubtaskExecutorElasticCpuThreshold()),
+              PipeConfig.getInstance().getPipeSubtaskExecutorElasticAdjustIntervalSeconds());
+    }
   }
 
   private static class PipeTaskExecutorHolder {
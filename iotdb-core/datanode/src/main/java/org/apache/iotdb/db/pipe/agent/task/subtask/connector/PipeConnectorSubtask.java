@@ -183,6 +183,11 @@ public class PipeConnectorSubtask extends PipeAbstractConnectorSubtask {
     PipeDataRegionConnectorMetrics.getInstance().markPipeHeartbeatEvent(taskID);
   }
 
+  @Override
+  protected void recordScheduleLatency(final long latencyInNanos) {
+    PipeDataRegionConnectorMetrics.getInstance().updateScheduleLatency(taskID, latencyInNanos);
+  }
+
   @Override
   public void close() {
     if (!attributeSortedString.startsWith("schema_")) {
@@ -320,6 +325,26 @@ public class PipeConnectorSubtask extends PipeAbstractConnectorSubtask {
     return 0;
   }
 
+  public long getAdaptiveBatchSizeInBytes() {
+    if (outputPipeConnector instanceof IoTDBDataRegionAsyncConnector) {
+      return ((IoTDBDataRegionAsyncConnector) outputPipeConnector).getAdaptiveBatchSizeInBytes();
+    }
+    if (outputPipeConnector instanceof IoTDBDataRegionSyncConnector) {
+      return ((IoTDBDataRegionSyncConnector) outputPipeConnector).getAdaptiveBatchSizeInBytes();
+    }
+    return 0;
+  }
+
+  public long getAdaptiveBatchDelayInMs() {
+    if (outputPipeConnector instanceof IoTDBDataRegionAsyncConnector) {
+      return ((IoTDBDataRegionAsyncConnector) outputPipeConnector).getAdaptiveBatchDelayInMs();
+    }
+    if (outputPipeConnector instanceof IoTDBDataRegionSyncConnector) {
+      return ((IoTDBDataRegionSyncConnector) outputPipeConnector).getAdaptiveBatchDelayInMs();
+    }
+    return 0;
+  }
+
   public double getTotalUncompressedSize() {
     return outputPipeConnector instanceof IoTDBConnector
         ? ((IoTDBConnector) outputPipeConnector).getTotalUncompressedSize()
@@ -332,6 +357,18 @@ public class PipeConnectorSubtask extends PipeAbstractConnectorSubtask {
         : 0;
   }
 
+  public double getTotalTabletBatchRawSize() {
+    return outputPipeConnector instanceof IoTDBConnector
+        ? ((IoTDBConnector) outputPipeConnector).getTotalTabletBatchRawSize()
+        : 0;
+  }
+
+  public double getTotalTabletBatchEncodedSize() {
+    return outputPipeConnector instanceof IoTDBConnector
+        ? ((IoTDBConnector) outputPipeConnector).getTotalTabletBatchEncodedSize()
+        : 0;
+  }
+
   //////////////////////////// Error report ////////////////////////////
 
   @Override
@@ -29,6 +29,7 @@ import org.apache.iotdb.commons.pipe.config.constant.SystemConstant;
 import org.apache.iotdb.commons.pipe.config.plugin.configuraion.PipeTaskRuntimeConfiguration;
 import org.apache.iotdb.commons.pipe.config.plugin.env.PipeTaskConnectorRuntimeEnvironment;
 import org.apache.iotdb.db.pipe.agent.PipeDataNodeAgent;
+import org.apache.iotdb.db.pipe.agent.task.connection.PipeSpillableBlockingPendingQueue;
 import org.apache.iotdb.db.pipe.agent.task.execution.PipeConnectorSubtaskExecutor;
 import org.apache.iotdb.db.pipe.connector.protocol.thrift.async.IoTDBDataRegionAsyncConnector;
 import org.apache.iotdb.db.pipe.metric.source.PipeDataRegionEventCounter;
@@ -87,6 +88,7 @@ public class PipeConnectorSubtaskManager {
 
     final int connectorNum;
     boolean realTimeFirst = false;
+    boolean shardByDevice = false;
     String attributeSortedString = generateAttributeSortedString(pipeConnectorParameters);
     if (isDataRegionConnector) {
       connectorNum =
@@ -101,6 +103,14 @@ public class PipeConnectorSubtaskManager {
                   PipeConnectorConstant.CONNECTOR_REALTIME_FIRST_KEY,
                   PipeConnectorConstant.SINK_REALTIME_FIRST_KEY),
               PipeConnectorConstant.CONNECTOR_REALTIME_FIRST_DEFAULT_VALUE);
+      shardByDevice =
+          connectorNum > 1
+              && pipeConnectorParameters.getBooleanOrDefault(
+                  Arrays.asList(
+                      PipeConnectorConstant.CONNECTOR_IOTDB_PARALLEL_TASKS_SHARD_BY_DEVICE_KEY,
+                      PipeConnectorConstant.SINK_IOTDB_PARALLEL_TASKS_SHARD_BY_DEVICE_KEY),
+                  PipeConnectorConstant
+                      .CONNECTOR_IOTDB_PARALLEL_TASKS_SHARD_BY_DEVICE_DEFAULT_VALUE);
       attributeSortedString = "data_" + attributeSortedString;
     } else {
       // Do not allow parallel tasks for schema region connectors
@@ -115,14 +125,16 @@ public class PipeConnectorSubtaskManager {
           new ArrayList<>(connectorNum);
 
       AtomicInteger counter = new AtomicInteger(0);
-      // Shared pending queue for all subtasks
-      final UnboundedBlockingPendingQueue<Event> pendingQueue =
-          realTimeFirst
-              ? new PipeRealtimePriorityBlockingQueue()
-              : new UnboundedBlockingPendingQueue<>(new PipeDataRegionEventCounter());
-
-      if (realTimeFirst) {
-        ((PipeRealtimePriorityBlockingQueue) pendingQueue).setOfferTsFileCounter(counter);
+      // Shared pending queue for all subtasks, or one shard for each subtask if sharded by device
+      final UnboundedBlockingPendingQueue<Event> pendingQueue;
+      if (shardByDevice) {
+        final List<UnboundedBlockingPendingQueue<Event>> shards = new ArrayList<>(connectorNum);
+        for (int connectorIndex = 0; connectorIndex < connectorNum; connectorIndex++) {
+          shards.add(constructPendingQueue(realTimeFirst, isDataRegionConnector, counter));
+        }
+        pendingQueue = new PipeDeviceShardedPendingQueue(shards);
+      } else {
+        pendingQueue = constructPendingQueue(realTimeFirst, isDataRegionConnector, counter);
       }
 
       for (int connectorIndex = 0; connectorIndex < connectorNum; connectorIndex++) {
@@ -164,7 +176,9 @@ public class PipeConnectorSubtaskManager {
                 environment.getCreationTime(),
                 attributeSortedString,
                 connectorIndex,
-                pendingQueue,
+                shardByDevice
+                    ? ((PipeDeviceShardedPendingQueue) pendingQueue).getShard(connectorIndex)
+                    : pendingQueue,
                 pipeConnector);
         final PipeConnectorSubtaskLifeCycle pipeConnectorSubtaskLifeCycle =
             new PipeConnectorSubtaskLifeCycle(executor, pipeConnectorSubtask, pendingQueue);
@@ -183,6 +197,21 @@ public class PipeConnectorSubtaskManager {
     return attributeSortedString;
   }
 
+  private static UnboundedBlockingPendingQueue<Event> constructPendingQueue(
+      final boolean realTimeFirst,
+      final boolean isDataRegionConnector,
+      final AtomicInteger offerTsFileCounter) {
+    if (realTimeFirst) {
+      final PipeRealtimePriorityBlockingQueue pendingQueue =
+          new PipeRealtimePriorityBlockingQueue();
+      pendingQueue.setOfferTsFileCounter(offerTsFileCounter);
+      return pendingQueue;
+    }
+    return isDataRegionConnector
+        ? new PipeSpillableBlockingPendingQueue(new PipeDataRegionEventCounter())
+        : new UnboundedBlockingPendingQueue<>(new PipeDataRegionEventCounter());
+  }
+
   public synchronized void deregister(
       final String pipeName,
       final long creationTime,
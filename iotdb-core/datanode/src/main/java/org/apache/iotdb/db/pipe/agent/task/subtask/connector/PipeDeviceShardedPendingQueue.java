@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.agent.task.subtask.connector;
+
+import org.apache.iotdb.commons.pipe.agent.task.connection.UnboundedBlockingPendingQueue;
+import org.apache.iotdb.db.pipe.event.common.tablet.PipeInsertNodeTabletInsertionEvent;
+import org.apache.iotdb.db.pipe.event.common.tablet.PipeRawTabletInsertionEvent;
+import org.apache.iotdb.db.pipe.metric.source.PipeDataRegionEventCounter;
+import org.apache.iotdb.pipe.api.event.Event;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * The pending queue shared by the parallel subtasks of one connector when events are sharded by
+ * device. Each subtask polls its own shard, and the tablet events of a device are always offered to
+ * the same shard, so they are transferred in order by one client stream. Events without a single
+ * device are spread over the shards in turn.
+ *
+ * <p>Events are committed in the order they are collected no matter which shard transfers them
+ * first, so the reported progress index stays monotonic.
+ */
+public class PipeDeviceShardedPendingQueue extends UnboundedBlockingPendingQueue<Event> {
+
+  private final List<UnboundedBlockingPendingQueue<Event>> shards;
+
+  private final AtomicInteger roundRobinIndex = new AtomicInteger(0);
+
+  public PipeDeviceShardedPendingQueue(final List<UnboundedBlockingPendingQueue<Event>> shards) {
+    super(new PipeDataRegionEventCounter());
+    this.shards = shards;
+  }
+
+  public UnboundedBlockingPendingQueue<Event> getShard(final int index) {
+    return shards.get(index);
+  }
+
+  public int getShardNum() {
+    return shards.size();
+  }
+
+  int getShardIndex(final Event event) {
+    final String deviceId;
+    if (event instanceof PipeInsertNodeTabletInsertionEvent) {
+      deviceId = ((PipeInsertNodeTabletInsertionEvent) event).getDeviceId();
+    } else if (event instanceof PipeRawTabletInsertionEvent) {
+      deviceId = ((PipeRawTabletInsertionEvent) event).getDeviceId();
+    } else {
+      return Math.floorMod(roundRobinIndex.getAndIncrement(), shards.size());
+    }
+    // Multi-device insertions have no device id, keep them in one shard to keep their order
+    return deviceId == null ? 0 : Math.floorMod(deviceId.hashCode(), shards.size());
+  }
+
+  /////////////////////////////// offer & poll ///////////////////////////////
+
+  @Override
+  public boolean waitedOffer(final Event event) {
+    return shards.get(getShardIndex(event)).waitedOffer(event);
+  }
+
+  @Override
+  public boolean directOffer(final Event event) {
+    return shards.get(getShardIndex(event)).directOffer(event);
+  }
+
+  @Override
+  public boolean put(final Event event) {
+    return shards.get(getShardIndex(event)).put(event);
+  }
+
+  @Override
+  public Event directPoll() {
+    for (final UnboundedBlockingPendingQueue<Event> shard : shards) {
+      final Event event = shard.directPoll();
+      if (event != null) {
+        return event;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public Event waitedPoll() {
+    final Event event = directPoll();
+    return event != null ? event : shards.get(0).waitedPoll();
+  }
+
+  @Override
+  public Event peek() {
+    for (final UnboundedBlockingPendingQueue<Event> shard : shards) {
+      final Event event = shard.peek();
+      if (event != null) {
+        return event;
+      }
+    }
+    return null;
+  }
+
+  /////////////////////////////// discard ///////////////////////////////
+
+  @Override
+  public void clear() {
+    super.clear();
+    shards.forEach(UnboundedBlockingPendingQueue::clear);
+  }
+
+  @Override
+  public void forEach(final Consumer<? super Event> action) {
+    shards.forEach(shard -> shard.forEach(action));
+  }
+
+  @Override
+  public void discardAllEvents() {
+    super.discardAllEvents();
+    shards.forEach(UnboundedBlockingPendingQueue::discardAllEvents);
+  }
+
+  @Override
+  public void discardEventsOfPipe(final String pipeNameToDrop, final int regionId) {
+    shards.forEach(shard -> shard.discardEventsOfPipe(pipeNameToDrop, regionId));
+  }
+
+  /////////////////////////////// metrics ///////////////////////////////
+
+  @Override
+  public boolean isEmpty() {
+    return shards.stream().allMatch(UnboundedBlockingPendingQueue::isEmpty);
+  }
+
+  @Override
+  public int size() {
+    return shards.stream().mapToInt(UnboundedBlockingPendingQueue::size).sum();
+  }
+
+  @Override
+  public int getTabletInsertionEventCount() {
+    return shards.stream()
+        .mapToInt(UnboundedBlockingPendingQueue::getTabletInsertionEventCount)
+        .sum();
+  }
+
+  @Override
+  public int getTsFileInsertionEventCount() {
+    return shards.stream()
+        .mapToInt(UnboundedBlockingPendingQueue::getTsFileInsertionEventCount)
+        .sum();
+  }
+
+  @Override
+  public int getPipeHeartbeatEventCount() {
+    return shards.stream()
+        .mapToInt(UnboundedBlockingPendingQueue::getPipeHeartbeatEventCount)
+        .sum();
+  }
+}
@@ -20,10 +20,10 @@
 package org.apache.iotdb.db.pipe.agent.task.subtask.connector;
 
 import org.apache.iotdb.commons.pipe.agent.task.connection.BlockingPendingQueue;
-import org.apache.iotdb.commons.pipe.agent.task.connection.UnboundedBlockingPendingQueue;
 import org.apache.iotdb.commons.pipe.config.PipeConfig;
 import org.apache.iotdb.commons.pipe.event.EnrichedEvent;
 import org.apache.iotdb.db.pipe.agent.task.connection.PipeEventCollector;
+import org.apache.iotdb.db.pipe.agent.task.connection.PipeSpillableBlockingPendingQueue;
 import org.apache.iotdb.db.pipe.event.common.heartbeat.PipeHeartbeatEvent;
 import org.apache.iotdb.db.pipe.metric.source.PipeDataRegionEventCounter;
 import org.apache.iotdb.pipe.api.event.Event;
@@ -36,7 +36,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
-public class PipeRealtimePriorityBlockingQueue extends UnboundedBlockingPendingQueue<Event> {
+public class PipeRealtimePriorityBlockingQueue extends PipeSpillableBlockingPendingQueue {
 
   private static final PipeConfig PIPE_CONFIG = PipeConfig.getInstance();
 
@@ -177,7 +177,7 @@ public class PipeRealtimePriorityBlockingQueue extends UnboundedBlockingPendingQ
 
   @Override
   public Event peek() {
-    final Event event = pendingQueue.peek();
+    final Event event = super.peek();
     if (Objects.nonNull(event)) {
       return event;
     }
@@ -117,4 +117,8 @@ public class PipeProcessorSubtaskWorker extends WrappedRunnable {
   public void schedule(final PipeProcessorSubtask pipeProcessorSubtask) {
     subtasks.add(pipeProcessorSubtask);
   }
+
+  public int getAliveSubtaskCount() {
+    return (int) subtasks.stream().filter(subtask -> !subtask.isClosed()).count();
+  }
 }
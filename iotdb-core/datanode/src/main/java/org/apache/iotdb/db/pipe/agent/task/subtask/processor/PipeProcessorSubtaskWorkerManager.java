@@ -23,8 +23,6 @@ import org.apache.iotdb.commons.pipe.config.PipeConfig;
 
 import com.google.common.util.concurrent.ListeningExecutorService;
 
-import java.util.concurrent.atomic.AtomicLong;
-
 public class PipeProcessorSubtaskWorkerManager {
 
   private static final int MAX_THREAD_NUM =
@@ -32,20 +30,28 @@ public class PipeProcessorSubtaskWorkerManager {
 
   private final PipeProcessorSubtaskWorker[] workers;
 
-  private final AtomicLong scheduledTaskNumber;
-
   public PipeProcessorSubtaskWorkerManager(ListeningExecutorService workerThreadPoolExecutor) {
     workers = new PipeProcessorSubtaskWorker[MAX_THREAD_NUM];
     for (int i = 0; i < MAX_THREAD_NUM; i++) {
       workers[i] = new PipeProcessorSubtaskWorker();
       workerThreadPoolExecutor.submit(workers[i]);
     }
-
-    scheduledTaskNumber = new AtomicLong(0);
   }
 
-  public void schedule(PipeProcessorSubtask pipeProcessorSubtask) {
-    workers[(int) (scheduledTaskNumber.getAndIncrement() % MAX_THREAD_NUM)].schedule(
-        pipeProcessorSubtask);
+  /**
+   * Assign the subtask to the worker with the fewest alive subtasks, so that workers freed by
+   * dropped pipes are refilled first instead of being skipped by a round-robin cursor.
+   */
+  public synchronized void schedule(PipeProcessorSubtask pipeProcessorSubtask) {
+    PipeProcessorSubtaskWorker leastLoadedWorker = workers[0];
+    int leastSubtaskCount = leastLoadedWorker.getAliveSubtaskCount();
+    for (int i = 1; i < MAX_THREAD_NUM && leastSubtaskCount > 0; i++) {
+      final int subtaskCount = workers[i].getAliveSubtaskCount();
+      if (subtaskCount < leastSubtaskCount) {
+        leastLoadedWorker = workers[i];
+        leastSubtaskCount = subtaskCount;
+      }
+    }
+    leastLoadedWorker.schedule(pipeProcessorSubtask);
   }
 }
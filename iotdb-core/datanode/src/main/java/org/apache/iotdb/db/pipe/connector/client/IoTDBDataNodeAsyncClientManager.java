@@ -194,6 +194,9 @@ public class IoTDBDataNodeAsyncClientManager extends IoTDBClientManager
       return true;
     }
 
+    // The receiver may have been restarted with another version since the last handshake
+    clearEncodedTabletBatchSupport(targetNodeUrl);
+
     final AtomicBoolean isHandshakeFinished = new AtomicBoolean(false);
     final AtomicReference<TPipeTransferResp> resp = new AtomicReference<>();
     final AtomicReference<Exception> exception = new AtomicReference<>();
@@ -224,6 +227,7 @@ public class IoTDBDataNodeAsyncClientManager extends IoTDBClientManager
                   "Handshake successfully with receiver {}:{}.",
                   targetNodeUrl.getIp(),
                   targetNodeUrl.getPort());
+              updateEncodedTabletBatchSupport(targetNodeUrl, response);
               client.markHandshakeFinished();
             }
 
@@ -266,6 +270,9 @@ public class IoTDBDataNodeAsyncClientManager extends IoTDBClientManager
       params.put(
           PipeTransferHandshakeConstant.HANDSHAKE_KEY_MARK_AS_PIPE_REQUEST,
           Boolean.toString(shouldMarkAsPipeRequest));
+      params.put(
+          PipeTransferHandshakeConstant.HANDSHAKE_KEY_ENCODED_TABLET_BATCH,
+          Boolean.TRUE.toString());
 
       client.setTimeoutDynamically(PipeConfig.getInstance().getPipeConnectorHandshakeTimeoutMs());
       client.pipeTransfer(PipeTransferDataNodeHandshakeV2Req.toTPipeTransferReq(params), callback);
@@ -338,6 +345,7 @@ public class IoTDBDataNodeAsyncClientManager extends IoTDBClientManager
 
   public void close() {
     isClosed = true;
+    clearEncodedTabletBatchSupport();
     synchronized (IoTDBDataNodeAsyncClientManager.class) {
       RECEIVER_ATTRIBUTES_REF_COUNT.computeIfPresent(
           receiverAttributes,
@@ -23,6 +23,7 @@ import org.apache.iotdb.common.rpc.thrift.TEndPoint;
 import org.apache.iotdb.commons.conf.CommonDescriptor;
 import org.apache.iotdb.commons.pipe.connector.client.IoTDBSyncClient;
 import org.apache.iotdb.commons.pipe.connector.client.IoTDBSyncClientManager;
+import org.apache.iotdb.commons.pipe.connector.payload.thrift.common.PipeTransferHandshakeConstant;
 import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.PipeTransferHandshakeV2Req;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferDataNodeHandshakeV1Req;
@@ -81,6 +82,8 @@ public class IoTDBDataNodeSyncClientManager extends IoTDBSyncClientManager
   @Override
   protected PipeTransferHandshakeV2Req buildHandshakeV2Req(final Map<String, String> params)
       throws IOException {
+    params.put(
+        PipeTransferHandshakeConstant.HANDSHAKE_KEY_ENCODED_TABLET_BATCH, Boolean.TRUE.toString());
     return PipeTransferDataNodeHandshakeV2Req.toTPipeTransferReq(params);
   }
 
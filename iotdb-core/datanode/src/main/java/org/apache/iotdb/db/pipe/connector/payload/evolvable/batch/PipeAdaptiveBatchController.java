@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.connector.payload.evolvable.batch;
+
+import org.apache.iotdb.rpc.TSStatusCode;
+
+/**
+ * Tunes the batch size and delay of the plain batches of one connector.
+ *
+ * <p>The batch size follows AIMD: it increases by a fixed step when a batch is transferred within
+ * the target round-trip time, and is halved when the round-trip time exceeds the target or the
+ * receiver reports back-pressure. The delay moves in the opposite direction, so that a fast
+ * receiver gets batches as soon as possible while an overloaded receiver gets fewer requests.
+ *
+ * <p>If events arrive so slowly that the batch can not reach the min size within the current delay,
+ * the max delay is used instead to avoid sending tiny requests.
+ */
+public class PipeAdaptiveBatchController {
+
+  private static final int STEP_COUNT = 16;
+  private static final long MIN_BATCH_SIZE_IN_BYTES = 1024;
+  private static final double ARRIVAL_RATE_SMOOTHING_FACTOR = 0.2;
+
+  private final long maxBatchSizeInBytes;
+  private final long minBatchSizeInBytes;
+  private final long batchSizeStepInBytes;
+
+  private final int maxDelayInMs;
+  private final int minDelayInMs;
+  private final int delayStepInMs;
+
+  private final long targetRoundTripTimeInMs;
+
+  private volatile long batchSizeInBytes;
+  private volatile int delayInMs;
+
+  // Smoothed event arrival rate in bytes per millisecond
+  private volatile double arrivalRate = 0;
+  private long lastArrivalTime = Long.MIN_VALUE;
+
+  public PipeAdaptiveBatchController(
+      final long maxBatchSizeInBytes, final int maxDelayInMs, final long targetRoundTripTimeInMs) {
+    this.maxBatchSizeInBytes = Math.max(maxBatchSizeInBytes, MIN_BATCH_SIZE_IN_BYTES);
+    this.minBatchSizeInBytes =
+        Math.max(this.maxBatchSizeInBytes / STEP_COUNT, MIN_BATCH_SIZE_IN_BYTES);
+    this.batchSizeStepInBytes = Math.max(this.maxBatchSizeInBytes / STEP_COUNT, 1);
+
+    this.maxDelayInMs = Math.max(maxDelayInMs, 1);
+    this.minDelayInMs = Math.max(this.maxDelayInMs / STEP_COUNT, 1);
+    this.delayStepInMs = Math.max(this.maxDelayInMs / STEP_COUNT, 1);
+
+    this.targetRoundTripTimeInMs = targetRoundTripTimeInMs;
+
+    // Start from the configured values
+    this.batchSizeInBytes = this.maxBatchSizeInBytes;
+    this.delayInMs = this.maxDelayInMs;
+  }
+
+  public synchronized void onEventArrival(final long bytes, final long currentTimeInMs) {
+    if (lastArrivalTime != Long.MIN_VALUE) {
+      final long intervalInMs = Math.max(currentTimeInMs - lastArrivalTime, 1);
+      arrivalRate =
+          ARRIVAL_RATE_SMOOTHING_FACTOR * bytes / intervalInMs
+              + (1 - ARRIVAL_RATE_SMOOTHING_FACTOR) * arrivalRate;
+    }
+    lastArrivalTime = currentTimeInMs;
+  }
+
+  public void onTransferComplete(final long roundTripTimeInMs, final int statusCode) {
+    if (statusCode == TSStatusCode.SUCCESS_STATUS.getStatusCode()
+        || statusCode == TSStatusCode.REDIRECTION_RECOMMEND.getStatusCode()) {
+      onTransferSuccess(roundTripTimeInMs);
+    } else if (statusCode
+        == TSStatusCode.PIPE_RECEIVER_TEMPORARY_UNAVAILABLE_EXCEPTION.getStatusCode()) {
+      onTransferBackPressure();
+    }
+  }
+
+  public synchronized void onTransferSuccess(final long roundTripTimeInMs) {
+    if (roundTripTimeInMs <= targetRoundTripTimeInMs) {
+      batchSizeInBytes = Math.min(batchSizeInBytes + batchSizeStepInBytes, maxBatchSizeInBytes);
+      delayInMs = Math.max(delayInMs - delayStepInMs, minDelayInMs);
+    } else {
+      batchSizeInBytes = Math.max(batchSizeInBytes / 2, minBatchSizeInBytes);
+    }
+  }
+
+  /** Called if the receiver is temporarily unavailable or the transfer fails. */
+  public synchronized void onTransferBackPressure() {
+    batchSizeInBytes = Math.max(batchSizeInBytes / 2, minBatchSizeInBytes);
+    delayInMs = (int) Math.min(delayInMs * 2L, maxDelayInMs);
+  }
+
+  public long getBatchSizeInBytes() {
+    return batchSizeInBytes;
+  }
+
+  public int getDelayInMs() {
+    final int currentDelayInMs = delayInMs;
+    return arrivalRate * currentDelayInMs < minBatchSizeInBytes ? maxDelayInMs : currentDelayInMs;
+  }
+}
@@ -46,17 +46,28 @@ public abstract class PipeTabletEventBatch implements AutoCloseable {
   private final int maxDelayInMs;
   private long firstEventProcessingTime = Long.MIN_VALUE;
 
+  // Null if adaptive batching is disabled
+  private final PipeAdaptiveBatchController adaptiveBatchController;
+
   protected long totalBufferSize = 0;
   private final PipeModelFixedMemoryBlock allocatedMemoryBlock;
 
   protected volatile boolean isClosed = false;
 
   protected PipeTabletEventBatch(final int maxDelayInMs, final long requestMaxBatchSizeInBytes) {
+    this(maxDelayInMs, requestMaxBatchSizeInBytes, null);
+  }
+
+  protected PipeTabletEventBatch(
+      final int maxDelayInMs,
+      final long requestMaxBatchSizeInBytes,
+      final PipeAdaptiveBatchController adaptiveBatchController) {
     if (pipeModelFixedMemoryBlock == null) {
       init();
     }
 
     this.maxDelayInMs = maxDelayInMs;
+    this.adaptiveBatchController = adaptiveBatchController;
 
     // limit in buffer size
     this.allocatedMemoryBlock =
@@ -93,9 +104,14 @@ public abstract class PipeTabletEventBatch implements AutoCloseable {
           .increaseReferenceCount(PipeTransferBatchReqBuilder.class.getName())) {
 
         try {
+          final long bufferSizeBeforeConstruction = totalBufferSize;
           if (constructBatch(event)) {
             events.add((EnrichedEvent) event);
           }
+          if (Objects.nonNull(adaptiveBatchController)) {
+            adaptiveBatchController.onEventArrival(
+                totalBufferSize - bufferSizeBeforeConstruction, System.currentTimeMillis());
+          }
         } catch (final Exception e) {
           // If the event is not added to the batch, we need to decrease the reference count.
           ((EnrichedEvent) event)
@@ -127,8 +143,18 @@ public abstract class PipeTabletEventBatch implements AutoCloseable {
       throws WALPipeException, IOException;
 
   public boolean shouldEmit() {
-    return totalBufferSize >= getMaxBatchSizeInBytes()
-        || System.currentTimeMillis() - firstEventProcessingTime >= maxDelayInMs;
+    if (Objects.isNull(adaptiveBatchController)) {
+      return totalBufferSize >= getMaxBatchSizeInBytes()
+          || System.currentTimeMillis() - firstEventProcessingTime >= maxDelayInMs;
+    }
+    return totalBufferSize
+            >= Math.min(getMaxBatchSizeInBytes(), adaptiveBatchController.getBatchSizeInBytes())
+        || System.currentTimeMillis() - firstEventProcessingTime
+            >= adaptiveBatchController.getDelayInMs();
+  }
+
+  public PipeAdaptiveBatchController getAdaptiveBatchController() {
+    return adaptiveBatchController;
   }
 
   private long getMaxBatchSizeInBytes() {
@@ -21,24 +21,30 @@ package org.apache.iotdb.db.pipe.connector.payload.evolvable.batch;
 
 import org.apache.iotdb.commons.pipe.event.EnrichedEvent;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletBatchReqV2;
+import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletBatchReqV3;
+import org.apache.iotdb.db.pipe.event.common.PipeInsertionEvent;
 import org.apache.iotdb.db.pipe.event.common.tablet.PipeInsertNodeTabletInsertionEvent;
 import org.apache.iotdb.db.pipe.event.common.tablet.PipeRawTabletInsertionEvent;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertNode;
 import org.apache.iotdb.db.storageengine.dataregion.wal.exception.WALPipeException;
 import org.apache.iotdb.pipe.api.event.dml.insertion.TabletInsertionEvent;
+import org.apache.iotdb.service.rpc.thrift.TPipeTransferReq;
 
 import org.apache.tsfile.utils.Pair;
 import org.apache.tsfile.utils.PublicBAOS;
 import org.apache.tsfile.utils.ReadWriteIOUtils;
+import org.apache.tsfile.write.record.Tablet;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.BooleanSupplier;
 
 public class PipeTabletEventPlainBatch extends PipeTabletEventBatch {
 
@@ -51,17 +57,38 @@ public class PipeTabletEventPlainBatch extends PipeTabletEventBatch {
   private final List<String> insertNodeDataBases = new ArrayList<>();
   private final List<String> tabletDataBases = new ArrayList<>();
 
+  // If encoding is enabled and the receivers accept the encoded format when the event arrives, the
+  // event is converted to tablets, which are encoded column by column when transferred. Otherwise,
+  // the event is buffered in the plain format as usual, so that no conversion is wasted.
+  private final boolean isEncodingEnabled;
+  private final BooleanSupplier supportEncodedTabletBatch;
+  private final List<Tablet> tablets = new ArrayList<>();
+  private final List<Boolean> tabletIsAlignedList = new ArrayList<>();
+  private final List<String> encodedTabletDataBases = new ArrayList<>();
+  // The size of the tablets to encode in the plain format, used to compare with the encoded size
+  private long encodedTabletRawSize = 0;
+
   // Used to rate limit when transferring data
   private final Map<Pair<String, Long>, Long> pipe2BytesAccumulated = new HashMap<>();
 
-  PipeTabletEventPlainBatch(final int maxDelayInMs, final long requestMaxBatchSizeInBytes) {
-    super(maxDelayInMs, requestMaxBatchSizeInBytes);
+  PipeTabletEventPlainBatch(
+      final int maxDelayInMs,
+      final long requestMaxBatchSizeInBytes,
+      final boolean isEncodingEnabled,
+      final BooleanSupplier supportEncodedTabletBatch,
+      final PipeAdaptiveBatchController adaptiveBatchController) {
+    super(maxDelayInMs, requestMaxBatchSizeInBytes, adaptiveBatchController);
+    this.isEncodingEnabled = isEncodingEnabled;
+    this.supportEncodedTabletBatch = supportEncodedTabletBatch;
   }
 
   @Override
   protected boolean constructBatch(final TabletInsertionEvent event)
       throws WALPipeException, IOException {
-    final int bufferSize = buildTabletInsertionBuffer(event);
+    final long bufferSize =
+        isEncodingEnabled && supportEncodedTabletBatch.getAsBoolean()
+            ? buildTablets(event)
+            : buildTabletInsertionBuffer(event);
     totalBufferSize += bufferSize;
     pipe2BytesAccumulated.compute(
         new Pair<>(
@@ -83,10 +110,53 @@ public class PipeTabletEventPlainBatch extends PipeTabletEventBatch {
     insertNodeDataBases.clear();
     tabletDataBases.clear();
 
+    tablets.clear();
+    tabletIsAlignedList.clear();
+    encodedTabletDataBases.clear();
+    encodedTabletRawSize = 0;
+
     pipe2BytesAccumulated.clear();
   }
 
-  public PipeTransferTabletBatchReqV2 toTPipeTransferReq() throws IOException {
+  /**
+   * @param supportEncodedTabletBatch whether the receiver accepts {@link
+   *     PipeTransferTabletBatchReqV3}
+   */
+  public TPipeTransferReq toTPipeTransferReq(final boolean supportEncodedTabletBatch)
+      throws IOException {
+    if (tablets.isEmpty()) {
+      return toTPipeTransferReq();
+    }
+    if (supportEncodedTabletBatch
+        && binaryBuffers.isEmpty()
+        && insertNodeBuffers.isEmpty()
+        && tabletBuffers.isEmpty()) {
+      return PipeTransferTabletBatchReqV3.toTPipeTransferReq(
+          tablets, tabletIsAlignedList, encodedTabletDataBases, encodedTabletRawSize);
+    }
+
+    // Fall back to the plain format if the receiver does not accept the encoded format any more, or
+    // some events arrived before the receiver accepted it
+    final List<ByteBuffer> plainTabletBuffers =
+        new ArrayList<>(tabletBuffers.size() + tablets.size());
+    plainTabletBuffers.addAll(tabletBuffers);
+    for (int i = 0; i < tablets.size(); ++i) {
+      plainTabletBuffers.add(serializeTablet(tablets.get(i), tabletIsAlignedList.get(i)));
+    }
+    final List<String> plainTabletDataBases =
+        new ArrayList<>(tabletDataBases.size() + encodedTabletDataBases.size());
+    plainTabletDataBases.addAll(tabletDataBases);
+    plainTabletDataBases.addAll(encodedTabletDataBases);
+    return PipeTransferTabletBatchReqV2.toTPipeTransferReq(
+        binaryBuffers,
+        insertNodeBuffers,
+        plainTabletBuffers,
+        binaryDataBases,
+        insertNodeDataBases,
+        plainTabletDataBases);
+  }
+
+  private PipeTransferTabletBatchReqV2 toTPipeTransferReq() throws IOException {
     return PipeTransferTabletBatchReqV2.toTPipeTransferReq(
         binaryBuffers,
         insertNodeBuffers,
@@ -141,12 +211,10 @@ public class PipeTabletEventPlainBatch extends PipeTabletEventBatch {
     } else {
       final PipeRawTabletInsertionEvent pipeRawTabletInsertionEvent =
           (PipeRawTabletInsertionEvent) event;
-      try (final PublicBAOS byteArrayOutputStream = new PublicBAOS();
-          final DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream)) {
-        pipeRawTabletInsertionEvent.convertToTablet().serialize(outputStream);
-        ReadWriteIOUtils.write(pipeRawTabletInsertionEvent.isAligned(), outputStream);
-        buffer = ByteBuffer.wrap(byteArrayOutputStream.getBuf(), 0, byteArrayOutputStream.size());
-      }
+      buffer =
+          serializeTablet(
+              pipeRawTabletInsertionEvent.convertToTablet(),
+              pipeRawTabletInsertionEvent.isAligned());
       tabletBuffers.add(buffer);
       if (pipeRawTabletInsertionEvent.isTableModelEvent()) {
         databaseEstimateSize = pipeRawTabletInsertionEvent.getTableModelDatabaseName().length();
@@ -158,4 +226,85 @@ public class PipeTabletEventPlainBatch extends PipeTabletEventBatch {
     }
     return buffer.limit() + databaseEstimateSize;
   }
+
+  private long buildTablets(final TabletInsertionEvent event) throws IOException {
+    final String dataBaseName =
+        ((PipeInsertionEvent) event).isTableModelEvent()
+            ? ((PipeInsertionEvent) event).getTableModelDatabaseName()
+            : TREE_MODEL_DATABASE_PLACEHOLDER;
+    final int databaseEstimateSize = Objects.nonNull(dataBaseName) ? dataBaseName.length() : 4;
+
+    long bufferSize = 0;
+    if (event instanceof PipeInsertNodeTabletInsertionEvent) {
+      final PipeInsertNodeTabletInsertionEvent pipeInsertNodeTabletInsertionEvent =
+          (PipeInsertNodeTabletInsertionEvent) event;
+      final List<Tablet> convertedTablets = pipeInsertNodeTabletInsertionEvent.convertToTablets();
+      for (int i = 0; i < convertedTablets.size(); ++i) {
+        bufferSize +=
+            bufferTablet(
+                convertedTablets.get(i),
+                pipeInsertNodeTabletInsertionEvent.isAligned(i),
+                dataBaseName,
+                databaseEstimateSize);
+      }
+    } else {
+      final PipeRawTabletInsertionEvent pipeRawTabletInsertionEvent =
+          (PipeRawTabletInsertionEvent) event;
+      bufferSize +=
+          bufferTablet(
+              pipeRawTabletInsertionEvent.convertToTablet(),
+              pipeRawTabletInsertionEvent.isAligned(),
+              dataBaseName,
+              databaseEstimateSize);
+    }
+    return bufferSize;
+  }
+
+  private long bufferTablet(
+      final Tablet tablet,
+      final boolean isAligned,
+      final String dataBaseName,
+      final int databaseEstimateSize)
+      throws IOException {
+    if (tablet.getRowSize() == 0) {
+      return 0;
+    }
+    tablets.add(tablet);
+    tabletIsAlignedList.add(isAligned);
+    encodedTabletDataBases.add(dataBaseName);
+    final long plainSize = getSerializedSize(tablet, isAligned);
+    encodedTabletRawSize += plainSize;
+    return plainSize + databaseEstimateSize;
+  }
+
+  /** Count the bytes of the tablet in the plain format without keeping them. */
+  private static long getSerializedSize(final Tablet tablet, final boolean isAligned)
+      throws IOException {
+    final DataOutputStream countingStream =
+        new DataOutputStream(
+            new OutputStream() {
+              @Override
+              public void write(final int b) {
+                // Only counted by the DataOutputStream
+              }
+
+              @Override
+              public void write(final byte[] b, final int off, final int len) {
+                // Only counted by the DataOutputStream
+              }
+            });
+    tablet.serialize(countingStream);
+    ReadWriteIOUtils.write(isAligned, countingStream);
+    return countingStream.size();
+  }
+
+  private static ByteBuffer serializeTablet(final Tablet tablet, final boolean isAligned)
+      throws IOException {
+    try (final PublicBAOS byteArrayOutputStream = new PublicBAOS();
+        final DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream)) {
+      tablet.serialize(outputStream);
+      ReadWriteIOUtils.write(isAligned, outputStream);
+      return ByteBuffer.wrap(byteArrayOutputStream.getBuf(), 0, byteArrayOutputStream.size());
+    }
+  }
 }
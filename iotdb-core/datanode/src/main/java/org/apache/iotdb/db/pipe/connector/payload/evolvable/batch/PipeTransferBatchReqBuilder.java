@@ -40,13 +40,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
 
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_FORMAT_HYBRID_VALUE;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_FORMAT_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_FORMAT_TS_FILE_VALUE;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_ADAPTIVE_ENABLE_DEFAULT_VALUE;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_ADAPTIVE_ENABLE_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_ADAPTIVE_TARGET_RTT_MS_DEFAULT_VALUE;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_ADAPTIVE_TARGET_RTT_MS_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_DELAY_MS_DEFAULT_VALUE;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_DELAY_MS_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_DELAY_SECONDS_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_ENCODING_ENABLE_DEFAULT_VALUE;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_ENCODING_ENABLE_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_BATCH_SIZE_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_PLAIN_BATCH_SIZE_DEFAULT_VALUE;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_TS_FILE_BATCH_DELAY_DEFAULT_VALUE;
@@ -54,8 +61,11 @@ import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstan
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_LEADER_CACHE_ENABLE_DEFAULT_VALUE;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_LEADER_CACHE_ENABLE_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.SINK_FORMAT_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.SINK_IOTDB_BATCH_ADAPTIVE_ENABLE_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.SINK_IOTDB_BATCH_ADAPTIVE_TARGET_RTT_MS_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.SINK_IOTDB_BATCH_DELAY_MS_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.SINK_IOTDB_BATCH_DELAY_SECONDS_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.SINK_IOTDB_BATCH_ENCODING_ENABLE_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.SINK_IOTDB_BATCH_SIZE_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.SINK_LEADER_CACHE_ENABLE_KEY;
 
@@ -67,6 +77,10 @@ public class PipeTransferBatchReqBuilder implements AutoCloseable {
 
   private final int requestMaxDelayInMs;
   private final long requestMaxBatchSizeInBytes;
+  private final boolean isEncodingEnabled;
+  private final BooleanSupplier supportEncodedTabletBatch;
+  // Shared by all the plain batches of the connector, null if adaptive batching is disabled
+  private final PipeAdaptiveBatchController adaptiveBatchController;
 
   // If the leader cache is disabled (or unable to find the endpoint of event in the leader cache),
   // the event will be stored in the default batch.
@@ -78,6 +92,18 @@ public class PipeTransferBatchReqBuilder implements AutoCloseable {
       new ConcurrentHashMap<>();
 
   public PipeTransferBatchReqBuilder(final PipeParameters parameters) {
+    this(parameters, () -> true);
+  }
+
+  /**
+   * @param supportEncodedTabletBatch whether the receivers currently accept the encoded tablet
+   *     batch, checked when an event is offered so that the events are only converted to tablets if
+   *     they are likely to be encoded
+   */
+  public PipeTransferBatchReqBuilder(
+      final PipeParameters parameters, final BooleanSupplier supportEncodedTabletBatch) {
+    this.supportEncodedTabletBatch = supportEncodedTabletBatch;
+
     final boolean usingTsFileBatch =
         parameters
             .getStringOrDefault(
@@ -111,10 +137,36 @@ public class PipeTransferBatchReqBuilder implements AutoCloseable {
             usingTsFileBatch
                 ? CONNECTOR_IOTDB_TS_FILE_BATCH_SIZE_DEFAULT_VALUE
                 : CONNECTOR_IOTDB_PLAIN_BATCH_SIZE_DEFAULT_VALUE);
+    isEncodingEnabled =
+        parameters.getBooleanOrDefault(
+            Arrays.asList(
+                CONNECTOR_IOTDB_BATCH_ENCODING_ENABLE_KEY, SINK_IOTDB_BATCH_ENCODING_ENABLE_KEY),
+            CONNECTOR_IOTDB_BATCH_ENCODING_ENABLE_DEFAULT_VALUE);
+    adaptiveBatchController =
+        !usingTsFileBatch
+                && parameters.getBooleanOrDefault(
+                    Arrays.asList(
+                        CONNECTOR_IOTDB_BATCH_ADAPTIVE_ENABLE_KEY,
+                        SINK_IOTDB_BATCH_ADAPTIVE_ENABLE_KEY),
+                    CONNECTOR_IOTDB_BATCH_ADAPTIVE_ENABLE_DEFAULT_VALUE)
+            ? new PipeAdaptiveBatchController(
+                requestMaxBatchSizeInBytes,
+                requestMaxDelayInMs,
+                parameters.getLongOrDefault(
+                    Arrays.asList(
+                        CONNECTOR_IOTDB_BATCH_ADAPTIVE_TARGET_RTT_MS_KEY,
+                        SINK_IOTDB_BATCH_ADAPTIVE_TARGET_RTT_MS_KEY),
+                    CONNECTOR_IOTDB_BATCH_ADAPTIVE_TARGET_RTT_MS_DEFAULT_VALUE))
+            : null;
     this.defaultBatch =
         usingTsFileBatch
             ? new PipeTabletEventTsFileBatch(requestMaxDelayInMs, requestMaxBatchSizeInBytes)
-            : new PipeTabletEventPlainBatch(requestMaxDelayInMs, requestMaxBatchSizeInBytes);
+            : new PipeTabletEventPlainBatch(
+                requestMaxDelayInMs,
+                requestMaxBatchSizeInBytes,
+                isEncodingEnabled,
+                supportEncodedTabletBatch,
+                adaptiveBatchController);
   }
 
   /**
@@ -157,7 +209,13 @@ public class PipeTransferBatchReqBuilder implements AutoCloseable {
     endPointToBatch
         .computeIfAbsent(
             endPoint,
-            k -> new PipeTabletEventPlainBatch(requestMaxDelayInMs, requestMaxBatchSizeInBytes))
+            k ->
+                new PipeTabletEventPlainBatch(
+                    requestMaxDelayInMs,
+                    requestMaxBatchSizeInBytes,
+                    isEncodingEnabled,
+                    supportEncodedTabletBatch,
+                    adaptiveBatchController))
         .onEvent(event);
   }
 
@@ -203,6 +261,18 @@ public class PipeTransferBatchReqBuilder implements AutoCloseable {
     }
   }
 
+  public long getAdaptiveBatchSizeInBytes() {
+    return Objects.nonNull(adaptiveBatchController)
+        ? adaptiveBatchController.getBatchSizeInBytes()
+        : requestMaxBatchSizeInBytes;
+  }
+
+  public long getAdaptiveBatchDelayInMs() {
+    return Objects.nonNull(adaptiveBatchController)
+        ? adaptiveBatchController.getDelayInMs()
+        : requestMaxDelayInMs;
+  }
+
   @Override
   public synchronized void close() {
     defaultBatch.close();
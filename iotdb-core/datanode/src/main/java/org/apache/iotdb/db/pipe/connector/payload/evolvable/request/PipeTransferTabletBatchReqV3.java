@@ -0,0 +1,499 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.connector.payload.evolvable.request;
+
+import org.apache.iotdb.commons.pipe.connector.compressor.PipeCompressor;
+import org.apache.iotdb.commons.pipe.connector.compressor.PipeCompressorFactory;
+import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.IoTDBConnectorRequestVersion;
+import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.PipeRequestType;
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertBaseStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertMultiTabletsStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertTabletStatement;
+import org.apache.iotdb.service.rpc.thrift.TPipeTransferReq;
+
+import org.apache.tsfile.encoding.decoder.Decoder;
+import org.apache.tsfile.encoding.encoder.Encoder;
+import org.apache.tsfile.encoding.encoder.TSEncodingBuilder;
+import org.apache.tsfile.enums.ColumnCategory;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.utils.BitMap;
+import org.apache.tsfile.utils.DateUtils;
+import org.apache.tsfile.utils.PublicBAOS;
+import org.apache.tsfile.utils.ReadWriteIOUtils;
+import org.apache.tsfile.write.record.Tablet;
+import org.apache.tsfile.write.schema.IMeasurementSchema;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A batch of tablets in which each column is encoded by the time series encodings (TS_2DIFF for the
+ * time column and integers, GORILLA for floating numbers and PLAIN for others) and the whole
+ * payload is compressed by a block compressor. It is only sent to the receivers which accept it in
+ * the handshake.
+ *
+ * <p>Body format: compression type (byte), uncompressed payload length (int) and the compressed
+ * payload. Payload format: tablet count (int), and for each tablet: insert target name (String),
+ * isAligned (boolean), database name (String), row count (int), column count (int), whether the
+ * column categories exist (boolean), the schema (name, data type and optional column category) of
+ * each column, the encoded time column, and then each value column in the form of: whether the
+ * bitmap exists (boolean), the optional bitmap bytes and the encoded values. Each encoded column is
+ * prefixed by its length (int). The columns of the data types without a time series encoding are
+ * written as a single-column tablet in the plain format of {@link PipeTransferTabletRawReqV2}.
+ */
+public class PipeTransferTabletBatchReqV3 extends TPipeTransferReq {
+
+  private static final PipeCompressor COMPRESSOR =
+      PipeCompressorFactory.getCompressor(PipeCompressor.PipeCompressionType.LZ4.getIndex());
+
+  private final transient List<PipeTransferTabletRawReqV2> tabletReqs = new ArrayList<>();
+
+  // The size of the tablets in the plain layout, used to compare with the body size
+  private transient long rawSize;
+
+  private PipeTransferTabletBatchReqV3() {
+    // Empty constructor
+  }
+
+  public long getRawSize() {
+    return rawSize;
+  }
+
+  public List<InsertBaseStatement> constructStatements() {
+    final List<InsertBaseStatement> statements = new ArrayList<>();
+    final List<InsertTabletStatement> insertTabletStatementList = new ArrayList<>();
+
+    for (final PipeTransferTabletRawReqV2 tabletReq : tabletReqs) {
+      final InsertTabletStatement statement = tabletReq.constructStatement();
+      if (statement.isEmpty()) {
+        continue;
+      }
+      if (statement.isWriteToTable()) {
+        statements.add(statement);
+        continue;
+      }
+      insertTabletStatementList.add(statement);
+    }
+
+    final InsertMultiTabletsStatement insertMultiTabletsStatement =
+        new InsertMultiTabletsStatement();
+    insertMultiTabletsStatement.setInsertTabletStatementList(insertTabletStatementList);
+    if (!insertMultiTabletsStatement.isEmpty()) {
+      statements.add(insertMultiTabletsStatement);
+    }
+    return statements;
+  }
+
+  /////////////////////////////// Thrift ///////////////////////////////
+
+  public static PipeTransferTabletBatchReqV3 toTPipeTransferReq(
+      final List<Tablet> tablets,
+      final List<Boolean> isAlignedList,
+      final List<String> dataBases,
+      final long rawSize)
+      throws IOException {
+    final PipeTransferTabletBatchReqV3 batchReq = new PipeTransferTabletBatchReqV3();
+
+    batchReq.version = IoTDBConnectorRequestVersion.VERSION_1.getVersion();
+    batchReq.type = PipeRequestType.TRANSFER_TABLET_BATCH_V3.getType();
+    batchReq.rawSize = rawSize;
+
+    final byte[] payload;
+    try (final PublicBAOS byteArrayOutputStream = new PublicBAOS();
+        final DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream)) {
+      ReadWriteIOUtils.write(tablets.size(), outputStream);
+      for (int i = 0; i < tablets.size(); ++i) {
+        encodeTablet(tablets.get(i), isAlignedList.get(i), dataBases.get(i), outputStream);
+      }
+      outputStream.flush();
+      payload = byteArrayOutputStream.toByteArray();
+    }
+    final byte[] compressedPayload = COMPRESSOR.compress(payload);
+
+    try (final PublicBAOS byteArrayOutputStream = new PublicBAOS();
+        final DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream)) {
+      ReadWriteIOUtils.write(COMPRESSOR.serialize(), outputStream);
+      ReadWriteIOUtils.write(payload.length, outputStream);
+      outputStream.write(compressedPayload);
+      batchReq.body =
+          ByteBuffer.wrap(byteArrayOutputStream.getBuf(), 0, byteArrayOutputStream.size());
+    }
+
+    return batchReq;
+  }
+
+  public static PipeTransferTabletBatchReqV3 fromTPipeTransferReq(
+      final TPipeTransferReq transferReq) throws IOException {
+    final PipeTransferTabletBatchReqV3 batchReq = new PipeTransferTabletBatchReqV3();
+
+    final PipeCompressor compressor =
+        PipeCompressorFactory.getCompressor(ReadWriteIOUtils.readByte(transferReq.body));
+    final int payloadLength = ReadWriteIOUtils.readInt(transferReq.body);
+    final byte[] compressedPayload = new byte[transferReq.body.remaining()];
+    transferReq.body.get(compressedPayload);
+    final ByteBuffer payload =
+        ByteBuffer.wrap(compressor.decompress(compressedPayload, payloadLength));
+
+    final int size = ReadWriteIOUtils.readInt(payload);
+    for (int i = 0; i < size; ++i) {
+      batchReq.tabletReqs.add(decodeTablet(payload));
+    }
+
+    batchReq.version = transferReq.version;
+    batchReq.type = transferReq.type;
+    batchReq.body = transferReq.body;
+
+    return batchReq;
+  }
+
+  /////////////////////////////// Encoding ///////////////////////////////
+
+  private static void encodeTablet(
+      final Tablet tablet,
+      final boolean isAligned,
+      final String dataBaseName,
+      final DataOutputStream outputStream)
+      throws IOException {
+    final int rowSize = tablet.getRowSize();
+    final List<IMeasurementSchema> schemas = tablet.getSchemas();
+    final List<ColumnCategory> columnCategories = tablet.getColumnTypes();
+
+    ReadWriteIOUtils.write(tablet.getDeviceId(), outputStream);
+    ReadWriteIOUtils.write(isAligned, outputStream);
+    ReadWriteIOUtils.write(dataBaseName, outputStream);
+    ReadWriteIOUtils.write(rowSize, outputStream);
+    ReadWriteIOUtils.write(schemas.size(), outputStream);
+    ReadWriteIOUtils.write(Objects.nonNull(columnCategories), outputStream);
+    for (int i = 0; i < schemas.size(); ++i) {
+      ReadWriteIOUtils.write(schemas.get(i).getMeasurementName(), outputStream);
+      ReadWriteIOUtils.write(schemas.get(i).getType(), outputStream);
+      if (Objects.nonNull(columnCategories)) {
+        ReadWriteIOUtils.write((byte) columnCategories.get(i).ordinal(), outputStream);
+      }
+    }
+
+    try (final PublicBAOS columnStream = new PublicBAOS()) {
+      final Encoder timeEncoder = getEncoder(TSDataType.INT64);
+      final long[] timestamps = tablet.getTimestamps();
+      for (int row = 0; row < rowSize; ++row) {
+        timeEncoder.encode(timestamps[row], columnStream);
+      }
+      timeEncoder.flush(columnStream);
+      writeColumn(columnStream, outputStream);
+
+      final BitMap[] bitMaps = tablet.getBitMaps();
+      for (int i = 0; i < schemas.size(); ++i) {
+        final BitMap bitMap = Objects.nonNull(bitMaps) ? bitMaps[i] : null;
+        final boolean hasNull = Objects.nonNull(bitMap) && !bitMap.isAllUnmarked(rowSize);
+        ReadWriteIOUtils.write(hasNull, outputStream);
+        if (hasNull) {
+          outputStream.write(bitMap.getTruncatedByteArray(rowSize));
+        }
+
+        columnStream.reset();
+        if (isEncodingSupported(schemas.get(i).getType())) {
+          encodeColumn(
+              schemas.get(i).getType(), tablet.getValues()[i], bitMap, rowSize, columnStream);
+        } else {
+          encodePlainColumn(tablet, i, columnStream);
+        }
+        writeColumn(columnStream, outputStream);
+      }
+    }
+  }
+
+  private static void encodeColumn(
+      final TSDataType dataType,
+      final Object values,
+      final BitMap bitMap,
+      final int rowSize,
+      final PublicBAOS columnStream)
+      throws IOException {
+    final Encoder encoder = getEncoder(dataType);
+    for (int row = 0; row < rowSize; ++row) {
+      switch (dataType) {
+        case BOOLEAN:
+          encoder.encode(((boolean[]) values)[row], columnStream);
+          break;
+        case INT32:
+          encoder.encode(((int[]) values)[row], columnStream);
+          break;
+        case DATE:
+          final LocalDate date = ((LocalDate[]) values)[row];
+          encoder.encode(
+              Objects.isNull(date) || isNull(bitMap, row)
+                  ? 0
+                  : DateUtils.parseDateExpressionToInt(date),
+              columnStream);
+          break;
+        case INT64:
+        case TIMESTAMP:
+          encoder.encode(((long[]) values)[row], columnStream);
+          break;
+        case FLOAT:
+          encoder.encode(((float[]) values)[row], columnStream);
+          break;
+        case DOUBLE:
+          encoder.encode(((double[]) values)[row], columnStream);
+          break;
+        case TEXT:
+        case STRING:
+        case BLOB:
+          final Binary binary = ((Binary[]) values)[row];
+          encoder.encode(
+              Objects.isNull(binary) || isNull(bitMap, row) ? Binary.EMPTY_VALUE : binary,
+              columnStream);
+          break;
+        default:
+          throw new UnsupportedOperationException(
+              String.format("Data type %s is not supported.", dataType));
+      }
+    }
+    encoder.flush(columnStream);
+  }
+
+  /**
+   * Write the column in the same plain layout as {@link PipeTransferTabletRawReqV2}, by serializing
+   * a tablet holding only this column, for the data types which have no time series encoding here.
+   */
+  private static void encodePlainColumn(
+      final Tablet tablet, final int columnIndex, final PublicBAOS columnStream)
+      throws IOException {
+    final Tablet columnTablet =
+        new Tablet(
+            tablet.getDeviceId(),
+            Collections.singletonList(tablet.getSchemas().get(columnIndex)),
+            tablet.getTimestamps(),
+            new Object[] {tablet.getValues()[columnIndex]},
+            new BitMap[] {
+              Objects.nonNull(tablet.getBitMaps()) ? tablet.getBitMaps()[columnIndex] : null
+            },
+            tablet.getRowSize());
+    final DataOutputStream outputStream = new DataOutputStream(columnStream);
+    columnTablet.serialize(outputStream);
+    outputStream.flush();
+  }
+
+  private static PipeTransferTabletRawReqV2 decodeTablet(final ByteBuffer payload) {
+    final String insertTargetName = ReadWriteIOUtils.readString(payload);
+    final boolean isAligned = ReadWriteIOUtils.readBool(payload);
+    final String dataBaseName = ReadWriteIOUtils.readString(payload);
+    final int rowSize = ReadWriteIOUtils.readInt(payload);
+    final int columnSize = ReadWriteIOUtils.readInt(payload);
+    final boolean hasColumnCategories = ReadWriteIOUtils.readBool(payload);
+
+    final List<IMeasurementSchema> schemas = new ArrayList<>(columnSize);
+    final List<ColumnCategory> columnCategories =
+        hasColumnCategories ? new ArrayList<>(columnSize) : null;
+    for (int i = 0; i < columnSize; ++i) {
+      schemas.add(
+          new MeasurementSchema(
+              ReadWriteIOUtils.readString(payload), ReadWriteIOUtils.readDataType(payload)));
+      if (hasColumnCategories) {
+        columnCategories.add(ColumnCategory.values()[ReadWriteIOUtils.readByte(payload)]);
+      }
+    }
+
+    final long[] timestamps = new long[rowSize];
+    final ByteBuffer timeColumn = readColumn(payload);
+    final Decoder timeDecoder = getDecoder(TSDataType.INT64);
+    for (int row = 0; row < rowSize; ++row) {
+      timestamps[row] = timeDecoder.readLong(timeColumn);
+    }
+
+    final Object[] values = new Object[columnSize];
+    final BitMap[] bitMaps = new BitMap[columnSize];
+    for (int i = 0; i < columnSize; ++i) {
+      if (ReadWriteIOUtils.readBool(payload)) {
+        final byte[] bitMapBytes = new byte[BitMap.getSizeOfBytes(rowSize)];
+        payload.get(bitMapBytes);
+        bitMaps[i] = new BitMap(rowSize, bitMapBytes);
+      } else {
+        bitMaps[i] = new BitMap(rowSize);
+      }
+      values[i] =
+          isEncodingSupported(schemas.get(i).getType())
+              ? decodeColumn(schemas.get(i).getType(), readColumn(payload), bitMaps[i], rowSize)
+              : Tablet.deserialize(readColumn(payload)).getValues()[0];
+    }
+
+    final Tablet tablet =
+        Objects.nonNull(columnCategories)
+            ? new Tablet(
+                insertTargetName, schemas, columnCategories, timestamps, values, bitMaps, rowSize)
+            : new Tablet(insertTargetName, schemas, timestamps, values, bitMaps, rowSize);
+    return PipeTransferTabletRawReqV2.toTPipeTransferRawReq(tablet, isAligned, dataBaseName);
+  }
+
+  private static Object decodeColumn(
+      final TSDataType dataType, final ByteBuffer column, final BitMap bitMap, final int rowSize) {
+    final Decoder decoder = getDecoder(dataType);
+    switch (dataType) {
+      case BOOLEAN:
+        final boolean[] booleans = new boolean[rowSize];
+        for (int row = 0; row < rowSize; ++row) {
+          booleans[row] = decoder.readBoolean(column);
+        }
+        return booleans;
+      case INT32:
+        final int[] ints = new int[rowSize];
+        for (int row = 0; row < rowSize; ++row) {
+          ints[row] = decoder.readInt(column);
+        }
+        return ints;
+      case DATE:
+        final LocalDate[] dates = new LocalDate[rowSize];
+        for (int row = 0; row < rowSize; ++row) {
+          final int date = decoder.readInt(column);
+          dates[row] = bitMap.isMarked(row) ? null : DateUtils.parseIntToLocalDate(date);
+        }
+        return dates;
+      case INT64:
+      case TIMESTAMP:
+        final long[] longs = new long[rowSize];
+        for (int row = 0; row < rowSize; ++row) {
+          longs[row] = decoder.readLong(column);
+        }
+        return longs;
+      case FLOAT:
+        final float[] floats = new float[rowSize];
+        for (int row = 0; row < rowSize; ++row) {
+          floats[row] = decoder.readFloat(column);
+        }
+        return floats;
+      case DOUBLE:
+        final double[] doubles = new double[rowSize];
+        for (int row = 0; row < rowSize; ++row) {
+          doubles[row] = decoder.readDouble(column);
+        }
+        return doubles;
+      case TEXT:
+      case STRING:
+      case BLOB:
+        final Binary[] binaries = new Binary[rowSize];
+        for (int row = 0; row < rowSize; ++row) {
+          final Binary binary = decoder.readBinary(column);
+          binaries[row] = bitMap.isMarked(row) ? null : binary;
+        }
+        return binaries;
+      default:
+        throw new UnsupportedOperationException(
+            String.format("Data type %s is not supported.", dataType));
+    }
+  }
+
+  private static boolean isEncodingSupported(final TSDataType dataType) {
+    switch (dataType) {
+      case BOOLEAN:
+      case INT32:
+      case DATE:
+      case INT64:
+      case TIMESTAMP:
+      case FLOAT:
+      case DOUBLE:
+      case TEXT:
+      case STRING:
+      case BLOB:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static boolean isNull(final BitMap bitMap, final int row) {
+    return Objects.nonNull(bitMap) && bitMap.isMarked(row);
+  }
+
+  private static TSEncoding getEncoding(final TSDataType dataType) {
+    switch (dataType) {
+      case INT32:
+      case DATE:
+      case INT64:
+      case TIMESTAMP:
+        return TSEncoding.TS_2DIFF;
+      case FLOAT:
+      case DOUBLE:
+        return TSEncoding.GORILLA;
+      default:
+        return TSEncoding.PLAIN;
+    }
+  }
+
+  private static Encoder getEncoder(final TSDataType dataType) {
+    return TSEncodingBuilder.getEncodingBuilder(getEncoding(dataType)).getEncoder(dataType);
+  }
+
+  private static Decoder getDecoder(final TSDataType dataType) {
+    return Decoder.getDecoderByType(getEncoding(dataType), dataType);
+  }
+
+  private static void writeColumn(
+      final PublicBAOS columnStream, final DataOutputStream outputStream) throws IOException {
+    ReadWriteIOUtils.write(columnStream.size(), outputStream);
+    outputStream.write(columnStream.getBuf(), 0, columnStream.size());
+  }
+
+  private static ByteBuffer readColumn(final ByteBuffer payload) {
+    final int length = ReadWriteIOUtils.readInt(payload);
+    final ByteBuffer column = payload.slice();
+    column.limit(length);
+    payload.position(payload.position() + length);
+    return column;
+  }
+
+  /////////////////////////////// TestOnly ///////////////////////////////
+
+  @TestOnly
+  public List<PipeTransferTabletRawReqV2> getTabletReqs() {
+    return tabletReqs;
+  }
+
+  /////////////////////////////// Object ///////////////////////////////
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    final PipeTransferTabletBatchReqV3 that = (PipeTransferTabletBatchReqV3) obj;
+    return Objects.equals(tabletReqs, that.tabletReqs)
+        && version == that.version
+        && type == that.type
+        && Objects.equals(body, that.body);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(tabletReqs, version, type, body);
+  }
+}
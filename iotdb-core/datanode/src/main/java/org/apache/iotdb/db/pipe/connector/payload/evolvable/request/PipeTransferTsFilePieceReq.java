@@ -24,6 +24,7 @@ import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.PipeTransf
 import org.apache.iotdb.service.rpc.thrift.TPipeTransferReq;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 
 public class PipeTransferTsFilePieceReq extends PipeTransferFilePieceReq {
 
@@ -45,6 +46,14 @@ public class PipeTransferTsFilePieceReq extends PipeTransferFilePieceReq {
             .convertToTPipeTransferReq(fileName, startWritingOffset, filePiece);
   }
 
+  public static PipeTransferTsFilePieceReq toTPipeTransferReq(
+      String fileName, long startWritingOffset, FileChannel fileChannel, int pieceLength)
+      throws IOException {
+    return (PipeTransferTsFilePieceReq)
+        new PipeTransferTsFilePieceReq()
+            .convertToTPipeTransferReq(fileName, startWritingOffset, fileChannel, pieceLength);
+  }
+
   public static PipeTransferTsFilePieceReq fromTPipeTransferReq(TPipeTransferReq transferReq) {
     return (PipeTransferTsFilePieceReq)
         new PipeTransferTsFilePieceReq().translateFromTPipeTransferReq(transferReq);
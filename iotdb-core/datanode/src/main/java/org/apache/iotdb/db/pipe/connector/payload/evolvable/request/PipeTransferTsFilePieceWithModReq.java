@@ -24,6 +24,7 @@ import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.PipeTransf
 import org.apache.iotdb.service.rpc.thrift.TPipeTransferReq;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 
 public class PipeTransferTsFilePieceWithModReq extends PipeTransferFilePieceReq {
 
@@ -45,6 +46,14 @@ public class PipeTransferTsFilePieceWithModReq extends PipeTransferFilePieceReq
             .convertToTPipeTransferReq(fileName, startWritingOffset, filePiece);
   }
 
+  public static PipeTransferTsFilePieceWithModReq toTPipeTransferReq(
+      String fileName, long startWritingOffset, FileChannel fileChannel, int pieceLength)
+      throws IOException {
+    return (PipeTransferTsFilePieceWithModReq)
+        new PipeTransferTsFilePieceWithModReq()
+            .convertToTPipeTransferReq(fileName, startWritingOffset, fileChannel, pieceLength);
+  }
+
   public static PipeTransferTsFilePieceWithModReq fromTPipeTransferReq(
       TPipeTransferReq transferReq) {
     return (PipeTransferTsFilePieceWithModReq)
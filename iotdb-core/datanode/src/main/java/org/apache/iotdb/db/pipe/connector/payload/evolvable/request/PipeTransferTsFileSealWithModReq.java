@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
 
 public class PipeTransferTsFileSealWithModReq extends PipeTransferFileSealReqV2 {
 
@@ -90,6 +91,44 @@ public class PipeTransferTsFileSealWithModReq extends PipeTransferFileSealReqV2
                     generateDatabaseNameWithFileNameKey(tsFileName), dataBaseName));
   }
 
+  public static PipeTransferTsFileSealWithModReq toTPipeTransferReq(
+      final String modFileName,
+      final long modFileLength,
+      final long modFileChecksum,
+      final String tsFileName,
+      final long tsFileLength,
+      final long tsFileChecksum,
+      final String dataBaseName)
+      throws IOException {
+    final Map<String, String> parameters = new HashMap<>();
+    parameters.put(generateDatabaseNameWithFileNameKey(tsFileName), dataBaseName);
+    putFileChecksumIfKnown(parameters, modFileName, modFileChecksum);
+    putFileChecksumIfKnown(parameters, tsFileName, tsFileChecksum);
+    return (PipeTransferTsFileSealWithModReq)
+        new PipeTransferTsFileSealWithModReq()
+            .convertToTPipeTransferReq(
+                Arrays.asList(modFileName, tsFileName),
+                Arrays.asList(modFileLength, tsFileLength),
+                parameters);
+  }
+
+  public static PipeTransferTsFileSealWithModReq toTPipeTransferReq(
+      final String tsFileName,
+      final long tsFileLength,
+      final long tsFileChecksum,
+      final String dataBaseName)
+      throws IOException {
+    final Map<String, String> parameters = new HashMap<>();
+    parameters.put(generateDatabaseNameWithFileNameKey(tsFileName), dataBaseName);
+    putFileChecksumIfKnown(parameters, tsFileName, tsFileChecksum);
+    return (PipeTransferTsFileSealWithModReq)
+        new PipeTransferTsFileSealWithModReq()
+            .convertToTPipeTransferReq(
+                Collections.singletonList(tsFileName),
+                Collections.singletonList(tsFileLength),
+                parameters);
+  }
+
   public static PipeTransferTsFileSealWithModReq fromTPipeTransferReq(final TPipeTransferReq req) {
     return (PipeTransferTsFileSealWithModReq)
         new PipeTransferTsFileSealWithModReq().translateFromTPipeTransferReq(req);
@@ -36,6 +36,7 @@ import org.apache.iotdb.consensus.pipe.consensuspipe.ConsensusPipeConnector;
 import org.apache.iotdb.consensus.pipe.consensuspipe.ConsensusPipeName;
 import org.apache.iotdb.consensus.pipe.metric.PipeConsensusSyncLagManager;
 import org.apache.iotdb.consensus.pipe.thrift.TCommitId;
+import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusAck;
 import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusTransferReq;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
@@ -84,7 +85,6 @@ import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstan
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_CONSENSUS_PIPE_NAME;
 
 // TODO: Optimize the network and disk io for TsFile onComplete
-// TODO: support Tablet Batch
 @TreeModel
 @TableModel
 public class PipeConsensusAsyncConnector extends IoTDBConnector implements ConsensusPipeConnector {
@@ -158,6 +158,7 @@ public class PipeConsensusAsyncConnector extends IoTDBConnector implements Conse
     asyncTransferClientManager =
         IoTV2GlobalComponentContainer.getInstance().getGlobalAsyncClientManager();
 
+    isTabletBatchModeEnabled = IOTDB_CONFIG.isIotConsensusV2EnableTabletBatch();
     if (isTabletBatchModeEnabled) {
       tabletBatchBuilder =
           new PipeConsensusAsyncBatchReqBuilder(
@@ -166,8 +167,6 @@ public class PipeConsensusAsyncConnector extends IoTDBConnector implements Conse
               thisDataNodeId);
     }
 
-    // currently, tablet batch is false by default in PipeConsensus;
-    isTabletBatchModeEnabled = false;
     this.backgroundTaskService =
         IoTV2GlobalComponentContainer.getInstance().getBackgroundTaskService();
   }
@@ -233,16 +232,45 @@ public class PipeConsensusAsyncConnector extends IoTDBConnector implements Conse
       return;
     }
     Iterator<EnrichedEvent> iterator = transferBuffer.iterator();
-    EnrichedEvent current = iterator.next();
-    while (!current.equalsInPipeConsensus(event) && iterator.hasNext()) {
-      current = iterator.next();
+    while (iterator.hasNext()) {
+      if (iterator.next().equalsInPipeConsensus(event)) {
+        iterator.remove();
+        // update replicate progress
+        currentReplicateProgress =
+            Math.max(currentReplicateProgress, event.getReplicateIndexForIoTV2());
+        // decrease reference count
+        event.decreaseReferenceCount(PipeConsensusAsyncConnector.class.getName(), true);
+        return;
+      }
     }
-    iterator.remove();
-    // update replicate progress
-    currentReplicateProgress =
-        Math.max(currentReplicateProgress, event.getReplicateIndexForIoTV2());
-    // decrease reference count
-    event.decreaseReferenceCount(PipeConsensusAsyncConnector.class.getName(), true);
+    // The event may have been removed by a cumulative acknowledgement before its own response
+    // arrives, nothing needs to be done here.
+  }
+
+  /**
+   * Remove all events acknowledged cumulatively by the receiver from transferBuffer in one pass,
+   * instead of waiting for their own responses.
+   */
+  public synchronized void removeAcknowledgedEventsFromBuffer(final TPipeConsensusAck ack) {
+    final Iterator<EnrichedEvent> iterator = transferBuffer.iterator();
+    while (iterator.hasNext()) {
+      final EnrichedEvent event = iterator.next();
+      if (isAcknowledged(ack, event)) {
+        iterator.remove();
+        currentReplicateProgress =
+            Math.max(currentReplicateProgress, event.getReplicateIndexForIoTV2());
+        event.decreaseReferenceCount(PipeConsensusAsyncConnector.class.getName(), true);
+      }
+    }
+  }
+
+  public static boolean isAcknowledged(final TPipeConsensusAck ack, final EnrichedEvent event) {
+    final TCommitId syncedCommitId = ack.getSyncedCommitId();
+    return event.getRebootTimes() == syncedCommitId.getDataNodeRebootTimes()
+        && event.getCommitterKey().getRestartTimes() == syncedCommitId.getPipeTaskRestartTimes()
+        && event.getReplicateIndexForIoTV2() <= syncedCommitId.getReplicateIndex()
+        && !(ack.isSetSkippedReplicateIndexes()
+            && ack.getSkippedReplicateIndexes().contains(event.getReplicateIndexForIoTV2()));
   }
 
   @Override
@@ -266,9 +294,11 @@ public class PipeConsensusAsyncConnector extends IoTDBConnector implements Conse
       throw new PipeRuntimeConnectorRetryTimesConfigurableException(
           ENQUEUE_EXCEPTION_MSG, Integer.MAX_VALUE);
     }
-    // batch transfer tablets.
+    // batch transfer tablets. Events in the batch have taken places in transferBuffer, so the
+    // batch must be sent once the buffer is full, otherwise no more events can be enqueued.
     if (isTabletBatchModeEnabled) {
-      if (tabletBatchBuilder.onEvent(tabletInsertionEvent)) {
+      if (tabletBatchBuilder.onEvent(tabletInsertionEvent)
+          || transferBuffer.remainingCapacity() == 0) {
         final PipeConsensusTabletBatchEventHandler pipeConsensusTabletBatchEventHandler =
             new PipeConsensusTabletBatchEventHandler(
                 tabletBatchBuilder, this, pipeConsensusConnectorMetrics);
@@ -335,6 +365,7 @@ public class PipeConsensusAsyncConnector extends IoTDBConnector implements Conse
             pipeConsensusConnectorMetrics);
 
     transfer(pipeConsensusInsertNodeReqHandler);
+    pipeConsensusConnectorMetrics.recordEventsPerTransfer(1);
     return true;
   }
 
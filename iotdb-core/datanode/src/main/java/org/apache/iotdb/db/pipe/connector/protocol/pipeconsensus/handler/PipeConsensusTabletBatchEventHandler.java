@@ -22,6 +22,7 @@ package org.apache.iotdb.db.pipe.connector.protocol.pipeconsensus.handler;
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.commons.client.async.AsyncPipeConsensusServiceClient;
 import org.apache.iotdb.commons.pipe.event.EnrichedEvent;
+import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusAck;
 import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusBatchTransferReq;
 import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusBatchTransferResp;
 import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusTransferResp;
@@ -38,7 +39,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 public class PipeConsensusTabletBatchEventHandler
@@ -50,6 +53,7 @@ public class PipeConsensusTabletBatchEventHandler
   private final TPipeConsensusBatchTransferReq req;
   private final PipeConsensusAsyncConnector connector;
   private final PipeConsensusConnectorMetrics pipeConsensusConnectorMetrics;
+  private final AtomicBoolean isBatchReferenceReleased = new AtomicBoolean(false);
 
   public PipeConsensusTabletBatchEventHandler(
       final PipeConsensusAsyncBatchReqBuilder batchBuilder,
@@ -67,6 +71,7 @@ public class PipeConsensusTabletBatchEventHandler
 
   public void transfer(final AsyncPipeConsensusServiceClient client) throws TException {
     client.pipeConsensusBatchTransfer(req, this);
+    pipeConsensusConnectorMetrics.recordEventsPerTransfer(events.size());
   }
 
   @Override
@@ -78,37 +83,46 @@ public class PipeConsensusTabletBatchEventHandler
     }
 
     try {
-      final List<TSStatus> status =
-          response.getBatchResps().stream()
-              .map(TPipeConsensusTransferResp::getStatus)
-              .collect(Collectors.toList());
-
-      if (status.stream()
-          .anyMatch(
-              tsStatus -> tsStatus.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode())) {
-        status.stream()
-            .filter(tsStatus -> tsStatus.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode())
-            .forEach(
-                tsStatus -> {
-                  pipeConsensusConnectorMetrics.recordRetryCounter();
-                  connector
-                      .statusHandler()
-                      .handle(tsStatus, tsStatus.getMessage(), events.toString());
-                });
-        // if any events failed, we will resend it all.
-        connector.addFailureEventsToRetryQueue(events);
+      final List<TPipeConsensusTransferResp> resps = response.getBatchResps();
+      if (resps == null || resps.size() != events.size()) {
+        // The receiver can not handle batches, let the events be retried one by one
+        onError(
+            new PipeException(
+                String.format(
+                    "TPipeConsensusBatchTransferResp contains %s responses for %s events",
+                    resps == null ? 0 : resps.size(), events.size())));
+        return;
       }
-      // if all events success, remove them from transferBuffer
-      else {
-        events.forEach(event -> connector.removeEventFromBuffer((EnrichedEvent) event));
+
+      // Release all events acknowledged by the receiver in one pass, including those sent by
+      // other requests whose responses have not arrived yet.
+      final TPipeConsensusAck ack = response.isSetAck() ? response.getAck() : null;
+      if (ack != null) {
+        connector.removeAcknowledgedEventsFromBuffer(ack);
       }
 
-      for (final Event event : events) {
-        if (event instanceof EnrichedEvent) {
-          ((EnrichedEvent) event)
-              .decreaseReferenceCount(PipeConsensusTabletBatchEventHandler.class.getName(), true);
+      // Only the events that are not applied by the receiver need to be resent.
+      final List<EnrichedEvent> failedEvents = new ArrayList<>();
+      for (int i = 0; i < events.size(); i++) {
+        final EnrichedEvent event = events.get(i);
+        final TSStatus status = resps.get(i).getStatus();
+        if (status.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()
+            && status.getCode() != TSStatusCode.REDIRECTION_RECOMMEND.getStatusCode()) {
+          try {
+            connector.statusHandler().handle(status, status.getMessage(), event.toString());
+          } catch (final Exception e) {
+            pipeConsensusConnectorMetrics.recordRetryCounter();
+            failedEvents.add(event);
+            continue;
+          }
+        }
+        if (ack == null || !PipeConsensusAsyncConnector.isAcknowledged(ack, event)) {
+          connector.removeEventFromBuffer(event);
         }
       }
+      connector.addFailureEventsToRetryQueue(failedEvents);
+
+      releaseBatchReference();
     } catch (final Exception e) {
       onError(e);
     }
@@ -129,5 +143,19 @@ public class PipeConsensusTabletBatchEventHandler
         exception);
 
     connector.addFailureEventsToRetryQueue(events);
+    releaseBatchReference();
+  }
+
+  /** Release the references held since the events were put into the batch. */
+  private void releaseBatchReference() {
+    if (!isBatchReferenceReleased.compareAndSet(false, true)) {
+      return;
+    }
+    for (final Event event : events) {
+      if (event instanceof EnrichedEvent) {
+        ((EnrichedEvent) event)
+            .decreaseReferenceCount(PipeConsensusTabletBatchEventHandler.class.getName(), true);
+      }
+    }
   }
 }
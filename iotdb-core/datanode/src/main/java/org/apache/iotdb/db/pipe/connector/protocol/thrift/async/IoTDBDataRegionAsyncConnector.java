@@ -176,7 +176,9 @@ public class IoTDBDataRegionAsyncConnector extends IoTDBConnector {
             isSplitTSFileBatchModeEnabled);
 
     if (isTabletBatchModeEnabled) {
-      tabletBatchBuilder = new PipeTransferBatchReqBuilder(parameters);
+      tabletBatchBuilder =
+          new PipeTransferBatchReqBuilder(
+              parameters, () -> clientManager.supportEncodedTabletBatch());
     }
   }
 
@@ -224,7 +226,8 @@ public class IoTDBDataRegionAsyncConnector extends IoTDBConnector {
     if (batch instanceof PipeTabletEventPlainBatch) {
       transfer(
           endPointAndBatch.getLeft(),
-          new PipeTransferTabletBatchEventHandler((PipeTabletEventPlainBatch) batch, this));
+          new PipeTransferTabletBatchEventHandler(
+              (PipeTabletEventPlainBatch) batch, this, clientManager.supportEncodedTabletBatch()));
     } else if (batch instanceof PipeTabletEventTsFileBatch) {
       final PipeTabletEventTsFileBatch tsFileBatch = (PipeTabletEventTsFileBatch) batch;
       final List<Pair<String, File>> dbTsFilePairs = tsFileBatch.sealTsFiles();
@@ -766,6 +769,16 @@ public class IoTDBDataRegionAsyncConnector extends IoTDBConnector {
     return Objects.nonNull(tabletBatchBuilder) ? tabletBatchBuilder.size() : 0;
   }
 
+  public long getAdaptiveBatchSizeInBytes() {
+    return Objects.nonNull(tabletBatchBuilder)
+        ? tabletBatchBuilder.getAdaptiveBatchSizeInBytes()
+        : 0;
+  }
+
+  public long getAdaptiveBatchDelayInMs() {
+    return Objects.nonNull(tabletBatchBuilder) ? tabletBatchBuilder.getAdaptiveBatchDelayInMs() : 0;
+  }
+
   public int getPendingHandlersSize() {
     return pendingHandlers.size();
   }
@@ -23,7 +23,9 @@ import org.apache.iotdb.common.rpc.thrift.TEndPoint;
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.commons.client.async.AsyncPipeDataTransferServiceClient;
 import org.apache.iotdb.commons.pipe.event.EnrichedEvent;
+import org.apache.iotdb.db.pipe.connector.payload.evolvable.batch.PipeAdaptiveBatchController;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.batch.PipeTabletEventPlainBatch;
+import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletBatchReqV3;
 import org.apache.iotdb.db.pipe.connector.protocol.thrift.async.IoTDBDataRegionAsyncConnector;
 import org.apache.iotdb.db.pipe.connector.util.cacher.LeaderCacheUtils;
 import org.apache.iotdb.pipe.api.exception.PipeException;
@@ -39,6 +41,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class PipeTransferTabletBatchEventHandler extends PipeTransferTrackableHandler {
@@ -52,18 +55,33 @@ public class PipeTransferTabletBatchEventHandler extends PipeTransferTrackableHa
   private final TPipeTransferReq req;
   private final double reqCompressionRatio;
 
+  // Null if adaptive batching is disabled
+  private final PipeAdaptiveBatchController adaptiveBatchController;
+  private long transferStartTime;
+
   public PipeTransferTabletBatchEventHandler(
-      final PipeTabletEventPlainBatch batch, final IoTDBDataRegionAsyncConnector connector)
+      final PipeTabletEventPlainBatch batch,
+      final IoTDBDataRegionAsyncConnector connector,
+      final boolean supportEncodedTabletBatch)
       throws IOException {
     super(connector);
 
     // Deep copy to keep events' reference
     events = batch.deepCopyEvents();
     pipeName2BytesAccumulated = batch.deepCopyPipeName2BytesAccumulated();
-
-    final TPipeTransferReq uncompressedReq = batch.toTPipeTransferReq();
+    adaptiveBatchController = batch.getAdaptiveBatchController();
+
+    final TPipeTransferReq uncompressedReq = batch.toTPipeTransferReq(supportEncodedTabletBatch);
+    final long uncompressedSize;
+    if (uncompressedReq instanceof PipeTransferTabletBatchReqV3) {
+      // The accumulated bytes are counted in the plain layout
+      uncompressedSize = ((PipeTransferTabletBatchReqV3) uncompressedReq).getRawSize();
+      connector.recordTabletBatchEncoding(uncompressedSize, uncompressedReq.getBody().length);
+    } else {
+      uncompressedSize = uncompressedReq.getBody().length;
+    }
     req = connector.compressIfNeeded(uncompressedReq);
-    reqCompressionRatio = (double) req.getBody().length / uncompressedReq.getBody().length;
+    reqCompressionRatio = (double) req.getBody().length / uncompressedSize;
   }
 
   public void transfer(final AsyncPipeDataTransferServiceClient client) throws TException {
@@ -75,6 +93,7 @@ public class PipeTransferTabletBatchEventHandler extends PipeTransferTrackableHa
           (long) (entry.getValue() * reqCompressionRatio));
     }
 
+    transferStartTime = System.currentTimeMillis();
     tryTransfer(client, req);
   }
 
@@ -88,6 +107,10 @@ public class PipeTransferTabletBatchEventHandler extends PipeTransferTrackableHa
 
     try {
       final TSStatus status = response.getStatus();
+      if (Objects.nonNull(adaptiveBatchController)) {
+        adaptiveBatchController.onTransferComplete(
+            System.currentTimeMillis() - transferStartTime, status.getCode());
+      }
       // Only handle the failed statuses to avoid string format performance overhead
       if (status.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()
           && status.getCode() != TSStatusCode.REDIRECTION_RECOMMEND.getStatusCode()) {
@@ -114,6 +137,9 @@ public class PipeTransferTabletBatchEventHandler extends PipeTransferTrackableHa
 
   @Override
   protected void onErrorInternal(final Exception exception) {
+    if (Objects.nonNull(adaptiveBatchController)) {
+      adaptiveBatchController.onTransferBackPressure();
+    }
     try {
       LOGGER.warn(
           "Failed to transfer TabletInsertionEvent batch. Total failed events: {}, related pipe names: {}",
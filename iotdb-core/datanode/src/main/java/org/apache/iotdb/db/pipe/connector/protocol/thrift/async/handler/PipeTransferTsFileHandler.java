@@ -22,6 +22,8 @@ package org.apache.iotdb.db.pipe.connector.protocol.thrift.async.handler;
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.commons.client.async.AsyncPipeDataTransferServiceClient;
 import org.apache.iotdb.commons.pipe.config.PipeConfig;
+import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.PipeTransferFilePieceReq;
+import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.PipeTransferFileSealReqV2;
 import org.apache.iotdb.commons.pipe.connector.payload.thrift.response.PipeTransferFilePieceResp;
 import org.apache.iotdb.commons.pipe.event.EnrichedEvent;
 import org.apache.iotdb.commons.utils.RetryUtils;
@@ -49,13 +51,13 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 
 public class PipeTransferTsFileHandler extends PipeTransferTrackableHandler {
 
@@ -80,9 +82,13 @@ public class PipeTransferTsFileHandler extends PipeTransferTrackableHandler {
 
   private final int readFileBufferSize;
   private final PipeTsFileMemoryBlock memoryBlock;
-  private final byte[] readBuffer;
   private long position;
 
+  // CRC32 checksums of the transferred files, verified by the receiver when sealing
+  private final CRC32 checksum = new CRC32();
+  private boolean isChecksumKnown = true;
+  private long modFileChecksum = PipeTransferFileSealReqV2.UNKNOWN_FILE_CHECKSUM;
+
   private RandomAccessFile reader;
 
   private final AtomicBoolean isSealSignalSent;
@@ -133,7 +139,6 @@ public class PipeTransferTsFileHandler extends PipeTransferTrackableHandler {
                 PipeConfig.getInstance().isPipeConnectorReadFileBufferMemoryControlEnabled()
                     ? readFileBufferSize
                     : 0);
-    readBuffer = new byte[readFileBufferSize];
     position = 0;
 
     reader =
@@ -162,10 +167,14 @@ public class PipeTransferTsFileHandler extends PipeTransferTrackableHandler {
     client.setShouldReturnSelf(false);
     client.setTimeoutDynamically(clientManager.getConnectionTimeout());
 
-    final int readLength = reader.read(readBuffer);
+    final long currentFileLength = reader.length();
 
-    if (readLength == -1) {
+    if (position >= currentFileLength) {
       if (currentFile == modFile) {
+        modFileChecksum = getChecksum();
+        checksum.reset();
+        isChecksumKnown = true;
+
         currentFile = tsFile;
         position = 0;
         try {
@@ -183,11 +192,13 @@ public class PipeTransferTsFileHandler extends PipeTransferTrackableHandler {
                 ? PipeTransferTsFileSealWithModReq.toTPipeTransferReq(
                     modFile.getName(),
                     modFile.length(),
+                    modFileChecksum,
                     tsFile.getName(),
                     tsFile.length(),
+                    getChecksum(),
                     dataBaseName)
                 : PipeTransferTsFileSealWithModReq.toTPipeTransferReq(
-                    tsFile.getName(), tsFile.length(), dataBaseName);
+                    tsFile.getName(), tsFile.length(), getChecksum(), dataBaseName);
         final TPipeTransferReq req = connector.compressIfNeeded(uncompressedReq);
 
         pipeName2WeightMap.forEach(
@@ -205,16 +216,15 @@ public class PipeTransferTsFileHandler extends PipeTransferTrackableHandler {
       return;
     }
 
-    final byte[] payload =
-        readLength == readFileBufferSize
-            ? readBuffer
-            : Arrays.copyOfRange(readBuffer, 0, readLength);
-    final TPipeTransferReq uncompressedReq =
+    // Read the piece into the request body directly
+    final int readLength = (int) Math.min(readFileBufferSize, currentFileLength - position);
+    final PipeTransferFilePieceReq uncompressedReq =
         transferMod
             ? PipeTransferTsFilePieceWithModReq.toTPipeTransferReq(
-                currentFile.getName(), position, payload)
+                currentFile.getName(), position, reader.getChannel(), readLength)
             : PipeTransferTsFilePieceReq.toTPipeTransferReq(
-                currentFile.getName(), position, payload);
+                currentFile.getName(), position, reader.getChannel(), readLength);
+    checksum.update(uncompressedReq.getFilePieceBuffer());
     final TPipeTransferReq req = connector.compressIfNeeded(uncompressedReq);
 
     pipeName2WeightMap.forEach(
@@ -232,6 +242,10 @@ public class PipeTransferTsFileHandler extends PipeTransferTrackableHandler {
     position += readLength;
   }
 
+  private long getChecksum() {
+    return isChecksumKnown ? checksum.getValue() : PipeTransferFileSealReqV2.UNKNOWN_FILE_CHECKSUM;
+  }
+
   @Override
   public void onComplete(final TPipeTransferResp response) {
     try {
@@ -319,7 +333,8 @@ public class PipeTransferTsFileHandler extends PipeTransferTrackableHandler {
 
       if (code == TSStatusCode.PIPE_TRANSFER_FILE_OFFSET_RESET.getStatusCode()) {
         position = resp.getEndWritingOffset();
-        reader.seek(position);
+        // The pieces are not read sequentially any more
+        isChecksumKnown = false;
         LOGGER.info("Redirect file position to {}.", position);
       } else {
         final TSStatus status = response.getStatus();
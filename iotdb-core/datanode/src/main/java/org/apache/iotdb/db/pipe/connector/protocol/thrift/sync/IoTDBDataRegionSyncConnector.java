@@ -30,6 +30,7 @@ import org.apache.iotdb.db.pipe.connector.payload.evolvable.batch.PipeTabletEven
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.batch.PipeTabletEventTsFileBatch;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.batch.PipeTransferBatchReqBuilder;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferPlanNodeReq;
+import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletBatchReqV3;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletBinaryReqV2;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletInsertNodeReqV2;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletRawReqV2;
@@ -66,6 +67,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.NoSuchFileException;
 import java.util.Collections;
 import java.util.List;
@@ -88,7 +90,9 @@ public class IoTDBDataRegionSyncConnector extends IoTDBDataNodeSyncConnector {
 
     // tablet batch mode configuration
     if (isTabletBatchModeEnabled) {
-      tabletBatchBuilder = new PipeTransferBatchReqBuilder(parameters);
+      tabletBatchBuilder =
+          new PipeTransferBatchReqBuilder(
+              parameters, () -> clientManager.supportEncodedTabletBatch());
     }
   }
 
@@ -104,6 +108,21 @@ public class IoTDBDataRegionSyncConnector extends IoTDBDataNodeSyncConnector {
     return PipeTransferTsFilePieceWithModReq.toTPipeTransferReq(fileName, position, payLoad);
   }
 
+  @Override
+  protected PipeTransferFilePieceReq getTransferSingleFilePieceReq(
+      final String fileName, final long position, final FileChannel channel, final int readLength)
+      throws IOException {
+    return PipeTransferTsFilePieceReq.toTPipeTransferReq(fileName, position, channel, readLength);
+  }
+
+  @Override
+  protected PipeTransferFilePieceReq getTransferMultiFilePieceReq(
+      final String fileName, final long position, final FileChannel channel, final int readLength)
+      throws IOException {
+    return PipeTransferTsFilePieceWithModReq.toTPipeTransferReq(
+        fileName, position, channel, readLength);
+  }
+
   @Override
   public void transfer(final TabletInsertionEvent tabletInsertionEvent) throws Exception {
     // PipeProcessor can change the type of TabletInsertionEvent
@@ -266,8 +285,16 @@ public class IoTDBDataRegionSyncConnector extends IoTDBDataNodeSyncConnector {
 
     final TPipeTransferResp resp;
     try {
-      final TPipeTransferReq uncompressedReq = batchToTransfer.toTPipeTransferReq();
-      final long uncompressedSize = uncompressedReq.getBody().length;
+      final TPipeTransferReq uncompressedReq =
+          batchToTransfer.toTPipeTransferReq(clientManager.supportEncodedTabletBatch());
+      final long uncompressedSize;
+      if (uncompressedReq instanceof PipeTransferTabletBatchReqV3) {
+        // The accumulated bytes are counted in the plain layout
+        uncompressedSize = ((PipeTransferTabletBatchReqV3) uncompressedReq).getRawSize();
+        recordTabletBatchEncoding(uncompressedSize, uncompressedReq.getBody().length);
+      } else {
+        uncompressedSize = uncompressedReq.getBody().length;
+      }
 
       final TPipeTransferReq req = compressIfNeeded(uncompressedReq);
       final long compressedSize = req.getBody().length;
@@ -283,8 +310,17 @@ public class IoTDBDataRegionSyncConnector extends IoTDBDataNodeSyncConnector {
             (long) (entry.getValue() * compressionRatio));
       }
 
+      final long startTime = System.currentTimeMillis();
       resp = clientAndStatus.getLeft().pipeTransfer(req);
+      if (Objects.nonNull(batchToTransfer.getAdaptiveBatchController())) {
+        batchToTransfer
+            .getAdaptiveBatchController()
+            .onTransferComplete(System.currentTimeMillis() - startTime, resp.getStatus().getCode());
+      }
     } catch (final Exception e) {
+      if (Objects.nonNull(batchToTransfer.getAdaptiveBatchController())) {
+        batchToTransfer.getAdaptiveBatchController().onTransferBackPressure();
+      }
       clientAndStatus.setRight(false);
       throw new PipeConnectionException(
           String.format("Network error when transfer tablet batch, because %s.", e.getMessage()),
@@ -504,8 +540,10 @@ public class IoTDBDataRegionSyncConnector extends IoTDBDataNodeSyncConnector {
 
     // 1. Transfer tsFile, and mod file if exists and receiver's version >= 2
     if (Objects.nonNull(modFile) && clientManager.supportModsIfIsDataNodeReceiver()) {
-      transferFilePieces(pipeName2WeightMap, modFile, clientAndStatus, true);
-      transferFilePieces(pipeName2WeightMap, tsFile, clientAndStatus, true);
+      final long modFileChecksum =
+          transferFilePieces(pipeName2WeightMap, modFile, clientAndStatus, true);
+      final long tsFileChecksum =
+          transferFilePieces(pipeName2WeightMap, tsFile, clientAndStatus, true);
 
       // 2. Transfer file seal signal with mod, which means the file is transferred completely
       try {
@@ -514,8 +552,10 @@ public class IoTDBDataRegionSyncConnector extends IoTDBDataNodeSyncConnector {
                 PipeTransferTsFileSealWithModReq.toTPipeTransferReq(
                     modFile.getName(),
                     modFile.length(),
+                    modFileChecksum,
                     tsFile.getName(),
                     tsFile.length(),
+                    tsFileChecksum,
                     dataBaseName));
 
         pipeName2WeightMap.forEach(
@@ -535,14 +575,15 @@ public class IoTDBDataRegionSyncConnector extends IoTDBDataNodeSyncConnector {
             e);
       }
     } else {
-      transferFilePieces(pipeName2WeightMap, tsFile, clientAndStatus, false);
+      final long tsFileChecksum =
+          transferFilePieces(pipeName2WeightMap, tsFile, clientAndStatus, false);
 
       // 2. Transfer file seal signal without mod, which means the file is transferred completely
       try {
         final TPipeTransferReq req =
             compressIfNeeded(
                 PipeTransferTsFileSealWithModReq.toTPipeTransferReq(
-                    tsFile.getName(), tsFile.length(), dataBaseName));
+                    tsFile.getName(), tsFile.length(), tsFileChecksum, dataBaseName));
 
         pipeName2WeightMap.forEach(
             (pipePair, weight) ->
@@ -593,6 +634,16 @@ public class IoTDBDataRegionSyncConnector extends IoTDBDataNodeSyncConnector {
     return Objects.nonNull(tabletBatchBuilder) ? tabletBatchBuilder.size() : 0;
   }
 
+  public long getAdaptiveBatchSizeInBytes() {
+    return Objects.nonNull(tabletBatchBuilder)
+        ? tabletBatchBuilder.getAdaptiveBatchSizeInBytes()
+        : 0;
+  }
+
+  public long getAdaptiveBatchDelayInMs() {
+    return Objects.nonNull(tabletBatchBuilder) ? tabletBatchBuilder.getAdaptiveBatchDelayInMs() : 0;
+  }
+
   @Override
   public void close() {
     if (tabletBatchBuilder != null) {
@@ -26,6 +26,7 @@ import org.apache.iotdb.metrics.AbstractMetricService;
 import org.apache.iotdb.metrics.impl.DoNothingMetricManager;
 import org.apache.iotdb.metrics.metricsets.IMetricSet;
 import org.apache.iotdb.metrics.type.Counter;
+import org.apache.iotdb.metrics.type.Histogram;
 import org.apache.iotdb.metrics.type.Timer;
 import org.apache.iotdb.metrics.utils.MetricLevel;
 import org.apache.iotdb.metrics.utils.MetricType;
@@ -40,6 +41,7 @@ public class PipeConsensusConnectorMetrics implements IMetricSet {
   private Timer retryWALTransferTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer retryTsFileTransferTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Counter retryCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+  private Histogram eventsPerTransferHistogram = DoNothingMetricManager.DO_NOTHING_HISTOGRAM;
 
   private static final String CONNECTOR = "pipeConsensusAsyncConnector";
 
@@ -75,11 +77,16 @@ public class PipeConsensusConnectorMetrics implements IMetricSet {
     retryCounter.inc();
   }
 
+  public void recordEventsPerTransfer(int eventNum) {
+    eventsPerTransferHistogram.update(eventNum);
+  }
+
   @Override
   public void bindTo(AbstractMetricService metricService) {
     bindCounter(metricService);
     bindAutoGauge(metricService);
     bindTimer(metricService);
+    bindHistogram(metricService);
   }
 
   @Override
@@ -87,6 +94,7 @@ public class PipeConsensusConnectorMetrics implements IMetricSet {
     unbindCounter(metricService);
     unbindAutoGauge(metricService);
     unbindTimer(metricService);
+    unbindHistogram(metricService);
   }
 
   private void bindCounter(AbstractMetricService metricService) {
@@ -190,6 +198,19 @@ public class PipeConsensusConnectorMetrics implements IMetricSet {
             pipeConsensusAsyncConnector.getConsensusGroupIdStr());
   }
 
+  private void bindHistogram(AbstractMetricService metricService) {
+    eventsPerTransferHistogram =
+        metricService.getOrCreateHistogram(
+            Metric.PIPE_SEND_EVENT.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            CONNECTOR,
+            Tag.TYPE.toString(),
+            "eventsPerTransfer",
+            Tag.REGION.toString(),
+            pipeConsensusAsyncConnector.getConsensusGroupIdStr());
+  }
+
   private void unbindCounter(AbstractMetricService metricService) {
     retryCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
 
@@ -288,4 +309,18 @@ public class PipeConsensusConnectorMetrics implements IMetricSet {
         Tag.REGION.toString(),
         pipeConsensusAsyncConnector.getConsensusGroupIdStr());
   }
+
+  private void unbindHistogram(AbstractMetricService metricService) {
+    eventsPerTransferHistogram = DoNothingMetricManager.DO_NOTHING_HISTOGRAM;
+
+    metricService.remove(
+        MetricType.HISTOGRAM,
+        Metric.PIPE_SEND_EVENT.toString(),
+        Tag.NAME.toString(),
+        CONNECTOR,
+        Tag.TYPE.toString(),
+        "eventsPerTransfer",
+        Tag.REGION.toString(),
+        pipeConsensusAsyncConnector.getConsensusGroupIdStr());
+  }
 }
@@ -115,6 +115,17 @@ public class PipeConsensusReceiverMetrics implements IMetricSet {
         pipeConsensusReceiver.getConsensusGroupIdStr(),
         Tag.TYPE.toString(),
         "receiveBufferSize");
+    metricService.createAutoGauge(
+        Metric.PIPE_RECEIVE_EVENT.toString(),
+        MetricLevel.IMPORTANT,
+        pipeConsensusReceiver,
+        PipeConsensusReceiver::getSkippedReplicateIndexNum,
+        Tag.NAME.toString(),
+        RECEIVER,
+        Tag.REGION.toString(),
+        pipeConsensusReceiver.getConsensusGroupIdStr(),
+        Tag.TYPE.toString(),
+        "skippedReplicateIndexNum");
     metricService.createAutoGauge(
         Metric.PIPE_RECEIVE_EVENT.toString(),
         MetricLevel.IMPORTANT,
@@ -255,6 +266,15 @@ public class PipeConsensusReceiverMetrics implements IMetricSet {
         pipeConsensusReceiver.getConsensusGroupIdStr(),
         Tag.TYPE.toString(),
         "receiveBufferSize");
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.PIPE_RECEIVE_EVENT.toString(),
+        Tag.NAME.toString(),
+        RECEIVER,
+        Tag.REGION.toString(),
+        pipeConsensusReceiver.getConsensusGroupIdStr(),
+        Tag.TYPE.toString(),
+        "skippedReplicateIndexNum");
     metricService.remove(
         MetricType.AUTO_GAUGE,
         Metric.PIPE_RECEIVE_EVENT.toString(),
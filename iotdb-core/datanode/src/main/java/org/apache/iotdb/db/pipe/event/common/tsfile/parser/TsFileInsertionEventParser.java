@@ -31,6 +31,7 @@ import org.apache.iotdb.pipe.api.event.dml.insertion.TabletInsertionEvent;
 import org.apache.tsfile.read.TsFileSequenceReader;
 import org.apache.tsfile.read.expression.impl.GlobalTimeExpression;
 import org.apache.tsfile.read.filter.factory.TimeFilterApi;
+import org.apache.tsfile.write.record.Tablet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -93,6 +94,13 @@ public abstract class TsFileInsertionEventParser implements AutoCloseable {
    */
   public abstract Iterable<TabletInsertionEvent> toTabletInsertionEvents();
 
+  protected void recordParsedTablet(final Tablet tablet) {
+    if (pipeName != null) {
+      PipeTsFileToTabletsMetrics.getInstance()
+          .markTsFileToTabletRows(pipeName + "_" + creationTime, tablet.getRowSize());
+    }
+  }
+
   @Override
   public void close() {
     try {
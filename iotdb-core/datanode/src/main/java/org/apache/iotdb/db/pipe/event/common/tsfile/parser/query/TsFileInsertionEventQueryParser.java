@@ -318,6 +318,7 @@ public class TsFileInsertionEventQueryParser extends TsFileInsertionEventParser
             }
 
             final Tablet tablet = tabletIterator.next();
+            recordParsedTablet(tablet);
             final boolean isAligned =
                 deviceIsAlignedMap.getOrDefault(
                     IDeviceID.Factory.DEFAULT_FACTORY.create(tablet.getDeviceId()), false);
@@ -237,49 +237,71 @@ public class TsFileInsertionEventScanParser extends TsFileInsertionEventParser {
       }
 
       boolean isFirstRow = true;
-      while (data.hasCurrent()) {
-        if (currentIsMultiPage
-            || data.currentTime() >= startTime && data.currentTime() <= endTime) {
-          if (isFirstRow) {
-            // Calculate row count and memory size of the tablet based on the first row
-            Pair<Integer, Integer> rowCountAndMemorySize =
-                PipeMemoryWeightUtil.calculateTabletRowCountAndMemory(data);
-            tablet =
-                new Tablet(
-                    currentDevice.toString(), currentMeasurements, rowCountAndMemorySize.getLeft());
-            tablet.initBitMaps();
-            PipeDataNodeResourceManager.memory()
-                .forceResize(allocatedMemoryBlockForTablet, rowCountAndMemorySize.getRight());
-            isFirstRow = false;
+      while (true) {
+        while (data.hasCurrent()) {
+          if (currentIsMultiPage
+              || data.currentTime() >= startTime && data.currentTime() <= endTime) {
+            if (isFirstRow) {
+              // Calculate row count and memory size of the tablet based on the first row
+              Pair<Integer, Integer> rowCountAndMemorySize =
+                  PipeMemoryWeightUtil.calculateTabletRowCountAndMemory(data);
+              tablet =
+                  new Tablet(
+                      currentDevice.toString(),
+                      currentMeasurements,
+                      rowCountAndMemorySize.getLeft());
+              tablet.initBitMaps();
+              PipeDataNodeResourceManager.memory()
+                  .forceResize(allocatedMemoryBlockForTablet, rowCountAndMemorySize.getRight());
+              isFirstRow = false;
+            }
+
+            final int rowIndex = tablet.getRowSize();
+
+            tablet.addTimestamp(rowIndex, data.currentTime());
+            putValueToColumns(data, tablet, rowIndex);
           }
 
-          final int rowIndex = tablet.getRowSize();
+          data.next();
+          while (!data.hasCurrent() && chunkReader.hasNextSatisfiedPage()) {
+            data = chunkReader.nextPageData();
+          }
 
-          tablet.addTimestamp(rowIndex, data.currentTime());
-          putValueToColumns(data, tablet, rowIndex);
+          if (tablet != null && tablet.getRowSize() == tablet.getMaxRowNumber()) {
+            break;
+          }
         }
 
-        data.next();
-        while (!data.hasCurrent() && chunkReader.hasNextSatisfiedPage()) {
-          data = chunkReader.nextPageData();
+        if (data.hasCurrent()) {
+          break;
         }
 
-        if (tablet != null && tablet.getRowSize() == tablet.getMaxRowNumber()) {
+        if (tablet == null) {
+          tablet = new Tablet(currentDevice.toString(), currentMeasurements, 1);
+          tablet.initBitMaps();
+          // Ignore the memory cost of tablet
+          PipeDataNodeResourceManager.memory().forceResize(allocatedMemoryBlockForTablet, 0);
+          prepareData();
           break;
         }
-      }
-
-      if (tablet == null) {
-        tablet = new Tablet(currentDevice.toString(), currentMeasurements, 1);
-        tablet.initBitMaps();
-        // Ignore the memory cost of tablet
-        PipeDataNodeResourceManager.memory().forceResize(allocatedMemoryBlockForTablet, 0);
-      }
 
-      // Switch chunk reader iff current chunk is all consumed
-      if (!data.hasCurrent()) {
+        // Switch chunk reader iff current chunk is all consumed, and keep filling the tablet if
+        // the next chunk belongs to the same device and measurements, so that small chunks do not
+        // produce small tablets.
+        final IDeviceID lastDevice = currentDevice;
+        final boolean lastIsAligned = currentIsAligned;
+        final List<IMeasurementSchema> lastMeasurements = new ArrayList<>(currentMeasurements);
         prepareData();
+        if (tablet.getRowSize() == tablet.getMaxRowNumber()
+            || Objects.isNull(chunkReader)
+            || lastIsAligned != currentIsAligned
+            || !Objects.equals(lastDevice, currentDevice)
+            || !lastMeasurements.equals(currentMeasurements)) {
+          break;
+        }
       }
+
+      recordParsedTablet(tablet);
       return tablet;
     } catch (final Exception e) {
       close();
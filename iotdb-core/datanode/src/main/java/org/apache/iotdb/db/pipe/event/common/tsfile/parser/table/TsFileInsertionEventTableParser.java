@@ -156,6 +156,7 @@ public class TsFileInsertionEventTableParser extends TsFileInsertionEventParser
             }
 
             final Tablet tablet = tabletIterator.next();
+            recordParsedTablet(tablet);
 
             final TabletInsertionEvent next;
             if (!hasNext()) {
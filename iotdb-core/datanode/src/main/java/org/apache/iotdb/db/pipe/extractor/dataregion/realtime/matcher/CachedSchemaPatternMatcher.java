@@ -19,7 +19,11 @@
 
 package org.apache.iotdb.db.pipe.extractor.dataregion.realtime.matcher;
 
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.pipe.config.PipeConfig;
+import org.apache.iotdb.commons.pipe.datastructure.pattern.IoTDBTreePattern;
+import org.apache.iotdb.commons.pipe.datastructure.pattern.PrefixTreePattern;
 import org.apache.iotdb.commons.pipe.datastructure.pattern.TablePattern;
 import org.apache.iotdb.commons.pipe.datastructure.pattern.TreePattern;
 import org.apache.iotdb.db.pipe.event.common.PipeInsertionEvent;
@@ -39,12 +43,15 @@ import org.apache.tsfile.utils.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static org.apache.tsfile.common.constant.TsFileConstant.PATH_ROOT;
@@ -56,6 +63,9 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
 
   protected static final String TREE_MODEL_EVENT_TABLE_NAME_PREFIX = PATH_ROOT + PATH_SEPARATOR;
 
+  private static final String[] EMPTY_KEY = new String[0];
+  private static final Pattern LITERAL_NAME_PATTERN = Pattern.compile("\\w+");
+
   protected final ReentrantReadWriteLock lock;
   private final AccessControl accessControl = Coordinator.getInstance().getAccessControl();
   protected final Set<PipeRealtimeDataRegionExtractor> extractors;
@@ -64,6 +74,22 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
   protected final Cache<Pair<String, IDeviceID>, Set<PipeRealtimeDataRegionExtractor>>
       databaseAndTableToExtractorsCache;
 
+  // Index the literal prefixes of the registered patterns, so that the candidate extractors of a
+  // device or a table can be found by the path depth instead of checking all the extractors. The
+  // candidates are still checked by their patterns.
+  private final PipePatternTrie<PipeRealtimeDataRegionExtractor> iotdbTreePatternIndex =
+      new PipePatternTrie<>();
+  private final PipePatternTrie<PipeRealtimeDataRegionExtractor> prefixTreePatternIndex =
+      new PipePatternTrie<>();
+  private final PipePatternTrie<PipeRealtimeDataRegionExtractor> tablePatternIndex =
+      new PipePatternTrie<>();
+  private final Set<PipeRealtimeDataRegionExtractor> unindexedTreePatternExtractors =
+      new HashSet<>();
+  private final Map<PipeRealtimeDataRegionExtractor, String[]> extractorToTreePatternKey =
+      new HashMap<>();
+  private final Map<PipeRealtimeDataRegionExtractor, String[]> extractorToTablePatternKey =
+      new HashMap<>();
+
   public CachedSchemaPatternMatcher() {
     this.lock = new ReentrantReadWriteLock();
     // Should be thread-safe because the extractors will be returned by {@link #match} and
@@ -84,7 +110,9 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
   public void register(final PipeRealtimeDataRegionExtractor extractor) {
     lock.writeLock().lock();
     try {
-      extractors.add(extractor);
+      if (extractors.add(extractor)) {
+        addToIndex(extractor);
+      }
       deviceToExtractorsCache.invalidateAll();
       databaseAndTableToExtractorsCache.invalidateAll();
     } finally {
@@ -96,7 +124,9 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
   public void deregister(final PipeRealtimeDataRegionExtractor extractor) {
     lock.writeLock().lock();
     try {
-      extractors.remove(extractor);
+      if (extractors.remove(extractor)) {
+        removeFromIndex(extractor);
+      }
       deviceToExtractorsCache.invalidateAll();
       databaseAndTableToExtractorsCache.invalidateAll();
     } finally {
@@ -104,6 +134,85 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
     }
   }
 
+  private void addToIndex(final PipeRealtimeDataRegionExtractor extractor) {
+    final TreePattern treePattern = extractor.getTreePattern();
+    final String[] treePatternKey = getTreePatternKey(treePattern);
+    if (Objects.isNull(treePatternKey)) {
+      unindexedTreePatternExtractors.add(extractor);
+    } else {
+      extractorToTreePatternKey.put(extractor, treePatternKey);
+      (treePattern instanceof IoTDBTreePattern ? iotdbTreePatternIndex : prefixTreePatternIndex)
+          .add(treePatternKey, extractor);
+    }
+
+    final String[] tablePatternKey = getTablePatternKey(extractor.getTablePattern());
+    extractorToTablePatternKey.put(extractor, tablePatternKey);
+    tablePatternIndex.add(tablePatternKey, extractor);
+  }
+
+  private void removeFromIndex(final PipeRealtimeDataRegionExtractor extractor) {
+    final String[] treePatternKey = extractorToTreePatternKey.remove(extractor);
+    if (Objects.isNull(treePatternKey)) {
+      unindexedTreePatternExtractors.remove(extractor);
+    } else {
+      (extractor.getTreePattern() instanceof IoTDBTreePattern
+              ? iotdbTreePatternIndex
+              : prefixTreePatternIndex)
+          .remove(treePatternKey, extractor);
+    }
+
+    final String[] tablePatternKey = extractorToTablePatternKey.remove(extractor);
+    if (Objects.nonNull(tablePatternKey)) {
+      tablePatternIndex.remove(tablePatternKey, extractor);
+    }
+  }
+
+  /**
+   * Get the nodes that every device overlapping with the pattern must go through.
+   *
+   * @return {@code null} if the pattern can not be indexed
+   */
+  private static String[] getTreePatternKey(final TreePattern treePattern) {
+    if (Objects.isNull(treePattern) || Objects.isNull(treePattern.getPattern())) {
+      return null;
+    }
+
+    if (treePattern instanceof IoTDBTreePattern) {
+      try {
+        final String[] nodes = new PartialPath(treePattern.getPattern()).getNodes();
+        int literalNodeCount = 0;
+        while (literalNodeCount < nodes.length && !nodes[literalNodeCount].contains("*")) {
+          ++literalNodeCount;
+        }
+        return Arrays.copyOf(nodes, literalNodeCount);
+      } catch (final IllegalPathException e) {
+        return null;
+      }
+    }
+
+    if (treePattern instanceof PrefixTreePattern) {
+      // The last node may be partial, for example, "root.db" matches "root.db1"
+      final String[] nodes = splitPrefixPath(treePattern.getPattern());
+      return Arrays.copyOf(nodes, nodes.length - 1);
+    }
+
+    return null;
+  }
+
+  private static String[] getTablePatternKey(final TablePattern tablePattern) {
+    if (Objects.isNull(tablePattern)
+        || !LITERAL_NAME_PATTERN.matcher(tablePattern.getDatabasePattern()).matches()) {
+      return EMPTY_KEY;
+    }
+    return LITERAL_NAME_PATTERN.matcher(tablePattern.getTablePattern()).matches()
+        ? new String[] {tablePattern.getDatabasePattern(), tablePattern.getTablePattern()}
+        : new String[] {tablePattern.getDatabasePattern()};
+  }
+
+  private static String[] splitPrefixPath(final String path) {
+    return path.split("\\.", -1);
+  }
+
   @Override
   public void invalidateCache() {
     lock.writeLock().lock();
@@ -239,7 +348,7 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
   protected Set<PipeRealtimeDataRegionExtractor> filterExtractorsByDevice(final IDeviceID device) {
     final Set<PipeRealtimeDataRegionExtractor> filteredExtractors = new HashSet<>();
 
-    for (final PipeRealtimeDataRegionExtractor extractor : extractors) {
+    for (final PipeRealtimeDataRegionExtractor extractor : getCandidateExtractors(device)) {
       // Return if the extractor only extract deletion
       if (!extractor.shouldExtractInsertion()) {
         continue;
@@ -256,6 +365,24 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
     return filteredExtractors;
   }
 
+  private Set<PipeRealtimeDataRegionExtractor> getCandidateExtractors(final IDeviceID device) {
+    final Set<PipeRealtimeDataRegionExtractor> candidates =
+        new HashSet<>(unindexedTreePatternExtractors);
+
+    if (!iotdbTreePatternIndex.isEmpty()) {
+      try {
+        iotdbTreePatternIndex.collectPrefixesAndExtensions(
+            new PartialPath(device).getNodes(), candidates);
+      } catch (final IllegalPathException e) {
+        return extractors;
+      }
+    }
+    prefixTreePatternIndex.collectStringPrefixesAndExtensions(
+        splitPrefixPath(device.toString()), candidates);
+
+    return candidates;
+  }
+
   protected void matchTableModelEvent(
       final String databaseName,
       final IDeviceID tableName,
@@ -284,7 +411,15 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
       final Pair<String, IDeviceID> databaseNameAndTableName) {
     final Set<PipeRealtimeDataRegionExtractor> filteredExtractors = new HashSet<>();
 
-    for (final PipeRealtimeDataRegionExtractor extractor : extractors) {
+    final Set<PipeRealtimeDataRegionExtractor> candidates = new HashSet<>();
+    tablePatternIndex.collectPrefixes(
+        new String[] {
+          databaseNameAndTableName.getLeft(), databaseNameAndTableName.getRight().getTableName()
+        },
+        2,
+        candidates);
+
+    for (final PipeRealtimeDataRegionExtractor extractor : candidates) {
       // Return if the extractor only extract deletion
       if (!extractor.shouldExtractInsertion()) {
         continue;
@@ -322,6 +457,7 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
   public void clear() {
     lock.writeLock().lock();
     try {
+      extractors.forEach(this::removeFromIndex);
       extractors.clear();
       deviceToExtractorsCache.invalidateAll();
       deviceToExtractorsCache.cleanUp();
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.extractor.dataregion.realtime.matcher;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A prefix trie over path nodes, used to index the literal prefixes of the registered patterns so
+ * that the candidate patterns of a path can be found in time proportional to the path depth instead
+ * of the number of patterns.
+ *
+ * <p>Each value is stored at the node reached by its key, and is also recorded in the subtree sets
+ * of all the nodes along the key, so that the values whose keys extend a given path can be
+ * collected without traversing the subtree.
+ *
+ * <p>This class is not thread-safe, the caller should guard it with a lock.
+ */
+class PipePatternTrie<E> {
+
+  private final Node<E> root = new Node<>();
+
+  void add(final String[] key, final E value) {
+    Node<E> node = root;
+    node.subtreeValues.add(value);
+    for (final String keyNode : key) {
+      node = node.children.computeIfAbsent(keyNode, k -> new Node<>());
+      node.subtreeValues.add(value);
+    }
+    node.values.add(value);
+  }
+
+  void remove(final String[] key, final E value) {
+    remove(root, key, 0, value);
+  }
+
+  private boolean remove(final Node<E> node, final String[] key, final int depth, final E value) {
+    node.subtreeValues.remove(value);
+    if (depth == key.length) {
+      node.values.remove(value);
+    } else {
+      final Node<E> child = node.children.get(key[depth]);
+      if (child != null && remove(child, key, depth + 1, value)) {
+        node.children.remove(key[depth]);
+      }
+    }
+    return node.subtreeValues.isEmpty();
+  }
+
+  /**
+   * Collect the values whose keys are node-prefixes of the path, and the values whose keys extend
+   * the path.
+   */
+  void collectPrefixesAndExtensions(final String[] path, final Set<E> result) {
+    final Node<E> node = collectPrefixes(path, path.length, result);
+    if (node != null) {
+      result.addAll(node.subtreeValues);
+    }
+  }
+
+  /**
+   * Collect the values whose keys are node-prefixes of the path without its last node, and the
+   * values whose keys extend the path without its last node by a node starting with the last node.
+   * This is used for string prefix patterns, whose last node may be partial.
+   */
+  void collectStringPrefixesAndExtensions(final String[] path, final Set<E> result) {
+    if (path.length == 0) {
+      result.addAll(root.subtreeValues);
+      return;
+    }
+
+    final Node<E> node = collectPrefixes(path, path.length - 1, result);
+    if (node == null) {
+      return;
+    }
+    final String lastNode = path[path.length - 1];
+    for (final Node<E> child :
+        node.children.subMap(lastNode, true, lastNode + Character.MAX_VALUE, true).values()) {
+      result.addAll(child.subtreeValues);
+    }
+  }
+
+  /**
+   * Collect the values whose keys are node-prefixes of the first {@code length} nodes of the path.
+   *
+   * @return the node reached by the first {@code length} nodes of the path, or {@code null} if
+   *     there is no such node
+   */
+  Node<E> collectPrefixes(final String[] path, final int length, final Set<E> result) {
+    Node<E> node = root;
+    result.addAll(node.values);
+    for (int i = 0; i < length; ++i) {
+      node = node.children.get(path[i]);
+      if (node == null) {
+        return null;
+      }
+      result.addAll(node.values);
+    }
+    return node;
+  }
+
+  boolean isEmpty() {
+    return root.subtreeValues.isEmpty();
+  }
+
+  static class Node<E> {
+
+    private final TreeMap<String, Node<E>> children = new TreeMap<>();
+    private final Set<E> values = new HashSet<>();
+    private final Set<E> subtreeValues = new HashSet<>();
+  }
+}
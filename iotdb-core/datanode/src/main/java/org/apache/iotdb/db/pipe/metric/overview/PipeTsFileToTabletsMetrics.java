@@ -48,6 +48,7 @@ public class PipeTsFileToTabletsMetrics implements IMetricSet {
   private final ConcurrentSkipListSet<String> pipe = new ConcurrentSkipListSet<>();
   private final Map<String, Timer> pipeTimerMap = new ConcurrentHashMap<>();
   private final Map<String, Rate> pipeRateMap = new ConcurrentHashMap<>();
+  private final Map<String, Rate> pipeRowRateMap = new ConcurrentHashMap<>();
 
   //////////////////////////// bindTo & unbindFrom (metric framework) ////////////////////////////
 
@@ -72,6 +73,13 @@ public class PipeTsFileToTabletsMetrics implements IMetricSet {
             MetricLevel.IMPORTANT,
             Tag.NAME.toString(),
             pipeID));
+    pipeRowRateMap.putIfAbsent(
+        pipeID,
+        metricService.getOrCreateRate(
+            Metric.PIPE_TSFILE_TO_TABLETS_ROW_RATE.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            pipeID));
   }
 
   @Override
@@ -98,6 +106,13 @@ public class PipeTsFileToTabletsMetrics implements IMetricSet {
         Tag.NAME.toString(),
         pipeID);
     pipeRateMap.remove(pipeID);
+
+    metricService.remove(
+        MetricType.RATE,
+        Metric.PIPE_TSFILE_TO_TABLETS_ROW_RATE.toString(),
+        Tag.NAME.toString(),
+        pipeID);
+    pipeRowRateMap.remove(pipeID);
   }
 
   //////////////////////////// register & deregister ////////////////////////////
@@ -140,6 +155,18 @@ public class PipeTsFileToTabletsMetrics implements IMetricSet {
     rate.mark();
   }
 
+  public void markTsFileToTabletRows(final String taskID, final int rowCount) {
+    if (Objects.isNull(metricService)) {
+      return;
+    }
+    final Rate rate = pipeRowRateMap.get(taskID);
+    if (rate == null) {
+      LOGGER.info("Failed to mark pipe tsfile to tablets rows, pipeID({}) does not exist", taskID);
+      return;
+    }
+    rate.mark(rowCount);
+  }
+
   public void recordTsFileToTabletTime(final String taskID, long costTimeInNanos) {
     if (Objects.isNull(metricService)) {
       return;
@@ -28,6 +28,8 @@ import org.apache.iotdb.metrics.type.Timer;
 import org.apache.iotdb.metrics.utils.MetricLevel;
 import org.apache.iotdb.metrics.utils.MetricType;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class PipeDataNodeReceiverMetrics implements IMetricSet {
 
   private static final PipeDataNodeReceiverMetrics INSTANCE = new PipeDataNodeReceiverMetrics();
@@ -42,6 +44,7 @@ public class PipeDataNodeReceiverMetrics implements IMetricSet {
   private Timer transferTabletBinaryV2Timer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer transferTabletBatchTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer transferTabletBatchV2Timer = DoNothingMetricManager.DO_NOTHING_TIMER;
+  private Timer transferTabletBatchV3Timer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer transferTsFilePieceTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer transferTsFileSealTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer transferTsFilePieceWithModTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
@@ -52,6 +55,10 @@ public class PipeDataNodeReceiverMetrics implements IMetricSet {
   private Timer transferConfigPlanTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer transferCompressedTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer transferSliceTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+  private Timer parallelApplyPartitionTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+
+  // partitions of batch requests submitted to the parallel apply pool but not finished yet
+  private final AtomicInteger parallelApplyQueueDepth = new AtomicInteger(0);
 
   private static final String RECEIVER = "pipeDataNodeReceiver";
 
@@ -97,6 +104,10 @@ public class PipeDataNodeReceiverMetrics implements IMetricSet {
     transferTabletBatchV2Timer.updateNanos(costTimeInNanos);
   }
 
+  public void recordTransferTabletBatchV3Timer(final long costTimeInNanos) {
+    transferTabletBatchV3Timer.updateNanos(costTimeInNanos);
+  }
+
   public void recordTransferTsFilePieceTimer(final long costTimeInNanos) {
     transferTsFilePieceTimer.updateNanos(costTimeInNanos);
   }
@@ -137,9 +148,36 @@ public class PipeDataNodeReceiverMetrics implements IMetricSet {
     transferSliceTimer.updateNanos(costTimeInNanos);
   }
 
+  public void recordParallelApplyPartitionTimer(final long costTimeInNanos) {
+    parallelApplyPartitionTimer.updateNanos(costTimeInNanos);
+  }
+
+  public void increaseParallelApplyQueueDepth(final int delta) {
+    parallelApplyQueueDepth.addAndGet(delta);
+  }
+
+  public void decreaseParallelApplyQueueDepth() {
+    parallelApplyQueueDepth.decrementAndGet();
+  }
+
+  public int getParallelApplyQueueDepth() {
+    return parallelApplyQueueDepth.get();
+  }
+
   @Override
   public void bindTo(final AbstractMetricService metricService) {
     bindToTimer(metricService);
+    bindToGauge(metricService);
+  }
+
+  private void bindToGauge(final AbstractMetricService metricService) {
+    metricService.createAutoGauge(
+        Metric.PIPE_DATANODE_RECEIVER_PARALLEL_APPLY_QUEUE_DEPTH.toString(),
+        MetricLevel.IMPORTANT,
+        this,
+        PipeDataNodeReceiverMetrics::getParallelApplyQueueDepth,
+        Tag.NAME.toString(),
+        RECEIVER);
   }
 
   private void bindToTimer(final AbstractMetricService metricService) {
@@ -223,6 +261,14 @@ public class PipeDataNodeReceiverMetrics implements IMetricSet {
             RECEIVER,
             Tag.TYPE.toString(),
             "transferTabletBatchV2");
+    transferTabletBatchV3Timer =
+        metricService.getOrCreateTimer(
+            Metric.PIPE_DATANODE_RECEIVER.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            RECEIVER,
+            Tag.TYPE.toString(),
+            "transferTabletBatchV3");
     transferTsFilePieceTimer =
         metricService.getOrCreateTimer(
             Metric.PIPE_DATANODE_RECEIVER.toString(),
@@ -303,6 +349,14 @@ public class PipeDataNodeReceiverMetrics implements IMetricSet {
             RECEIVER,
             Tag.TYPE.toString(),
             "transferSlice");
+    parallelApplyPartitionTimer =
+        metricService.getOrCreateTimer(
+            Metric.PIPE_DATANODE_RECEIVER.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            RECEIVER,
+            Tag.TYPE.toString(),
+            "parallelApplyPartition");
   }
 
   @Override
@@ -321,6 +375,7 @@ public class PipeDataNodeReceiverMetrics implements IMetricSet {
     transferTabletBinaryV2Timer = DoNothingMetricManager.DO_NOTHING_TIMER;
     transferTabletBatchTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     transferTabletBatchV2Timer = DoNothingMetricManager.DO_NOTHING_TIMER;
+    transferTabletBatchV3Timer = DoNothingMetricManager.DO_NOTHING_TIMER;
     transferTsFilePieceTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     transferTsFileSealTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     transferTsFilePieceWithModTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
@@ -331,6 +386,7 @@ public class PipeDataNodeReceiverMetrics implements IMetricSet {
     transferConfigPlanTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     transferCompressedTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     transferSliceTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+    parallelApplyPartitionTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
 
     metricService.remove(
         MetricType.TIMER,
@@ -402,6 +458,13 @@ public class PipeDataNodeReceiverMetrics implements IMetricSet {
         RECEIVER,
         Tag.TYPE.toString(),
         "transferTabletBatchV2");
+    metricService.remove(
+        MetricType.TIMER,
+        Metric.PIPE_DATANODE_RECEIVER.toString(),
+        Tag.NAME.toString(),
+        RECEIVER,
+        Tag.TYPE.toString(),
+        "transferTabletBatchV3");
     metricService.remove(
         MetricType.TIMER,
         Metric.PIPE_DATANODE_RECEIVER.toString(),
@@ -472,6 +535,18 @@ public class PipeDataNodeReceiverMetrics implements IMetricSet {
         RECEIVER,
         Tag.TYPE.toString(),
         "transferSlice");
+    metricService.remove(
+        MetricType.TIMER,
+        Metric.PIPE_DATANODE_RECEIVER.toString(),
+        Tag.NAME.toString(),
+        RECEIVER,
+        Tag.TYPE.toString(),
+        "parallelApplyPartition");
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.PIPE_DATANODE_RECEIVER_PARALLEL_APPLY_QUEUE_DEPTH.toString(),
+        Tag.NAME.toString(),
+        RECEIVER);
   }
 
   public static PipeDataNodeReceiverMetrics getInstance() {
@@ -57,6 +57,8 @@ public class PipeDataRegionConnectorMetrics implements IMetricSet {
 
   private final Map<String, Timer> compressionTimerMap = new ConcurrentHashMap<>();
 
+  private final Map<String, Timer> scheduleLatencyTimerMap = new ConcurrentHashMap<>();
+
   //////////////////////////// bindTo & unbindFrom (metric framework) ////////////////////////////
 
   @Override
@@ -145,6 +147,28 @@ public class PipeDataRegionConnectorMetrics implements IMetricSet {
         String.valueOf(connector.getConnectorIndex()),
         Tag.CREATION_TIME.toString(),
         String.valueOf(connector.getCreationTime()));
+    metricService.createAutoGauge(
+        Metric.PIPE_CONNECTOR_ADAPTIVE_BATCH_SIZE.toString(),
+        MetricLevel.IMPORTANT,
+        connector,
+        PipeConnectorSubtask::getAdaptiveBatchSizeInBytes,
+        Tag.NAME.toString(),
+        connector.getAttributeSortedString(),
+        Tag.INDEX.toString(),
+        String.valueOf(connector.getConnectorIndex()),
+        Tag.CREATION_TIME.toString(),
+        String.valueOf(connector.getCreationTime()));
+    metricService.createAutoGauge(
+        Metric.PIPE_CONNECTOR_ADAPTIVE_BATCH_DELAY.toString(),
+        MetricLevel.IMPORTANT,
+        connector,
+        PipeConnectorSubtask::getAdaptiveBatchDelayInMs,
+        Tag.NAME.toString(),
+        connector.getAttributeSortedString(),
+        Tag.INDEX.toString(),
+        String.valueOf(connector.getConnectorIndex()),
+        Tag.CREATION_TIME.toString(),
+        String.valueOf(connector.getCreationTime()));
     metricService.createAutoGauge(
         Metric.PIPE_TOTAL_UNCOMPRESSED_SIZE.toString(),
         MetricLevel.IMPORTANT,
@@ -167,6 +191,28 @@ public class PipeDataRegionConnectorMetrics implements IMetricSet {
         String.valueOf(connector.getConnectorIndex()),
         Tag.CREATION_TIME.toString(),
         String.valueOf(connector.getCreationTime()));
+    metricService.createAutoGauge(
+        Metric.PIPE_TOTAL_TABLET_BATCH_RAW_SIZE.toString(),
+        MetricLevel.IMPORTANT,
+        connector,
+        PipeConnectorSubtask::getTotalTabletBatchRawSize,
+        Tag.NAME.toString(),
+        connector.getAttributeSortedString(),
+        Tag.INDEX.toString(),
+        String.valueOf(connector.getConnectorIndex()),
+        Tag.CREATION_TIME.toString(),
+        String.valueOf(connector.getCreationTime()));
+    metricService.createAutoGauge(
+        Metric.PIPE_TOTAL_TABLET_BATCH_ENCODED_SIZE.toString(),
+        MetricLevel.IMPORTANT,
+        connector,
+        PipeConnectorSubtask::getTotalTabletBatchEncodedSize,
+        Tag.NAME.toString(),
+        connector.getAttributeSortedString(),
+        Tag.INDEX.toString(),
+        String.valueOf(connector.getConnectorIndex()),
+        Tag.CREATION_TIME.toString(),
+        String.valueOf(connector.getCreationTime()));
   }
 
   private void createRate(final String taskID) {
@@ -218,6 +264,17 @@ public class PipeDataRegionConnectorMetrics implements IMetricSet {
             connector.getAttributeSortedString(),
             Tag.CREATION_TIME.toString(),
             String.valueOf(connector.getCreationTime())));
+    scheduleLatencyTimerMap.putIfAbsent(
+        taskID,
+        metricService.getOrCreateTimer(
+            Metric.PIPE_CONNECTOR_SCHEDULE_LATENCY.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            connector.getAttributeSortedString(),
+            Tag.INDEX.toString(),
+            String.valueOf(connector.getConnectorIndex()),
+            Tag.CREATION_TIME.toString(),
+            String.valueOf(connector.getCreationTime())));
   }
 
   @Override
@@ -297,6 +354,24 @@ public class PipeDataRegionConnectorMetrics implements IMetricSet {
         String.valueOf(connector.getConnectorIndex()),
         Tag.CREATION_TIME.toString(),
         String.valueOf(connector.getCreationTime()));
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.PIPE_CONNECTOR_ADAPTIVE_BATCH_SIZE.toString(),
+        Tag.NAME.toString(),
+        connector.getAttributeSortedString(),
+        Tag.INDEX.toString(),
+        String.valueOf(connector.getConnectorIndex()),
+        Tag.CREATION_TIME.toString(),
+        String.valueOf(connector.getCreationTime()));
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.PIPE_CONNECTOR_ADAPTIVE_BATCH_DELAY.toString(),
+        Tag.NAME.toString(),
+        connector.getAttributeSortedString(),
+        Tag.INDEX.toString(),
+        String.valueOf(connector.getConnectorIndex()),
+        Tag.CREATION_TIME.toString(),
+        String.valueOf(connector.getCreationTime()));
     metricService.remove(
         MetricType.AUTO_GAUGE,
         Metric.PIPE_TOTAL_UNCOMPRESSED_SIZE.toString(),
@@ -315,6 +390,24 @@ public class PipeDataRegionConnectorMetrics implements IMetricSet {
         String.valueOf(connector.getConnectorIndex()),
         Tag.CREATION_TIME.toString(),
         String.valueOf(connector.getCreationTime()));
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.PIPE_TOTAL_TABLET_BATCH_RAW_SIZE.toString(),
+        Tag.NAME.toString(),
+        connector.getAttributeSortedString(),
+        Tag.INDEX.toString(),
+        String.valueOf(connector.getConnectorIndex()),
+        Tag.CREATION_TIME.toString(),
+        String.valueOf(connector.getCreationTime()));
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.PIPE_TOTAL_TABLET_BATCH_ENCODED_SIZE.toString(),
+        Tag.NAME.toString(),
+        connector.getAttributeSortedString(),
+        Tag.INDEX.toString(),
+        String.valueOf(connector.getConnectorIndex()),
+        Tag.CREATION_TIME.toString(),
+        String.valueOf(connector.getCreationTime()));
   }
 
   private void removeRate(final String taskID) {
@@ -362,6 +455,16 @@ public class PipeDataRegionConnectorMetrics implements IMetricSet {
         Tag.CREATION_TIME.toString(),
         String.valueOf(connector.getCreationTime()));
     compressionTimerMap.remove(connector.getAttributeSortedString());
+    metricService.remove(
+        MetricType.TIMER,
+        Metric.PIPE_CONNECTOR_SCHEDULE_LATENCY.toString(),
+        Tag.NAME.toString(),
+        connector.getAttributeSortedString(),
+        Tag.INDEX.toString(),
+        String.valueOf(connector.getConnectorIndex()),
+        Tag.CREATION_TIME.toString(),
+        String.valueOf(connector.getCreationTime()));
+    scheduleLatencyTimerMap.remove(taskID);
   }
 
   //////////////////////////// register & deregister (pipe integration) ////////////////////////////
@@ -427,6 +530,18 @@ public class PipeDataRegionConnectorMetrics implements IMetricSet {
     rate.mark();
   }
 
+  public void updateScheduleLatency(final String taskID, final long latencyInNanos) {
+    if (Objects.isNull(metricService)) {
+      return;
+    }
+    final Timer timer = scheduleLatencyTimerMap.get(taskID);
+    if (timer == null) {
+      // Do not warn for the schema region connectors
+      return;
+    }
+    timer.updateNanos(latencyInNanos);
+  }
+
   public Timer getCompressionTimer(final String attributeSortedString) {
     return Objects.isNull(metricService) ? null : compressionTimerMap.get(attributeSortedString);
   }
@@ -42,8 +42,11 @@ import org.apache.iotdb.db.pipe.processor.aggregate.operator.intermediateresult.
 import org.apache.iotdb.db.pipe.processor.aggregate.operator.processor.AbstractOperatorProcessor;
 import org.apache.iotdb.db.pipe.processor.aggregate.window.datastructure.WindowOutput;
 import org.apache.iotdb.db.pipe.processor.aggregate.window.processor.AbstractWindowingProcessor;
+import org.apache.iotdb.db.pipe.resource.PipeDataNodeResourceManager;
+import org.apache.iotdb.db.pipe.resource.memory.PipeMemoryBlock;
 import org.apache.iotdb.db.queryengine.transformation.dag.udf.UDFParametersFactory;
 import org.apache.iotdb.db.storageengine.StorageEngine;
+import org.apache.iotdb.db.utils.MemUtils;
 import org.apache.iotdb.pipe.api.PipeProcessor;
 import org.apache.iotdb.pipe.api.access.Row;
 import org.apache.iotdb.pipe.api.annotation.TreeModel;
@@ -65,6 +68,8 @@ import org.apache.tsfile.utils.Binary;
 import org.apache.tsfile.utils.BitMap;
 import org.apache.tsfile.utils.Pair;
 import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -108,8 +113,14 @@ import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstan
  */
 @TreeModel
 public class AggregateProcessor implements PipeProcessor {
+  private static final Logger LOGGER = LoggerFactory.getLogger(AggregateProcessor.class);
+
   private static final String WINDOWING_PROCESSOR_SUFFIX = "-windowing-processor";
 
+  // The memory block of the window states is resized only if the accounted size drifts more than
+  // this value, to avoid contending on the memory manager for every tablet
+  private static final long STATE_MEMORY_RESIZE_THRESHOLD_IN_BYTES = 64 * 1024L;
+
   private String pipeName;
   private String databaseWithPathSeparator;
   private PipeTaskMeta pipeTaskMeta;
@@ -128,6 +139,12 @@ public class AggregateProcessor implements PipeProcessor {
   private static final ConcurrentMap<
           String, ConcurrentMap<String, AtomicReference<TimeSeriesRuntimeState>>>
       pipeName2timeSeries2TimeSeriesRuntimeStateMap = new ConcurrentHashMap<>();
+  // The window states of a pipe are accounted against the PipeMemoryManager by the estimated
+  // in-memory size of the opening windows
+  private static final Map<String, AtomicLong> pipeName2StateSizeInBytesMap =
+      new ConcurrentHashMap<>();
+  private static final Map<String, PipeMemoryBlock> pipeName2StateMemoryBlockMap =
+      new ConcurrentHashMap<>();
 
   private AbstractWindowingProcessor windowingProcessor;
   private final List<AbstractOperatorProcessor> operatorProcessors = new ArrayList<>();
@@ -199,6 +216,9 @@ public class AggregateProcessor implements PipeProcessor {
     pipeName2referenceCountMap.compute(
         pipeName, (name, count) -> Objects.nonNull(count) ? count + 1 : 1);
     pipeName2timeSeries2TimeSeriesRuntimeStateMap.putIfAbsent(pipeName, new ConcurrentHashMap<>());
+    pipeName2StateSizeInBytesMap.putIfAbsent(pipeName, new AtomicLong(0));
+    pipeName2StateMemoryBlockMap.computeIfAbsent(
+        pipeName, name -> PipeDataNodeResourceManager.memory().forceAllocate(0));
 
     databaseWithPathSeparator =
         StorageEngine.getInstance()
@@ -356,23 +376,66 @@ public class AggregateProcessor implements PipeProcessor {
       final AtomicReference<TimeSeriesRuntimeState> stateReference =
           pipeName2timeSeries2TimeSeriesRuntimeStateMap
               .get(pipeName)
-              .computeIfAbsent(
-                  entry.getKey(),
-                  key ->
-                      new AtomicReference<>(
-                          new TimeSeriesRuntimeState(
-                              outputName2OperatorMap,
-                              intermediateResultName2OperatorSupplierMap,
-                              systemParameters,
-                              windowingProcessor)));
+              .computeIfAbsent(entry.getKey(), this::constructTimeSeriesRuntimeState);
       synchronized (stateReference) {
+        final TimeSeriesRuntimeState state = stateReference.get();
+        final long previousStateSize = state.getStateSizeInBytes();
         try {
-          stateReference.get().restoreTimestampAndWindows(entry.getValue());
+          state.restoreTimestampAndWindows(entry.getValue());
         } catch (final IOException e) {
           throw new PipeException("Encountered exception when deserializing from PipeTaskMeta", e);
         }
+        accountStateSize(state.getStateSizeInBytes() - previousStateSize);
       }
     }
+    resizeStateMemoryBlockIfNecessary(true);
+  }
+
+  private AtomicReference<TimeSeriesRuntimeState> constructTimeSeriesRuntimeState(
+      final String timeSeries) {
+    accountStateSize(MemUtils.getStringMem(timeSeries));
+    return new AtomicReference<>(
+        new TimeSeriesRuntimeState(
+            outputName2OperatorMap,
+            intermediateResultName2OperatorSupplierMap,
+            systemParameters,
+            windowingProcessor));
+  }
+
+  private void accountStateSize(final long deltaInBytes) {
+    if (deltaInBytes == 0) {
+      return;
+    }
+    final AtomicLong stateSize = pipeName2StateSizeInBytesMap.get(pipeName);
+    if (Objects.nonNull(stateSize)) {
+      stateSize.addAndGet(deltaInBytes);
+    }
+  }
+
+  private void resizeStateMemoryBlockIfNecessary(final boolean force) {
+    final AtomicLong stateSize = pipeName2StateSizeInBytesMap.get(pipeName);
+    final PipeMemoryBlock block = pipeName2StateMemoryBlockMap.get(pipeName);
+    if (Objects.isNull(stateSize) || Objects.isNull(block)) {
+      return;
+    }
+    final long targetSize = Math.max(stateSize.get(), 0);
+    final long currentSize = block.getMemoryUsageInBytes();
+    if (targetSize == currentSize
+        || !force && Math.abs(targetSize - currentSize) < STATE_MEMORY_RESIZE_THRESHOLD_IN_BYTES) {
+      return;
+    }
+    try {
+      PipeDataNodeResourceManager.memory().forceResize(block, targetSize);
+    } catch (final Exception e) {
+      // The window states can not be dropped, so only log the failure and retry at the next
+      // resize, instead of failing the pipe
+      LOGGER.warn(
+          "Failed to resize the memory block of the window states of pipe {} from {} to {} bytes.",
+          pipeName,
+          currentSize,
+          targetSize,
+          e);
+    }
   }
 
   @Override
@@ -405,6 +468,7 @@ public class AggregateProcessor implements PipeProcessor {
 
     // Must reset progressIndex before collection
     ((EnrichedEvent) tabletInsertionEvent).bindProgressIndex(progressIndex[0]);
+    resizeStateMemoryBlockIfNecessary(false);
 
     outputEvents.forEach(
         event -> {
@@ -444,19 +508,12 @@ public class AggregateProcessor implements PipeProcessor {
       final AtomicReference<TimeSeriesRuntimeState> stateReference =
           pipeName2timeSeries2TimeSeriesRuntimeStateMap
               .get(pipeName)
-              .computeIfAbsent(
-                  timeSeries,
-                  key ->
-                      new AtomicReference<>(
-                          new TimeSeriesRuntimeState(
-                              outputName2OperatorMap,
-                              intermediateResultName2OperatorSupplierMap,
-                              systemParameters,
-                              windowingProcessor)));
+              .computeIfAbsent(timeSeries, this::constructTimeSeriesRuntimeState);
 
       final Pair<List<WindowOutput>, Pair<Long, ByteBuffer>> result;
       synchronized (stateReference) {
         final TimeSeriesRuntimeState state = stateReference.get();
+        final long previousStateSize = state.getStateSizeInBytes();
         try {
           switch (row.getDataType(index)) {
             case BOOLEAN:
@@ -514,6 +571,7 @@ public class AggregateProcessor implements PipeProcessor {
         } catch (final IOException | UnsupportedOperationException e) {
           exception.set(e);
         }
+        accountStateSize(state.getStateSizeInBytes() - previousStateSize);
       }
     }
     return resultMap;
@@ -557,6 +615,8 @@ public class AggregateProcessor implements PipeProcessor {
 
   @Override
   public void process(final Event event, final EventCollector eventCollector) throws Exception {
+    resizeStateMemoryBlockIfNecessary(true);
+
     final AtomicLong lastReceiveTime =
         pipeName2LastValueReceiveTimeMap.computeIfAbsent(
             pipeName, key -> new AtomicLong(System.currentTimeMillis()));
@@ -845,6 +905,11 @@ public class AggregateProcessor implements PipeProcessor {
       pipeName2timeSeries2TimeSeriesRuntimeStateMap.get(pipeName).clear();
       pipeName2timeSeries2TimeSeriesRuntimeStateMap.remove(pipeName);
       pipeName2LastValueReceiveTimeMap.remove(pipeName);
+      pipeName2StateSizeInBytesMap.remove(pipeName);
+      final PipeMemoryBlock block = pipeName2StateMemoryBlockMap.remove(pipeName);
+      if (Objects.nonNull(block)) {
+        block.close();
+      }
     }
     if (Objects.nonNull(windowingProcessor)) {
       windowingProcessor.close();
@@ -29,6 +29,7 @@ import org.apache.iotdb.pipe.api.type.Binary;
 
 import org.apache.tsfile.utils.Pair;
 import org.apache.tsfile.utils.PublicBAOS;
+import org.apache.tsfile.utils.RamUsageEstimator;
 import org.apache.tsfile.utils.ReadWriteIOUtils;
 
 import java.io.DataOutputStream;
@@ -443,6 +444,15 @@ public class TimeSeriesRuntimeState {
     return output;
   }
 
+  /** Estimate the in-memory size of the opening windows, used for memory accounting. */
+  public long getStateSizeInBytes() {
+    long size = (long) RamUsageEstimator.NUM_BYTES_OBJECT_REF * currentOpeningWindows.size();
+    for (final TimeSeriesWindow window : currentOpeningWindows) {
+      size += window.ramBytesUsed();
+    }
+    return size;
+  }
+
   public List<WindowOutput> forceOutput() {
     return currentOpeningWindows.stream()
         .map(TimeSeriesWindow::forceOutput)
@@ -482,7 +492,12 @@ public class TimeSeriesRuntimeState {
       return;
     }
     this.lastReportTimeStamp = timestampWindowBufferPair.getLeft();
-    final ByteBuffer buffer = timestampWindowBufferPair.getRight();
+    if (Objects.isNull(timestampWindowBufferPair.getRight())) {
+      // All the windows were closed at the last report
+      return;
+    }
+    // Do not move the position of the buffer shared by the progress index
+    final ByteBuffer buffer = timestampWindowBufferPair.getRight().duplicate();
     final int size = ReadWriteIOUtils.readInt(buffer);
     for (int i = 0; i < size; ++i) {
       // The runtime value will be deserialized if exists
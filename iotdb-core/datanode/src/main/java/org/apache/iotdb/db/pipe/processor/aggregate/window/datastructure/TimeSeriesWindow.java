@@ -27,6 +27,7 @@ import org.apache.iotdb.pipe.api.type.Binary;
 
 import org.apache.tsfile.enums.TSDataType;
 import org.apache.tsfile.utils.Pair;
+import org.apache.tsfile.utils.RamUsageEstimator;
 import org.apache.tsfile.utils.ReadWriteIOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,6 +47,13 @@ import java.util.stream.Collectors;
 public class TimeSeriesWindow {
   private static final Logger LOGGER = LoggerFactory.getLogger(TimeSeriesWindow.class);
 
+  private static final long INSTANCE_SIZE =
+      RamUsageEstimator.shallowSizeOfInstance(TimeSeriesWindow.class);
+  private static final long HASH_MAP_INSTANCE_SIZE =
+      RamUsageEstimator.shallowSizeOfInstance(HashMap.class);
+  private static final long PAIR_INSTANCE_SIZE =
+      RamUsageEstimator.shallowSizeOfInstance(Pair.class);
+
   // A window is typically with a timestamp. We define it here to avoid
   // boxing/unboxing and simplify the logics.
   private long timestamp = 0;
@@ -82,6 +90,28 @@ public class TimeSeriesWindow {
     this.customizedRuntimeValue = customizedRuntimeValue;
   }
 
+  /**
+   * Estimate the in-memory size of the window. The operator names, the aggregated result operators
+   * and the processor are shared by all the windows and not counted.
+   */
+  public long ramBytesUsed() {
+    long size = INSTANCE_SIZE + HASH_MAP_INSTANCE_SIZE;
+    for (final Pair<TSDataType, IntermediateResultOperator> typeAndOperator :
+        intermediateResultName2tsTypeAndOperatorMap.values()) {
+      size +=
+          RamUsageEstimator.HASHTABLE_RAM_BYTES_PER_ENTRY
+              + PAIR_INSTANCE_SIZE
+              + RamUsageEstimator.shallowSizeOf(typeAndOperator.getRight());
+    }
+    if (Objects.nonNull(aggregatedOutputName2OperatorMap)) {
+      size +=
+          HASH_MAP_INSTANCE_SIZE
+              + RamUsageEstimator.HASHTABLE_RAM_BYTES_PER_ENTRY
+                  * aggregatedOutputName2OperatorMap.size();
+    }
+    return size + RamUsageEstimator.sizeOfObject(customizedRuntimeValue);
+  }
+
   /////////////////////////////// Calculation ///////////////////////////////
 
   public void initWindow(
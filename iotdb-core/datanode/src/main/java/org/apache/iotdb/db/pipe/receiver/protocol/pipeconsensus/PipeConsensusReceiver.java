@@ -40,6 +40,9 @@ import org.apache.iotdb.consensus.pipe.PipeConsensus;
 import org.apache.iotdb.consensus.pipe.PipeConsensusServerImpl;
 import org.apache.iotdb.consensus.pipe.consensuspipe.ConsensusPipeName;
 import org.apache.iotdb.consensus.pipe.thrift.TCommitId;
+import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusAck;
+import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusBatchTransferReq;
+import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusBatchTransferResp;
 import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusTransferReq;
 import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusTransferResp;
 import org.apache.iotdb.db.conf.IoTDBConfig;
@@ -79,6 +82,7 @@ import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -210,6 +214,45 @@ public class PipeConsensusReceiver {
     return new TPipeConsensusTransferResp(status);
   }
 
+  /**
+   * Receive a batch of tablet requests sent by the consensus pipe. The requests are applied in the
+   * order of their replicate indexes, and the response carries a cumulative acknowledgement so that
+   * the sender can release all acknowledged events at once.
+   */
+  public TPipeConsensusBatchTransferResp receiveBatch(final TPipeConsensusBatchTransferReq req) {
+    final long startNanos = System.nanoTime();
+    final List<TPipeConsensusTransferReq> reqs = req.getBatchReqs();
+    // Only tablets are batched by the sender, other requests still need the dedicated handling in
+    // receive()
+    if (!reqs.stream().allMatch(PipeConsensusReceiver::isBatchableRequest)) {
+      return new TPipeConsensusBatchTransferResp(
+          reqs.stream().map(this::receive).collect(Collectors.toList()));
+    }
+
+    final TPipeConsensusTransferResp preCheckResp = preCheckForReceiver(reqs.get(0));
+    if (preCheckResp != null) {
+      return new TPipeConsensusBatchTransferResp(Collections.nCopies(reqs.size(), preCheckResp));
+    }
+
+    final TPipeConsensusBatchTransferResp resp = requestExecutor.onBatchRequest(reqs);
+    pipeConsensusReceiverMetrics.recordReceiveEventTimer(System.nanoTime() - startNanos);
+    return resp;
+  }
+
+  private static boolean isBatchableRequest(final TPipeConsensusTransferReq req) {
+    final short rawRequestType = req.getType();
+    if (!PipeConsensusRequestType.isValidatedRequestType(rawRequestType)) {
+      return false;
+    }
+    switch (PipeConsensusRequestType.valueOf(rawRequestType)) {
+      case TRANSFER_TABLET_BINARY:
+      case TRANSFER_TABLET_INSERT_NODE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
   private TPipeConsensusTransferResp preCheckForReceiver(final TPipeConsensusTransferReq req) {
     ConsensusGroupId groupId =
         ConsensusGroupId.Factory.createFromTConsensusGroupId(req.getConsensusGroupId());
@@ -1401,6 +1444,9 @@ public class PipeConsensusReceiver {
     // PIPE_CONSENSUS_PIPELINE_SIZE.
     // Here we use set is to avoid duplicate events being received in some special cases
     private final TreeSet<RequestMeta> reqExecutionOrderBuffer;
+    // Replicate indexes passed over when the buffer was full or waiting timed out. They are sent
+    // along with the cumulative acknowledgement so that the sender keeps handling them one by one.
+    private final TreeSet<Long> skippedReplicateIndexes = new TreeSet<>();
     private final Lock lock;
     private final Condition condition;
     private final PipeConsensusReceiverMetrics metric;
@@ -1506,142 +1552,244 @@ public class PipeConsensusReceiver {
           return null;
         }
 
-        if (reqExecutionOrderBuffer.size() >= IOTDB_CONFIG.getIotConsensusV2PipelineSize()
-            && !reqExecutionOrderBuffer.first().equals(requestMeta)) {
-          // If reqBuffer is full and current thread do not hold the reqBuffer's peek, this req
-          // is not supposed to be processed. So current thread should notify the corresponding
-          // threads to process the peek.
-          condition.signalAll();
-        }
+        return awaitTurnAndLoad(req, requestMeta, isTransferTsFileSeal, startDispatchNanos);
+      } finally {
+        // let all threads that may still await become active again to acquire lock instead of
+        // meaningless sleeping in the condition while lock is already released.
+        condition.signalAll();
+        lock.unlock();
+      }
+    }
 
-        // Polling to process
-        while (true) {
-          if (reqExecutionOrderBuffer.first().equals(requestMeta)
-              && tCommitId.getReplicateIndex() == onSyncedReplicateIndex + 1) {
-            long startApplyNanos = System.nanoTime();
-            metric.recordDispatchWaitingTimer(startApplyNanos - startDispatchNanos);
-            requestMeta.setStartApplyNanos(startApplyNanos);
-            // If current req is supposed to be process, load this event through
-            // DataRegionStateMachine.
-            TPipeConsensusTransferResp resp = loadEvent(req);
-
-            // Only when event apply is successful and what is transmitted is not TsFilePiece, req
-            // will be removed from the buffer and onSyncedCommitIndex will be updated. Because pipe
-            // will transfer multi reqs with same commitId in a single TsFileInsertionEvent, only
-            // when the last seal req is applied, we can discard this event.
-            if (resp != null
-                && resp.getStatus().getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
-              onSuccess(tCommitId, isTransferTsFileSeal);
-            }
-            return resp;
+    private TPipeConsensusBatchTransferResp onBatchRequest(
+        final List<TPipeConsensusTransferReq> reqs) {
+      final TPipeConsensusTransferResp[] resps = new TPipeConsensusTransferResp[reqs.size()];
+      long startAcquireLockNanos = System.nanoTime();
+      lock.lock();
+      try {
+        if (isClosed.get()) {
+          for (int i = 0; i < reqs.size(); i++) {
+            resps[i] =
+                PipeConsensusReceiverAgent.closedResp(
+                    consensusPipeName.toString(), reqs.get(i).getCommitId());
           }
+          return new TPipeConsensusBatchTransferResp(Arrays.asList(resps));
+        }
+        long startDispatchNanos = System.nanoTime();
+        metric.recordAcquireExecutorLockTimer(startDispatchNanos - startAcquireLockNanos);
 
-          if (reqExecutionOrderBuffer.size() >= IOTDB_CONFIG.getIotConsensusV2PipelineSize()
-              && reqExecutionOrderBuffer.first().equals(requestMeta)) {
-            LOGGER.info(
-                "PipeConsensus-PipeName-{}: no.{} event get executed because receiver buffer's len >= pipeline, current receiver syncIndex {}, current buffer len {}",
-                consensusPipeName,
-                tCommitId,
-                onSyncedReplicateIndex,
-                reqExecutionOrderBuffer.size());
-            long startApplyNanos = System.nanoTime();
-            metric.recordDispatchWaitingTimer(startApplyNanos - startDispatchNanos);
-            requestMeta.setStartApplyNanos(startApplyNanos);
-            // If the reqBuffer is full and its peek is hold by current thread, load this event.
-            TPipeConsensusTransferResp resp = loadEvent(req);
-
-            if (resp != null
-                && resp.getStatus().getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
-              onSuccess(tCommitId, isTransferTsFileSeal);
-            }
-            return resp;
-          } else {
-            // if the req is not supposed to be processed and reqBuffer is not full, current thread
-            // should wait until reqBuffer is full, which indicates the receiver has received all
-            // the requests from the connector without duplication or leakage.
-            try {
-              boolean timeout =
-                  !condition.await(
-                      PIPE_CONSENSUS_RECEIVER_MAX_WAITING_TIME_IN_MS, TimeUnit.MILLISECONDS);
+        // Take places for the whole batch first, so that the buffer counts the requests that have
+        // already arrived while the earlier ones of the batch wait for their turns.
+        final RequestMeta[] requestMetas = new RequestMeta[reqs.size()];
+        for (int i = 0; i < reqs.size(); i++) {
+          final TCommitId tCommitId = reqs.get(i).getCommitId();
+          resps[i] = preCheck(tCommitId);
+          if (resps[i] != null) {
+            continue;
+          }
+          if (tCommitId.getDataNodeRebootTimes() > connectorRebootTimes) {
+            resetWithNewestRebootTime(tCommitId.getDataNodeRebootTimes());
+          }
+          if (tCommitId.getPipeTaskRestartTimes() > pipeTaskRestartTimes) {
+            resetWithNewestRestartTime(tCommitId.getPipeTaskRestartTimes());
+          }
+          requestMetas[i] = new RequestMeta(tCommitId);
+          if (reqExecutionOrderBuffer.add(requestMetas[i])) {
+            WALEventCount.incrementAndGet();
+          }
+        }
 
-              if (isClosed.get()) {
-                return PipeConsensusReceiverAgent.closedResp(
-                    consensusPipeName.toString(), req.getCommitId());
-              }
-              // If some reqs find the buffer no longer contains their requestMeta after jumping out
-              // from condition.await, it may indicate that during their wait, some reqs with newer
-              // pipeTaskStartTimes or rebootTimes came in and refreshed the requestBuffer. In that
-              // cases we need to discard these requests.
-              if (!reqExecutionOrderBuffer.contains(requestMeta)) {
-                return deprecatedResp(
-                    String.format(
-                        "%s or %s", MSG_NODE_RESTART_INDEX_STALE, MSG_PIPE_RESTART_INDEX_STALE),
-                    tCommitId);
+        for (int i = 0; i < reqs.size(); i++) {
+          if (requestMetas[i] == null) {
+            continue;
+          }
+          // The buffer may have been reset by a newer sender while the former requests waited
+          resps[i] =
+              reqExecutionOrderBuffer.contains(requestMetas[i])
+                  ? awaitTurnAndLoad(reqs.get(i), requestMetas[i], false, startDispatchNanos)
+                  : deprecatedResp(
+                      String.format(
+                          "%s or %s", MSG_NODE_RESTART_INDEX_STALE, MSG_PIPE_RESTART_INDEX_STALE),
+                      reqs.get(i).getCommitId());
+          if (resps[i] == null) {
+            resps[i] =
+                new TPipeConsensusTransferResp(
+                    RpcUtils.getStatus(
+                        TSStatusCode.INTERNAL_SERVER_ERROR,
+                        "The request is not applied by the receiver, returns an error to let the sender retry."));
+          }
+          if (resps[i].getStatus().getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+            // The following requests can not be applied before this one, give up their places
+            // and let the sender retry them.
+            for (int j = i + 1; j < reqs.size(); j++) {
+              if (requestMetas[j] != null && reqExecutionOrderBuffer.remove(requestMetas[j])) {
+                WALEventCount.decrementAndGet();
               }
-              // After waiting timeout, we suppose that the sender will not send any more events at
-              // this time, that is, the sender has sent all events. At this point we apply the
-              // event at reqBuffer's peek
-              if (timeout && reqExecutionOrderBuffer.first() != null) {
-                // if current event is the first event in reqBuffer, we can process it.
-                if (reqExecutionOrderBuffer.first().equals(requestMeta)) {
-                  LOGGER.info(
-                      "PipeConsensus-PipeName-{}: no.{} event get executed after awaiting timeout, current receiver syncIndex: {}",
-                      consensusPipeName,
-                      tCommitId,
-                      onSyncedReplicateIndex);
-                  long startApplyNanos = System.nanoTime();
-                  metric.recordDispatchWaitingTimer(startApplyNanos - startDispatchNanos);
-                  requestMeta.setStartApplyNanos(startApplyNanos);
-                  TPipeConsensusTransferResp resp = loadEvent(req);
-
-                  if (resp != null
-                      && resp.getStatus().getCode()
-                          == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
-                    onSuccess(tCommitId, isTransferTsFileSeal);
-                  }
-                  return resp;
-                }
-                // if current event is not the first event in reqBuffer, we should return an error
-                // code to let leader retry or proceed instead of getting stuck in this while loop
-                // and block sender.
-                else {
-                  final TSStatus status =
-                      new TSStatus(
-                          RpcUtils.getStatus(
-                              TSStatusCode.PIPE_CONSENSUS_WAIT_ORDER_TIMEOUT,
-                              "Waiting for the previous event times out, returns an error to let the sender retry and continue scheduling."));
-                  // TODO: Turn it to debug after GA
-                  LOGGER.info(
-                      "PipeConsensus-{}: Waiting for the previous event times out, current peek {}, current id {}",
-                      consensusPipeName,
-                      reqExecutionOrderBuffer.first().commitId,
-                      tCommitId);
-                  return new TPipeConsensusTransferResp(status);
-                }
+              if (resps[j] == null) {
+                resps[j] =
+                    new TPipeConsensusTransferResp(
+                        RpcUtils.getStatus(
+                            TSStatusCode.PIPE_CONSENSUS_WAIT_ORDER_TIMEOUT,
+                            "A previous request in the same batch is not applied, returns an error to let the sender retry."));
               }
-            } catch (InterruptedException e) {
-              Thread.currentThread().interrupt();
-              LOGGER.warn(
-                  "PipeConsensus-PipeName-{}: current waiting is interrupted. onSyncedCommitIndex: {}. Exception: ",
-                  consensusPipeName,
-                  tCommitId.getReplicateIndex(),
-                  e);
-              // Avoid infinite loop when RPC thread is killed by OS
-              return new TPipeConsensusTransferResp(
-                  RpcUtils.getStatus(
-                      TSStatusCode.SHUT_DOWN_ERROR,
-                      "RPC processor is interrupted by shutdown hook when wait on condition!"));
             }
+            break;
           }
         }
+
+        final TPipeConsensusBatchTransferResp resp =
+            new TPipeConsensusBatchTransferResp(Arrays.asList(resps));
+        resp.setAck(
+            new TPipeConsensusAck(
+                    new TCommitId(
+                        onSyncedReplicateIndex, pipeTaskRestartTimes, connectorRebootTimes))
+                .setSkippedReplicateIndexes(new ArrayList<>(skippedReplicateIndexes)));
+        return resp;
       } finally {
-        // let all threads that may still await become active again to acquire lock instead of
-        // meaningless sleeping in the condition while lock is already released.
         condition.signalAll();
         lock.unlock();
       }
     }
 
+    /**
+     * Wait until the given request is the next one to be applied, then load it. The caller must
+     * hold {@link #lock} and have put the request's {@link RequestMeta} into the buffer.
+     */
+    private TPipeConsensusTransferResp awaitTurnAndLoad(
+        final TPipeConsensusTransferReq req,
+        final RequestMeta requestMeta,
+        final boolean isTransferTsFileSeal,
+        final long startDispatchNanos) {
+      final TCommitId tCommitId = req.getCommitId();
+      if (reqExecutionOrderBuffer.size() >= IOTDB_CONFIG.getIotConsensusV2PipelineSize()
+          && !reqExecutionOrderBuffer.first().equals(requestMeta)) {
+        // If reqBuffer is full and current thread do not hold the reqBuffer's peek, this req
+        // is not supposed to be processed. So current thread should notify the corresponding
+        // threads to process the peek.
+        condition.signalAll();
+      }
+
+      // Polling to process
+      while (true) {
+        if (reqExecutionOrderBuffer.first().equals(requestMeta)
+            && tCommitId.getReplicateIndex() == onSyncedReplicateIndex + 1) {
+          long startApplyNanos = System.nanoTime();
+          metric.recordDispatchWaitingTimer(startApplyNanos - startDispatchNanos);
+          requestMeta.setStartApplyNanos(startApplyNanos);
+          // If current req is supposed to be process, load this event through
+          // DataRegionStateMachine.
+          TPipeConsensusTransferResp resp = loadEvent(req);
+
+          // Only when event apply is successful and what is transmitted is not TsFilePiece, req
+          // will be removed from the buffer and onSyncedCommitIndex will be updated. Because pipe
+          // will transfer multi reqs with same commitId in a single TsFileInsertionEvent, only
+          // when the last seal req is applied, we can discard this event.
+          if (resp != null
+              && resp.getStatus().getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+            onSuccess(tCommitId, isTransferTsFileSeal);
+          }
+          return resp;
+        }
+
+        if (reqExecutionOrderBuffer.size() >= IOTDB_CONFIG.getIotConsensusV2PipelineSize()
+            && reqExecutionOrderBuffer.first().equals(requestMeta)) {
+          LOGGER.info(
+              "PipeConsensus-PipeName-{}: no.{} event get executed because receiver buffer's len >= pipeline, current receiver syncIndex {}, current buffer len {}",
+              consensusPipeName,
+              tCommitId,
+              onSyncedReplicateIndex,
+              reqExecutionOrderBuffer.size());
+          long startApplyNanos = System.nanoTime();
+          metric.recordDispatchWaitingTimer(startApplyNanos - startDispatchNanos);
+          requestMeta.setStartApplyNanos(startApplyNanos);
+          // If the reqBuffer is full and its peek is hold by current thread, load this event.
+          TPipeConsensusTransferResp resp = loadEvent(req);
+
+          if (resp != null
+              && resp.getStatus().getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+            onSuccess(tCommitId, isTransferTsFileSeal);
+          }
+          return resp;
+        } else {
+          // if the req is not supposed to be processed and reqBuffer is not full, current thread
+          // should wait until reqBuffer is full, which indicates the receiver has received all
+          // the requests from the connector without duplication or leakage.
+          try {
+            boolean timeout =
+                !condition.await(
+                    PIPE_CONSENSUS_RECEIVER_MAX_WAITING_TIME_IN_MS, TimeUnit.MILLISECONDS);
+
+            if (isClosed.get()) {
+              return PipeConsensusReceiverAgent.closedResp(
+                  consensusPipeName.toString(), req.getCommitId());
+            }
+            // If some reqs find the buffer no longer contains their requestMeta after jumping out
+            // from condition.await, it may indicate that during their wait, some reqs with newer
+            // pipeTaskStartTimes or rebootTimes came in and refreshed the requestBuffer. In that
+            // cases we need to discard these requests.
+            if (!reqExecutionOrderBuffer.contains(requestMeta)) {
+              return deprecatedResp(
+                  String.format(
+                      "%s or %s", MSG_NODE_RESTART_INDEX_STALE, MSG_PIPE_RESTART_INDEX_STALE),
+                  tCommitId);
+            }
+            // After waiting timeout, we suppose that the sender will not send any more events at
+            // this time, that is, the sender has sent all events. At this point we apply the
+            // event at reqBuffer's peek
+            if (timeout && reqExecutionOrderBuffer.first() != null) {
+              // if current event is the first event in reqBuffer, we can process it.
+              if (reqExecutionOrderBuffer.first().equals(requestMeta)) {
+                LOGGER.info(
+                    "PipeConsensus-PipeName-{}: no.{} event get executed after awaiting timeout, current receiver syncIndex: {}",
+                    consensusPipeName,
+                    tCommitId,
+                    onSyncedReplicateIndex);
+                long startApplyNanos = System.nanoTime();
+                metric.recordDispatchWaitingTimer(startApplyNanos - startDispatchNanos);
+                requestMeta.setStartApplyNanos(startApplyNanos);
+                TPipeConsensusTransferResp resp = loadEvent(req);
+
+                if (resp != null
+                    && resp.getStatus().getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+                  onSuccess(tCommitId, isTransferTsFileSeal);
+                }
+                return resp;
+              }
+              // if current event is not the first event in reqBuffer, we should return an error
+              // code to let leader retry or proceed instead of getting stuck in this while loop
+              // and block sender.
+              else {
+                final TSStatus status =
+                    new TSStatus(
+                        RpcUtils.getStatus(
+                            TSStatusCode.PIPE_CONSENSUS_WAIT_ORDER_TIMEOUT,
+                            "Waiting for the previous event times out, returns an error to let the sender retry and continue scheduling."));
+                // TODO: Turn it to debug after GA
+                LOGGER.info(
+                    "PipeConsensus-{}: Waiting for the previous event times out, current peek {}, current id {}",
+                    consensusPipeName,
+                    reqExecutionOrderBuffer.first().commitId,
+                    tCommitId);
+                return new TPipeConsensusTransferResp(status);
+              }
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn(
+                "PipeConsensus-PipeName-{}: current waiting is interrupted. onSyncedCommitIndex: {}. Exception: ",
+                consensusPipeName,
+                tCommitId.getReplicateIndex(),
+                e);
+            // Avoid infinite loop when RPC thread is killed by OS
+            return new TPipeConsensusTransferResp(
+                RpcUtils.getStatus(
+                    TSStatusCode.SHUT_DOWN_ERROR,
+                    "RPC processor is interrupted by shutdown hook when wait on condition!"));
+          }
+        }
+      }
+    }
+
     /**
      * Reset all data to initial status and set connectorRebootTimes properly. This method is called
      * when receiver identifies connector has rebooted.
@@ -1674,6 +1822,7 @@ public class PipeConsensusReceiver {
           consensusPipeName,
           commitId);
       RequestMeta curMeta = reqExecutionOrderBuffer.pollFirst();
+      recordSkippedReplicateIndexes(commitId.getReplicateIndex());
       onSyncedReplicateIndex = commitId.getReplicateIndex();
       // update metric, notice that curMeta is never null.
       if (isTransferTsFileSeal) {
@@ -1685,12 +1834,30 @@ public class PipeConsensusReceiver {
       }
     }
 
+    /**
+     * Record the indexes between the last synced one and the given one. Only the latest ones within
+     * a pipeline can still be buffered by the sender, older ones are no longer tracked.
+     */
+    private void recordSkippedReplicateIndexes(long replicateIndex) {
+      final int pipelineSize = IOTDB_CONFIG.getIotConsensusV2PipelineSize();
+      skippedReplicateIndexes.remove(replicateIndex);
+      for (long index = Math.max(onSyncedReplicateIndex + 1, replicateIndex - pipelineSize);
+          index < replicateIndex;
+          index++) {
+        skippedReplicateIndexes.add(index);
+      }
+      while (skippedReplicateIndexes.size() > pipelineSize) {
+        skippedReplicateIndexes.pollFirst();
+      }
+    }
+
     private void clear(boolean resetSyncIndex, boolean cleanBaseDir) {
       // TsFilePiece Writing may out of RequestExecutor.lock, meaning that we must use additional
       // lock here to ensure serial execution of cleanup and write piece
       tsFilePieceReadWriteLock.writeLock().lock();
       try {
         this.reqExecutionOrderBuffer.clear();
+        this.skippedReplicateIndexes.clear();
         this.tsFileWriterPool.releaseAllWriters(consensusPipeName);
         this.tsFileEventCount.set(0);
         this.WALEventCount.set(0);
@@ -1794,6 +1961,10 @@ public class PipeConsensusReceiver {
     return this.requestExecutor.reqExecutionOrderBuffer.size();
   }
 
+  public int getSkippedReplicateIndexNum() {
+    return this.requestExecutor.skippedReplicateIndexes.size();
+  }
+
   public int getWALEventCount() {
     return this.requestExecutor.WALEventCount.get();
   }
@@ -29,6 +29,8 @@ import org.apache.iotdb.consensus.pipe.PipeConsensus;
 import org.apache.iotdb.consensus.pipe.consensuspipe.ConsensusPipeName;
 import org.apache.iotdb.consensus.pipe.consensuspipe.ConsensusPipeReceiver;
 import org.apache.iotdb.consensus.pipe.thrift.TCommitId;
+import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusBatchTransferReq;
+import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusBatchTransferResp;
 import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusTransferReq;
 import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusTransferResp;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
@@ -40,6 +42,7 @@ import org.apache.commons.lang3.function.TriFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -131,6 +134,29 @@ public class PipeConsensusReceiverAgent implements ConsensusPipeReceiver {
     }
   }
 
+  @Override
+  public TPipeConsensusBatchTransferResp receiveBatch(TPipeConsensusBatchTransferReq req) {
+    if (req.getBatchReqs().isEmpty()) {
+      return new TPipeConsensusBatchTransferResp(Collections.emptyList());
+    }
+    // All requests in a batch are sent by the same consensus pipe, so the first one can be used
+    // to route the whole batch.
+    final TPipeConsensusTransferReq firstReq = req.getBatchReqs().get(0);
+    final byte reqVersion = firstReq.getVersion();
+    if (!RECEIVER_CONSTRUCTORS.containsKey(reqVersion)) {
+      return ConsensusPipeReceiver.super.receiveBatch(req);
+    }
+
+    final ConsensusGroupId consensusGroupId =
+        ConsensusGroupId.Factory.createFromTConsensusGroupId(firstReq.getConsensusGroupId());
+    final PipeConsensusReceiver receiver =
+        getReceiver(consensusGroupId, firstReq.getDataNodeId(), reqVersion);
+    if (receiver == null) {
+      return ConsensusPipeReceiver.super.receiveBatch(req);
+    }
+    return receiver.receiveBatch(req);
+  }
+
   private PipeConsensusReceiver getReceiver(
       ConsensusGroupId consensusGroupId, int leaderDataNodeId, byte reqVersion) {
     // Try to not block concurrent execution of receive() while ensuring sequential execution of
@@ -26,11 +26,13 @@ import org.apache.iotdb.commons.exception.pipe.PipeRuntimeOutOfMemoryCriticalExc
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.pipe.config.PipeConfig;
 import org.apache.iotdb.commons.pipe.connector.payload.airgap.AirGapPseudoTPipeTransferRequest;
+import org.apache.iotdb.commons.pipe.connector.payload.thrift.common.PipeTransferHandshakeConstant;
 import org.apache.iotdb.commons.pipe.connector.payload.thrift.common.PipeTransferSliceReqHandler;
 import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.PipeRequestType;
 import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.PipeTransferCompressedReq;
 import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.PipeTransferFileSealReqV1;
 import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.PipeTransferFileSealReqV2;
+import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.PipeTransferHandshakeV2Req;
 import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.PipeTransferSliceReq;
 import org.apache.iotdb.commons.pipe.datastructure.pattern.IoTDBTreePattern;
 import org.apache.iotdb.commons.pipe.datastructure.pattern.TablePattern;
@@ -52,6 +54,7 @@ import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransfer
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferSchemaSnapshotSealReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletBatchReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletBatchReqV2;
+import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletBatchReqV3;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletBinaryReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletBinaryReqV2;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletInsertNodeReq;
@@ -107,17 +110,22 @@ import org.apache.iotdb.service.rpc.thrift.TPipeTransferResp;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import org.apache.tsfile.utils.Pair;
+import org.apache.tsfile.utils.PublicBAOS;
+import org.apache.tsfile.utils.ReadWriteIOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Paths;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -152,13 +160,8 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
       new PipeStatementTreePatternParseVisitor();
   private static final PipeStatementTablePatternParseVisitor STATEMENT_TABLE_PATTERN_PARSE_VISITOR =
       new PipeStatementTablePatternParseVisitor();
-  private final PipeTableStatementDataTypeConvertExecutionVisitor
-      tableStatementDataTypeConvertExecutionVisitor =
-          new PipeTableStatementDataTypeConvertExecutionVisitor(
-              this::executeStatementForTableModel);
-  private final PipeTreeStatementDataTypeConvertExecutionVisitor
-      treeStatementDataTypeConvertExecutionVisitor =
-          new PipeTreeStatementDataTypeConvertExecutionVisitor(this::executeStatementForTreeModel);
+  // Used by the receiver thread. Each parallel apply task has its own context.
+  private final StatementExecutionContext receiverContext = new StatementExecutionContext(false);
   private final PipeTreeStatementToBatchVisitor batchVisitor =
       new PipeTreeStatementToBatchVisitor();
 
@@ -174,14 +177,11 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
 
   private static final Set<String> ALREADY_CREATED_TABLE_MODEL_DATABASES =
       ConcurrentHashMap.newKeySet();
-  private final SqlParser tableSqlParser = new SqlParser();
 
   private static final SessionManager SESSION_MANAGER = SessionManager.getInstance();
 
   private static final PipeConfig PIPE_CONFIG = PipeConfig.getInstance();
 
-  private PipeMemoryBlock allocatedMemoryBlock;
-
   static {
     try {
       folderManager =
@@ -305,6 +305,16 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
                     .recordTransferTabletBatchV2Timer(System.nanoTime() - startTime);
               }
             }
+          case TRANSFER_TABLET_BATCH_V3:
+            {
+              try {
+                return handleTransferTabletBatchV3(
+                    PipeTransferTabletBatchReqV3.fromTPipeTransferReq(req));
+              } finally {
+                PipeDataNodeReceiverMetrics.getInstance()
+                    .recordTransferTabletBatchV3Timer(System.nanoTime() - startTime);
+              }
+            }
           case TRANSFER_TS_FILE_PIECE:
             {
               try {
@@ -481,7 +491,42 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
   }
 
   private TPipeTransferResp handleTransferTabletBatchV2(final PipeTransferTabletBatchReqV2 req) {
-    final List<InsertBaseStatement> statementSet = req.constructStatements();
+    return handleTransferTabletBatchStatements(req.constructStatements());
+  }
+
+  private TPipeTransferResp handleTransferTabletBatchV3(final PipeTransferTabletBatchReqV3 req) {
+    return handleTransferTabletBatchStatements(req.constructStatements());
+  }
+
+  private TPipeTransferResp handleTransferTabletBatchStatements(
+      final List<InsertBaseStatement> statementSet) {
+    if (PipeDataNodeReceiverParallelApplier.isEnabled() && !statementSet.isEmpty()) {
+      final List<List<InsertBaseStatement>> partitions =
+          PipeDataNodeReceiverParallelApplier.partition(
+              statementSet, PIPE_CONFIG.getPipeReceiverParallelApplyThreadCount());
+      if (partitions.size() > 1) {
+        // Login in the receiver thread so that the sessions of the partitions can inherit it
+        final TSStatus loginStatus = loginIfNecessary();
+        if (loginStatus.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+          return new TPipeTransferResp(loginStatus);
+        }
+        // The databases are created in the receiver thread as well, otherwise the statements are
+        // applied serially so that the failure is reported as usual
+        if (autoCreateDatabasesIfNecessary(statementSet)) {
+          return new TPipeTransferResp(
+              PipeReceiverStatusHandler.getPriorStatus(
+                  PipeDataNodeReceiverParallelApplier.apply(
+                      partitions,
+                      SESSION_MANAGER.getCurrSession(),
+                      () -> {
+                        final StatementExecutionContext context =
+                            new StatementExecutionContext(true);
+                        return statement ->
+                            executeBatchStatementAndAddRedirectInfo(statement, context);
+                      })));
+        }
+      }
+    }
     return new TPipeTransferResp(
         PipeReceiverStatusHandler.getPriorStatus(
             (statementSet.isEmpty()
@@ -490,6 +535,29 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
                 .collect(Collectors.toList())));
   }
 
+  @Override
+  protected TPipeTransferResp handleTransferHandshakeV2(final PipeTransferHandshakeV2Req req)
+      throws IOException {
+    final TPipeTransferResp resp = super.handleTransferHandshakeV2(req);
+    // Echo the encoded tablet batch format to tell the sender that it is accepted
+    if (resp.getStatus().getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()
+        && Boolean.parseBoolean(
+            req.getParams()
+                .get(PipeTransferHandshakeConstant.HANDSHAKE_KEY_ENCODED_TABLET_BATCH))) {
+      final Map<String, String> acceptedParams = new HashMap<>();
+      acceptedParams.put(
+          PipeTransferHandshakeConstant.HANDSHAKE_KEY_ENCODED_TABLET_BATCH,
+          Boolean.TRUE.toString());
+      try (final PublicBAOS byteArrayOutputStream = new PublicBAOS();
+          final DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream)) {
+        ReadWriteIOUtils.write(acceptedParams, outputStream);
+        resp.setBody(
+            ByteBuffer.wrap(byteArrayOutputStream.getBuf(), 0, byteArrayOutputStream.size()));
+      }
+    }
+    return resp;
+  }
+
   @Override
   protected String getClusterId() {
     return IoTDBDescriptor.getInstance().getConfig().getClusterId();
@@ -735,7 +803,12 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
    * message field.
    */
   private TSStatus executeBatchStatementAndAddRedirectInfo(final InsertBaseStatement statement) {
-    final TSStatus result = executeStatementAndClassifyExceptions(statement, 5);
+    return executeBatchStatementAndAddRedirectInfo(statement, receiverContext);
+  }
+
+  private TSStatus executeBatchStatementAndAddRedirectInfo(
+      final InsertBaseStatement statement, final StatementExecutionContext context) {
+    final TSStatus result = executeStatementAndClassifyExceptions(statement, 5, context);
 
     if (result.getCode() == TSStatusCode.REDIRECTION_RECOMMEND.getStatusCode()
         && result.getSubStatusSize() > 0) {
@@ -771,12 +844,14 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
   }
 
   private TSStatus executeStatementAndClassifyExceptions(final Statement statement) {
-    return executeStatementAndClassifyExceptions(statement, 1);
+    return executeStatementAndClassifyExceptions(statement, 1, receiverContext);
   }
 
   private TSStatus executeStatementAndClassifyExceptions(
-      final Statement statement, final int tryCount) {
+      final Statement statement, final int tryCount, final StatementExecutionContext context) {
     long estimatedMemory = 0L;
+    // Local to the call, because the statements of a batch may be executed concurrently
+    PipeMemoryBlock allocatedMemoryBlock = null;
     final double pipeReceiverActualToEstimatedMemoryRatio =
         PIPE_CONFIG.getPipeReceiverActualToEstimatedMemoryRatio();
     try {
@@ -814,7 +889,7 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
       }
 
       final TSStatus result =
-          executeStatementWithPermissionCheckAndRetryOnDataTypeMismatch(statement);
+          executeStatementWithPermissionCheckAndRetryOnDataTypeMismatch(statement, context);
       if (result.getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()
           || result.getCode() == TSStatusCode.REDIRECTION_RECOMMEND.getStatusCode()) {
         return result;
@@ -836,13 +911,12 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
     } finally {
       if (Objects.nonNull(allocatedMemoryBlock)) {
         allocatedMemoryBlock.close();
-        allocatedMemoryBlock = null;
       }
     }
   }
 
   private TSStatus executeStatementWithPermissionCheckAndRetryOnDataTypeMismatch(
-      final Statement statement) {
+      final Statement statement, final StatementExecutionContext context) {
     if (statement == null) {
       return RpcUtils.getStatus(
           TSStatusCode.PIPE_TRANSFER_EXECUTE_STATEMENT_ERROR, "Execute null statement.");
@@ -867,10 +941,12 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
       databaseName = null;
     }
 
-    // Permission check
-    final TSStatus loginStatus = loginIfNecessary();
-    if (loginStatus.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
-      return loginStatus;
+    // Permission check, the parallel apply tasks are logged in by the receiver thread
+    if (!context.isParallelApplyTask) {
+      final TSStatus loginStatus = loginIfNecessary();
+      if (loginStatus.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+        return loginStatus;
+      }
     }
 
     final IClientSession clientSession = SESSION_MANAGER.getCurrSession();
@@ -894,7 +970,7 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
     // Real execution of the statement
     final TSStatus status =
         isTableModelStatement
-            ? executeStatementForTableModel(statement, databaseName)
+            ? executeStatementForTableModel(statement, databaseName, context)
             : executeStatementForTreeModel(statement);
 
     // Try to convert data type if the statement is a tree model statement
@@ -907,9 +983,12 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
         ? (isTableModelStatement
             ? statement
                 .accept(
-                    tableStatementDataTypeConvertExecutionVisitor, new Pair<>(status, databaseName))
+                    context.tableStatementDataTypeConvertExecutionVisitor,
+                    new Pair<>(status, databaseName))
                 .orElse(status)
-            : statement.accept(treeStatementDataTypeConvertExecutionVisitor, status).orElse(status))
+            : statement
+                .accept(context.treeStatementDataTypeConvertExecutionVisitor, status)
+                .orElse(status))
         : status;
   }
 
@@ -927,14 +1006,18 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
   }
 
   private TSStatus executeStatementForTableModel(
-      final Statement statement, final String databaseName) {
+      final Statement statement,
+      final String databaseName,
+      final StatementExecutionContext context) {
     try {
-      autoCreateDatabaseIfNecessary(databaseName);
+      if (!context.isParallelApplyTask) {
+        autoCreateDatabaseIfNecessary(databaseName);
+      }
 
       return Coordinator.getInstance()
           .executeForTableModel(
               shouldMarkAsPipeRequest.get() ? new PipeEnrichedStatement(statement) : statement,
-              tableSqlParser,
+              context.sqlParser,
               SESSION_MANAGER.getCurrSession(),
               SESSION_MANAGER.requestQueryId(),
               SESSION_MANAGER.getSessionInfoOfPipeReceiver(
@@ -947,7 +1030,8 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
       ALREADY_CREATED_TABLE_MODEL_DATABASES.remove(databaseName);
 
       final Throwable rootCause = getRootCause(e);
-      if (rootCause.getMessage() != null
+      if (!context.isParallelApplyTask
+          && rootCause.getMessage() != null
           && rootCause
               .getMessage()
               .toLowerCase(Locale.ENGLISH)
@@ -958,7 +1042,7 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
         return Coordinator.getInstance()
             .executeForTableModel(
                 shouldMarkAsPipeRequest.get() ? new PipeEnrichedStatement(statement) : statement,
-                tableSqlParser,
+                context.sqlParser,
                 SESSION_MANAGER.getCurrSession(),
                 SESSION_MANAGER.requestQueryId(),
                 SESSION_MANAGER.getSessionInfoOfPipeReceiver(
@@ -974,6 +1058,29 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
     }
   }
 
+  /**
+   * Create the databases of the table model statements.
+   *
+   * @return false if any database fails to be created
+   */
+  private boolean autoCreateDatabasesIfNecessary(final List<InsertBaseStatement> statements) {
+    try {
+      statements.stream()
+          .filter(InsertBaseStatement::isWriteToTable)
+          .map(statement -> statement.getDatabaseName().orElse(null))
+          .filter(Objects::nonNull)
+          .distinct()
+          .forEach(this::autoCreateDatabaseIfNecessary);
+      return true;
+    } catch (final Exception e) {
+      LOGGER.warn(
+          "Receiver id = {}: Failed to create databases before applying the batch in parallel.",
+          receiverId.get(),
+          e);
+      return false;
+    }
+  }
+
   private void autoCreateDatabaseIfNecessary(final String database) {
     if (ALREADY_CREATED_TABLE_MODEL_DATABASES.contains(database)) {
       return;
@@ -1033,7 +1140,7 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
           Coordinator.getInstance()
               .executeForTableModel(
                   shouldMarkAsPipeRequest.get() ? new PipeEnriched(statement) : statement,
-                  tableSqlParser,
+                  receiverContext.sqlParser,
                   SESSION_MANAGER.getCurrSession(),
                   SESSION_MANAGER.requestQueryId(),
                   SESSION_MANAGER.getSessionInfoOfPipeReceiver(
@@ -1087,4 +1194,30 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
     }
     SESSION_MANAGER.removeCurrSession();
   }
+
+  /**
+   * The stateful helpers used to execute statements, which are not thread-safe. Each thread
+   * executing statements of this receiver owns one.
+   */
+  private class StatementExecutionContext {
+
+    // Login and database creation are done by the receiver thread for the parallel apply tasks
+    private final boolean isParallelApplyTask;
+
+    private final SqlParser sqlParser = new SqlParser();
+    private final PipeTableStatementDataTypeConvertExecutionVisitor
+        tableStatementDataTypeConvertExecutionVisitor;
+    private final PipeTreeStatementDataTypeConvertExecutionVisitor
+        treeStatementDataTypeConvertExecutionVisitor =
+            new PipeTreeStatementDataTypeConvertExecutionVisitor(
+                IoTDBDataNodeReceiver.this::executeStatementForTreeModel);
+
+    private StatementExecutionContext(final boolean isParallelApplyTask) {
+      this.isParallelApplyTask = isParallelApplyTask;
+      this.tableStatementDataTypeConvertExecutionVisitor =
+          new PipeTableStatementDataTypeConvertExecutionVisitor(
+              (statement, databaseName) ->
+                  executeStatementForTableModel(statement, databaseName, this));
+    }
+  }
 }
@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.receiver.protocol.thrift;
+
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.pipe.config.PipeConfig;
+import org.apache.iotdb.db.pipe.metric.receiver.PipeDataNodeReceiverMetrics;
+import org.apache.iotdb.db.protocol.session.IClientSession;
+import org.apache.iotdb.db.protocol.session.InternalClientSession;
+import org.apache.iotdb.db.protocol.session.SessionManager;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertBaseStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertMultiTabletsStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowsStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertTabletStatement;
+import org.apache.iotdb.rpc.RpcUtils;
+import org.apache.iotdb.rpc.TSStatusCode;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Apply the statements of one tablet batch request concurrently. The statements are partitioned by
+ * device (tree model) or by table (table model), so that the writes of the same device are always
+ * applied by the same partition in the order of the request, while different partitions are applied
+ * by the shared parallel apply pool. The request is acknowledged only after all the partitions are
+ * applied.
+ */
+public class PipeDataNodeReceiverParallelApplier {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(PipeDataNodeReceiverParallelApplier.class);
+
+  private static final SessionManager SESSION_MANAGER = SessionManager.getInstance();
+
+  private PipeDataNodeReceiverParallelApplier() {
+    // util class
+  }
+
+  public static boolean isEnabled() {
+    return PipeConfig.getInstance().isPipeReceiverParallelApplyEnabled()
+        && PipeConfig.getInstance().getPipeReceiverParallelApplyThreadCount() > 1;
+  }
+
+  /**
+   * Partition the statements constructed from a tablet batch request.
+   *
+   * <p>Tree model rows and tablets are split by device path, and the table model statements are
+   * kept as a whole and assigned by table. If a table model statement contains rows of several
+   * tables, all the table model statements are put into the same partition to keep their order.
+   *
+   * @return at most partitionCount non-empty partitions, each of which is ordered as the given
+   *     statements
+   */
+  public static List<List<InsertBaseStatement>> partition(
+      final List<InsertBaseStatement> statements, final int partitionCount) {
+    final List<List<InsertBaseStatement>> tableStatements = newBuckets(partitionCount);
+    final List<List<InsertRowStatement>> rowStatements = newBuckets(partitionCount);
+    final List<List<InsertTabletStatement>> tabletStatements = newBuckets(partitionCount);
+
+    boolean hasMultiTableStatement = false;
+    for (final InsertBaseStatement statement : statements) {
+      if (statement.isWriteToTable()) {
+        final String tableKey = getTableKey(statement);
+        hasMultiTableStatement |= Objects.isNull(tableKey);
+        tableStatements
+            .get(Objects.isNull(tableKey) ? 0 : getBucketIndex(tableKey, partitionCount))
+            .add(statement);
+      } else if (statement instanceof InsertRowsStatement) {
+        for (final InsertRowStatement row :
+            ((InsertRowsStatement) statement).getInsertRowStatementList()) {
+          rowStatements
+              .get(getBucketIndex(row.getDevicePath().getFullPath(), partitionCount))
+              .add(row);
+        }
+      } else if (statement instanceof InsertMultiTabletsStatement) {
+        for (final InsertTabletStatement tablet :
+            ((InsertMultiTabletsStatement) statement).getInsertTabletStatementList()) {
+          tabletStatements
+              .get(getBucketIndex(tablet.getDevicePath().getFullPath(), partitionCount))
+              .add(tablet);
+        }
+      } else {
+        tableStatements.get(0).add(statement);
+      }
+    }
+
+    if (hasMultiTableStatement) {
+      final List<InsertBaseStatement> allTableStatements = new ArrayList<>();
+      statements.stream()
+          .filter(InsertBaseStatement::isWriteToTable)
+          .forEach(allTableStatements::add);
+      tableStatements.forEach(List::clear);
+      tableStatements.get(0).addAll(allTableStatements);
+    }
+
+    final List<List<InsertBaseStatement>> partitions = new ArrayList<>();
+    for (int i = 0; i < partitionCount; ++i) {
+      final List<InsertBaseStatement> partition = new ArrayList<>(tableStatements.get(i));
+      if (!rowStatements.get(i).isEmpty()) {
+        final InsertRowsStatement insertRowsStatement = new InsertRowsStatement();
+        insertRowsStatement.setInsertRowStatementList(rowStatements.get(i));
+        partition.add(insertRowsStatement);
+      }
+      if (!tabletStatements.get(i).isEmpty()) {
+        final InsertMultiTabletsStatement insertMultiTabletsStatement =
+            new InsertMultiTabletsStatement();
+        insertMultiTabletsStatement.setInsertTabletStatementList(tabletStatements.get(i));
+        partition.add(insertMultiTabletsStatement);
+      }
+      if (!partition.isEmpty()) {
+        partitions.add(partition);
+      }
+    }
+    return partitions;
+  }
+
+  /**
+   * Apply the partitions concurrently and wait for all of them. Each partition is applied in a
+   * session derived from the receiver session, since the sessions are bound to threads, by an
+   * executor supplied in the applying thread, since the executors are not thread-safe.
+   *
+   * @return the statuses of all the statements
+   */
+  public static List<TSStatus> apply(
+      final List<List<InsertBaseStatement>> partitions,
+      final IClientSession receiverSession,
+      final Supplier<Function<InsertBaseStatement, TSStatus>> executorSupplier) {
+    final PipeDataNodeReceiverMetrics metrics = PipeDataNodeReceiverMetrics.getInstance();
+    metrics.increaseParallelApplyQueueDepth(partitions.size());
+
+    final List<Future<List<TSStatus>>> futures = new ArrayList<>(partitions.size());
+    for (final List<InsertBaseStatement> partition : partitions) {
+      futures.add(
+          PoolHolder.POOL.submit(
+              () -> {
+                final long startTime = System.nanoTime();
+                final IClientSession session = createSession(receiverSession);
+                SESSION_MANAGER.registerSession(session);
+                try {
+                  final Function<InsertBaseStatement, TSStatus> executor = executorSupplier.get();
+                  final List<TSStatus> statuses = new ArrayList<>(partition.size());
+                  for (final InsertBaseStatement statement : partition) {
+                    statuses.add(executor.apply(statement));
+                  }
+                  return statuses;
+                } finally {
+                  SESSION_MANAGER.removeCurrSession();
+                  metrics.decreaseParallelApplyQueueDepth();
+                  metrics.recordParallelApplyPartitionTimer(System.nanoTime() - startTime);
+                }
+              }));
+    }
+
+    final List<TSStatus> results = new ArrayList<>();
+    for (int i = 0; i < futures.size(); ++i) {
+      try {
+        results.addAll(futures.get(i).get());
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        addUnavailableStatuses(results, partitions.get(i), e);
+      } catch (final ExecutionException e) {
+        LOGGER.warn("Exception encountered while applying a partition of the batch request.", e);
+        addUnavailableStatuses(results, partitions.get(i), e);
+      }
+    }
+    return results;
+  }
+
+  private static IClientSession createSession(final IClientSession receiverSession) {
+    final IClientSession session =
+        new InternalClientSession(
+            String.format(
+                "%s_%s",
+                PipeDataNodeReceiverParallelApplier.class.getSimpleName(), receiverSession));
+    SESSION_MANAGER.supplySession(
+        session,
+        receiverSession.getUsername(),
+        receiverSession.getZoneId(),
+        receiverSession.getClientVersion());
+    session.setSqlDialect(receiverSession.getSqlDialect());
+    session.setDatabaseName(receiverSession.getDatabaseName());
+    return session;
+  }
+
+  /** Add one status for each statement of the failed partition. */
+  private static void addUnavailableStatuses(
+      final List<TSStatus> results, final List<InsertBaseStatement> partition, final Exception e) {
+    // The sender will retry the whole request, which is idempotent for the applied partitions
+    final String message =
+        "Failed to apply a partition of the batch request in parallel: " + e.getMessage();
+    for (int i = 0; i < partition.size(); ++i) {
+      results.add(
+          RpcUtils.getStatus(TSStatusCode.PIPE_RECEIVER_TEMPORARY_UNAVAILABLE_EXCEPTION, message));
+    }
+  }
+
+  /**
+   * @return the key of the table written by the statement, or null if the statement writes several
+   *     tables
+   */
+  private static String getTableKey(final InsertBaseStatement statement) {
+    final String database = statement.getDatabaseName().orElse("");
+    if (!(statement instanceof InsertRowsStatement)) {
+      return Objects.nonNull(statement.getDevicePath())
+          ? database + "." + statement.getTableName()
+          : null;
+    }
+
+    String tableName = null;
+    for (final InsertRowStatement row :
+        ((InsertRowsStatement) statement).getInsertRowStatementList()) {
+      if (Objects.isNull(row.getDevicePath())
+          || (Objects.nonNull(tableName) && !tableName.equals(row.getTableName()))) {
+        return null;
+      }
+      tableName = row.getTableName();
+    }
+    return database + "." + tableName;
+  }
+
+  private static int getBucketIndex(final String key, final int partitionCount) {
+    return Math.floorMod(key.hashCode(), partitionCount);
+  }
+
+  private static <T> List<List<T>> newBuckets(final int partitionCount) {
+    final List<List<T>> buckets = new ArrayList<>(partitionCount);
+    for (int i = 0; i < partitionCount; ++i) {
+      buckets.add(new ArrayList<>());
+    }
+    return buckets;
+  }
+
+  private static class PoolHolder {
+
+    private static final ExecutorService POOL =
+        IoTDBThreadPoolFactory.newFixedThreadPool(
+            PipeConfig.getInstance().getPipeReceiverParallelApplyThreadCount(),
+            ThreadName.PIPE_RECEIVER_PARALLEL_APPLY_POOL.getName());
+
+    private PoolHolder() {
+      // empty constructor
+    }
+  }
+}
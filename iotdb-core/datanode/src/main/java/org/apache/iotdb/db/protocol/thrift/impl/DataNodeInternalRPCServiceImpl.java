@@ -169,6 +169,7 @@ import org.apache.iotdb.db.service.DataNode;
 import org.apache.iotdb.db.service.RegionMigrateService;
 import org.apache.iotdb.db.service.metrics.FileMetrics;
 import org.apache.iotdb.db.storageengine.StorageEngine;
+import org.apache.iotdb.db.storageengine.dataregion.DataRegionLoadSampler;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.repair.RepairTaskStatus;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionScheduleTaskManager;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionTaskManager;
@@ -1982,7 +1983,10 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
 
       resp.setLoadSample(loadSample);
 
-      resp.setRegionDisk(FileMetrics.getInstance().getRegionSizeMap());
+      Map<Integer, Long> regionSizeMap = FileMetrics.getInstance().getRegionSizeMap();
+      resp.setRegionDisk(regionSizeMap);
+      // Sample write throughput, read QPS and disk usage of each DataRegion
+      resp.setRegionLoadSamples(DataRegionLoadSampler.getInstance().sample(regionSizeMap));
     }
     AuthorityChecker.getAuthorityFetcher().refreshToken();
     resp.setHeartbeatTimestamp(req.getHeartbeatTimestamp());
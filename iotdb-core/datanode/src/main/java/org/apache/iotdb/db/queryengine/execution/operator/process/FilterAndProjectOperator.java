@@ -39,9 +39,8 @@ import org.apache.tsfile.block.column.ColumnBuilder;
 import org.apache.tsfile.common.conf.TSFileDescriptor;
 import org.apache.tsfile.enums.TSDataType;
 import org.apache.tsfile.read.common.block.TsBlock;
-import org.apache.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.tsfile.read.common.block.column.DictionaryColumn;
 import org.apache.tsfile.read.common.block.column.RunLengthEncodedColumn;
-import org.apache.tsfile.read.common.block.column.TimeColumnBuilder;
 import org.apache.tsfile.utils.Pair;
 import org.apache.tsfile.utils.RamUsageEstimator;
 
@@ -66,7 +65,8 @@ public class FilterAndProjectOperator implements ProcessOperator {
 
   private final List<ColumnTransformer> projectOutputTransformerList;
 
-  private final TsBlockBuilder filterTsBlockBuilder;
+  // count of the value columns of the filtered TsBlock
+  private final int filterOutputColumnCount;
 
   private final boolean hasNonMappableUDF;
 
@@ -77,6 +77,9 @@ public class FilterAndProjectOperator implements ProcessOperator {
 
   private long filteredRowCount = 0;
 
+  // positions of the rows satisfying the filter in current input, reused among TsBlocks
+  private int[] selectedPositions = new int[0];
+
   @SuppressWarnings("squid:S107")
   public FilterAndProjectOperator(
       OperatorContext operatorContext,
@@ -97,7 +100,7 @@ public class FilterAndProjectOperator implements ProcessOperator {
     this.projectLeafColumnTransformerList = projectLeafColumnTransformerList;
     this.projectOutputTransformerList = projectOutputTransformerList;
     this.hasNonMappableUDF = hasNonMappableUDF;
-    this.filterTsBlockBuilder = new TsBlockBuilder(8, filterOutputDataTypes);
+    this.filterOutputColumnCount = filterOutputDataTypes.size();
     this.hasFilter = hasFilter;
   }
 
@@ -112,7 +115,7 @@ public class FilterAndProjectOperator implements ProcessOperator {
     this.projectOutputTransformerList = filterAndProjectOperator.projectOutputTransformerList;
     this.hasNonMappableUDF = filterAndProjectOperator.hasNonMappableUDF;
     this.hasFilter = filterAndProjectOperator.hasFilter;
-    this.filterTsBlockBuilder = filterAndProjectOperator.filterTsBlockBuilder;
+    this.filterOutputColumnCount = filterAndProjectOperator.filterOutputColumnCount;
     this.inputOperator = inputOperator;
   }
 
@@ -160,9 +163,6 @@ public class FilterAndProjectOperator implements ProcessOperator {
 
     Column filterColumn = filterOutputTransformer.getColumn();
 
-    // reuse this builder
-    filterTsBlockBuilder.reset();
-
     List<Column> resultColumns = new ArrayList<>();
     for (int i = 0, n = input.getValueColumnCount(); i < n; i++) {
       resultColumns.add(input.getColumn(i));
@@ -178,56 +178,60 @@ public class FilterAndProjectOperator implements ProcessOperator {
       }
     }
 
-    final ColumnBuilder[] columnBuilders = filterTsBlockBuilder.getValueColumnBuilders();
-    if (originTimeColumn instanceof RunLengthEncodedColumn) {
-      int rowCount =
-          constructFilteredTsBlock(resultColumns, filterColumn, columnBuilders, positionCount);
-      filterTsBlockBuilder.declarePositions(rowCount);
-
-      return filterTsBlockBuilder.build(originTimeColumn.getRegion(0, rowCount));
+    int selectedCount = select(filterColumn, positionCount);
+    if (selectedCount == positionCount) {
+      return TsBlock.wrapBlocksWithoutCopy(
+          positionCount, originTimeColumn, resultColumns.toArray(new Column[0]));
+    }
 
-    } else {
-      final TimeColumnBuilder timeBuilder = filterTsBlockBuilder.getTimeColumnBuilder();
-      int rowCount =
-          constructFilteredTsBlock(
-              resultColumns,
-              timeBuilder,
-              filterColumn,
-              originTimeColumn,
-              columnBuilders,
-              positionCount);
-
-      filterTsBlockBuilder.declarePositions(rowCount);
-      return filterTsBlockBuilder.build();
+    Column timeColumn =
+        originTimeColumn instanceof RunLengthEncodedColumn
+            ? originTimeColumn.getRegion(0, selectedCount)
+            : originTimeColumn.copyPositions(selectedPositions, 0, selectedCount);
+    Column[] valueColumns = new Column[resultColumns.size()];
+    for (int i = 0; i < valueColumns.length; i++) {
+      // the projections only access the selected positions through the views, and the views are
+      // compacted before output, while TransformOperator needs compact columns
+      valueColumns[i] =
+          hasNonMappableUDF
+              ? resultColumns.get(i).copyPositions(selectedPositions, 0, selectedCount)
+              : resultColumns.get(i).getPositions(selectedPositions, 0, selectedCount);
     }
+    return TsBlock.wrapBlocksWithoutCopy(selectedCount, timeColumn, valueColumns);
   }
 
-  private static int constructFilteredTsBlock(
-      List<Column> resultColumns,
-      TimeColumnBuilder timeBuilder,
-      Column filterColumn,
-      Column originTimeColumn,
-      ColumnBuilder[] columnBuilders,
-      int positionCount) {
-    // construct result TsBlock of filter
-    int rowCount = 0;
-    for (int i = 0, n = resultColumns.size(); i < n; i++) {
-      Column curColumn = resultColumns.get(i);
-      for (int j = 0; j < positionCount; j++) {
-        if (satisfy(filterColumn, j)) {
-          if (i == 0) {
-            rowCount++;
-            timeBuilder.writeLong(originTimeColumn.getLong(j));
-          }
-          if (curColumn.isNull(j)) {
-            columnBuilders[i].appendNull();
-          } else {
-            columnBuilders[i].write(curColumn, j);
-          }
-        }
+  /**
+   * Collect the positions satisfying the filter into {@link #selectedPositions}.
+   *
+   * @return count of the selected positions
+   */
+  private int select(Column filterColumn, int positionCount) {
+    if (selectedPositions.length < positionCount) {
+      selectedPositions = new int[positionCount];
+    }
+    int selectedCount = 0;
+    if (filterColumn instanceof RunLengthEncodedColumn) {
+      if (!satisfy(filterColumn, 0)) {
+        return 0;
       }
+      for (int i = 0; i < positionCount; i++) {
+        selectedPositions[i] = i;
+      }
+      return positionCount;
     }
-    return rowCount;
+    // the filter column is only evaluated once for all the columns
+    if (filterColumn.mayHaveNull()) {
+      for (int i = 0; i < positionCount; i++) {
+        selectedPositions[selectedCount] = i;
+        selectedCount += satisfy(filterColumn, i) ? 1 : 0;
+      }
+    } else {
+      for (int i = 0; i < positionCount; i++) {
+        selectedPositions[selectedCount] = i;
+        selectedCount += filterColumn.getBoolean(i) ? 1 : 0;
+      }
+    }
+    return selectedCount;
   }
 
   public static int constructFilteredTsBlock(
@@ -270,12 +274,26 @@ public class FilterAndProjectOperator implements ProcessOperator {
     List<Column> resultColumns = new ArrayList<>();
     for (ColumnTransformer columnTransformer : projectOutputTransformerList) {
       columnTransformer.tryEvaluate();
-      resultColumns.add(columnTransformer.getColumn());
+      resultColumns.add(compact(columnTransformer.getColumn()));
     }
     return TsBlock.wrapBlocksWithoutCopy(
         positionCount, originTimeColumn, resultColumns.toArray(new Column[0]));
   }
 
+  /** Compact the view of the selected positions produced by filter before output. */
+  private static Column compact(Column column) {
+    if (column instanceof DictionaryColumn) {
+      DictionaryColumn dictionaryColumn = (DictionaryColumn) column;
+      return dictionaryColumn
+          .getDictionary()
+          .copyPositions(
+              dictionaryColumn.getRawIds(),
+              dictionaryColumn.getRawIdsOffset(),
+              dictionaryColumn.getPositionCount());
+    }
+    return column;
+  }
+
   @Override
   public boolean hasNext() throws Exception {
     return inputOperator.hasNextWithTimer();
@@ -343,7 +361,7 @@ public class FilterAndProjectOperator implements ProcessOperator {
       return (long) (1 + projectOutputTransformerList.size())
           * TSFileDescriptor.getInstance().getConfig().getPageSizeInByte();
     } else {
-      return (long) (1 + filterTsBlockBuilder.getValueColumnBuilders().length)
+      return (long) (1 + filterOutputColumnCount)
           * TSFileDescriptor.getInstance().getConfig().getPageSizeInByte();
     }
   }
@@ -437,7 +455,6 @@ public class FilterAndProjectOperator implements ProcessOperator {
   public long ramBytesUsed() {
     return INSTANCE_SIZE
         + MemoryEstimationHelper.getEstimatedSizeOfAccountableObject(inputOperator)
-        + MemoryEstimationHelper.getEstimatedSizeOfAccountableObject(operatorContext)
-        + filterTsBlockBuilder.getRetainedSizeInBytes();
+        + MemoryEstimationHelper.getEstimatedSizeOfAccountableObject(operatorContext);
   }
 }
@@ -24,7 +24,12 @@ import org.apache.iotdb.db.queryengine.execution.aggregation.timerangeiterator.I
 import org.apache.iotdb.db.queryengine.execution.operator.OperatorContext;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.GroupByTimeParameter;
+import org.apache.iotdb.db.queryengine.transformation.dag.util.TypeUtils;
+import org.apache.iotdb.db.storageengine.buffer.AggregationResultCache;
+import org.apache.iotdb.db.storageengine.buffer.AggregationResultCache.AggregationResultCacheKey;
 
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
 import org.apache.tsfile.enums.TSDataType;
 import org.apache.tsfile.file.metadata.statistics.Statistics;
 import org.apache.tsfile.read.common.TimeRange;
@@ -32,6 +37,7 @@ import org.apache.tsfile.read.common.block.TsBlock;
 import org.apache.tsfile.utils.Pair;
 
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -70,6 +76,28 @@ public abstract class AbstractSeriesAggregationScanOperator extends AbstractData
   /** Some special data types(like BLOB) cannot use statistics. */
   protected final boolean canUseStatistics;
 
+  /**
+   * Fingerprint of the plan of this operator, only not null when the aggregation result of each
+   * time window can be served from {@link AggregationResultCache}.
+   */
+  private String resultCacheFingerprint;
+
+  // Cache key of current time window, null if the result of current window cannot be cached
+  private AggregationResultCacheKey curResultCacheKey;
+
+  /**
+   * Interval of the rollup buckets used by this operator, 0 if rollup files are not used. Each time
+   * window is a union of whole buckets of this interval.
+   */
+  private long rollupInterval;
+
+  // End time of the query, only the rollup buckets before it are read
+  private final long rollupEndTime;
+
+  // Rollup buckets of the skipped file that are not consumed yet
+  private List<Statistics<? extends Serializable>> pendingRollupBuckets;
+  private int pendingRollupBucketIndex;
+
   @SuppressWarnings("squid:S107")
   protected AbstractSeriesAggregationScanOperator(
       PlanNodeId sourceId,
@@ -88,6 +116,7 @@ public abstract class AbstractSeriesAggregationScanOperator extends AbstractData
     this.operatorContext = context;
     this.ascending = ascending;
     this.isGroupByQuery = groupByTimeParameter != null;
+    this.rollupEndTime = isGroupByQuery ? groupByTimeParameter.getEndTime() : Long.MAX_VALUE;
     this.seriesScanUtil = seriesScanUtil;
     this.subSensorSize = subSensorSize;
     this.aggregators = aggregators;
@@ -99,6 +128,17 @@ public abstract class AbstractSeriesAggregationScanOperator extends AbstractData
     this.canUseStatistics = canUseStatistics;
   }
 
+  public void setResultCacheFingerprint(String resultCacheFingerprint) {
+    this.resultCacheFingerprint = resultCacheFingerprint;
+  }
+
+  public void setRollupInterval(long rollupInterval) {
+    if (rollupInterval > 0 && ascending) {
+      this.rollupInterval = rollupInterval;
+      seriesScanUtil.enableRollup();
+    }
+  }
+
   @Override
   public long calculateMaxPeekMemory() {
     return cachedRawDataSize + maxReturnSize;
@@ -136,6 +176,10 @@ public abstract class AbstractSeriesAggregationScanOperator extends AbstractData
         for (TreeAggregator aggregator : aggregators) {
           aggregator.reset();
         }
+        if (resultCacheFingerprint != null && calcFromResultCache()) {
+          curTimeRange = null;
+          continue;
+        }
       }
 
       // calculate aggregation result on current time window
@@ -171,6 +215,11 @@ public abstract class AbstractSeriesAggregationScanOperator extends AbstractData
         return true;
       }
 
+      if (pendingRollupBuckets != null && calcFromRollupBuckets()) {
+        updateResultTsBlock();
+        return true;
+      }
+
       if (readAndCalcFromPage()) {
         updateResultTsBlock();
         return true;
@@ -204,7 +253,64 @@ public abstract class AbstractSeriesAggregationScanOperator extends AbstractData
     }
   }
 
+  /** Return true if the result of current time window is served from the result cache. */
+  private boolean calcFromResultCache() {
+    curResultCacheKey =
+        seriesScanUtil.buildAggregationResultCacheKey(resultCacheFingerprint, curTimeRange);
+    if (curResultCacheKey == null) {
+      return false;
+    }
+    Column[] cachedResult = AggregationResultCache.getInstance().get(curResultCacheKey);
+    if (cachedResult == null) {
+      return false;
+    }
+    curResultCacheKey = null;
+    // the data of this window will be skipped while calculating the following windows
+    appendCachedAggregationResult(cachedResult);
+    return true;
+  }
+
+  private void appendCachedAggregationResult(Column[] aggregationResult) {
+    resultTsBlockBuilder.getTimeColumnBuilder().writeLong(timeRangeIterator.currentOutputTime());
+    ColumnBuilder[] columnBuilders = resultTsBlockBuilder.getValueColumnBuilders();
+    int columnIndex = 0;
+    if (outputEndTime) {
+      columnBuilders[columnIndex++].writeLong(curTimeRange.getMax());
+    }
+    for (Column column : aggregationResult) {
+      if (column.isNull(0)) {
+        columnBuilders[columnIndex++].appendNull();
+      } else {
+        columnBuilders[columnIndex++].write(column, 0);
+      }
+    }
+    resultTsBlockBuilder.declarePosition();
+  }
+
+  private Column[] buildAggregationResultColumns() {
+    List<Column> columns = new ArrayList<>();
+    for (TreeAggregator aggregator : aggregators) {
+      TSDataType[] outputTypes = aggregator.getOutputType();
+      ColumnBuilder[] columnBuilders = new ColumnBuilder[outputTypes.length];
+      for (int i = 0; i < outputTypes.length; i++) {
+        columnBuilders[i] = TypeUtils.initColumnBuilder(outputTypes[i], 1);
+      }
+      aggregator.outputResult(columnBuilders);
+      for (ColumnBuilder columnBuilder : columnBuilders) {
+        columns.add(columnBuilder.build());
+      }
+    }
+    return columns.toArray(new Column[0]);
+  }
+
   protected void updateResultTsBlock() {
+    if (curResultCacheKey != null) {
+      Column[] aggregationResult = buildAggregationResultColumns();
+      AggregationResultCache.getInstance().put(curResultCacheKey, aggregationResult);
+      curResultCacheKey = null;
+      appendCachedAggregationResult(aggregationResult);
+      return;
+    }
     if (!outputEndTime) {
       appendAggregationResult(
           resultTsBlockBuilder, aggregators, timeRangeIterator.currentOutputTime());
@@ -228,6 +334,49 @@ public abstract class AbstractSeriesAggregationScanOperator extends AbstractData
     return calcResult.getLeft();
   }
 
+  /**
+   * Replace current file with its rollup buckets, should only be called when the statistics of
+   * current file can be used.
+   *
+   * @return false if rollup is not used or the rollup buckets of current file are absent
+   */
+  private boolean useCurrentFileRollupBuckets() {
+    if (rollupInterval <= 0) {
+      return false;
+    }
+    List<Statistics<? extends Serializable>> rollupBuckets =
+        seriesScanUtil.currentFileRollupBuckets(
+            rollupInterval, curTimeRange.getMin(), rollupEndTime);
+    if (rollupBuckets == null) {
+      return false;
+    }
+    seriesScanUtil.skipCurrentFile();
+    pendingRollupBuckets = rollupBuckets;
+    pendingRollupBucketIndex = 0;
+    return true;
+  }
+
+  /**
+   * Return true if current time window is finished by the pending rollup buckets. The buckets are
+   * only used when the file is not overlapped with others, so no other data is in between.
+   */
+  @SuppressWarnings("squid:S3740")
+  private boolean calcFromRollupBuckets() {
+    while (pendingRollupBucketIndex < pendingRollupBuckets.size()) {
+      Statistics bucket = pendingRollupBuckets.get(pendingRollupBucketIndex);
+      if (bucket.getStartTime() > curTimeRange.getMax()) {
+        return true;
+      }
+      // buckets before current window has been served from result cache
+      if (bucket.getEndTime() >= curTimeRange.getMin()) {
+        calcFromStatistics(bucket, new Statistics[] {bucket});
+      }
+      pendingRollupBucketIndex++;
+    }
+    pendingRollupBuckets = null;
+    return false;
+  }
+
   protected void calcFromStatistics(Statistics timeStatistics, Statistics[] valueStatistics) {
     for (TreeAggregator aggregator : aggregators) {
       if (aggregator.hasFinalResult()) {
@@ -244,8 +393,16 @@ public abstract class AbstractSeriesAggregationScanOperator extends AbstractData
     while (System.nanoTime() - start < leftRuntimeOfOneNextCall && seriesScanUtil.hasNextFile()) {
       if (canUseStatistics && seriesScanUtil.canUseCurrentFileStatistics()) {
         Statistics fileTimeStatistics = seriesScanUtil.currentFileTimeStatistics();
+        // data before current window has been served from result cache
+        if (ascending && fileTimeStatistics.getEndTime() < curTimeRange.getMin()) {
+          seriesScanUtil.skipCurrentFile();
+          continue;
+        }
         if (fileTimeStatistics.getStartTime() > curTimeRange.getMax()) {
           if (ascending) {
+            // the buckets are kept for the following windows, otherwise the file will be unpacked
+            // into chunks while calculating the next window
+            useCurrentFileRollupBuckets();
             return true;
           } else {
             seriesScanUtil.skipCurrentFile();
@@ -267,6 +424,13 @@ public abstract class AbstractSeriesAggregationScanOperator extends AbstractData
             continue;
           }
         }
+        // calc from the rollup buckets if the file spans several time windows
+        if (useCurrentFileRollupBuckets()) {
+          if (calcFromRollupBuckets()) {
+            return true;
+          }
+          continue;
+        }
       }
 
       // read chunk
@@ -285,6 +449,10 @@ public abstract class AbstractSeriesAggregationScanOperator extends AbstractData
     while (System.nanoTime() - start < leftRuntimeOfOneNextCall && seriesScanUtil.hasNextChunk()) {
       if (canUseStatistics && seriesScanUtil.canUseCurrentChunkStatistics()) {
         Statistics chunkTimeStatistics = seriesScanUtil.currentChunkTimeStatistics();
+        if (ascending && chunkTimeStatistics.getEndTime() < curTimeRange.getMin()) {
+          seriesScanUtil.skipCurrentChunk();
+          continue;
+        }
         if (chunkTimeStatistics.getStartTime() > curTimeRange.getMax()) {
           if (ascending) {
             return true;
@@ -327,6 +495,10 @@ public abstract class AbstractSeriesAggregationScanOperator extends AbstractData
       while (System.nanoTime() - start < leftRuntimeOfOneNextCall && seriesScanUtil.hasNextPage()) {
         if (canUseStatistics && seriesScanUtil.canUseCurrentPageStatistics()) {
           Statistics pageTimeStatistics = seriesScanUtil.currentPageTimeStatistics();
+          if (ascending && pageTimeStatistics.getEndTime() < curTimeRange.getMin()) {
+            seriesScanUtil.skipCurrentPage();
+            continue;
+          }
           // There is no more eligible points in current time range
           if (pageTimeStatistics.getStartTime() > curTimeRange.getMax()) {
             if (ascending) {
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator.source;
+
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.tsfile.read.common.block.column.RunLengthEncodedColumn;
+import org.apache.tsfile.read.common.block.column.TimeColumn;
+import org.apache.tsfile.read.common.type.TypeFactory;
+import org.apache.tsfile.read.filter.basic.Filter;
+import org.apache.tsfile.read.reader.page.TablePageReader;
+import org.apache.tsfile.read.reader.page.TimePageReader;
+import org.apache.tsfile.read.reader.page.ValuePageReader;
+import org.apache.tsfile.read.reader.series.PaginationController;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Late materialization of the pages of table model aligned chunks. The time column and the value
+ * columns used by the push down filter are decoded first, and the other value columns are only
+ * decoded for the rows satisfying the filter. The other value pages of a page without any
+ * satisfying row are never decompressed or decoded.
+ */
+public class LateMaterializationUtils {
+
+  private LateMaterializationUtils() {
+    // util class
+  }
+
+  /**
+   * @return true if only a part of the value columns of the page are used by the filter
+   */
+  public static boolean canLateMaterialize(
+      TablePageReader pageReader, Filter pushDownFilter, int[] filterColumnIndexes) {
+    return pushDownFilter != null
+        && filterColumnIndexes != null
+        && filterColumnIndexes.length < pageReader.getValuePageReaderList().size();
+  }
+
+  /**
+   * Same as {@link TablePageReader#getAllSatisfiedData()} with the push down filter and the
+   * pagination controller, but only decode the other value columns of the satisfying rows.
+   *
+   * @param paginationController applied to the satisfying rows in time ascending order, null if the
+   *     caller applies it to the result
+   */
+  public static TsBlock getAllSatisfiedData(
+      TablePageReader pageReader,
+      List<TSDataType> dataTypes,
+      Filter globalTimeFilter,
+      Filter pushDownFilter,
+      int[] filterColumnIndexes,
+      PaginationController paginationController)
+      throws IOException {
+    TimePageReader timePageReader = pageReader.getTimePageReader();
+    List<ValuePageReader> valuePageReaders = pageReader.getValuePageReaderList();
+    long[] timeBatch = timePageReader.getNextTimeBatch();
+
+    // rows not filtered by the global time filter and the deletions of time column
+    boolean[] keepCurrentRow = new boolean[timeBatch.length];
+    int keptCount = 0;
+    for (int i = 0; i < timeBatch.length; i++) {
+      keepCurrentRow[i] =
+          (globalTimeFilter == null || globalTimeFilter.satisfy(timeBatch[i], null))
+              && !(timePageReader.isModified() && timePageReader.isDeleted(timeBatch[i]));
+      if (keepCurrentRow[i]) {
+        keptCount++;
+      }
+    }
+    if (keptCount == 0) {
+      return new TsBlockBuilder(dataTypes).build();
+    }
+
+    long[] keptTimes = new long[keptCount];
+    for (int i = 0, j = 0; i < timeBatch.length; i++) {
+      if (keepCurrentRow[i]) {
+        keptTimes[j++] = timeBatch[i];
+      }
+    }
+
+    // decode the columns used by the filter, the filter never accesses the other columns
+    Column[] valueColumns = new Column[valuePageReaders.size()];
+    for (int index : filterColumnIndexes) {
+      valueColumns[index] =
+          readValueColumn(
+              valuePageReaders.get(index),
+              dataTypes.get(index),
+              timeBatch,
+              keepCurrentRow,
+              keptCount);
+    }
+    for (int i = 0; i < valueColumns.length; i++) {
+      if (valueColumns[i] == null) {
+        valueColumns[i] = createNullColumn(dataTypes.get(i), keptCount);
+      }
+    }
+    TimeColumn keptTimeColumn = new TimeColumn(keptCount, keptTimes);
+    boolean[] satisfied =
+        pushDownFilter.satisfyTsBlock(new TsBlock(keptCount, keptTimeColumn, valueColumns));
+
+    int[] selectedPositions = new int[keptCount];
+    int selectedCount = 0;
+    for (int i = 0, j = 0; i < timeBatch.length; i++) {
+      if (!keepCurrentRow[i]) {
+        continue;
+      }
+      boolean selected = satisfied[j] && consumePagination(paginationController);
+      keepCurrentRow[i] = selected;
+      if (selected) {
+        selectedPositions[selectedCount++] = j;
+      }
+      j++;
+    }
+    if (selectedCount == 0) {
+      return new TsBlockBuilder(dataTypes).build();
+    }
+
+    // decode the other columns of the selected rows
+    boolean allSelected = selectedCount == keptCount;
+    boolean[] isFilterColumn = new boolean[valueColumns.length];
+    for (int index : filterColumnIndexes) {
+      isFilterColumn[index] = true;
+    }
+    for (int i = 0; i < valueColumns.length; i++) {
+      if (!isFilterColumn[i]) {
+        valueColumns[i] =
+            readValueColumn(
+                valuePageReaders.get(i),
+                dataTypes.get(i),
+                timeBatch,
+                keepCurrentRow,
+                selectedCount);
+      } else if (!allSelected) {
+        valueColumns[i] = valueColumns[i].copyPositions(selectedPositions, 0, selectedCount);
+      }
+    }
+    Column timeColumn =
+        allSelected
+            ? keptTimeColumn
+            : keptTimeColumn.copyPositions(selectedPositions, 0, selectedCount);
+    return new TsBlock(selectedCount, timeColumn, valueColumns);
+  }
+
+  private static boolean consumePagination(PaginationController paginationController) {
+    if (paginationController == null) {
+      return true;
+    }
+    if (paginationController.hasCurOffset()) {
+      paginationController.consumeOffset();
+      return false;
+    }
+    if (paginationController.hasCurLimit()) {
+      paginationController.consumeLimit();
+      return true;
+    }
+    return false;
+  }
+
+  private static Column readValueColumn(
+      ValuePageReader valuePageReader,
+      TSDataType dataType,
+      long[] timeBatch,
+      boolean[] keepCurrentRow,
+      int keptCount)
+      throws IOException {
+    if (valuePageReader == null) {
+      return createNullColumn(dataType, keptCount);
+    }
+    ColumnBuilder builder = TypeFactory.getType(dataType).createColumnBuilder(keptCount);
+    if (valuePageReader.isModified()) {
+      boolean[] isDeleted = new boolean[timeBatch.length];
+      valuePageReader.fillIsDeleted(timeBatch, isDeleted, keepCurrentRow);
+      valuePageReader.writeColumnBuilderWithNextBatch(
+          timeBatch.length, builder, keepCurrentRow, isDeleted);
+    } else {
+      valuePageReader.writeColumnBuilderWithNextBatch(timeBatch.length, builder, keepCurrentRow);
+    }
+    return builder.build();
+  }
+
+  private static Column createNullColumn(TSDataType dataType, int positionCount) {
+    return new RunLengthEncodedColumn(
+        TypeFactory.getType(dataType).createColumnBuilder(1).appendNull().build(), positionCount);
+  }
+}
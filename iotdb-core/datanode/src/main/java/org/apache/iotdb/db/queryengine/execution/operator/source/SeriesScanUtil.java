@@ -21,18 +21,25 @@ package org.apache.iotdb.db.queryengine.execution.operator.source;
 
 import org.apache.iotdb.commons.path.IFullPath;
 import org.apache.iotdb.commons.path.NonAlignedFullPath;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext;
 import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet;
 import org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.DataNodeTTLCache;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.SeriesScanOptions;
 import org.apache.iotdb.db.queryengine.plan.statement.component.Ordering;
+import org.apache.iotdb.db.storageengine.buffer.AggregationResultCache.AggregationResultCacheKey;
+import org.apache.iotdb.db.storageengine.buffer.SharedScanPageCache;
+import org.apache.iotdb.db.storageengine.buffer.SharedScanPageCache.SharedScanPageKey;
 import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSource;
+import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.DiskChunkLoader;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.MemAlignedPageReader;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.MemPageReader;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.common.DescPriorityMergeReader;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.common.MergeReaderPriority;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.common.PriorityMergeReader;
+import org.apache.iotdb.db.storageengine.dataregion.rollup.RollupFileReader;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 
 import org.apache.tsfile.enums.TSDataType;
@@ -43,6 +50,7 @@ import org.apache.tsfile.file.metadata.ITimeSeriesMetadata;
 import org.apache.tsfile.file.metadata.StringArrayDeviceID;
 import org.apache.tsfile.file.metadata.statistics.Statistics;
 import org.apache.tsfile.read.TimeValuePair;
+import org.apache.tsfile.read.common.TimeRange;
 import org.apache.tsfile.read.common.block.TsBlock;
 import org.apache.tsfile.read.common.block.TsBlockBuilder;
 import org.apache.tsfile.read.common.block.TsBlockUtil;
@@ -50,6 +58,7 @@ import org.apache.tsfile.read.filter.basic.Filter;
 import org.apache.tsfile.read.reader.IPageReader;
 import org.apache.tsfile.read.reader.IPointReader;
 import org.apache.tsfile.read.reader.page.AlignedPageReader;
+import org.apache.tsfile.read.reader.page.PageReader;
 import org.apache.tsfile.read.reader.page.TablePageReader;
 import org.apache.tsfile.read.reader.series.PaginationController;
 import org.apache.tsfile.utils.Accountable;
@@ -59,10 +68,13 @@ import org.apache.tsfile.write.UnSupportedDataTypeException;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.PriorityQueue;
@@ -97,6 +109,8 @@ public class SeriesScanUtil implements Accountable {
   private ITimeSeriesMetadata firstTimeSeriesMetadata;
   private final List<ITimeSeriesMetadata> seqTimeSeriesMetadata;
   private final PriorityQueue<ITimeSeriesMetadata> unSeqTimeSeriesMetadata;
+  // TsFileResource of each unpacked TimeSeriesMetadata, only maintained when rollup is enabled
+  private Map<ITimeSeriesMetadata, TsFileResource> timeSeriesMetadataResources;
 
   // chunk cache
   private IChunkMetadata firstChunkMetadata;
@@ -119,6 +133,10 @@ public class SeriesScanUtil implements Accountable {
 
   private static final SeriesScanCostMetricSet SERIES_SCAN_COST_METRIC_SET =
       SeriesScanCostMetricSet.getInstance();
+  private static final SharedScanPageCache SHARED_SCAN_PAGE_CACHE =
+      SharedScanPageCache.getInstance();
+  private static final boolean ENABLE_LATE_MATERIALIZATION =
+      IoTDBDescriptor.getInstance().getConfig().isEnableLateMaterialization();
 
   private static final long INSTANCE_SIZE =
       RamUsageEstimator.shallowSizeOfInstance(SeriesScanUtil.class)
@@ -288,9 +306,40 @@ public class SeriesScanUtil implements Accountable {
   }
 
   public void skipCurrentFile() {
+    if (timeSeriesMetadataResources != null) {
+      timeSeriesMetadataResources.remove(firstTimeSeriesMetadata);
+    }
     firstTimeSeriesMetadata = null;
   }
 
+  /** Track the TsFileResource of each file so that its rollup file can be found. */
+  public void enableRollup() {
+    timeSeriesMetadataResources = new IdentityHashMap<>();
+  }
+
+  /**
+   * @return the rollup buckets of current file in the given interval which overlap [startTime,
+   *     endTime] ordered by time, or null if they are absent
+   */
+  public List<Statistics<? extends Serializable>> currentFileRollupBuckets(
+      long interval, long startTime, long endTime) {
+    checkState(firstTimeSeriesMetadata != null, "no first file");
+    TsFileResource resource =
+        timeSeriesMetadataResources == null
+            ? null
+            : timeSeriesMetadataResources.get(firstTimeSeriesMetadata);
+    if (resource == null || !resource.isClosed()) {
+      return null;
+    }
+    return RollupFileReader.readBuckets(
+        resource.getTsFile(),
+        deviceID,
+        ((NonAlignedFullPath) seriesPath).getMeasurement(),
+        interval,
+        startTime,
+        endTime);
+  }
+
   /////////////////////////////////////////////////////////////////////////////////////////////////
   // chunk level methods
   /////////////////////////////////////////////////////////////////////////////////////////////////
@@ -412,6 +461,9 @@ public class SeriesScanUtil implements Accountable {
   }
 
   protected void unpackOneTimeSeriesMetadata(ITimeSeriesMetadata timeSeriesMetadata) {
+    if (timeSeriesMetadataResources != null) {
+      timeSeriesMetadataResources.remove(timeSeriesMetadata);
+    }
     List<IChunkMetadata> chunkMetadataList =
         FileLoaderUtils.loadChunkMetadataList(timeSeriesMetadata);
     chunkMetadataList.forEach(chunkMetadata -> chunkMetadata.setSeq(timeSeriesMetadata.isSeq()));
@@ -597,7 +649,8 @@ public class SeriesScanUtil implements Accountable {
                   chunkMetaData.getVersion(),
                   chunkMetaData.getOffsetOfChunkHeader(),
                   iPageReader,
-                  true));
+                  true,
+                  getSharedScanPageKey(chunkMetaData, iPageReader)));
         }
       } else {
         for (int i = pageReaderList.size() - 1; i >= 0; i--) {
@@ -621,8 +674,32 @@ public class SeriesScanUtil implements Accountable {
                       chunkMetaData.getVersion(),
                       chunkMetaData.getOffsetOfChunkHeader(),
                       pageReader,
-                      false)));
+                      false,
+                      getSharedScanPageKey(chunkMetaData, pageReader))));
+    }
+  }
+
+  /**
+   * @return the key to share the decoded page among concurrent queries, or null if the page cannot
+   *     be shared
+   */
+  private SharedScanPageKey getSharedScanPageKey(
+      IChunkMetadata chunkMetaData, IPageReader pageReader) {
+    // only the not modified pages of non-aligned series in TsFiles are shared, and the result of
+    // them must not be filtered by the time filter, or it will be different among queries
+    if (!SHARED_SCAN_PAGE_CACHE.isEnable()
+        || !orderUtils.getAscending()
+        || !(chunkMetaData.getChunkLoader() instanceof DiskChunkLoader)
+        || !(pageReader instanceof PageReader)
+        || pageReader.isModified()
+        || !filterAllSatisfy(scanOptions.getGlobalTimeFilter(), pageReader)) {
+      return null;
     }
+    return new SharedScanPageKey(
+        ((DiskChunkLoader) chunkMetaData.getChunkLoader()).getTsFileID(),
+        chunkMetaData.getOffsetOfChunkHeader(),
+        pageReader.getStatistics().getStartTime(),
+        dataType);
   }
 
   @SuppressWarnings("unchecked")
@@ -703,8 +780,38 @@ public class SeriesScanUtil implements Accountable {
         return null;
       }
 
-      firstPageReader.addPushDownFilter(scanOptions.getPushDownFilter());
       TsBlock tsBlock;
+      if (firstPageReader.isShared()) {
+        // the decoded page is shared among queries, so the push down filter & limit offset are
+        // applied on it instead of being pushed into the page reader
+        tsBlock =
+            applyPushDownFilterAndLimitOffset(
+                firstPageReader.getAllSatisfiedPageData(orderUtils.getAscending()),
+                scanOptions.getPushDownFilter(),
+                paginationController);
+        firstPageReader = null;
+        return tsBlock;
+      }
+
+      Filter pushDownFilter = scanOptions.getPushDownFilter();
+      if (ENABLE_LATE_MATERIALIZATION
+          && !filterAllSatisfy(pushDownFilter, firstPageReader.data)
+          && firstPageReader.canLateMaterialize(
+              pushDownFilter, scanOptions.getPushDownFilterColumnIndexes())) {
+        boolean ascending = orderUtils.getAscending();
+        tsBlock =
+            firstPageReader.getLateMaterializedPageData(
+                getTsDataTypeList(),
+                scanOptions.getGlobalTimeFilter(),
+                pushDownFilter,
+                scanOptions.getPushDownFilterColumnIndexes(),
+                ascending ? paginationController : null,
+                ascending);
+        firstPageReader = null;
+        return ascending ? tsBlock : paginationController.applyTsBlock(tsBlock);
+      }
+
+      firstPageReader.addPushDownFilter(pushDownFilter);
       if (orderUtils.getAscending()) {
         firstPageReader.setLimitOffset(paginationController);
         tsBlock = firstPageReader.getAllSatisfiedPageData(orderUtils.getAscending());
@@ -1175,12 +1282,15 @@ public class SeriesScanUtil implements Accountable {
   }
 
   private Optional<ITimeSeriesMetadata> unpackSeqTsFileResource() throws IOException {
-    ITimeSeriesMetadata timeseriesMetadata =
-        loadTimeSeriesMetadata(orderUtils.getNextSeqFileResource(true), true);
+    TsFileResource resource = orderUtils.getNextSeqFileResource(true);
+    ITimeSeriesMetadata timeseriesMetadata = loadTimeSeriesMetadata(resource, true);
     // skip if data type is mismatched which may be caused by delete
     if (timeseriesMetadata != null && timeseriesMetadata.typeMatch(getTsDataTypeList())) {
       timeseriesMetadata.setSeq(true);
       seqTimeSeriesMetadata.add(timeseriesMetadata);
+      if (timeSeriesMetadataResources != null) {
+        timeSeriesMetadataResources.put(timeseriesMetadata, resource);
+      }
       return Optional.of(timeseriesMetadata);
     } else {
       return Optional.empty();
@@ -1188,12 +1298,15 @@ public class SeriesScanUtil implements Accountable {
   }
 
   private void unpackUnseqTsFileResource() throws IOException {
-    ITimeSeriesMetadata timeseriesMetadata =
-        loadTimeSeriesMetadata(orderUtils.getNextUnseqFileResource(true), false);
+    TsFileResource resource = orderUtils.getNextUnseqFileResource(true);
+    ITimeSeriesMetadata timeseriesMetadata = loadTimeSeriesMetadata(resource, false);
     // skip if data type is mismatched which may be caused by delete
     if (timeseriesMetadata != null && timeseriesMetadata.typeMatch(getTsDataTypeList())) {
       timeseriesMetadata.setSeq(false);
       unSeqTimeSeriesMetadata.add(timeseriesMetadata);
+      if (timeSeriesMetadataResources != null) {
+        timeSeriesMetadataResources.put(timeseriesMetadata, resource);
+      }
     }
   }
 
@@ -1212,6 +1325,76 @@ public class SeriesScanUtil implements Accountable {
     return Collections.singletonList(dataType);
   }
 
+  /**
+   * Build the key used to cache the aggregation result of the given time range.
+   *
+   * @return null if the result of this time range cannot be cached, which means the range is
+   *     partially filtered by the global time filter (e.g. TTL), or it may contain data in unsealed
+   *     TsFiles, or there is no data in it at all
+   */
+  public AggregationResultCacheKey buildAggregationResultCacheKey(
+      String planFingerprint, TimeRange timeRange) {
+    Filter globalTimeFilter = scanOptions.getGlobalTimeFilter();
+    if (globalTimeFilter != null
+        && !globalTimeFilter.containStartEndTime(timeRange.getMin(), timeRange.getMax())) {
+      return null;
+    }
+
+    List<TsFileResource> overlappedResources = new ArrayList<>();
+    if (!collectSealedOverlappedResources(
+            dataSource.getSeqResources(), true, timeRange, overlappedResources)
+        || !collectSealedOverlappedResources(
+            dataSource.getUnseqResources(), false, timeRange, overlappedResources)
+        || overlappedResources.isEmpty()) {
+      return null;
+    }
+
+    TsFileID[] tsFileIds = new TsFileID[overlappedResources.size()];
+    long[] modFileSizes = new long[overlappedResources.size()];
+    for (int i = 0; i < overlappedResources.size(); i++) {
+      TsFileResource resource = overlappedResources.get(i);
+      tsFileIds[i] = resource.getTsFileID();
+      modFileSizes[i] = resource.anyModFileExists() ? resource.getTotalModSizeInByte() : 0;
+    }
+    return new AggregationResultCacheKey(
+        planFingerprint,
+        tsFileIds[0].regionId,
+        timeRange.getMin(),
+        timeRange.getMax(),
+        tsFileIds,
+        modFileSizes);
+  }
+
+  /**
+   * @return false if any resource which may contain data of current device in the time range is
+   *     still unsealed
+   */
+  private boolean collectSealedOverlappedResources(
+      List<TsFileResource> resources,
+      boolean isSeq,
+      TimeRange timeRange,
+      List<TsFileResource> overlappedResources) {
+    for (TsFileResource resource : resources) {
+      Optional<Long> startTime = resource.getStartTime(deviceID);
+      if (!startTime.isPresent()) {
+        continue;
+      }
+      if (!resource.isClosed()) {
+        // the time range of an unsealed unseq file may still be extended to any direction
+        if (!isSeq || startTime.get() <= timeRange.getMax()) {
+          return false;
+        }
+        continue;
+      }
+      Optional<Long> endTime = resource.getEndTime(deviceID);
+      if (startTime.get() <= timeRange.getMax()
+          && (!endTime.isPresent() || endTime.get() >= timeRange.getMin())) {
+        overlappedResources.add(resource);
+      }
+    }
+    return true;
+  }
+
   protected IPointReader getPointReader(TsBlock tsBlock) {
     return tsBlock.getTsBlockSingleColumnIterator();
   }
@@ -1233,6 +1416,9 @@ public class SeriesScanUtil implements Accountable {
     private final boolean isAligned;
     private final boolean isMem;
 
+    // not null if the decoded page is shared among queries by SharedScanPageCache
+    private final SharedScanPageKey sharedScanPageKey;
+
     VersionPageReader(
         QueryContext context,
         long fileTimestamp,
@@ -1240,7 +1426,19 @@ public class SeriesScanUtil implements Accountable {
         long offset,
         IPageReader data,
         boolean isSeq) {
+      this(context, fileTimestamp, version, offset, data, isSeq, null);
+    }
+
+    VersionPageReader(
+        QueryContext context,
+        long fileTimestamp,
+        long version,
+        long offset,
+        IPageReader data,
+        boolean isSeq,
+        SharedScanPageKey sharedScanPageKey) {
       this.context = context;
+      this.sharedScanPageKey = sharedScanPageKey;
       this.version = new MergeReaderPriority(fileTimestamp, version, offset, isSeq);
       this.data = data;
       this.isSeq = isSeq;
@@ -1269,29 +1467,69 @@ public class SeriesScanUtil implements Accountable {
     TsBlock getAllSatisfiedPageData(boolean ascending) throws IOException {
       long startTime = System.nanoTime();
       try {
+        if (sharedScanPageKey != null) {
+          return SHARED_SCAN_PAGE_CACHE.get(sharedScanPageKey, data);
+        }
         TsBlock tsBlock = data.getAllSatisfiedData();
         if (!ascending) {
           tsBlock.reverse();
         }
         return tsBlock;
       } finally {
-        long time = System.nanoTime() - startTime;
-        if (isAligned) {
-          if (isMem) {
-            context.getQueryStatistics().getPageReadersDecodeAlignedMemCount().getAndAdd(1);
-            context.getQueryStatistics().getPageReadersDecodeAlignedMemTime().getAndAdd(time);
-          } else {
-            context.getQueryStatistics().getPageReadersDecodeAlignedDiskCount().getAndAdd(1);
-            context.getQueryStatistics().getPageReadersDecodeAlignedDiskTime().getAndAdd(time);
-          }
+        recordDecodeCost(System.nanoTime() - startTime);
+      }
+    }
+
+    boolean canLateMaterialize(Filter pushDownFilter, int[] filterColumnIndexes) {
+      return data instanceof TablePageReader
+          && LateMaterializationUtils.canLateMaterialize(
+              (TablePageReader) data, pushDownFilter, filterColumnIndexes);
+    }
+
+    /** Get the data satisfying the push down filter by {@link LateMaterializationUtils}. */
+    TsBlock getLateMaterializedPageData(
+        List<TSDataType> dataTypes,
+        Filter globalTimeFilter,
+        Filter pushDownFilter,
+        int[] filterColumnIndexes,
+        PaginationController paginationController,
+        boolean ascending)
+        throws IOException {
+      long startTime = System.nanoTime();
+      try {
+        TsBlock tsBlock =
+            LateMaterializationUtils.getAllSatisfiedData(
+                (TablePageReader) data,
+                dataTypes,
+                globalTimeFilter,
+                pushDownFilter,
+                filterColumnIndexes,
+                paginationController);
+        if (!ascending) {
+          tsBlock.reverse();
+        }
+        return tsBlock;
+      } finally {
+        recordDecodeCost(System.nanoTime() - startTime);
+      }
+    }
+
+    private void recordDecodeCost(long time) {
+      if (isAligned) {
+        if (isMem) {
+          context.getQueryStatistics().getPageReadersDecodeAlignedMemCount().getAndAdd(1);
+          context.getQueryStatistics().getPageReadersDecodeAlignedMemTime().getAndAdd(time);
         } else {
-          if (isMem) {
-            context.getQueryStatistics().getPageReadersDecodeNonAlignedMemCount().getAndAdd(1);
-            context.getQueryStatistics().getPageReadersDecodeNonAlignedMemTime().getAndAdd(time);
-          } else {
-            context.getQueryStatistics().getPageReadersDecodeNonAlignedDiskCount().getAndAdd(1);
-            context.getQueryStatistics().getPageReadersDecodeNonAlignedDiskTime().getAndAdd(time);
-          }
+          context.getQueryStatistics().getPageReadersDecodeAlignedDiskCount().getAndAdd(1);
+          context.getQueryStatistics().getPageReadersDecodeAlignedDiskTime().getAndAdd(time);
+        }
+      } else {
+        if (isMem) {
+          context.getQueryStatistics().getPageReadersDecodeNonAlignedMemCount().getAndAdd(1);
+          context.getQueryStatistics().getPageReadersDecodeNonAlignedMemTime().getAndAdd(time);
+        } else {
+          context.getQueryStatistics().getPageReadersDecodeNonAlignedDiskCount().getAndAdd(1);
+          context.getQueryStatistics().getPageReadersDecodeNonAlignedDiskTime().getAndAdd(time);
         }
       }
     }
@@ -1308,6 +1546,10 @@ public class SeriesScanUtil implements Accountable {
       return isSeq;
     }
 
+    boolean isShared() {
+      return sharedScanPageKey != null;
+    }
+
     public void setLimitOffset(PaginationController paginationController) {
       data.setLimitOffset(paginationController);
     }
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.metric;
+
+import org.apache.iotdb.commons.service.metric.enums.Metric;
+import org.apache.iotdb.commons.service.metric.enums.Tag;
+import org.apache.iotdb.db.storageengine.buffer.AggregationResultCache;
+import org.apache.iotdb.metrics.AbstractMetricService;
+import org.apache.iotdb.metrics.metricsets.IMetricSet;
+import org.apache.iotdb.metrics.utils.MetricLevel;
+import org.apache.iotdb.metrics.utils.MetricType;
+
+import java.util.Objects;
+
+public class AggregationResultCacheMetrics implements IMetricSet {
+
+  private static final String AGGREGATION_RESULT = "aggregation_result";
+  private static final String AGGREGATION_RESULT_CACHE = "aggregation_result_cache";
+
+  private final AggregationResultCache aggregationResultCache;
+
+  public AggregationResultCacheMetrics(AggregationResultCache aggregationResultCache) {
+    this.aggregationResultCache = aggregationResultCache;
+  }
+
+  @Override
+  public void bindTo(AbstractMetricService metricService) {
+    metricService.createAutoGauge(
+        Metric.CACHE_HIT_RATE.toString(),
+        MetricLevel.IMPORTANT,
+        aggregationResultCache,
+        AggregationResultCache::getHitRate,
+        Tag.NAME.toString(),
+        AGGREGATION_RESULT);
+    metricService.createAutoGauge(
+        Metric.MEM.toString(),
+        MetricLevel.IMPORTANT,
+        aggregationResultCache,
+        AggregationResultCache::getMemoryUsage,
+        Tag.NAME.toString(),
+        AGGREGATION_RESULT_CACHE);
+    metricService.createAutoGauge(
+        Metric.CACHE_ENTRIES_NUM.toString(),
+        MetricLevel.IMPORTANT,
+        aggregationResultCache,
+        AggregationResultCache::getEntriesCount,
+        Tag.NAME.toString(),
+        AGGREGATION_RESULT_CACHE);
+  }
+
+  @Override
+  public void unbindFrom(AbstractMetricService metricService) {
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.CACHE_HIT_RATE.toString(),
+        Tag.NAME.toString(),
+        AGGREGATION_RESULT);
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.MEM.toString(),
+        Tag.NAME.toString(),
+        AGGREGATION_RESULT_CACHE);
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.CACHE_ENTRIES_NUM.toString(),
+        Tag.NAME.toString(),
+        AGGREGATION_RESULT_CACHE);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    AggregationResultCacheMetrics that = (AggregationResultCacheMetrics) o;
+    return Objects.equals(aggregationResultCache, that.aggregationResultCache);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(aggregationResultCache);
+  }
+}
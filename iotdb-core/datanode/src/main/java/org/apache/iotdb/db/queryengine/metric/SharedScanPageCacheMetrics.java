@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.metric;
+
+import org.apache.iotdb.commons.service.metric.enums.Metric;
+import org.apache.iotdb.commons.service.metric.enums.Tag;
+import org.apache.iotdb.db.storageengine.buffer.SharedScanPageCache;
+import org.apache.iotdb.metrics.AbstractMetricService;
+import org.apache.iotdb.metrics.metricsets.IMetricSet;
+import org.apache.iotdb.metrics.utils.MetricLevel;
+import org.apache.iotdb.metrics.utils.MetricType;
+
+import java.util.Objects;
+
+public class SharedScanPageCacheMetrics implements IMetricSet {
+
+  private static final String SHARED_SCAN_PAGE = "shared_scan_page";
+  private static final String SHARED_SCAN_PAGE_CACHE = "shared_scan_page_cache";
+
+  private final SharedScanPageCache sharedScanPageCache;
+
+  public SharedScanPageCacheMetrics(SharedScanPageCache sharedScanPageCache) {
+    this.sharedScanPageCache = sharedScanPageCache;
+  }
+
+  @Override
+  public void bindTo(AbstractMetricService metricService) {
+    metricService.createAutoGauge(
+        Metric.CACHE_HIT_RATE.toString(),
+        MetricLevel.IMPORTANT,
+        sharedScanPageCache,
+        SharedScanPageCache::getHitRate,
+        Tag.NAME.toString(),
+        SHARED_SCAN_PAGE);
+    metricService.createAutoGauge(
+        Metric.MEM.toString(),
+        MetricLevel.IMPORTANT,
+        sharedScanPageCache,
+        SharedScanPageCache::getMemoryUsage,
+        Tag.NAME.toString(),
+        SHARED_SCAN_PAGE_CACHE);
+    metricService.createAutoGauge(
+        Metric.CACHE_ENTRIES_NUM.toString(),
+        MetricLevel.IMPORTANT,
+        sharedScanPageCache,
+        SharedScanPageCache::getEntriesCount,
+        Tag.NAME.toString(),
+        SHARED_SCAN_PAGE_CACHE);
+  }
+
+  @Override
+  public void unbindFrom(AbstractMetricService metricService) {
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.CACHE_HIT_RATE.toString(),
+        Tag.NAME.toString(),
+        SHARED_SCAN_PAGE);
+    metricService.remove(
+        MetricType.AUTO_GAUGE, Metric.MEM.toString(), Tag.NAME.toString(), SHARED_SCAN_PAGE_CACHE);
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.CACHE_ENTRIES_NUM.toString(),
+        Tag.NAME.toString(),
+        SHARED_SCAN_PAGE_CACHE);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    SharedScanPageCacheMetrics that = (SharedScanPageCacheMetrics) o;
+    return Objects.equals(sharedScanPageCache, that.sharedScanPageCache);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(sharedScanPageCache);
+  }
+}
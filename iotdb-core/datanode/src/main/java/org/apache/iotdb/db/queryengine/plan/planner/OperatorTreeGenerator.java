@@ -265,6 +265,7 @@ import org.apache.iotdb.db.queryengine.transformation.dag.column.ColumnTransform
 import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.LeafColumnTransformer;
 import org.apache.iotdb.db.queryengine.transformation.dag.udf.UDTFContext;
 import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSourceType;
+import org.apache.iotdb.db.storageengine.dataregion.rollup.RollupFileGenerator;
 import org.apache.iotdb.db.utils.columngenerator.ColumnGenerator;
 import org.apache.iotdb.db.utils.columngenerator.ColumnGeneratorType;
 import org.apache.iotdb.db.utils.columngenerator.SlidingTimeColumnGenerator;
@@ -685,6 +686,14 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
             node.getGroupByTimeParameter(),
             maxReturnSize,
             canUseStatistics);
+    aggregateScanOperator.setResultCacheFingerprint(
+        buildAggregationResultCacheFingerprint(
+            node.getSeriesPath().getFullPath(),
+            aggregationDescriptors,
+            pushDownPredicate,
+            groupByTimeParameter,
+            ascending));
+    aggregateScanOperator.setRollupInterval(chooseRollupInterval(groupByTimeParameter));
 
     ((DataDriverContext) context.getDriverContext()).addSourceOperator(aggregateScanOperator);
     ((DataDriverContext) context.getDriverContext()).addPath(seriesPath);
@@ -826,6 +835,13 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
             groupByTimeParameter,
             maxReturnSize,
             canUseStatistics);
+    seriesAggregationScanOperator.setResultCacheFingerprint(
+        buildAggregationResultCacheFingerprint(
+            alignedPath.getDevicePath() + "." + alignedPath.getMeasurementList(),
+            aggregationDescriptorList,
+            pushDownPredicate,
+            groupByTimeParameter,
+            ascending));
 
     ((DataDriverContext) context.getDriverContext())
         .addSourceOperator(seriesAggregationScanOperator);
@@ -834,6 +850,64 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
     return seriesAggregationScanOperator;
   }
 
+  /**
+   * The fingerprint identifies everything except the time window and the data files that decides
+   * the aggregation result of one series in one time window.
+   *
+   * @return null if the aggregation result cache is disabled or it's not a GROUP BY time query
+   */
+  private String buildAggregationResultCacheFingerprint(
+      String seriesPath,
+      List<AggregationDescriptor> aggregationDescriptors,
+      Expression pushDownPredicate,
+      GroupByTimeParameter groupByTimeParameter,
+      boolean ascending) {
+    if (groupByTimeParameter == null
+        || !IoTDBDescriptor.getInstance().getConfig().isEnableAggregationResultCache()) {
+      return null;
+    }
+    StringBuilder fingerprint = new StringBuilder(seriesPath);
+    for (AggregationDescriptor descriptor : aggregationDescriptors) {
+      fingerprint
+          .append('|')
+          .append(descriptor.getStep())
+          .append(':')
+          .append(descriptor.getOutputColumnNames());
+    }
+    fingerprint
+        .append('|')
+        .append(pushDownPredicate == null ? "" : pushDownPredicate.getExpressionString())
+        .append('|')
+        .append(ascending);
+    return fingerprint.toString();
+  }
+
+  /**
+   * Choose the largest rollup interval that each time window is a union of whole buckets of it.
+   *
+   * @return 0 if rollup is disabled or no rollup interval can be used
+   */
+  private long chooseRollupInterval(GroupByTimeParameter groupByTimeParameter) {
+    if (groupByTimeParameter == null
+        || !IoTDBDescriptor.getInstance().getConfig().isEnableRollup()
+        || !groupByTimeParameter.isLeftCRightO()
+        || groupByTimeParameter.getInterval().containsMonth()
+        || !groupByTimeParameter.getInterval().equals(groupByTimeParameter.getSlidingStep())) {
+      return 0;
+    }
+    long interval = groupByTimeParameter.getInterval().nonMonthDuration;
+    long rollupInterval = 0;
+    for (long candidate : RollupFileGenerator.getRollupIntervals()) {
+      if (candidate > rollupInterval
+          && interval % candidate == 0
+          && Math.floorMod(groupByTimeParameter.getStartTime(), candidate) == 0
+          && Math.floorMod(groupByTimeParameter.getEndTime(), candidate) == 0) {
+        rollupInterval = candidate;
+      }
+    }
+    return rollupInterval;
+  }
+
   private boolean judgeCanUseStatistics(
       final TAggregationType aggregationType, final TSDataType seriesType) {
     return !TSDataType.BLOB.equals(seriesType)
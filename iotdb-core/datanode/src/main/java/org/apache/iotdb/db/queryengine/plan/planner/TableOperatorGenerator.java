@@ -3090,6 +3090,12 @@ public class TableOperatorGenerator extends PlanVisitor<Operator, LocalExecution
       scanOptionsBuilder.withPushDownFilter(
           convertPredicateToFilter(
               pushDownPredicate, measurementColumnsIndexMap, columnSchemaMap, timeColumnName));
+      scanOptionsBuilder.withPushDownFilterColumnIndexes(
+          SymbolsExtractor.extractUnique(pushDownPredicate).stream()
+              .map(symbol -> measurementColumnsIndexMap.get(symbol.getName()))
+              .filter(Objects::nonNull)
+              .mapToInt(Integer::intValue)
+              .toArray());
     }
     return scanOptionsBuilder.build();
   }
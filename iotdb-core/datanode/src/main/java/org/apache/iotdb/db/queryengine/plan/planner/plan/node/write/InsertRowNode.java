@@ -139,6 +139,12 @@ public class InsertRowNode extends InsertNode implements WALEntryValue {
     // no child for InsertRowNode
   }
 
+  @Override
+  public Object getApplyPartitionKey() {
+    // The writes of one device are applied in order by the followers
+    return getDeviceID();
+  }
+
   @Override
   public PlanNodeType getType() {
     return PlanNodeType.INSERT_ROW;
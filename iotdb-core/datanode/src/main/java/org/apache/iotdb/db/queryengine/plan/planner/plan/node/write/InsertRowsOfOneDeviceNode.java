@@ -134,6 +134,12 @@ public class InsertRowsOfOneDeviceNode extends InsertNode {
   @Override
   public void addChild(PlanNode child) {}
 
+  @Override
+  public Object getApplyPartitionKey() {
+    // The writes of one device are applied in order by the followers
+    return getDeviceID();
+  }
+
   @Override
   public PlanNodeType getType() {
     return PlanNodeType.INSERT_ROWS_OF_ONE_DEVICE;
@@ -190,6 +190,12 @@ public class InsertTabletNode extends InsertNode implements WALEntryValue {
   @Override
   public void addChild(PlanNode child) {}
 
+  @Override
+  public Object getApplyPartitionKey() {
+    // The writes of one device are applied in order by the followers
+    return getDeviceID();
+  }
+
   @Override
   public PlanNodeType getType() {
     return PlanNodeType.INSERT_TABLET;
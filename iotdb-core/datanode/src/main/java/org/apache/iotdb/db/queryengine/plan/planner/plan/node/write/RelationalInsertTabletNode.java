@@ -309,6 +309,12 @@ public class RelationalInsertTabletNode extends InsertTabletNode {
     return super.subSerializeSize(start, end) + columnCategories.length * Byte.BYTES;
   }
 
+  @Override
+  public Object getApplyPartitionKey() {
+    // A tablet of multiple devices has to be applied exclusively
+    return singleDevice ? getDeviceID(0) : null;
+  }
+
   @Override
   public PlanNodeType getType() {
     return PlanNodeType.RELATIONAL_INSERT_TABLET;
@@ -43,6 +43,9 @@ public class SeriesScanOptions {
 
   private final Filter pushDownFilter;
 
+  // indexes of the value columns used by pushDownFilter, null if unknown
+  private final int[] pushDownFilterColumnIndexes;
+
   private final long pushDownLimit;
   private final long pushDownOffset;
 
@@ -53,9 +56,11 @@ public class SeriesScanOptions {
   private boolean isTableViewForTreeModel;
   private long ttlForTableView = Long.MAX_VALUE;
 
+  @SuppressWarnings("squid:S107")
   public SeriesScanOptions(
       Filter globalTimeFilter,
       Filter pushDownFilter,
+      int[] pushDownFilterColumnIndexes,
       long pushDownLimit,
       long pushDownOffset,
       Set<String> allSensors,
@@ -64,6 +69,7 @@ public class SeriesScanOptions {
     this.globalTimeFilter = globalTimeFilter;
     this.originalTimeFilter = globalTimeFilter;
     this.pushDownFilter = pushDownFilter;
+    this.pushDownFilterColumnIndexes = pushDownFilterColumnIndexes;
     this.pushDownLimit = pushDownLimit;
     this.pushDownOffset = pushDownOffset;
     this.allSensors = allSensors;
@@ -91,6 +97,13 @@ public class SeriesScanOptions {
     return pushDownFilter;
   }
 
+  /**
+   * @return indexes of the value columns used by the push down filter, or null if unknown
+   */
+  public int[] getPushDownFilterColumnIndexes() {
+    return pushDownFilterColumnIndexes;
+  }
+
   public long getPushDownLimit() {
     return this.pushDownLimit;
   }
@@ -179,6 +192,7 @@ public class SeriesScanOptions {
 
     private Filter globalTimeFilter = null;
     private Filter pushDownFilter = null;
+    private int[] pushDownFilterColumnIndexes = null;
     private long pushDownLimit = 0L;
     private long pushDownOffset = 0L;
 
@@ -197,6 +211,11 @@ public class SeriesScanOptions {
       return this;
     }
 
+    public Builder withPushDownFilterColumnIndexes(int[] pushDownFilterColumnIndexes) {
+      this.pushDownFilterColumnIndexes = pushDownFilterColumnIndexes;
+      return this;
+    }
+
     public Builder withPushDownLimit(long pushDownLimit) {
       this.pushDownLimit = pushDownLimit;
       return this;
@@ -225,6 +244,7 @@ public class SeriesScanOptions {
       return new SeriesScanOptions(
           globalTimeFilter,
           pushDownFilter,
+          pushDownFilterColumnIndexes,
           pushDownLimit,
           pushDownOffset,
           allSensors,
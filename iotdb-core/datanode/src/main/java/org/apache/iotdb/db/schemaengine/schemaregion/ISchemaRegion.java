@@ -98,6 +98,24 @@ public interface ISchemaRegion {
 
   void forceMlog();
 
+  /**
+   * Mark the start of a batch of consecutive writes. Until {@link #endBatchWrite()}, the mlog is
+   * not forced after each write even if it is configured to be, and is forced once at the end.
+   */
+  default void beginBatchWrite() {
+    // do nothing by default
+  }
+
+  /**
+   * Mark the end of a batch of consecutive writes and force the mlog if needed.
+   *
+   * @throws MetadataException if the mlog cannot be forced, so the writes of the batch are not
+   *     durable
+   */
+  default void endBatchWrite() throws MetadataException {
+    // do nothing by default
+  }
+
   ISchemaRegionStatistics getSchemaRegionStatistics();
 
   ISchemaRegionMetric getSchemaRegionMetric();
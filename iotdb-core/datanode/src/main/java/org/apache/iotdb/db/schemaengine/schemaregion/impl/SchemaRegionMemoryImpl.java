@@ -346,6 +346,26 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
     }
   }
 
+  @Override
+  public void beginBatchWrite() {
+    final SchemaLogWriter<ISchemaRegionPlan> logWriter = this.logWriter;
+    if (usingMLog && logWriter != null) {
+      logWriter.beginDeferredForce();
+    }
+  }
+
+  @Override
+  public void endBatchWrite() throws MetadataException {
+    final SchemaLogWriter<ISchemaRegionPlan> logWriter = this.logWriter;
+    if (usingMLog && logWriter != null) {
+      try {
+        logWriter.endDeferredForce();
+      } catch (final IOException e) {
+        throw new MetadataException(e);
+      }
+    }
+  }
+
   @Override
   public void forceMlog() {
     if (!initialized) {
@@ -344,6 +344,26 @@ public class SchemaRegionPBTreeImpl implements ISchemaRegion {
     }
   }
 
+  @Override
+  public void beginBatchWrite() {
+    SchemaLogWriter<ISchemaRegionPlan> logWriter = this.logWriter;
+    if (usingMLog && logWriter != null) {
+      logWriter.beginDeferredForce();
+    }
+  }
+
+  @Override
+  public void endBatchWrite() throws MetadataException {
+    SchemaLogWriter<ISchemaRegionPlan> logWriter = this.logWriter;
+    if (usingMLog && logWriter != null) {
+      try {
+        logWriter.endDeferredForce();
+      } catch (IOException e) {
+        throw new MetadataException(e);
+      }
+    }
+  }
+
   @Override
   public void forceMlog() {
     if (!initialized) {
@@ -45,6 +45,7 @@ public class SchemaLogWriter<T> implements AutoCloseable {
   private final ISerializer<T> serializer;
 
   private final boolean forceEachWrite;
+  private boolean forceDeferred = false;
 
   private boolean hasSynced = true;
 
@@ -80,7 +81,19 @@ public class SchemaLogWriter<T> implements AutoCloseable {
     hasSynced = false;
     // serialize plan to binary data
     serializer.serialize(schemaPlan, fileOutputStream);
-    if (forceEachWrite) {
+    if (forceEachWrite && !forceDeferred) {
+      syncBufferToDisk();
+    }
+  }
+
+  /** Skip the per-write force until {@link #endDeferredForce()} so that a batch is forced once. */
+  public synchronized void beginDeferredForce() {
+    forceDeferred = true;
+  }
+
+  public synchronized void endDeferredForce() throws IOException {
+    forceDeferred = false;
+    if (forceEachWrite && !hasSynced) {
       syncBufferToDisk();
     }
   }
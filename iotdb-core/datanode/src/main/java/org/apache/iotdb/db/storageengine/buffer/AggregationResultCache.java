@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.buffer;
+
+import org.apache.iotdb.commons.service.metric.MetricService;
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.metric.AggregationResultCacheMetrics;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.utils.RamUsageEstimator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class is used to cache the aggregation results of one time window of one series, the caching
+ * strategy is LRU.
+ *
+ * <p>An entry is only put when all the TsFiles which may contain data of the window are sealed, and
+ * its key contains the ids and mod file sizes of these files. So any compaction, deletion or load
+ * that may change the result of the window also changes the key, and stale entries can never be
+ * hit. The invalidate methods are only used to release the memory of these stale entries early.
+ */
+@SuppressWarnings("squid:S6548")
+public class AggregationResultCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AggregationResultCache.class);
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
+  private final Cache<AggregationResultCacheKey, Column[]> lruCache;
+
+  private AggregationResultCache() {
+    if (isEnable()) {
+      LOGGER.info(
+          "AggregationResultCache size = {}", CONFIG.getAggregationResultCacheSizeInBytes());
+    }
+    lruCache =
+        Caffeine.newBuilder()
+            .maximumWeight(CONFIG.getAggregationResultCacheSizeInBytes())
+            .weigher(
+                (Weigher<AggregationResultCacheKey, Column[]>)
+                    (key, columns) -> (int) (key.getRetainedSizeInBytes() + sizeOfColumns(columns)))
+            .recordStats()
+            .build();
+
+    // add metrics
+    MetricService.getInstance().addMetricSet(new AggregationResultCacheMetrics(this));
+  }
+
+  public static AggregationResultCache getInstance() {
+    return AggregationResultCacheHolder.INSTANCE;
+  }
+
+  public boolean isEnable() {
+    return CONFIG.isEnableAggregationResultCache();
+  }
+
+  /**
+   * @return the cached aggregation result columns, each of which contains exactly one position, or
+   *     null if absent
+   */
+  public Column[] get(AggregationResultCacheKey key) {
+    return isEnable() ? lruCache.getIfPresent(key) : null;
+  }
+
+  public void put(AggregationResultCacheKey key, Column[] aggregationResult) {
+    if (isEnable()) {
+      lruCache.put(key, aggregationResult);
+    }
+  }
+
+  /** Remove all the entries whose window was computed from any of the given files. */
+  public void invalidate(Collection<TsFileResource> removedTsFiles) {
+    if (removedTsFiles.isEmpty()) {
+      return;
+    }
+    Set<TsFileID> removedTsFileIds = new HashSet<>();
+    for (TsFileResource resource : removedTsFiles) {
+      removedTsFileIds.add(resource.getTsFileID());
+    }
+    lruCache
+        .asMap()
+        .keySet()
+        .removeIf(key -> Arrays.stream(key.tsFileIds).anyMatch(removedTsFileIds::contains));
+  }
+
+  /** Remove all the entries belonging to the given data region. */
+  public void invalidate(String dataRegionId) {
+    lruCache
+        .asMap()
+        .keySet()
+        .removeIf(key -> String.valueOf(key.dataRegionId).equals(dataRegionId));
+  }
+
+  public double getHitRate() {
+    return lruCache.stats().hitRate() * 100;
+  }
+
+  public long getMemoryUsage() {
+    return lruCache
+        .policy()
+        .eviction()
+        .map(eviction -> eviction.weightedSize().orElse(0L))
+        .orElse(0L);
+  }
+
+  public long getEntriesCount() {
+    return lruCache.estimatedSize();
+  }
+
+  /** clear LRUCache. */
+  public void clear() {
+    lruCache.invalidateAll();
+    lruCache.cleanUp();
+  }
+
+  @TestOnly
+  public void putForTest(AggregationResultCacheKey key, Column[] aggregationResult) {
+    lruCache.put(key, aggregationResult);
+  }
+
+  @TestOnly
+  public long getHitCount() {
+    return lruCache.stats().hitCount();
+  }
+
+  @TestOnly
+  public Column[] getIfPresent(AggregationResultCacheKey key) {
+    return lruCache.getIfPresent(key);
+  }
+
+  private static long sizeOfColumns(Column[] columns) {
+    long size = RamUsageEstimator.shallowSizeOf(columns);
+    for (Column column : columns) {
+      size += column.getRetainedSizeInBytes();
+    }
+    return size;
+  }
+
+  public static class AggregationResultCacheKey {
+
+    private static final long INSTANCE_SIZE =
+        RamUsageEstimator.shallowSizeOfInstance(AggregationResultCacheKey.class);
+    private static final long TS_FILE_ID_SIZE =
+        RamUsageEstimator.shallowSizeOfInstance(TsFileID.class);
+
+    // There is no need to add this field size while calculating the size of the key, because it is
+    // shared by all the windows of one operator.
+    private final String planFingerprint;
+    private final int dataRegionId;
+    private final long startTime;
+    private final long endTime;
+    // ids of the sealed files which may contain data of this window
+    private final TsFileID[] tsFileIds;
+    // mod file size of each file in tsFileIds, any deletion changes it
+    private final long[] modFileSizes;
+
+    public AggregationResultCacheKey(
+        String planFingerprint,
+        int dataRegionId,
+        long startTime,
+        long endTime,
+        TsFileID[] tsFileIds,
+        long[] modFileSizes) {
+      this.planFingerprint = planFingerprint;
+      this.dataRegionId = dataRegionId;
+      this.startTime = startTime;
+      this.endTime = endTime;
+      this.tsFileIds = tsFileIds;
+      this.modFileSizes = modFileSizes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      AggregationResultCacheKey that = (AggregationResultCacheKey) o;
+      return dataRegionId == that.dataRegionId
+          && startTime == that.startTime
+          && endTime == that.endTime
+          && Objects.equals(planFingerprint, that.planFingerprint)
+          && Arrays.equals(tsFileIds, that.tsFileIds)
+          && Arrays.equals(modFileSizes, that.modFileSizes);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = Objects.hash(planFingerprint, dataRegionId, startTime, endTime);
+      result = 31 * result + Arrays.hashCode(tsFileIds);
+      result = 31 * result + Arrays.hashCode(modFileSizes);
+      return result;
+    }
+
+    public long getRetainedSizeInBytes() {
+      return INSTANCE_SIZE
+          + RamUsageEstimator.shallowSizeOf(tsFileIds)
+          + TS_FILE_ID_SIZE * tsFileIds.length
+          + RamUsageEstimator.sizeOf(modFileSizes);
+    }
+  }
+
+  /** singleton pattern. */
+  private static class AggregationResultCacheHolder {
+    private static final AggregationResultCache INSTANCE = new AggregationResultCache();
+  }
+}
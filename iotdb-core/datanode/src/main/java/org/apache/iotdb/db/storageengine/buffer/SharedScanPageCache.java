@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.buffer;
+
+import org.apache.iotdb.commons.exception.IoTDBIORuntimeException;
+import org.apache.iotdb.commons.service.metric.MetricService;
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.metric.SharedScanPageCacheMetrics;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.reader.IPageReader;
+import org.apache.tsfile.utils.RamUsageEstimator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * This class is used to share the decoded pages of TsFiles among concurrent queries, the caching
+ * strategy is LRU.
+ *
+ * <p>The first query reading a page decodes it, and the other queries reading the same page at the
+ * same time wait for and reuse its result instead of decoding it again. Queries arriving later are
+ * served from the cache as long as the page is not evicted. Only the pages that are not modified
+ * and fully satisfy the time filter of the query are shared, so the decoded page only depends on
+ * the data in the file, and the value filter and limit/offset of each query are applied on it
+ * later.
+ *
+ * <p>The cached {@link TsBlock}s are shared, so they must never be modified by the queries.
+ */
+@SuppressWarnings("squid:S6548")
+public class SharedScanPageCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SharedScanPageCache.class);
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+  private static final boolean CACHE_ENABLE = CONFIG.isEnableSharedScan();
+
+  private final Cache<SharedScanPageKey, TsBlock> lruCache;
+
+  private SharedScanPageCache() {
+    if (CACHE_ENABLE) {
+      LOGGER.info("SharedScanPageCache size = {}", CONFIG.getSharedScanCacheSizeInBytes());
+    }
+    lruCache =
+        Caffeine.newBuilder()
+            .maximumWeight(CONFIG.getSharedScanCacheSizeInBytes())
+            .weigher(
+                (Weigher<SharedScanPageKey, TsBlock>)
+                    (key, tsBlock) ->
+                        (int) (SharedScanPageKey.INSTANCE_SIZE + tsBlock.getRetainedSizeInBytes()))
+            .recordStats()
+            .build();
+
+    // add metrics
+    MetricService.getInstance().addMetricSet(new SharedScanPageCacheMetrics(this));
+  }
+
+  public static SharedScanPageCache getInstance() {
+    return SharedScanPageCacheHolder.INSTANCE;
+  }
+
+  public boolean isEnable() {
+    return CACHE_ENABLE;
+  }
+
+  /**
+   * Get the decoded page, decode it by the given page reader if it is absent. If another query is
+   * decoding the same page, wait for its result.
+   */
+  public TsBlock get(SharedScanPageKey key, IPageReader pageReader) throws IOException {
+    try {
+      return lruCache.get(
+          key,
+          k -> {
+            try {
+              return pageReader.getAllSatisfiedData();
+            } catch (IOException e) {
+              throw new IoTDBIORuntimeException(e);
+            }
+          });
+    } catch (IoTDBIORuntimeException e) {
+      throw e.getCause();
+    }
+  }
+
+  public double getHitRate() {
+    return lruCache.stats().hitRate() * 100;
+  }
+
+  public long getMemoryUsage() {
+    return lruCache
+        .policy()
+        .eviction()
+        .map(eviction -> eviction.weightedSize().orElse(0L))
+        .orElse(0L);
+  }
+
+  public long getEntriesCount() {
+    return lruCache.estimatedSize();
+  }
+
+  /** clear LRUCache. */
+  public void clear() {
+    lruCache.invalidateAll();
+    lruCache.cleanUp();
+  }
+
+  @TestOnly
+  public TsBlock getIfPresent(SharedScanPageKey key) {
+    return lruCache.getIfPresent(key);
+  }
+
+  public static class SharedScanPageKey {
+
+    private static final long INSTANCE_SIZE =
+        RamUsageEstimator.shallowSizeOfInstance(SharedScanPageKey.class)
+            + RamUsageEstimator.shallowSizeOfInstance(TsFileID.class);
+
+    private final TsFileID tsFileID;
+    private final long offsetOfChunkHeader;
+    // pages in one chunk never overlap, so the start time identifies a page in the chunk
+    private final long pageStartTime;
+    // the data type may be different from the one in file after the series is altered
+    private final TSDataType dataType;
+
+    public SharedScanPageKey(
+        TsFileID tsFileID, long offsetOfChunkHeader, long pageStartTime, TSDataType dataType) {
+      this.tsFileID = tsFileID;
+      this.offsetOfChunkHeader = offsetOfChunkHeader;
+      this.pageStartTime = pageStartTime;
+      this.dataType = dataType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      SharedScanPageKey that = (SharedScanPageKey) o;
+      return offsetOfChunkHeader == that.offsetOfChunkHeader
+          && pageStartTime == that.pageStartTime
+          && dataType == that.dataType
+          && Objects.equals(tsFileID, that.tsFileID);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tsFileID, offsetOfChunkHeader, pageStartTime, dataType);
+    }
+
+    @Override
+    public String toString() {
+      return "SharedScanPageKey{"
+          + "tsFileID="
+          + tsFileID
+          + ", offsetOfChunkHeader="
+          + offsetOfChunkHeader
+          + ", pageStartTime="
+          + pageStartTime
+          + ", dataType="
+          + dataType
+          + '}';
+    }
+  }
+
+  /** singleton pattern. */
+  private static class SharedScanPageCacheHolder {
+    private static final SharedScanPageCache INSTANCE = new SharedScanPageCache();
+  }
+}
@@ -87,6 +87,7 @@ import org.apache.iotdb.db.service.metrics.CompactionMetrics;
 import org.apache.iotdb.db.service.metrics.FileMetrics;
 import org.apache.iotdb.db.service.metrics.WritingMetrics;
 import org.apache.iotdb.db.storageengine.StorageEngine;
+import org.apache.iotdb.db.storageengine.buffer.AggregationResultCache;
 import org.apache.iotdb.db.storageengine.buffer.BloomFilterCache;
 import org.apache.iotdb.db.storageengine.buffer.ChunkCache;
 import org.apache.iotdb.db.storageengine.buffer.TimeSeriesMetadataCache;
@@ -116,6 +117,7 @@ import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSourceForRegio
 import org.apache.iotdb.db.storageengine.dataregion.read.control.FileReaderManager;
 import org.apache.iotdb.db.storageengine.dataregion.read.filescan.IFileScanHandle;
 import org.apache.iotdb.db.storageengine.dataregion.read.filescan.impl.ClosedFileScanHandleImpl;
+import org.apache.iotdb.db.storageengine.dataregion.rollup.RollupFileGenerator;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileManager;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
@@ -286,6 +288,12 @@ public class DataRegion implements IDataRegionForQuery {
   /** database name. */
   private final String databaseName;
 
+  /** points written into this data region, sampled to report the region's write throughput. */
+  private final AtomicLong writtenPointCount = new AtomicLong(0);
+
+  /** query fragments served by this data region, sampled to report the region's read QPS. */
+  private final AtomicLong readRequestCount = new AtomicLong(0);
+
   /** data region system directory. */
   private File dataRegionSysDir;
 
@@ -2323,6 +2331,7 @@ public class DataRegion implements IDataRegionForQuery {
         return;
       }
       TreeDeviceSchemaCacheManager.getInstance().invalidateLastCache(pattern);
+      AggregationResultCache.getInstance().invalidate(dataRegionId);
       // write log to impacted working TsFileProcessors
       List<WALFlushListener> walListeners =
           logDeletionInWAL(startTime, endTime, searchIndex, pattern);
@@ -2384,6 +2393,7 @@ public class DataRegion implements IDataRegionForQuery {
       }
       TableDeviceSchemaCache.getInstance()
           .invalidateLastCache(getDatabaseName(), modEntries.get(0).getTableName());
+      AggregationResultCache.getInstance().invalidate(dataRegionId);
       List<WALFlushListener> walListeners = logDeletionInWAL(node);
 
       for (WALFlushListener walFlushListener : walListeners) {
@@ -2450,6 +2460,7 @@ public class DataRegion implements IDataRegionForQuery {
         return;
       }
       TreeDeviceSchemaCacheManager.getInstance().invalidateDatabaseLastCache(getDatabaseName());
+      AggregationResultCache.getInstance().invalidate(dataRegionId);
       // write log to impacted working TsFileProcessors
       List<WALFlushListener> walListeners =
           logDeletionInWAL(startTime, endTime, searchIndex, pathToDelete);
@@ -2798,6 +2809,8 @@ public class DataRegion implements IDataRegionForQuery {
         renameAndHandleError(tsFilePath, tsFilePath + BROKEN_SUFFIX);
         renameAndHandleError(
             tsFilePath + RESOURCE_SUFFIX, tsFilePath + RESOURCE_SUFFIX + BROKEN_SUFFIX);
+        org.apache.iotdb.commons.utils.FileUtils.deleteFileIfExist(
+            RollupFileGenerator.getRollupFile(tsFileProcessor.getTsFileResource().getTsFile()));
       } else {
         tsFileResourceManager.registerSealedTsFileResource(tsFileProcessor.getTsFileResource());
       }
@@ -2991,6 +3004,7 @@ public class DataRegion implements IDataRegionForQuery {
     ChunkCache.getInstance().clear();
     TimeSeriesMetadataCache.getInstance().clear();
     BloomFilterCache.getInstance().clear();
+    AggregationResultCache.getInstance().clear();
   }
 
   public static Optional<String> getNonSystemDatabaseName(String databaseName) {
@@ -3153,6 +3167,7 @@ public class DataRegion implements IDataRegionForQuery {
 
   private void onTsFileLoaded(
       TsFileResource newTsFileResource, boolean isFromConsensus, TsFileLastReader lastReader) {
+    AggregationResultCache.getInstance().invalidate(dataRegionId);
     if (CommonDescriptor.getInstance().getConfig().isLastCacheEnable() && !isFromConsensus) {
       switch (config.getLastCacheLoadStrategy()) {
         case UPDATE:
@@ -3355,12 +3370,18 @@ public class DataRegion implements IDataRegionForQuery {
     }
 
     loadModFile(tsFileToLoad, targetFile, deleteOriginFile, tsFileResource);
+    if (deleteOriginFile) {
+      // the rollup file of the origin file may be stale, it is regenerated for the target file
+      org.apache.iotdb.commons.utils.FileUtils.deleteFileIfExist(
+          RollupFileGenerator.getRollupFile(tsFileToLoad));
+    }
 
     // Listen before the tsFile is added into tsFile manager to avoid it being compacted
     PipeInsertionDataNodeListener.getInstance()
         .listenToTsFile(dataRegionId, databaseName, tsFileResource, true, isGeneratedByPipe);
 
     tsFileManager.add(tsFileResource, false);
+    RollupFileGenerator.generateIfEnabled(tsFileResource);
 
     return true;
   }
@@ -3536,6 +3557,18 @@ public class DataRegion implements IDataRegionForQuery {
     return dataRegionId;
   }
 
+  public long getWrittenPointCount() {
+    return writtenPointCount.get();
+  }
+
+  public void recordReadRequest() {
+    readRequestCount.incrementAndGet();
+  }
+
+  public long getReadRequestCount() {
+    return readRequestCount.get();
+  }
+
   /**
    * Get the storageGroupPath with dataRegionId.
    *
@@ -3833,6 +3866,7 @@ public class DataRegion implements IDataRegionForQuery {
     PERFORMANCE_OVERVIEW_METRICS.recordScheduleMemoryBlockCost(infoForMetrics[1]);
     PERFORMANCE_OVERVIEW_METRICS.recordScheduleWalCost(infoForMetrics[2]);
     PERFORMANCE_OVERVIEW_METRICS.recordScheduleMemTableCost(infoForMetrics[3]);
+    writtenPointCount.addAndGet(infoForMetrics[4]);
     MetricService.getInstance()
         .count(
             infoForMetrics[4],
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion;
+
+import org.apache.iotdb.db.storageengine.StorageEngine;
+import org.apache.iotdb.mpp.rpc.thrift.TRegionLoadSample;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Samples the write throughput and read QPS of each local {@link DataRegion} from the difference of
+ * its counters between two consecutive samples, so that the ConfigNode-leader can balance
+ * DataRegions by load rather than by count.
+ */
+public class DataRegionLoadSampler {
+
+  /** DataRegionId -> counters at the previous sample. */
+  private final Map<Integer, Counters> lastCountersMap = new HashMap<>();
+
+  private DataRegionLoadSampler() {
+    // Empty constructor
+  }
+
+  /**
+   * Sample the load of all local DataRegions. A DataRegion is only reported from its second sample
+   * on, since there is no interval to compute its rates from before that.
+   *
+   * @param regionDiskMap DataRegionId -> disk usage in bytes
+   * @return DataRegionId -> load sample
+   */
+  public synchronized Map<Integer, TRegionLoadSample> sample(Map<Integer, Long> regionDiskMap) {
+    long currentNanos = System.nanoTime();
+    Map<Integer, Counters> currentCountersMap = new HashMap<>();
+    Map<Integer, TRegionLoadSample> result = new HashMap<>();
+    for (DataRegion dataRegion : StorageEngine.getInstance().getAllDataRegions()) {
+      int regionId = Integer.parseInt(dataRegion.getDataRegionId());
+      Counters current =
+          new Counters(
+              dataRegion.getWrittenPointCount(), dataRegion.getReadRequestCount(), currentNanos);
+      currentCountersMap.put(regionId, current);
+
+      Counters last = lastCountersMap.get(regionId);
+      if (last == null || currentNanos <= last.nanos) {
+        continue;
+      }
+      double elapsedSeconds = (currentNanos - last.nanos) / 1_000_000_000.0;
+      result.put(
+          regionId,
+          new TRegionLoadSample(
+              Math.max(0, current.writtenPoints - last.writtenPoints) / elapsedSeconds,
+              Math.max(0, current.readRequests - last.readRequests) / elapsedSeconds,
+              regionDiskMap.getOrDefault(regionId, 0L)));
+    }
+    // Deleted DataRegions are dropped here
+    lastCountersMap.clear();
+    lastCountersMap.putAll(currentCountersMap);
+    return result;
+  }
+
+  private static class Counters {
+
+    private final long writtenPoints;
+    private final long readRequests;
+    private final long nanos;
+
+    private Counters(long writtenPoints, long readRequests, long nanos) {
+      this.writtenPoints = writtenPoints;
+      this.readRequests = readRequests;
+      this.nanos = nanos;
+    }
+  }
+
+  public static DataRegionLoadSampler getInstance() {
+    return DataRegionLoadSamplerHolder.INSTANCE;
+  }
+
+  private static class DataRegionLoadSamplerHolder {
+
+    private static final DataRegionLoadSampler INSTANCE = new DataRegionLoadSampler();
+
+    private DataRegionLoadSamplerHolder() {
+      // Empty constructor
+    }
+  }
+}
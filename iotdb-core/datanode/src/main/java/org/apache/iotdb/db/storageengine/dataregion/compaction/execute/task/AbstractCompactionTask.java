@@ -23,6 +23,7 @@ import org.apache.iotdb.commons.conf.IoTDBConstant;
 import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.service.metrics.CompactionMetrics;
+import org.apache.iotdb.db.storageengine.buffer.AggregationResultCache;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.constant.CompactionTaskType;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.exception.CompactionFileCountExceededException;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.exception.CompactionLastTimeCheckFailedException;
@@ -312,6 +313,7 @@ public abstract class AbstractCompactionTask {
     } finally {
       tsFileManager.writeUnlock();
     }
+    AggregationResultCache.getInstance().invalidate(removedTsFiles);
   }
 
   protected boolean checkAllSourceFileExists(List<TsFileResource> tsFileResources) {
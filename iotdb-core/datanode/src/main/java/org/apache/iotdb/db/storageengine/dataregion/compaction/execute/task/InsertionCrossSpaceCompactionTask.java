@@ -222,6 +222,7 @@ public class InsertionCrossSpaceCompactionTask extends AbstractCompactionTask {
         new File(sourceTsFile.getPath() + TsFileResource.RESOURCE_SUFFIX).toPath());
 
     unseqFileToInsert.linkModFile(targetFile);
+    unseqFileToInsert.linkRollupFile(targetFile);
 
     targetFile.setProgressIndex(unseqFileToInsert.getMaxProgressIndexAfterClose());
     targetFile.deserialize();
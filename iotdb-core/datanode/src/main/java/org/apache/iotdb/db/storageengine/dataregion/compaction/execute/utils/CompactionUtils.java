@@ -37,6 +37,7 @@ import org.apache.iotdb.db.storageengine.dataregion.modification.ModFileManageme
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModificationFile;
 import org.apache.iotdb.db.storageengine.dataregion.modification.TableDeletionEntry;
 import org.apache.iotdb.db.storageengine.dataregion.modification.TreeDeletionEntry;
+import org.apache.iotdb.db.storageengine.dataregion.rollup.RollupFileGenerator;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ArrayDeviceTimeIndex;
 import org.apache.iotdb.metrics.utils.MetricLevel;
@@ -126,6 +127,7 @@ public class CompactionUtils {
     targetResource.setFile(newFile);
     targetResource.serialize();
     targetResource.closeWithoutSettingStatus();
+    RollupFileGenerator.generateIfEnabled(targetResource);
   }
 
   /**
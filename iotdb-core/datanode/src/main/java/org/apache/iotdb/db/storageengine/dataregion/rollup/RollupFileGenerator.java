@@ -0,0 +1,376 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.rollup;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.IoTThreadFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.conf.CommonDescriptor;
+import org.apache.iotdb.commons.utils.CommonDateTimeUtils;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.ChunkMetadata;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.file.metadata.TimeseriesMetadata;
+import org.apache.tsfile.file.metadata.statistics.Statistics;
+import org.apache.tsfile.read.TsFileDeviceIterator;
+import org.apache.tsfile.read.TsFileSequenceReader;
+import org.apache.tsfile.read.common.BatchData;
+import org.apache.tsfile.read.reader.IPageReader;
+import org.apache.tsfile.read.reader.chunk.ChunkReader;
+import org.apache.tsfile.utils.Pair;
+import org.apache.tsfile.utils.PublicBAOS;
+import org.apache.tsfile.utils.ReadWriteIOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generate the rollup file of a sealed TsFile. A rollup file contains the {@link Statistics} of
+ * each non-aligned series in every rollup interval, so that a GROUP BY time query whose interval is
+ * a multiple of a rollup interval can be calculated from a few statistics instead of all the
+ * points. A bucket of interval g contains the points in [k * g, (k + 1) * g).
+ *
+ * <p>File format: one block for each series and interval, the index, the offset of the index (long)
+ * and {@link #MAGIC_NUMBER} (int). A block is the bucket count n (int), the start times of the
+ * buckets (long * n), the end offsets of the serialized statistics relative to the first statistics
+ * (int * n), and the serialized statistics ordered by time. The index is the interval count m
+ * (int), the intervals (long * m), the series count (int), and for each series the device id, the
+ * measurement (String), the data type (byte) and the offsets of its blocks (long * m).
+ *
+ * <p>Series whose data type is not supported are skipped.
+ */
+public class RollupFileGenerator {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RollupFileGenerator.class);
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
+  public static final String ROLLUP_SUFFIX = ".rollup";
+
+  static final int MAGIC_NUMBER = 0x524f4c4c;
+
+  // the generation is skipped if too many files are waiting, the rollup file is optional
+  private static final int MAX_PENDING_TASK_NUM = 1024;
+
+  private static final Set<TSDataType> SUPPORTED_DATA_TYPES =
+      EnumSet.of(
+          TSDataType.BOOLEAN,
+          TSDataType.INT32,
+          TSDataType.DATE,
+          TSDataType.INT64,
+          TSDataType.TIMESTAMP,
+          TSDataType.FLOAT,
+          TSDataType.DOUBLE,
+          TSDataType.TEXT,
+          TSDataType.STRING);
+
+  private RollupFileGenerator() {
+    // util class
+  }
+
+  /**
+   * @return the rollup intervals in the time precision of the system
+   */
+  public static long[] getRollupIntervals() {
+    String timestampPrecision = CommonDescriptor.getInstance().getConfig().getTimestampPrecision();
+    return Arrays.stream(CONFIG.getRollupIntervalsInMs())
+        .map(
+            interval ->
+                CommonDateTimeUtils.convertMilliTimeWithPrecision(interval, timestampPrecision))
+        .toArray();
+  }
+
+  public static File getRollupFile(File tsFile) {
+    return new File(tsFile.getPath() + ROLLUP_SUFFIX);
+  }
+
+  public static boolean isSupported(TSDataType dataType) {
+    return SUPPORTED_DATA_TYPES.contains(dataType);
+  }
+
+  /**
+   * Generate the rollup file asynchronously if rollup is enabled, so that flush and compaction are
+   * not blocked. Failures are only logged because the rollup file is optional for queries.
+   */
+  public static void generateIfEnabled(TsFileResource resource) {
+    if (!CONFIG.isEnableRollup()) {
+      return;
+    }
+    try {
+      GeneratorHolder.EXECUTOR.submit(() -> generate(resource));
+    } catch (RejectedExecutionException e) {
+      LOGGER.warn(
+          "Skip generating rollup file for {} because too many files are waiting",
+          resource.getTsFile());
+    }
+  }
+
+  private static void generate(TsFileResource resource) {
+    File tsFile = resource.getTsFile();
+    if (resource.isDeleted() || !tsFile.exists()) {
+      return;
+    }
+    long startTime = System.currentTimeMillis();
+    try {
+      generate(tsFile, getRollupIntervals());
+      if (resource.isDeleted() || !tsFile.exists()) {
+        // the TsFile is removed or moved during generation
+        Files.deleteIfExists(getRollupFile(tsFile).toPath());
+        RollupFileReader.invalidate(tsFile);
+        return;
+      }
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(
+            "Generated rollup file for {}, cost {}ms",
+            tsFile,
+            System.currentTimeMillis() - startTime);
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Failed to generate rollup file for {}", tsFile, e);
+    }
+  }
+
+  public static void generate(File tsFile, long[] intervals) throws IOException {
+    File rollupFile = getRollupFile(tsFile);
+    File tmpRollupFile = new File(rollupFile.getPath() + TsFileResource.TEMP_SUFFIX);
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(tsFile.getPath());
+        OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(tmpRollupFile));
+        PublicBAOS indexStream = new PublicBAOS()) {
+      long position = 0;
+      int seriesCount = 0;
+      TsFileDeviceIterator deviceIterator = reader.getAllDevicesIteratorWithIsAligned();
+      while (deviceIterator.hasNext()) {
+        Pair<IDeviceID, Boolean> deviceAndIsAligned = deviceIterator.next();
+        if (Boolean.TRUE.equals(deviceAndIsAligned.right)) {
+          // aligned series are not rolled up
+          continue;
+        }
+        IDeviceID deviceID = deviceAndIsAligned.left;
+        for (TimeseriesMetadata timeseriesMetadata : reader.getDeviceTimeseriesMetadata(deviceID)) {
+          TSDataType dataType = timeseriesMetadata.getTsDataType();
+          if (!isSupported(dataType)) {
+            continue;
+          }
+          deviceID.serialize(indexStream);
+          ReadWriteIOUtils.write(timeseriesMetadata.getMeasurementId(), indexStream);
+          ReadWriteIOUtils.write(dataType, indexStream);
+          for (Map<Long, Statistics<? extends Serializable>> buckets :
+              collectBuckets(reader, timeseriesMetadata, intervals)) {
+            ReadWriteIOUtils.write(position, indexStream);
+            position += writeBlock(buckets, outputStream);
+          }
+          seriesCount++;
+        }
+      }
+
+      ReadWriteIOUtils.write(intervals.length, outputStream);
+      for (long interval : intervals) {
+        ReadWriteIOUtils.write(interval, outputStream);
+      }
+      ReadWriteIOUtils.write(seriesCount, outputStream);
+      outputStream.write(indexStream.getBuf(), 0, indexStream.size());
+      ReadWriteIOUtils.write(position, outputStream);
+      ReadWriteIOUtils.write(MAGIC_NUMBER, outputStream);
+    } catch (IOException e) {
+      Files.deleteIfExists(tmpRollupFile.toPath());
+      throw e;
+    }
+    Files.move(tmpRollupFile.toPath(), rollupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    RollupFileReader.invalidate(tsFile);
+  }
+
+  /**
+   * Collect the buckets of one series in each interval. The statistics of a chunk or a page are
+   * merged directly if it is in one bucket, so only the pages across buckets are decoded.
+   *
+   * @return bucket start time -> statistics of the bucket, for each interval
+   */
+  @SuppressWarnings("unchecked")
+  private static Map<Long, Statistics<? extends Serializable>>[] collectBuckets(
+      TsFileSequenceReader reader, TimeseriesMetadata timeseriesMetadata, long[] intervals)
+      throws IOException {
+    TSDataType dataType = timeseriesMetadata.getTsDataType();
+    Map<Long, Statistics<? extends Serializable>>[] buckets = new TreeMap[intervals.length];
+    for (int i = 0; i < intervals.length; i++) {
+      buckets[i] = new TreeMap<>();
+    }
+    boolean[] chunkAcrossBuckets = new boolean[intervals.length];
+    boolean[] pageAcrossBuckets = new boolean[intervals.length];
+    for (ChunkMetadata chunkMetadata : reader.readChunkMetaDataList(timeseriesMetadata)) {
+      if (!mergeIfInOneBucket(
+          chunkMetadata.getStatistics(), intervals, buckets, null, chunkAcrossBuckets)) {
+        continue;
+      }
+      ChunkReader chunkReader = new ChunkReader(reader.readMemChunk(chunkMetadata));
+      for (IPageReader pageReader : chunkReader.loadPageReaderList()) {
+        if (!mergeIfInOneBucket(
+            pageReader.getStatistics(),
+            intervals,
+            buckets,
+            chunkAcrossBuckets,
+            pageAcrossBuckets)) {
+          continue;
+        }
+        BatchData batchData = pageReader.getAllSatisfiedPageData();
+        while (batchData.hasCurrent()) {
+          long time = batchData.currentTime();
+          for (int i = 0; i < intervals.length; i++) {
+            if (pageAcrossBuckets[i]) {
+              updateStatistics(
+                  buckets[i].computeIfAbsent(
+                      bucketStartTime(time, intervals[i]),
+                      t -> Statistics.getStatsByType(dataType)),
+                  time,
+                  batchData);
+            }
+          }
+          batchData.next();
+        }
+      }
+    }
+    return buckets;
+  }
+
+  /**
+   * Merge the statistics into the bucket of each interval selected by {@code selected} (all if
+   * null) if they are in one bucket.
+   *
+   * @param acrossBuckets output, whether the statistics are across buckets of each interval
+   * @return true if the statistics are across buckets of any selected interval
+   */
+  private static boolean mergeIfInOneBucket(
+      Statistics<? extends Serializable> statistics,
+      long[] intervals,
+      Map<Long, Statistics<? extends Serializable>>[] buckets,
+      boolean[] selected,
+      boolean[] acrossBuckets) {
+    boolean anyAcrossBuckets = false;
+    for (int i = 0; i < intervals.length; i++) {
+      acrossBuckets[i] = false;
+      if (selected != null && !selected[i]) {
+        continue;
+      }
+      if (statistics == null
+          || bucketStartTime(statistics.getStartTime(), intervals[i])
+              != bucketStartTime(statistics.getEndTime(), intervals[i])) {
+        acrossBuckets[i] = true;
+        anyAcrossBuckets = true;
+        continue;
+      }
+      buckets[i]
+          .computeIfAbsent(
+              bucketStartTime(statistics.getStartTime(), intervals[i]),
+              t -> Statistics.getStatsByType(statistics.getType()))
+          .mergeStatistics(statistics);
+    }
+    return anyAcrossBuckets;
+  }
+
+  private static long bucketStartTime(long time, long interval) {
+    return Math.floorDiv(time, interval) * interval;
+  }
+
+  /**
+   * @return the size of the written block
+   */
+  private static int writeBlock(
+      Map<Long, Statistics<? extends Serializable>> buckets, OutputStream outputStream)
+      throws IOException {
+    try (PublicBAOS statisticsStream = new PublicBAOS()) {
+      int size = ReadWriteIOUtils.write(buckets.size(), outputStream);
+      for (long bucketStartTime : buckets.keySet()) {
+        size += ReadWriteIOUtils.write(bucketStartTime, outputStream);
+      }
+      for (Statistics<? extends Serializable> statistics : buckets.values()) {
+        statistics.serialize(statisticsStream);
+        size += ReadWriteIOUtils.write(statisticsStream.size(), outputStream);
+      }
+      outputStream.write(statisticsStream.getBuf(), 0, statisticsStream.size());
+      return size + statisticsStream.size();
+    }
+  }
+
+  private static void updateStatistics(
+      Statistics<? extends Serializable> statistics, long time, BatchData batchData) {
+    switch (batchData.getDataType()) {
+      case BOOLEAN:
+        statistics.update(time, batchData.getBoolean());
+        break;
+      case INT32:
+      case DATE:
+        statistics.update(time, batchData.getInt());
+        break;
+      case INT64:
+      case TIMESTAMP:
+        statistics.update(time, batchData.getLong());
+        break;
+      case FLOAT:
+        statistics.update(time, batchData.getFloat());
+        break;
+      case DOUBLE:
+        statistics.update(time, batchData.getDouble());
+        break;
+      case TEXT:
+      case STRING:
+        statistics.update(time, batchData.getBinary());
+        break;
+      default:
+        // filtered out by isSupported
+        break;
+    }
+  }
+
+  private static class GeneratorHolder {
+
+    private static final ExecutorService EXECUTOR =
+        IoTDBThreadPoolFactory.newThreadPool(
+            1,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(MAX_PENDING_TASK_NUM),
+            new IoTThreadFactory(ThreadName.ROLLUP_FILE_GENERATOR.getName()),
+            ThreadName.ROLLUP_FILE_GENERATOR.getName());
+
+    private GeneratorHolder() {
+      // empty constructor
+    }
+  }
+}
@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.rollup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.file.metadata.statistics.Statistics;
+import org.apache.tsfile.utils.ReadWriteIOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read the buckets of one series from a rollup file generated by {@link RollupFileGenerator}. The
+ * index of each rollup file is cached, so only the needed buckets are read from the disk.
+ */
+public class RollupFileReader {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RollupFileReader.class);
+
+  private static final long MAX_INDEX_CACHE_SIZE_IN_BYTES = 64L * 1024 * 1024;
+
+  // length of the index offset and the magic number at the end of the file
+  private static final int TAIL_SIZE = Long.BYTES + Integer.BYTES;
+
+  // rollup file path -> index
+  private static final Cache<String, RollupIndex> INDEX_CACHE =
+      Caffeine.newBuilder()
+          .maximumWeight(MAX_INDEX_CACHE_SIZE_IN_BYTES)
+          .weigher((Weigher<String, RollupIndex>) (path, index) -> index.sizeInBytes)
+          .build();
+
+  private RollupFileReader() {
+    // util class
+  }
+
+  /**
+   * @return the statistics of the buckets of the given interval which overlap [startTime, endTime]
+   *     ordered by time, or null if the rollup file, the interval or the series does not exist
+   */
+  public static List<Statistics<? extends Serializable>> readBuckets(
+      File tsFile,
+      IDeviceID deviceID,
+      String measurement,
+      long interval,
+      long startTime,
+      long endTime) {
+    File rollupFile = RollupFileGenerator.getRollupFile(tsFile);
+    if (!rollupFile.exists()) {
+      return null;
+    }
+    try (FileChannel channel = FileChannel.open(rollupFile.toPath(), StandardOpenOption.READ)) {
+      RollupIndex index = INDEX_CACHE.getIfPresent(rollupFile.getPath());
+      if (index == null || index.fileSize != channel.size()) {
+        // the file may be regenerated after the index is cached
+        index = readIndex(channel);
+        if (index == null) {
+          LOGGER.warn("Rollup file {} is corrupted", rollupFile);
+          return null;
+        }
+        INDEX_CACHE.put(rollupFile.getPath(), index);
+      }
+      int intervalIndex = index.indexOf(interval);
+      SeriesEntry entry = index.getSeriesEntry(deviceID, measurement);
+      if (intervalIndex < 0 || entry == null) {
+        return null;
+      }
+      return readBuckets(
+          channel, entry.blockOffsets[intervalIndex], entry.dataType, interval, startTime, endTime);
+    } catch (IOException | RuntimeException e) {
+      // the rollup file is optional, fall back to the raw data
+      LOGGER.warn("Failed to read rollup file {}", rollupFile, e);
+      return null;
+    }
+  }
+
+  /** Remove the cached index of the rollup file of the given TsFile. */
+  public static void invalidate(File tsFile) {
+    INDEX_CACHE.invalidate(RollupFileGenerator.getRollupFile(tsFile).getPath());
+  }
+
+  private static List<Statistics<? extends Serializable>> readBuckets(
+      FileChannel channel,
+      long blockOffset,
+      TSDataType dataType,
+      long interval,
+      long startTime,
+      long endTime)
+      throws IOException {
+    int bucketCount = ReadWriteIOUtils.readInt(read(channel, blockOffset, Integer.BYTES));
+    if (bucketCount == 0) {
+      return Collections.emptyList();
+    }
+    ByteBuffer header =
+        read(channel, blockOffset + Integer.BYTES, bucketCount * (Long.BYTES + Integer.BYTES));
+    long[] bucketStartTimes = new long[bucketCount];
+    for (int i = 0; i < bucketCount; i++) {
+      bucketStartTimes[i] = header.getLong();
+    }
+    int[] statisticsEndOffsets = new int[bucketCount];
+    for (int i = 0; i < bucketCount; i++) {
+      statisticsEndOffsets[i] = header.getInt();
+    }
+
+    // the buckets in [from, to) overlap [startTime, endTime]
+    int from = lowerBound(bucketStartTimes, Math.floorDiv(startTime, interval), interval);
+    int to = from;
+    while (to < bucketCount && bucketStartTimes[to] <= endTime) {
+      to++;
+    }
+    if (from == to) {
+      return Collections.emptyList();
+    }
+    long statisticsOffset = blockOffset + Integer.BYTES + header.capacity();
+    int fromOffset = from == 0 ? 0 : statisticsEndOffsets[from - 1];
+    ByteBuffer buffer =
+        read(channel, statisticsOffset + fromOffset, statisticsEndOffsets[to - 1] - fromOffset);
+    List<Statistics<? extends Serializable>> buckets = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      buckets.add(Statistics.deserialize(buffer, dataType));
+    }
+    return buckets;
+  }
+
+  /**
+   * @return the index of the first bucket whose number is not less than the given one
+   */
+  private static int lowerBound(long[] bucketStartTimes, long bucketNumber, long interval) {
+    int low = 0;
+    int high = bucketStartTimes.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (Math.floorDiv(bucketStartTimes[mid], interval) < bucketNumber) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @return null if the file is not a complete rollup file
+   */
+  private static RollupIndex readIndex(FileChannel channel) throws IOException {
+    long fileSize = channel.size();
+    if (fileSize < TAIL_SIZE) {
+      return null;
+    }
+    ByteBuffer tail = read(channel, fileSize - TAIL_SIZE, TAIL_SIZE);
+    long indexOffset = tail.getLong();
+    if (tail.getInt() != RollupFileGenerator.MAGIC_NUMBER
+        || indexOffset < 0
+        || indexOffset > fileSize - TAIL_SIZE) {
+      return null;
+    }
+    int indexSize = (int) (fileSize - TAIL_SIZE - indexOffset);
+    ByteBuffer buffer = read(channel, indexOffset, indexSize);
+
+    int intervalCount = ReadWriteIOUtils.readInt(buffer);
+    long[] intervals = new long[intervalCount];
+    for (int i = 0; i < intervalCount; i++) {
+      intervals[i] = ReadWriteIOUtils.readLong(buffer);
+    }
+    int seriesCount = ReadWriteIOUtils.readInt(buffer);
+    Map<IDeviceID, Map<String, SeriesEntry>> seriesEntries = new HashMap<>();
+    for (int i = 0; i < seriesCount; i++) {
+      IDeviceID deviceID = IDeviceID.Deserializer.DEFAULT_DESERIALIZER.deserializeFrom(buffer);
+      String measurement = ReadWriteIOUtils.readString(buffer);
+      TSDataType dataType = ReadWriteIOUtils.readDataType(buffer);
+      long[] blockOffsets = new long[intervalCount];
+      for (int j = 0; j < intervalCount; j++) {
+        blockOffsets[j] = ReadWriteIOUtils.readLong(buffer);
+      }
+      seriesEntries
+          .computeIfAbsent(deviceID, d -> new HashMap<>())
+          .put(measurement, new SeriesEntry(dataType, blockOffsets));
+    }
+    return new RollupIndex(fileSize, indexSize, intervals, seriesEntries);
+  }
+
+  private static ByteBuffer read(FileChannel channel, long position, int size) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException("Unexpected end of rollup file");
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  private static class RollupIndex {
+
+    private final long fileSize;
+    private final int sizeInBytes;
+    private final long[] intervals;
+    private final Map<IDeviceID, Map<String, SeriesEntry>> seriesEntries;
+
+    private RollupIndex(
+        long fileSize,
+        int sizeInBytes,
+        long[] intervals,
+        Map<IDeviceID, Map<String, SeriesEntry>> seriesEntries) {
+      this.fileSize = fileSize;
+      this.sizeInBytes = sizeInBytes;
+      this.intervals = intervals;
+      this.seriesEntries = seriesEntries;
+    }
+
+    private int indexOf(long interval) {
+      for (int i = 0; i < intervals.length; i++) {
+        if (intervals[i] == interval) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private SeriesEntry getSeriesEntry(IDeviceID deviceID, String measurement) {
+      Map<String, SeriesEntry> measurementEntries = seriesEntries.get(deviceID);
+      return measurementEntries == null ? null : measurementEntries.get(measurement);
+    }
+  }
+
+  private static class SeriesEntry {
+
+    private final TSDataType dataType;
+    private final long[] blockOffsets;
+
+    private SeriesEntry(TSDataType dataType, long[] blockOffsets) {
+      this.dataType = dataType;
+      this.blockOffsets = blockOffsets;
+    }
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.iotdb.db.storageengine.dataregion.snapshot;
 
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModificationFile;
 import org.apache.iotdb.db.storageengine.dataregion.modification.v1.ModificationFileV1;
+import org.apache.iotdb.db.storageengine.dataregion.rollup.RollupFileGenerator;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 
 import org.apache.tsfile.common.constant.TsFileConstant;
@@ -37,6 +38,7 @@ public class SnapshotFileSet {
         TsFileResource.RESOURCE_SUFFIX.replace(".", ""),
         ModificationFileV1.FILE_SUFFIX.replace(".", ""),
         ModificationFile.FILE_SUFFIX.replace(".", ""),
+        RollupFileGenerator.ROLLUP_SUFFIX.replace(".", ""),
       };
 
   private static final Set<String> DATA_FILE_SUFFIX_SET =
@@ -25,6 +25,7 @@ import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.DirectoryNotLegalException;
 import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModificationFile;
+import org.apache.iotdb.db.storageengine.dataregion.rollup.RollupFileGenerator;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileManager;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 
@@ -204,7 +205,7 @@ public class SnapshotTaker {
         File snapshotResourceFile =
             new File(snapshotTsFile.getAbsolutePath() + TsFileResource.RESOURCE_SUFFIX);
         File snapshotDir = snapshotTsFile.getParentFile();
-        // create hard link for tsfile, resource, mods
+        // create hard link for tsfile, resource, mods, rollup
         createHardLink(snapshotTsFile, tsFile);
 
         if (resource.exclusiveModFileExists()) {
@@ -230,6 +231,11 @@ public class SnapshotTaker {
               snapshotResourceFile,
               new File(tsFile.getAbsolutePath() + TsFileResource.RESOURCE_SUFFIX));
         }
+
+        File rollupFile = RollupFileGenerator.getRollupFile(tsFile);
+        if (rollupFile.exists()) {
+          createHardLink(RollupFileGenerator.getRollupFile(snapshotTsFile), rollupFile);
+        }
       }
       return true;
     } catch (IOException e) {
@@ -20,6 +20,7 @@
 package org.apache.iotdb.db.storageengine.dataregion.tsfile;
 
 import org.apache.iotdb.commons.utils.TimePartitionUtils;
+import org.apache.iotdb.db.storageengine.buffer.AggregationResultCache;
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModFileManagement;
 import org.apache.iotdb.db.storageengine.dataregion.modification.PartitionLevelModFileManager;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.FileTimeIndexCacheRecorder;
@@ -299,6 +300,8 @@ public class TsFileManager {
     } finally {
       writeUnlock();
     }
+    AggregationResultCache.getInstance().invalidate(seqFileResources);
+    AggregationResultCache.getInstance().invalidate(unseqFileResources);
   }
 
   public boolean contains(TsFileResource tsFileResource, boolean sequence) {
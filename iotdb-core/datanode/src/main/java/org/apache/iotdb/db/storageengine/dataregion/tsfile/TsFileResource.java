@@ -43,6 +43,8 @@ import org.apache.iotdb.db.storageengine.dataregion.modification.TreeDeletionEnt
 import org.apache.iotdb.db.storageengine.dataregion.modification.v1.Deletion;
 import org.apache.iotdb.db.storageengine.dataregion.modification.v1.Modification;
 import org.apache.iotdb.db.storageengine.dataregion.modification.v1.ModificationFileV1;
+import org.apache.iotdb.db.storageengine.dataregion.rollup.RollupFileGenerator;
+import org.apache.iotdb.db.storageengine.dataregion.rollup.RollupFileReader;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.generator.TsFileNameGenerator;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ArrayDeviceTimeIndex;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.FileTimeIndex;
@@ -408,6 +410,21 @@ public class TsFileResource implements PersistentResource {
         new File(target.getTsFilePath() + TsFileResource.RESOURCE_SUFFIX).toPath(),
         new File(this.getTsFilePath() + TsFileResource.RESOURCE_SUFFIX).toPath());
     linkModFile(target);
+    linkRollupFile(target);
+  }
+
+  /** The rollup file is optional, so failures are only logged. */
+  public void linkRollupFile(TsFileResource target) {
+    File rollupFile = RollupFileGenerator.getRollupFile(file);
+    if (!rollupFile.exists()) {
+      return;
+    }
+    try {
+      Files.createLink(
+          RollupFileGenerator.getRollupFile(target.getTsFile()).toPath(), rollupFile.toPath());
+    } catch (IOException e) {
+      LOGGER.warn("Failed to link rollup file {} to {}", rollupFile, target.getTsFile(), e);
+    }
   }
 
   public void linkModFile(TsFileResource target) throws IOException {
@@ -830,8 +847,8 @@ public class TsFileResource implements PersistentResource {
   }
 
   /**
-   * Remove the data file, its resource file, its chunk metadata temp file, and its modification
-   * file physically.
+   * Remove the data file, its resource file, its chunk metadata temp file, its rollup file, and its
+   * modification file physically.
    */
   public boolean remove() {
     forceMarkDeleted();
@@ -839,6 +856,8 @@ public class TsFileResource implements PersistentResource {
       fsFactory.deleteIfExists(file);
       fsFactory.deleteIfExists(
           new File(file.getAbsolutePath() + TsFileIOWriter.CHUNK_METADATA_TEMP_FILE_SUFFIX));
+      fsFactory.deleteIfExists(RollupFileGenerator.getRollupFile(file));
+      RollupFileReader.invalidate(file);
     } catch (IOException e) {
       LOGGER.error("TsFile {} cannot be deleted: {}", file, e.getMessage());
       return false;
@@ -877,6 +896,12 @@ public class TsFileResource implements PersistentResource {
           getExclusiveModFile().getFile(),
           fsFactory.getFile(targetDir, ModificationFile.getExclusiveMods(file).getName()));
     }
+
+    File rollupFile = RollupFileGenerator.getRollupFile(file);
+    if (rollupFile.exists()) {
+      fsFactory.moveFile(rollupFile, fsFactory.getFile(targetDir, rollupFile.getName()));
+      RollupFileReader.invalidate(file);
+    }
   }
 
   @Override
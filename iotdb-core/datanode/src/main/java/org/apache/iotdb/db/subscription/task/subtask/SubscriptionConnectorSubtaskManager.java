@@ -27,6 +27,7 @@ import org.apache.iotdb.commons.pipe.config.constant.SystemConstant;
 import org.apache.iotdb.commons.pipe.config.plugin.configuraion.PipeTaskRuntimeConfiguration;
 import org.apache.iotdb.commons.pipe.config.plugin.env.PipeTaskConnectorRuntimeEnvironment;
 import org.apache.iotdb.db.pipe.agent.PipeDataNodeAgent;
+import org.apache.iotdb.db.pipe.agent.task.connection.PipeSpillableBlockingPendingQueue;
 import org.apache.iotdb.db.pipe.agent.task.execution.PipeConnectorSubtaskExecutor;
 import org.apache.iotdb.db.pipe.agent.task.subtask.connector.PipeConnectorSubtask;
 import org.apache.iotdb.db.pipe.agent.task.subtask.connector.PipeConnectorSubtaskLifeCycle;
@@ -99,7 +100,7 @@ public class SubscriptionConnectorSubtaskManager {
       final UnboundedBlockingPendingQueue<Event> pendingQueue =
           realTimeFirst
               ? new PipeRealtimePriorityBlockingQueue()
-              : new UnboundedBlockingPendingQueue<>(new PipeDataRegionEventCounter());
+              : new PipeSpillableBlockingPendingQueue(new PipeDataRegionEventCounter());
 
       final PipeConnector pipeConnector =
           PipeDataNodeAgent.plugin().dataRegion().reflectConnector(pipeConnectorParameters);
@@ -19,14 +19,23 @@
 
 package org.apache.iotdb.db.pipe.agent.task;
 
+import org.apache.iotdb.commons.conf.CommonConfig;
+import org.apache.iotdb.commons.conf.CommonDescriptor;
 import org.apache.iotdb.commons.pipe.agent.task.connection.UnboundedBlockingPendingQueue;
 import org.apache.iotdb.db.pipe.agent.task.execution.PipeConnectorSubtaskExecutor;
 import org.apache.iotdb.db.pipe.agent.task.subtask.connector.PipeConnectorSubtask;
 import org.apache.iotdb.pipe.api.PipeConnector;
 
+import org.awaitility.Awaitility;
+import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
+import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
 import static org.mockito.Mockito.mock;
 
 public class PipeConnectorSubtaskExecutorTest extends PipeSubtaskExecutorTest {
@@ -45,4 +54,78 @@ public class PipeConnectorSubtaskExecutorTest extends PipeSubtaskExecutorTest {
                 mock(UnboundedBlockingPendingQueue.class),
                 mock(PipeConnector.class)));
   }
+
+  @Test
+  public void testElasticThreadNumberAdjustment() throws InterruptedException {
+    Assert.assertFalse(executor.isElastic());
+
+    final CommonConfig config = CommonDescriptor.getInstance().getConfig();
+    final boolean originalElasticEnabled = config.isPipeSubtaskExecutorElasticEnabled();
+    config.setPipeSubtaskExecutorElasticEnabled(true);
+    final TestElasticExecutor elasticExecutor = new TestElasticExecutor();
+    final Semaphore taskPermits = new Semaphore(0);
+    try {
+      Assert.assertTrue(elasticExecutor.isElastic());
+      final int maxThreadNum = elasticExecutor.getCorePoolSize();
+      Assume.assumeTrue(maxThreadNum > 1);
+      Assert.assertEquals(maxThreadNum, elasticExecutor.getCurrentCorePoolSize());
+
+      // Nothing is waiting, so a low CPU load does not grow the pool
+      elasticExecutor.adjustThreadNumber(0.1, 0.8);
+      Assert.assertEquals(maxThreadNum, elasticExecutor.getCurrentCorePoolSize());
+
+      // Occupy all the threads and leave two tasks waiting in the queue
+      for (int i = 0; i < maxThreadNum + 2; i++) {
+        elasticExecutor.execute(taskPermits::acquireUninterruptibly);
+      }
+      Awaitility.await()
+          .atMost(10, TimeUnit.SECONDS)
+          .until(() -> elasticExecutor.getActiveThreadNumber() == maxThreadNum);
+
+      // A high CPU load shrinks the pool: the thread finishing its task retires instead of taking
+      // the waiting ones
+      elasticExecutor.adjustThreadNumber(0.9, 0.8);
+      Assert.assertEquals(maxThreadNum - 1, elasticExecutor.getCurrentCorePoolSize());
+      taskPermits.release();
+      Awaitility.await()
+          .atMost(10, TimeUnit.SECONDS)
+          .until(() -> elasticExecutor.getCurrentThreadNumber() == maxThreadNum - 1);
+      Assert.assertEquals(maxThreadNum - 1, elasticExecutor.getActiveThreadNumber());
+
+      // The waiting tasks grow the pool again when the CPU has headroom
+      elasticExecutor.adjustThreadNumber(0.1, 0.8);
+      Assert.assertEquals(maxThreadNum, elasticExecutor.getCurrentCorePoolSize());
+      Awaitility.await()
+          .atMost(10, TimeUnit.SECONDS)
+          .until(
+              () ->
+                  elasticExecutor.getCurrentThreadNumber() == maxThreadNum
+                      && elasticExecutor.getActiveThreadNumber() == maxThreadNum);
+
+      // The pool is shrunk one thread at a time, down to one thread
+      for (int i = 0; i < maxThreadNum; i++) {
+        elasticExecutor.adjustThreadNumber(0.9, 0.8);
+      }
+      Assert.assertEquals(1, elasticExecutor.getCurrentCorePoolSize());
+      taskPermits.release(maxThreadNum + 2);
+      Awaitility.await()
+          .atMost(10, TimeUnit.SECONDS)
+          .until(() -> elasticExecutor.getCurrentThreadNumber() <= 1);
+
+      // The configured size of a non-elastic executor never changes
+      executor.adjustThreadNumber(0.9, 0.8);
+      Assert.assertEquals(executor.getCorePoolSize(), executor.getCurrentCorePoolSize());
+    } finally {
+      taskPermits.release(Integer.MAX_VALUE / 2);
+      elasticExecutor.shutdown();
+      config.setPipeSubtaskExecutorElasticEnabled(originalElasticEnabled);
+    }
+  }
+
+  private static class TestElasticExecutor extends PipeConnectorSubtaskExecutor {
+
+    private void execute(final Runnable task) {
+      underlyingThreadPool.execute(task);
+    }
+  }
 }
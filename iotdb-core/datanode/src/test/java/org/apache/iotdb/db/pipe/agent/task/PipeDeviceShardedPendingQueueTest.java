@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.agent.task;
+
+import org.apache.iotdb.commons.pipe.agent.task.connection.UnboundedBlockingPendingQueue;
+import org.apache.iotdb.db.pipe.agent.task.subtask.connector.PipeDeviceShardedPendingQueue;
+import org.apache.iotdb.db.pipe.event.common.tablet.PipeRawTabletInsertionEvent;
+import org.apache.iotdb.db.pipe.metric.source.PipeDataRegionEventCounter;
+import org.apache.iotdb.pipe.api.event.Event;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.write.record.Tablet;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class PipeDeviceShardedPendingQueueTest {
+
+  private static final int SHARD_NUM = 4;
+  private static final int DEVICE_NUM = 8;
+  private static final int EVENT_NUM_PER_DEVICE = 10;
+  private static final long TRANSFER_LATENCY_MS = 10;
+
+  @Test
+  public void testParallelTransferKeepsDeviceOrder() throws Exception {
+    final List<UnboundedBlockingPendingQueue<Event>> shards = new ArrayList<>();
+    for (int i = 0; i < SHARD_NUM; ++i) {
+      shards.add(new UnboundedBlockingPendingQueue<>(new PipeDataRegionEventCounter()));
+    }
+    final PipeDeviceShardedPendingQueue queue = new PipeDeviceShardedPendingQueue(shards);
+
+    for (int time = 0; time < EVENT_NUM_PER_DEVICE; ++time) {
+      for (int device = 0; device < DEVICE_NUM; ++device) {
+        Assert.assertTrue(
+            queue.directOffer(new PipeRawTabletInsertionEvent(tablet(device, time), false)));
+      }
+    }
+    Assert.assertEquals(DEVICE_NUM * EVENT_NUM_PER_DEVICE, queue.size());
+    Assert.assertEquals(DEVICE_NUM * EVENT_NUM_PER_DEVICE, queue.getTabletInsertionEventCount());
+
+    // Drain every shard by its own stream against a receiver with injected latency
+    final Map<String, List<Long>> receivedTimes = new ConcurrentHashMap<>();
+    final Map<String, Integer> deviceToShard = new ConcurrentHashMap<>();
+    final ExecutorService streams = Executors.newFixedThreadPool(SHARD_NUM);
+    final List<Future<?>> futures = new ArrayList<>();
+    final long startTime = System.currentTimeMillis();
+    for (int i = 0; i < SHARD_NUM; ++i) {
+      final int shardIndex = i;
+      futures.add(
+          streams.submit(
+              () -> {
+                Event event;
+                while ((event = queue.getShard(shardIndex).directPoll()) != null) {
+                  final Tablet tablet = ((PipeRawTabletInsertionEvent) event).convertToTablet();
+                  Thread.sleep(TRANSFER_LATENCY_MS);
+                  receivedTimes
+                      .computeIfAbsent(
+                          tablet.getDeviceId(),
+                          k -> Collections.synchronizedList(new ArrayList<>()))
+                      .add(tablet.getTimestamp(0));
+                  Assert.assertEquals(
+                      shardIndex,
+                      (int) deviceToShard.computeIfAbsent(tablet.getDeviceId(), k -> shardIndex));
+                }
+                return null;
+              }));
+    }
+    for (final Future<?> future : futures) {
+      future.get(30, TimeUnit.SECONDS);
+    }
+    final long elapsedTime = System.currentTimeMillis() - startTime;
+    streams.shutdown();
+
+    Assert.assertTrue(queue.isEmpty());
+    Assert.assertEquals(DEVICE_NUM, receivedTimes.size());
+    for (final List<Long> times : receivedTimes.values()) {
+      Assert.assertEquals(EVENT_NUM_PER_DEVICE, times.size());
+      for (int i = 0; i < EVENT_NUM_PER_DEVICE; ++i) {
+        Assert.assertEquals(i, (long) times.get(i));
+      }
+    }
+    // A single stream needs at least this long
+    Assert.assertTrue(elapsedTime < DEVICE_NUM * EVENT_NUM_PER_DEVICE * TRANSFER_LATENCY_MS);
+  }
+
+  private static Tablet tablet(final int device, final int time) {
+    final Tablet tablet =
+        new Tablet(
+            "root.sg.d" + device,
+            Collections.singletonList(new MeasurementSchema("s1", TSDataType.INT64)),
+            1);
+    tablet.addTimestamp(0, time);
+    tablet.addValue("s1", 0, (long) time);
+    return tablet;
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.agent.task;
+
+import org.apache.iotdb.commons.conf.CommonConfig;
+import org.apache.iotdb.commons.conf.CommonDescriptor;
+import org.apache.iotdb.db.pipe.agent.task.connection.PipeSpillableBlockingPendingQueue;
+import org.apache.iotdb.db.pipe.event.common.tablet.PipeRawTabletInsertionEvent;
+import org.apache.iotdb.db.pipe.metric.source.PipeDataRegionEventCounter;
+import org.apache.iotdb.pipe.api.event.Event;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.write.record.Tablet;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.awaitility.Awaitility;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class PipeSpillableBlockingPendingQueueTest {
+
+  private final CommonConfig config = CommonDescriptor.getInstance().getConfig();
+  private int originalSpillThreshold;
+
+  private PipeSpillableBlockingPendingQueue queue;
+
+  @Before
+  public void setUp() {
+    originalSpillThreshold = config.getPipeConnectorPendingQueueSpillThreshold();
+    config.setPipeConnectorPendingQueueSpillThreshold(2);
+    queue = new PipeSpillableBlockingPendingQueue(new PipeDataRegionEventCounter(), true);
+  }
+
+  @After
+  public void tearDown() {
+    queue.discardAllEvents();
+    config.setPipeConnectorPendingQueueSpillThreshold(originalSpillThreshold);
+  }
+
+  @Test
+  public void testSpillAndReplayInOrder() {
+    final List<PipeRawTabletInsertionEvent> offeredEvents = new ArrayList<>();
+    for (int i = 0; i < 5; ++i) {
+      final PipeRawTabletInsertionEvent event = new PipeRawTabletInsertionEvent(tablet(i), false);
+      event.increaseReferenceCount(PipeSpillableBlockingPendingQueueTest.class.getName());
+      offeredEvents.add(event);
+      Assert.assertTrue(queue.directOffer(event));
+    }
+
+    // Events beyond the threshold are released after being spilled in the background
+    Assert.assertEquals(5, queue.getTabletInsertionEventCount());
+    awaitSpilledEventCount(queue, 3);
+    Assert.assertTrue(queue.getSpilledSizeInBytes() > 0);
+    Assert.assertEquals(5, queue.getTabletInsertionEventCount());
+    for (int i = 0; i < 5; ++i) {
+      Assert.assertEquals(i >= 2, offeredEvents.get(i).isReleased());
+    }
+
+    for (int i = 0; i < 5; ++i) {
+      final Event event = i % 2 == 0 ? queue.directPoll() : peekThenPoll();
+      Assert.assertTrue(event instanceof PipeRawTabletInsertionEvent);
+      final PipeRawTabletInsertionEvent tabletEvent = (PipeRawTabletInsertionEvent) event;
+      Assert.assertEquals(1, tabletEvent.getReferenceCount());
+      final Tablet tablet = tabletEvent.convertToTablet();
+      Assert.assertEquals(1, tablet.getRowSize());
+      Assert.assertEquals(i, tablet.getTimestamp(0));
+      Assert.assertEquals((long) i, tablet.getValue(0, 0));
+      tabletEvent.decreaseReferenceCount(
+          PipeSpillableBlockingPendingQueueTest.class.getName(), false);
+    }
+
+    Assert.assertNull(queue.directPoll());
+    Assert.assertEquals(0, queue.getSpilledEventCount());
+    Assert.assertEquals(0, queue.getSpilledSizeInBytes());
+  }
+
+  @Test
+  public void testDiscardSpilledEvents() {
+    for (int i = 0; i < 4; ++i) {
+      final PipeRawTabletInsertionEvent event = new PipeRawTabletInsertionEvent(tablet(i), false);
+      event.increaseReferenceCount(PipeSpillableBlockingPendingQueueTest.class.getName());
+      queue.directOffer(event);
+    }
+    awaitSpilledEventCount(queue, 2);
+
+    queue.discardAllEvents();
+    Assert.assertEquals(0, queue.getSpilledEventCount());
+    Assert.assertEquals(0, queue.getSpilledSizeInBytes());
+    Assert.assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  public void testDeleteReleasedSegments() {
+    // Every record rolls over to a new segment
+    final PipeSpillableBlockingPendingQueue segmentedQueue =
+        new PipeSpillableBlockingPendingQueue(new PipeDataRegionEventCounter(), true, 1);
+    try {
+      for (int i = 0; i < 5; ++i) {
+        final PipeRawTabletInsertionEvent event = new PipeRawTabletInsertionEvent(tablet(i), false);
+        event.increaseReferenceCount(PipeSpillableBlockingPendingQueueTest.class.getName());
+        segmentedQueue.directOffer(event);
+      }
+      awaitSpilledEventCount(segmentedQueue, 3);
+      Assert.assertEquals(3, segmentedQueue.getSpillLogSegmentCount());
+      final long spilledSize = segmentedQueue.getSpilledSizeInBytes();
+
+      // The segment of a replayed event is deleted although the log is not drained
+      for (int i = 0; i < 3; ++i) {
+        final PipeRawTabletInsertionEvent event =
+            (PipeRawTabletInsertionEvent) segmentedQueue.directPoll();
+        Assert.assertEquals(i, event.convertToTablet().getTimestamp(0));
+        event.decreaseReferenceCount(PipeSpillableBlockingPendingQueueTest.class.getName(), false);
+      }
+      Assert.assertEquals(2, segmentedQueue.getSpilledEventCount());
+      Assert.assertEquals(2, segmentedQueue.getSpillLogSegmentCount());
+      Assert.assertTrue(segmentedQueue.getSpilledSizeInBytes() < spilledSize);
+      Assert.assertTrue(segmentedQueue.getSpilledSizeInBytes() > 0);
+    } finally {
+      segmentedQueue.discardAllEvents();
+    }
+    Assert.assertEquals(0, segmentedQueue.getSpillLogSegmentCount());
+  }
+
+  private static void awaitSpilledEventCount(
+      final PipeSpillableBlockingPendingQueue queue, final int count) {
+    Awaitility.await()
+        .atMost(10, TimeUnit.SECONDS)
+        .until(() -> queue.getSpilledEventCount() == count);
+  }
+
+  private Event peekThenPoll() {
+    final Event peekedEvent = queue.peek();
+    Assert.assertSame(peekedEvent, queue.directPoll());
+    return peekedEvent;
+  }
+
+  private static Tablet tablet(final int time) {
+    final Tablet tablet =
+        new Tablet(
+            "root.sg.d1",
+            Collections.singletonList(new MeasurementSchema("s1", TSDataType.INT64)),
+            1);
+    tablet.addTimestamp(0, time);
+    tablet.addValue("s1", 0, (long) time);
+    return tablet;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.connector;
+
+import org.apache.iotdb.db.pipe.connector.payload.evolvable.batch.PipeAdaptiveBatchController;
+import org.apache.iotdb.rpc.TSStatusCode;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PipeAdaptiveBatchControllerTest {
+
+  private static final long MAX_BATCH_SIZE = 16 * 1024 * 1024;
+  private static final int MAX_DELAY = 160;
+
+  @Test
+  public void testAdditiveIncreaseMultiplicativeDecrease() {
+    final PipeAdaptiveBatchController controller =
+        new PipeAdaptiveBatchController(MAX_BATCH_SIZE, MAX_DELAY, 100);
+    Assert.assertEquals(MAX_BATCH_SIZE, controller.getBatchSizeInBytes());
+
+    // Slow round trips halve the batch size, bounded by the min size
+    controller.onTransferComplete(200, TSStatusCode.SUCCESS_STATUS.getStatusCode());
+    Assert.assertEquals(MAX_BATCH_SIZE / 2, controller.getBatchSizeInBytes());
+    for (int i = 0; i < 10; ++i) {
+      controller.onTransferComplete(200, TSStatusCode.SUCCESS_STATUS.getStatusCode());
+    }
+    Assert.assertEquals(MAX_BATCH_SIZE / 16, controller.getBatchSizeInBytes());
+
+    // Fast round trips increase the batch size step by step, bounded by the max size
+    controller.onTransferComplete(50, TSStatusCode.SUCCESS_STATUS.getStatusCode());
+    Assert.assertEquals(MAX_BATCH_SIZE / 8, controller.getBatchSizeInBytes());
+    for (int i = 0; i < 20; ++i) {
+      controller.onTransferComplete(50, TSStatusCode.SUCCESS_STATUS.getStatusCode());
+    }
+    Assert.assertEquals(MAX_BATCH_SIZE, controller.getBatchSizeInBytes());
+  }
+
+  @Test
+  public void testDelayFollowsBackPressure() {
+    final PipeAdaptiveBatchController controller =
+        new PipeAdaptiveBatchController(MAX_BATCH_SIZE, MAX_DELAY, 100);
+
+    // Keep the arrival rate high enough so that the current delay is used
+    long time = 0;
+    for (int i = 0; i < 100; ++i) {
+      controller.onEventArrival(MAX_BATCH_SIZE, time++);
+    }
+
+    for (int i = 0; i < 20; ++i) {
+      controller.onTransferComplete(10, TSStatusCode.SUCCESS_STATUS.getStatusCode());
+    }
+    Assert.assertEquals(MAX_DELAY / 16, controller.getDelayInMs());
+
+    controller.onTransferComplete(
+        10, TSStatusCode.PIPE_RECEIVER_TEMPORARY_UNAVAILABLE_EXCEPTION.getStatusCode());
+    Assert.assertEquals(MAX_DELAY / 8, controller.getDelayInMs());
+    Assert.assertEquals(MAX_BATCH_SIZE / 2, controller.getBatchSizeInBytes());
+
+    controller.onTransferBackPressure();
+    controller.onTransferBackPressure();
+    controller.onTransferBackPressure();
+    Assert.assertEquals(MAX_DELAY, controller.getDelayInMs());
+  }
+
+  @Test
+  public void testSlowArrivalUsesMaxDelay() {
+    final PipeAdaptiveBatchController controller =
+        new PipeAdaptiveBatchController(MAX_BATCH_SIZE, MAX_DELAY, 100);
+    for (int i = 0; i < 20; ++i) {
+      controller.onTransferComplete(10, TSStatusCode.SUCCESS_STATUS.getStatusCode());
+    }
+
+    // A few bytes per second can not fill the min batch size within the min delay
+    for (int i = 0; i < 10; ++i) {
+      controller.onEventArrival(10, i * 1000L);
+    }
+    Assert.assertEquals(MAX_DELAY, controller.getDelayInMs());
+  }
+}
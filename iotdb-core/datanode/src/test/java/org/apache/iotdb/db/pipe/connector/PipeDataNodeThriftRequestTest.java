@@ -20,6 +20,8 @@
 package org.apache.iotdb.db.pipe.connector;
 
 import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.PipeRequestType;
+import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.PipeTransferFileSealReqV2;
 import org.apache.iotdb.commons.pipe.connector.payload.thrift.response.PipeTransferFilePieceResp;
 import org.apache.iotdb.commons.schema.SchemaConstant;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferDataNodeHandshakeV1Req;
@@ -28,6 +30,7 @@ import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransfer
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferSchemaSnapshotSealReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletBatchReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletBatchReqV2;
+import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletBatchReqV3;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletBinaryReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletBinaryReqV2;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTabletInsertNodeReq;
@@ -37,6 +40,7 @@ import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransfer
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTsFilePieceReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTsFilePieceWithModReq;
 import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTsFileSealReq;
+import org.apache.iotdb.db.pipe.connector.payload.evolvable.request.PipeTransferTsFileSealWithModReq;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.metadata.write.CreateAlignedTimeSeriesNode;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertRowNode;
@@ -45,10 +49,12 @@ import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertBaseStatement;
 import org.apache.iotdb.rpc.RpcUtils;
 
 import org.apache.tsfile.common.conf.TSFileConfig;
+import org.apache.tsfile.enums.ColumnCategory;
 import org.apache.tsfile.enums.TSDataType;
 import org.apache.tsfile.file.metadata.enums.CompressionType;
 import org.apache.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.utils.BitMap;
 import org.apache.tsfile.utils.PublicBAOS;
 import org.apache.tsfile.utils.ReadWriteIOUtils;
 import org.apache.tsfile.write.record.Tablet;
@@ -58,10 +64,16 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -473,6 +485,121 @@ public class PipeDataNodeThriftRequestTest {
     Assert.assertEquals("test", deserializedReq.getInsertNodeReqs().get(0).getDataBaseName());
   }
 
+  @Test
+  public void testPipeTransferTabletBatchReqV3() throws IOException {
+    final List<IMeasurementSchema> schemaList = new ArrayList<>();
+    schemaList.add(new MeasurementSchema("s1", TSDataType.INT32));
+    schemaList.add(new MeasurementSchema("s2", TSDataType.INT64));
+    schemaList.add(new MeasurementSchema("s3", TSDataType.FLOAT));
+    schemaList.add(new MeasurementSchema("s4", TSDataType.DOUBLE));
+    schemaList.add(new MeasurementSchema("s5", TSDataType.BOOLEAN));
+    schemaList.add(new MeasurementSchema("s6", TSDataType.TEXT));
+    schemaList.add(new MeasurementSchema("s7", TSDataType.TIMESTAMP));
+    schemaList.add(new MeasurementSchema("s8", TSDataType.DATE));
+    schemaList.add(new MeasurementSchema("s9", TSDataType.BLOB));
+    schemaList.add(new MeasurementSchema("s10", TSDataType.STRING));
+
+    final Tablet treeTablet = new Tablet("root.sg.d", schemaList, 1024);
+    for (int row = 0; row < 1000; ++row) {
+      treeTablet.addTimestamp(row, 1000L * row);
+      treeTablet.addValue("s1", row, row);
+      treeTablet.addValue("s4", row, row / 4.0);
+      treeTablet.addValue("s5", row, row % 2 == 0);
+      treeTablet.addValue("s6", row, String.valueOf(row));
+      treeTablet.addValue("s7", row, 1000L * row);
+      treeTablet.addValue("s8", row, LocalDate.of(2024, 1, 1).plusDays(row));
+      treeTablet.addValue("s9", row, new Binary(String.valueOf(row), TSFileConfig.STRING_CHARSET));
+      treeTablet.addValue("s10", row, String.valueOf(row));
+      // Leave some nulls
+      if (row % 3 != 0) {
+        treeTablet.addValue("s2", row, 10L * row);
+        treeTablet.addValue("s3", row, row / 2.0f);
+      }
+    }
+
+    final Tablet tableTablet =
+        new Tablet(
+            "t",
+            Arrays.asList("tag", "s"),
+            Arrays.asList(TSDataType.STRING, TSDataType.DOUBLE),
+            Arrays.asList(ColumnCategory.TAG, ColumnCategory.FIELD),
+            16);
+    tableTablet.addTimestamp(0, 1);
+    tableTablet.addValue("tag", 0, "d1");
+    tableTablet.addValue("s", 0, 1.5);
+
+    final PipeTransferTabletBatchReqV3 req =
+        PipeTransferTabletBatchReqV3.toTPipeTransferReq(
+            Arrays.asList(treeTablet, tableTablet),
+            Arrays.asList(false, true),
+            Arrays.asList(null, "test"),
+            0);
+    Assert.assertEquals(PipeRequestType.TRANSFER_TABLET_BATCH_V3.getType(), req.getType());
+
+    final PipeTransferTabletBatchReqV3 deserializedReq =
+        PipeTransferTabletBatchReqV3.fromTPipeTransferReq(req);
+    Assert.assertEquals(2, deserializedReq.getTabletReqs().size());
+    Assert.assertEquals(treeTablet, deserializedReq.getTabletReqs().get(0).getTablet());
+    Assert.assertFalse(deserializedReq.getTabletReqs().get(0).getIsAligned());
+    Assert.assertNull(deserializedReq.getTabletReqs().get(0).getDataBaseName());
+    Assert.assertEquals(tableTablet, deserializedReq.getTabletReqs().get(1).getTablet());
+    Assert.assertEquals(
+        tableTablet.getColumnTypes(),
+        deserializedReq.getTabletReqs().get(1).getTablet().getColumnTypes());
+    Assert.assertTrue(deserializedReq.getTabletReqs().get(1).getIsAligned());
+    Assert.assertEquals("test", deserializedReq.getTabletReqs().get(1).getDataBaseName());
+
+    // The encoded batch should be much smaller than the plain one
+    final PipeTransferTabletBatchReqV2 plainReq =
+        PipeTransferTabletBatchReqV2.toTPipeTransferReq(
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.singletonList(treeTablet.serialize()),
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.singletonList(null));
+    Assert.assertTrue(req.getBody().length * 2 < plainReq.getBody().length);
+  }
+
+  @Test
+  public void testPipeTransferTabletBatchReqV3WithPlainColumn() throws IOException {
+    // The UNKNOWN column has no time series encoding and is written in the plain format
+    final List<IMeasurementSchema> schemaList =
+        Arrays.asList(
+            new MeasurementSchema("s1", TSDataType.INT64),
+            new MeasurementSchema("s2", TSDataType.UNKNOWN));
+    final int rowSize = 10;
+    final long[] timestamps = new long[rowSize];
+    final long[] longs = new long[rowSize];
+    for (int row = 0; row < rowSize; ++row) {
+      timestamps[row] = row;
+      longs[row] = 10L * row;
+    }
+    final BitMap unknownBitMap = new BitMap(rowSize);
+    unknownBitMap.markAll();
+    final Tablet tablet =
+        new Tablet(
+            "root.sg.d",
+            schemaList,
+            timestamps,
+            new Object[] {longs, null},
+            new BitMap[] {new BitMap(rowSize), unknownBitMap},
+            rowSize);
+
+    final PipeTransferTabletBatchReqV3 req =
+        PipeTransferTabletBatchReqV3.toTPipeTransferReq(
+            Collections.singletonList(tablet),
+            Collections.singletonList(false),
+            Collections.singletonList(null),
+            0);
+    final PipeTransferTabletBatchReqV3 deserializedReq =
+        PipeTransferTabletBatchReqV3.fromTPipeTransferReq(req);
+
+    Assert.assertEquals(1, deserializedReq.getTabletReqs().size());
+    Assert.assertEquals(
+        Tablet.deserialize(tablet.serialize()), deserializedReq.getTabletReqs().get(0).getTablet());
+  }
+
   @Test
   public void testPipeTransferFilePieceReq() throws IOException {
     final byte[] body = "testPipeTransferFilePieceReq".getBytes();
@@ -511,6 +638,62 @@ public class PipeDataNodeThriftRequestTest {
     Assert.assertArrayEquals(req.getFilePiece(), deserializeReq.getFilePiece());
   }
 
+  @Test
+  public void testPipeTransferFilePieceReqFromFileChannel() throws IOException {
+    final byte[] content = "testPipeTransferFilePieceReqFromFileChannel".getBytes();
+    final File file = Files.createTempFile("1", ".tsfile").toFile();
+    try {
+      Files.write(file.toPath(), content);
+      try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+        final PipeTransferTsFilePieceReq req =
+            PipeTransferTsFilePieceReq.toTPipeTransferReq(file.getName(), 4, channel, 10);
+        final byte[] piece = Arrays.copyOfRange(content, 4, 14);
+
+        // The body is the same as the one constructed from the byte array
+        Assert.assertArrayEquals(
+            PipeTransferTsFilePieceReq.toTPipeTransferReq(file.getName(), 4, piece).getBody(),
+            req.getBody());
+
+        final PipeTransferTsFilePieceReq deserializeReq =
+            PipeTransferTsFilePieceReq.fromTPipeTransferReq(req);
+        Assert.assertEquals(file.getName(), deserializeReq.getFileName());
+        Assert.assertEquals(4, deserializeReq.getStartWritingOffset());
+        Assert.assertEquals(ByteBuffer.wrap(piece), deserializeReq.getFilePieceBuffer());
+        Assert.assertArrayEquals(piece, deserializeReq.getFilePiece());
+
+        // Reading beyond the end of the file fails
+        Assert.assertThrows(
+            EOFException.class,
+            () ->
+                PipeTransferTsFilePieceReq.toTPipeTransferReq(
+                    file.getName(), 40, channel, content.length));
+      }
+    } finally {
+      Files.deleteIfExists(file.toPath());
+    }
+  }
+
+  @Test
+  public void testPipeTransferTsFileSealWithModReqChecksum() throws IOException {
+    final PipeTransferTsFileSealWithModReq req =
+        PipeTransferTsFileSealWithModReq.toTPipeTransferReq(
+            "1.tsfile.mod",
+            10,
+            PipeTransferFileSealReqV2.UNKNOWN_FILE_CHECKSUM,
+            "1.tsfile",
+            100,
+            12345,
+            "db");
+    final PipeTransferTsFileSealWithModReq deserializeReq =
+        PipeTransferTsFileSealWithModReq.fromTPipeTransferReq(req);
+
+    Assert.assertEquals(
+        PipeTransferFileSealReqV2.UNKNOWN_FILE_CHECKSUM,
+        deserializeReq.getFileChecksum("1.tsfile.mod"));
+    Assert.assertEquals(12345, deserializeReq.getFileChecksum("1.tsfile"));
+    Assert.assertEquals("db", deserializeReq.getDatabaseNameByTsFileName());
+  }
+
   @Test
   public void testPipeTransferSchemaSnapshotPieceReq() throws IOException {
     final byte[] body = "testPipeTransferSchemaSnapshotPieceReq".getBytes();
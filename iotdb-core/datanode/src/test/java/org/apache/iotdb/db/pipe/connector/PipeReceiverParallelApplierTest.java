@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.connector;
+
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.conf.IoTDBConstant;
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.pipe.receiver.protocol.thrift.PipeDataNodeReceiverParallelApplier;
+import org.apache.iotdb.db.protocol.session.IClientSession;
+import org.apache.iotdb.db.protocol.session.InternalClientSession;
+import org.apache.iotdb.db.protocol.session.SessionManager;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertBaseStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertMultiTabletsStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowsStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertTabletStatement;
+import org.apache.iotdb.rpc.RpcUtils;
+import org.apache.iotdb.rpc.TSStatusCode;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PipeReceiverParallelApplierTest {
+
+  @Test
+  public void testPartitionByDevice() throws IllegalPathException {
+    final List<InsertRowStatement> rows = new ArrayList<>();
+    for (int i = 0; i < 20; ++i) {
+      rows.add(createRow("root.db.d" + (i % 5), i));
+    }
+    final InsertRowsStatement insertRowsStatement = new InsertRowsStatement();
+    insertRowsStatement.setInsertRowStatementList(rows);
+
+    final List<InsertTabletStatement> tablets = new ArrayList<>();
+    for (int i = 0; i < 5; ++i) {
+      tablets.add(createTablet("root.db.d" + i));
+    }
+    final InsertMultiTabletsStatement insertMultiTabletsStatement =
+        new InsertMultiTabletsStatement();
+    insertMultiTabletsStatement.setInsertTabletStatementList(tablets);
+
+    final List<List<InsertBaseStatement>> partitions =
+        PipeDataNodeReceiverParallelApplier.partition(
+            Arrays.asList(insertRowsStatement, insertMultiTabletsStatement), 3);
+    Assert.assertTrue(partitions.size() > 1 && partitions.size() <= 3);
+
+    final Map<String, Integer> deviceToPartition = new HashMap<>();
+    final Map<String, Long> deviceToLastTime = new HashMap<>();
+    int rowCount = 0;
+    int tabletCount = 0;
+    for (int i = 0; i < partitions.size(); ++i) {
+      final int index = i;
+      boolean tabletsVisited = false;
+      for (final InsertBaseStatement statement : partitions.get(i)) {
+        if (statement instanceof InsertRowsStatement) {
+          // rows are applied before tablets, as in the request
+          Assert.assertFalse(tabletsVisited);
+          for (final InsertRowStatement row :
+              ((InsertRowsStatement) statement).getInsertRowStatementList()) {
+            final String device = row.getDevicePath().getFullPath();
+            // the rows of the same device are in the same partition
+            Assert.assertEquals(i, (int) deviceToPartition.computeIfAbsent(device, d -> index));
+            // the order of the rows of the same device is kept
+            Assert.assertTrue(deviceToLastTime.getOrDefault(device, -1L) < row.getTime());
+            deviceToLastTime.put(device, row.getTime());
+            ++rowCount;
+          }
+        } else {
+          tabletsVisited = true;
+          for (final InsertTabletStatement tablet :
+              ((InsertMultiTabletsStatement) statement).getInsertTabletStatementList()) {
+            Assert.assertEquals(
+                i, (int) deviceToPartition.get(tablet.getDevicePath().getFullPath()));
+            ++tabletCount;
+          }
+        }
+      }
+    }
+    Assert.assertEquals(20, rowCount);
+    Assert.assertEquals(5, tabletCount);
+  }
+
+  @Test
+  public void testPartitionTableModel() {
+    final InsertTabletStatement table1 = createTableTablet("t1");
+    final InsertTabletStatement table2 = createTableTablet("t2");
+    final InsertTabletStatement table1Again = createTableTablet("t1");
+
+    final List<List<InsertBaseStatement>> partitions =
+        PipeDataNodeReceiverParallelApplier.partition(
+            Arrays.asList(table1, table2, table1Again), 8);
+    final List<InsertBaseStatement> partition =
+        partitions.stream()
+            .filter(p -> p.contains(table1))
+            .findFirst()
+            .orElseThrow(AssertionError::new);
+    // the statements of the same table are in the same partition, and their order is kept
+    Assert.assertTrue(partition.indexOf(table1) < partition.indexOf(table1Again));
+    Assert.assertEquals(3, partitions.stream().mapToInt(List::size).sum());
+  }
+
+  @Test
+  public void testApplyWithExecutorPerPartition() throws IllegalPathException {
+    final List<List<InsertBaseStatement>> partitions =
+        Arrays.asList(
+            Arrays.asList(createRow("root.db.d0", 0), createRow("root.db.d0", 1)),
+            Arrays.asList(createRow("root.db.d1", 0), createRow("root.db.d1", 1)),
+            Collections.singletonList(createRow("root.db.d2", 0)));
+    final InsertBaseStatement failedStatement = partitions.get(1).get(1);
+    final AtomicInteger suppliedExecutorCount = new AtomicInteger();
+
+    final List<TSStatus> results =
+        PipeDataNodeReceiverParallelApplier.apply(
+            partitions,
+            createReceiverSession(),
+            () -> {
+              suppliedExecutorCount.incrementAndGet();
+              // the executor is only used by the thread it is supplied in
+              final Thread owner = Thread.currentThread();
+              return statement -> {
+                Assert.assertSame(owner, Thread.currentThread());
+                if (statement == failedStatement) {
+                  throw new IllegalStateException("failed");
+                }
+                return RpcUtils.SUCCESS_STATUS;
+              };
+            });
+
+    Assert.assertEquals(3, suppliedExecutorCount.get());
+    // one status for each statement, including the ones of the failed partition
+    Assert.assertEquals(5, results.size());
+    Assert.assertEquals(
+        2,
+        results.stream()
+            .filter(
+                status ->
+                    status.getCode()
+                        == TSStatusCode.PIPE_RECEIVER_TEMPORARY_UNAVAILABLE_EXCEPTION
+                            .getStatusCode())
+            .count());
+  }
+
+  private IClientSession createReceiverSession() {
+    final IClientSession session = new InternalClientSession("receiver");
+    SessionManager.getInstance()
+        .supplySession(session, "root", ZoneId.systemDefault(), IoTDBConstant.ClientVersion.V_1_0);
+    return session;
+  }
+
+  private InsertRowStatement createRow(final String device, final long time)
+      throws IllegalPathException {
+    final InsertRowStatement row = new InsertRowStatement();
+    row.setDevicePath(new PartialPath(device));
+    row.setTime(time);
+    return row;
+  }
+
+  private InsertTabletStatement createTablet(final String device) throws IllegalPathException {
+    final InsertTabletStatement tablet = new InsertTabletStatement();
+    tablet.setDevicePath(new PartialPath(device));
+    return tablet;
+  }
+
+  private InsertTabletStatement createTableTablet(final String table) {
+    final InsertTabletStatement tablet = new InsertTabletStatement();
+    tablet.setDevicePath(new PartialPath(new String[] {table}));
+    tablet.setWriteToTable(true);
+    tablet.setDatabaseName("db");
+    return tablet;
+  }
+}
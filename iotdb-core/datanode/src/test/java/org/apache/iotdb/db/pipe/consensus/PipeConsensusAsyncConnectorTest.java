@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.consensus;
+
+import org.apache.iotdb.commons.pipe.agent.task.progress.CommitterKey;
+import org.apache.iotdb.commons.pipe.event.EnrichedEvent;
+import org.apache.iotdb.consensus.pipe.thrift.TCommitId;
+import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusAck;
+import org.apache.iotdb.db.pipe.connector.protocol.pipeconsensus.PipeConsensusAsyncConnector;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PipeConsensusAsyncConnectorTest {
+  private static final String PIPE_NAME = "__consensus.DataRegion[1]_1_2";
+  private static final int REBOOT_TIMES = 1;
+  private static final int RESTART_TIMES = 2;
+
+  private PipeConsensusAsyncConnector connector;
+  private BlockingQueue<EnrichedEvent> transferBuffer;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() throws Exception {
+    connector = new PipeConsensusAsyncConnector();
+    final Field field = PipeConsensusAsyncConnector.class.getDeclaredField("transferBuffer");
+    field.setAccessible(true);
+    transferBuffer = (BlockingQueue<EnrichedEvent>) field.get(connector);
+  }
+
+  private static EnrichedEvent mockEvent(
+      final long replicateIndex, final int rebootTimes, final int restartTimes) {
+    final EnrichedEvent event = mock(EnrichedEvent.class);
+    when(event.getReplicateIndexForIoTV2()).thenReturn(replicateIndex);
+    when(event.getRebootTimes()).thenReturn(rebootTimes);
+    when(event.getCommitterKey()).thenReturn(new CommitterKey(PIPE_NAME, 0, 1, restartTimes));
+    when(event.equalsInPipeConsensus(any()))
+        .thenAnswer(invocation -> invocation.getArgument(0) == event);
+    return event;
+  }
+
+  private List<EnrichedEvent> fillBuffer(final long... replicateIndexes) {
+    final List<EnrichedEvent> events = new ArrayList<>();
+    for (final long replicateIndex : replicateIndexes) {
+      final EnrichedEvent event = mockEvent(replicateIndex, REBOOT_TIMES, RESTART_TIMES);
+      Assert.assertTrue(transferBuffer.offer(event));
+      events.add(event);
+    }
+    return events;
+  }
+
+  private static TPipeConsensusAck ack(final long syncedIndex, final Long... skippedIndexes) {
+    return new TPipeConsensusAck(new TCommitId(syncedIndex, RESTART_TIMES, REBOOT_TIMES))
+        .setSkippedReplicateIndexes(Arrays.asList(skippedIndexes));
+  }
+
+  @Test
+  public void testCumulativeAckRemovesEventsOfOtherRequests() {
+    // Events 1 and 2 were sent by other in-flight requests whose responses have not arrived
+    final List<EnrichedEvent> events = fillBuffer(1, 2, 3, 4);
+
+    connector.removeAcknowledgedEventsFromBuffer(ack(3));
+
+    Assert.assertEquals(Collections.singletonList(events.get(3)), new ArrayList<>(transferBuffer));
+    for (int i = 0; i < 3; i++) {
+      verify(events.get(i), times(1)).decreaseReferenceCount(anyString(), anyBoolean());
+    }
+    verify(events.get(3), never()).decreaseReferenceCount(anyString(), anyBoolean());
+    Assert.assertEquals(3, connector.getConsensusPipeReplicateProgress());
+
+    // The late response of an acknowledged event does not release it twice
+    connector.removeEventFromBuffer(events.get(0));
+    verify(events.get(0), times(1)).decreaseReferenceCount(anyString(), anyBoolean());
+    Assert.assertEquals(1, transferBuffer.size());
+  }
+
+  @Test
+  public void testSkippedIndexesStayInBuffer() {
+    final List<EnrichedEvent> events = fillBuffer(1, 2, 3, 4);
+
+    connector.removeAcknowledgedEventsFromBuffer(ack(4, 2L));
+
+    Assert.assertEquals(Collections.singletonList(events.get(1)), new ArrayList<>(transferBuffer));
+    Assert.assertFalse(PipeConsensusAsyncConnector.isAcknowledged(ack(4, 2L), events.get(1)));
+    Assert.assertTrue(PipeConsensusAsyncConnector.isAcknowledged(ack(4, 2L), events.get(2)));
+    verify(events.get(1), never()).decreaseReferenceCount(anyString(), anyBoolean());
+
+    // The skipped event is still removed by its own response
+    connector.removeEventFromBuffer(events.get(1));
+    Assert.assertTrue(transferBuffer.isEmpty());
+  }
+
+  @Test
+  public void testAckOfOtherRebootOrRestartRemovesNothing() {
+    fillBuffer(1, 2);
+    final EnrichedEvent oldReboot = mockEvent(1, REBOOT_TIMES - 1, RESTART_TIMES);
+    final EnrichedEvent oldRestart = mockEvent(1, REBOOT_TIMES, RESTART_TIMES - 1);
+
+    Assert.assertFalse(PipeConsensusAsyncConnector.isAcknowledged(ack(2), oldReboot));
+    Assert.assertFalse(PipeConsensusAsyncConnector.isAcknowledged(ack(2), oldRestart));
+
+    connector.removeAcknowledgedEventsFromBuffer(
+        new TPipeConsensusAck(new TCommitId(2, RESTART_TIMES, REBOOT_TIMES + 1)));
+    connector.removeAcknowledgedEventsFromBuffer(
+        new TPipeConsensusAck(new TCommitId(2, RESTART_TIMES + 1, REBOOT_TIMES)));
+    Assert.assertEquals(2, transferBuffer.size());
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.consensus;
+
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.consensus.ConsensusGroupId;
+import org.apache.iotdb.commons.consensus.DataRegionId;
+import org.apache.iotdb.commons.consensus.index.impl.MinimumProgressIndex;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.commons.utils.FileUtils;
+import org.apache.iotdb.consensus.pipe.PipeConsensus;
+import org.apache.iotdb.consensus.pipe.PipeConsensusServerImpl;
+import org.apache.iotdb.consensus.pipe.consensuspipe.ConsensusPipeName;
+import org.apache.iotdb.consensus.pipe.thrift.TCommitId;
+import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusAck;
+import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusBatchTransferReq;
+import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusBatchTransferResp;
+import org.apache.iotdb.consensus.pipe.thrift.TPipeConsensusTransferReq;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.pipe.connector.protocol.pipeconsensus.payload.request.PipeConsensusTabletInsertNodeReq;
+import org.apache.iotdb.db.pipe.receiver.protocol.pipeconsensus.PipeConsensusReceiver;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertRowNode;
+import org.apache.iotdb.rpc.RpcUtils;
+import org.apache.iotdb.rpc.TSStatusCode;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PipeConsensusReceiverTest {
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+  private static final ConsensusGroupId GROUP_ID = new DataRegionId(1);
+  private static final int SENDER_DATANODE_ID = 1;
+  private static final int RECEIVER_DATANODE_ID = 2;
+
+  private File baseDir;
+  private String previousSystemDir;
+  private String[] previousReceiverFileDirs;
+  private int previousPipelineSize;
+  private PipeConsensusServerImpl impl;
+  private PipeConsensusReceiver receiver;
+
+  @Before
+  public void setUp() throws Exception {
+    baseDir = Files.createTempDirectory("pipe-consensus-receiver").toFile();
+    previousSystemDir = CONFIG.getSystemDir();
+    previousReceiverFileDirs = CONFIG.getIotConsensusV2ReceiverFileDirs();
+    previousPipelineSize = CONFIG.getIotConsensusV2PipelineSize();
+    CONFIG.setSystemDir(baseDir.getPath());
+    CONFIG.setIotConsensusV2ReceiverFileDirs(
+        new String[] {new File(baseDir, "receiver").getPath()});
+
+    impl = mock(PipeConsensusServerImpl.class);
+    when(impl.isReadOnly()).thenReturn(false);
+  }
+
+  @After
+  public void tearDown() {
+    if (receiver != null) {
+      receiver.handleExit();
+    }
+    CONFIG.setSystemDir(previousSystemDir);
+    CONFIG.setIotConsensusV2ReceiverFileDirs(previousReceiverFileDirs);
+    CONFIG.setIotConsensusV2PipelineSize(previousPipelineSize);
+    FileUtils.deleteFileOrDirectory(baseDir);
+  }
+
+  private void createReceiver(final int pipelineSize) {
+    CONFIG.setIotConsensusV2PipelineSize(pipelineSize);
+    final PipeConsensus pipeConsensus = mock(PipeConsensus.class);
+    when(pipeConsensus.getImpl(any())).thenReturn(impl);
+    receiver =
+        new PipeConsensusReceiver(
+            pipeConsensus,
+            GROUP_ID,
+            new ConsensusPipeName(GROUP_ID, SENDER_DATANODE_ID, RECEIVER_DATANODE_ID));
+  }
+
+  private static TPipeConsensusBatchTransferReq batchReq(final long... replicateIndexes)
+      throws Exception {
+    final List<TPipeConsensusTransferReq> reqs = new ArrayList<>();
+    for (final long replicateIndex : replicateIndexes) {
+      final InsertRowNode insertNode =
+          new InsertRowNode(
+              new PlanNodeId(String.valueOf(replicateIndex)),
+              new PartialPath(new String[] {"root", "sg", "d"}),
+              false,
+              new String[] {"s"},
+              new TSDataType[] {TSDataType.INT32},
+              replicateIndex,
+              new Object[] {(int) replicateIndex},
+              false);
+      reqs.add(
+          PipeConsensusTabletInsertNodeReq.toTPipeConsensusTransferReq(
+              insertNode,
+              new TCommitId(replicateIndex, 0, 0),
+              GROUP_ID.convertToTConsensusGroupId(),
+              MinimumProgressIndex.INSTANCE,
+              SENDER_DATANODE_ID));
+    }
+    return new TPipeConsensusBatchTransferReq(reqs);
+  }
+
+  private static void assertStatus(
+      final TSStatusCode expected, final TPipeConsensusBatchTransferResp resp, final int i) {
+    Assert.assertEquals(
+        expected.getStatusCode(), resp.getBatchResps().get(i).getStatus().getCode());
+  }
+
+  @Test
+  public void testInOrderBatch() throws Exception {
+    when(impl.writeOnFollowerReplica(any())).thenReturn(RpcUtils.SUCCESS_STATUS);
+    createReceiver(5);
+
+    final TPipeConsensusBatchTransferResp resp = receiver.receiveBatch(batchReq(1, 2, 3));
+
+    Assert.assertEquals(3, resp.getBatchResps().size());
+    for (int i = 0; i < 3; i++) {
+      assertStatus(TSStatusCode.SUCCESS_STATUS, resp, i);
+    }
+    verify(impl, times(3)).writeOnFollowerReplica(any());
+    final TPipeConsensusAck ack = resp.getAck();
+    Assert.assertEquals(3, ack.getSyncedCommitId().getReplicateIndex());
+    Assert.assertEquals(Collections.emptyList(), ack.getSkippedReplicateIndexes());
+  }
+
+  @Test
+  public void testFailedRequestStopsTheRestOfBatch() throws Exception {
+    final TSStatus failure = RpcUtils.getStatus(TSStatusCode.WRITE_PROCESS_REJECT, "reject");
+    when(impl.writeOnFollowerReplica(any()))
+        .thenReturn(RpcUtils.SUCCESS_STATUS, RpcUtils.SUCCESS_STATUS, failure);
+    createReceiver(5);
+
+    final TPipeConsensusBatchTransferResp resp = receiver.receiveBatch(batchReq(1, 2, 3, 4, 5));
+
+    assertStatus(TSStatusCode.SUCCESS_STATUS, resp, 0);
+    assertStatus(TSStatusCode.SUCCESS_STATUS, resp, 1);
+    assertStatus(TSStatusCode.WRITE_PROCESS_REJECT, resp, 2);
+    assertStatus(TSStatusCode.PIPE_CONSENSUS_WAIT_ORDER_TIMEOUT, resp, 3);
+    assertStatus(TSStatusCode.PIPE_CONSENSUS_WAIT_ORDER_TIMEOUT, resp, 4);
+    // The requests after the failed one are not applied
+    verify(impl, times(3)).writeOnFollowerReplica(any());
+    Assert.assertEquals(2, resp.getAck().getSyncedCommitId().getReplicateIndex());
+
+    // The sender retries from the failed request, which is then applied in order
+    when(impl.writeOnFollowerReplica(any())).thenReturn(RpcUtils.SUCCESS_STATUS);
+    final TPipeConsensusBatchTransferResp retryResp = receiver.receiveBatch(batchReq(3, 4, 5));
+    for (int i = 0; i < 3; i++) {
+      assertStatus(TSStatusCode.SUCCESS_STATUS, retryResp, i);
+    }
+    Assert.assertEquals(5, retryResp.getAck().getSyncedCommitId().getReplicateIndex());
+  }
+
+  @Test
+  public void testSkippedReplicateIndexesAreAcknowledged() throws Exception {
+    when(impl.writeOnFollowerReplica(any())).thenReturn(RpcUtils.SUCCESS_STATUS);
+    createReceiver(2);
+
+    // No.1 is missing, the full buffer lets no.2 be applied and no.1 is recorded as skipped
+    final TPipeConsensusBatchTransferResp resp = receiver.receiveBatch(batchReq(2, 3));
+
+    assertStatus(TSStatusCode.SUCCESS_STATUS, resp, 0);
+    assertStatus(TSStatusCode.SUCCESS_STATUS, resp, 1);
+    final TPipeConsensusAck ack = resp.getAck();
+    Assert.assertEquals(3, ack.getSyncedCommitId().getReplicateIndex());
+    Assert.assertEquals(Collections.singletonList(1L), ack.getSkippedReplicateIndexes());
+
+    final TPipeConsensusBatchTransferResp laterResp = receiver.receiveBatch(batchReq(5, 6));
+    Assert.assertEquals(6, laterResp.getAck().getSyncedCommitId().getReplicateIndex());
+    Assert.assertEquals(Arrays.asList(1L, 4L), laterResp.getAck().getSkippedReplicateIndexes());
+
+    // Only the latest skipped indexes within a pipeline are still tracked
+    final TPipeConsensusBatchTransferResp lastResp = receiver.receiveBatch(batchReq(8, 9));
+    Assert.assertEquals(9, lastResp.getAck().getSyncedCommitId().getReplicateIndex());
+    Assert.assertEquals(Arrays.asList(4L, 7L), lastResp.getAck().getSkippedReplicateIndexes());
+  }
+}
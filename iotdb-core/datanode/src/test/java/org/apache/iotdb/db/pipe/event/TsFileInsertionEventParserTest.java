@@ -110,6 +110,51 @@ public class TsFileInsertionEventParserTest {
     System.out.println(System.currentTimeMillis() - startTime);
   }
 
+  @Test
+  public void testScanContainerCoalescesSequentialChunks() throws Exception {
+    final File tsFile = new File("0-0-3-0.tsfile");
+    resource = new TsFileResource(tsFile);
+    resource.updatePlanIndexes(0);
+    resource.setStatusForTest(TsFileResourceStatus.NORMAL);
+    try (final CompactionTestFileWriter writer = new CompactionTestFileWriter(resource)) {
+      writer.startChunkGroup("d1");
+      writer.generateSimpleAlignedSeriesToCurrentDevice(
+          Arrays.asList("s0", "s1"),
+          new TimeRange[] {new TimeRange(10, 19), new TimeRange(20, 29), new TimeRange(30, 39)},
+          TSEncoding.PLAIN,
+          CompressionType.LZ4);
+      writer.endChunkGroup();
+      writer.startChunkGroup("d2");
+      writer.generateSimpleNonAlignedSeriesToCurrentDevice(
+          "s0",
+          new TimeRange[] {new TimeRange(10, 19), new TimeRange(20, 29), new TimeRange(30, 39)},
+          TSEncoding.PLAIN,
+          CompressionType.LZ4);
+      writer.generateSimpleNonAlignedSeriesToCurrentDevice(
+          "s1", new TimeRange[] {new TimeRange(10, 19)}, TSEncoding.PLAIN, CompressionType.LZ4);
+      writer.endChunkGroup();
+      writer.endFile();
+    }
+
+    final List<Pair<Tablet, Boolean>> tablets = new ArrayList<>();
+    try (final TsFileInsertionEventScanParser parser =
+        new TsFileInsertionEventScanParser(
+            tsFile, new PrefixTreePattern("root"), Long.MIN_VALUE, Long.MAX_VALUE, null, null)) {
+      parser.toTabletWithIsAligneds().forEach(tablets::add);
+    }
+
+    // The sequential chunks of the same device and measurements are parsed into one tablet
+    Assert.assertEquals(3, tablets.size());
+    Assert.assertTrue(tablets.get(0).getRight());
+    Assert.assertEquals(30, tablets.get(0).getLeft().getRowSize());
+    Assert.assertEquals(2, tablets.get(0).getLeft().getSchemas().size());
+    Assert.assertFalse(tablets.get(1).getRight());
+    Assert.assertEquals(30, tablets.get(1).getLeft().getRowSize());
+    Assert.assertEquals("s0", tablets.get(1).getLeft().getSchemas().get(0).getMeasurementName());
+    Assert.assertEquals(10, tablets.get(2).getLeft().getRowSize());
+    Assert.assertEquals("s1", tablets.get(2).getLeft().getSchemas().get(0).getMeasurementName());
+  }
+
   public void testToTabletInsertionEvents(final boolean isQuery) throws Exception {
     // Test empty chunk
     testMixedTsFileWithEmptyChunk(isQuery);
@@ -43,8 +43,10 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -182,6 +184,73 @@ public class CachedSchemaPatternMatcherTest {
     future.get();
   }
 
+  @Test
+  public void testIndexedMatchEqualsFullScan() throws Exception {
+    final String[][] patterns = {
+      {PipeExtractorConstant.EXTRACTOR_PATTERN_KEY, "root"},
+      {PipeExtractorConstant.EXTRACTOR_PATTERN_KEY, "root."},
+      {PipeExtractorConstant.EXTRACTOR_PATTERN_KEY, "root.db"},
+      {PipeExtractorConstant.EXTRACTOR_PATTERN_KEY, "root.db1"},
+      {PipeExtractorConstant.EXTRACTOR_PATTERN_KEY, "root.db1.d1"},
+      {PipeExtractorConstant.EXTRACTOR_PATTERN_KEY, "root.db1.d1.s"},
+      {PipeExtractorConstant.EXTRACTOR_PATTERN_KEY, "root.db10.d2.s1"},
+      {PipeExtractorConstant.EXTRACTOR_PATH_KEY, "root.**"},
+      {PipeExtractorConstant.EXTRACTOR_PATH_KEY, "root.db1.**"},
+      {PipeExtractorConstant.EXTRACTOR_PATH_KEY, "root.db1.d1.s1"},
+      {PipeExtractorConstant.EXTRACTOR_PATH_KEY, "root.db1.*.s1"},
+      {PipeExtractorConstant.EXTRACTOR_PATH_KEY, "root.db2.d*.**"},
+      {PipeExtractorConstant.EXTRACTOR_PATH_KEY, "root.db10.d2"},
+    };
+    for (final String[] pattern : patterns) {
+      final PipeRealtimeDataRegionExtractor extractor = new PipeRealtimeDataRegionFakeExtractor();
+      extractor.customize(
+          new PipeParameters(Collections.singletonMap(pattern[0], pattern[1])),
+          new PipeTaskRuntimeConfiguration(
+              new PipeTaskExtractorRuntimeEnvironment("1", 1, 1, null)));
+      extractors.add(extractor);
+      matcher.register(extractor);
+    }
+
+    final String[] devices = {
+      "root.db",
+      "root.db1",
+      "root.db1.d1",
+      "root.db1.d1.s",
+      "root.db1.d2",
+      "root.db10.d2",
+      "root.db10.d2.s1.x",
+      "root.db2.d3",
+      "root.db2.e3",
+      "root.db3.d1",
+    };
+    assertIndexedMatchEqualsFullScan(devices);
+
+    // Deregistered extractors should not be matched any more
+    for (int i = 0; i < extractors.size(); i += 2) {
+      matcher.deregister(extractors.get(i));
+    }
+    for (int i = extractors.size() - 1 - (extractors.size() - 1) % 2; i >= 0; i -= 2) {
+      extractors.remove(i);
+    }
+    assertIndexedMatchEqualsFullScan(devices);
+  }
+
+  private void assertIndexedMatchEqualsFullScan(final String[] devices) {
+    for (final String device : devices) {
+      final IDeviceID deviceID = new StringArrayDeviceID(device);
+      final Set<PipeRealtimeDataRegionExtractor> expected = new HashSet<>();
+      for (final PipeRealtimeDataRegionExtractor extractor : extractors) {
+        if (extractor.getTreePattern().mayOverlapWithDevice(deviceID)) {
+          expected.add(extractor);
+        }
+      }
+      final MockedPipeRealtimeEvent event =
+          new MockedPipeRealtimeEvent(
+              null, null, Collections.singletonMap(deviceID, new String[0]));
+      Assert.assertEquals(device, expected, matcher.match(event));
+    }
+  }
+
   public static class PipeRealtimeDataRegionFakeExtractor extends PipeRealtimeDataRegionExtractor {
 
     public PipeRealtimeDataRegionFakeExtractor() {
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.processor.aggregate;
+
+import org.apache.iotdb.db.pipe.processor.aggregate.operator.aggregatedresult.AggregatedResultOperator;
+import org.apache.iotdb.db.pipe.processor.aggregate.operator.aggregatedresult.standardstatistics.MaxValueOperator;
+import org.apache.iotdb.db.pipe.processor.aggregate.operator.intermediateresult.IntermediateResultOperator;
+import org.apache.iotdb.db.pipe.processor.aggregate.operator.intermediateresult.sametype.numeric.MaxOperator;
+import org.apache.iotdb.db.pipe.processor.aggregate.window.datastructure.WindowOutput;
+import org.apache.iotdb.db.pipe.processor.aggregate.window.processor.TumblingWindowingProcessor;
+import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameters;
+
+import org.apache.tsfile.utils.Pair;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_SLIDING_SECONDS_KEY;
+
+public class TimeSeriesRuntimeStateTest {
+
+  private final Map<String, AggregatedResultOperator> outputName2OperatorMap =
+      Collections.singletonMap("max", new MaxValueOperator());
+  private final Map<String, Supplier<IntermediateResultOperator>> intermediateResultName2Supplier =
+      Collections.singletonMap("max", MaxOperator::new);
+
+  private TumblingWindowingProcessor windowingProcessor;
+
+  @Before
+  public void setUp() throws Exception {
+    windowingProcessor = new TumblingWindowingProcessor();
+    windowingProcessor.customize(
+        new PipeParameters(Collections.singletonMap(PROCESSOR_SLIDING_SECONDS_KEY, "10")), null);
+  }
+
+  @Test
+  public void testRestoreWithoutOpeningWindows() throws Exception {
+    final TimeSeriesRuntimeState state = newState();
+
+    // All the windows were closed at the last report, so only the timestamp is checkpointed
+    state.restoreTimestampAndWindows(new Pair<>(20_000L, null));
+
+    Assert.assertEquals(0, state.getStateSizeInBytes());
+    Assert.assertTrue(state.forceOutput().isEmpty());
+    // The values before the restored timestamp are already reported and open no window
+    Assert.assertNull(state.updateWindows(15_000L, 1.0, 0));
+    Assert.assertEquals(0, state.getStateSizeInBytes());
+  }
+
+  @Test
+  public void testRestoreDoesNotConsumeSharedBuffer() throws Exception {
+    final TimeSeriesRuntimeState originalState = newState();
+    Assert.assertNull(originalState.updateWindows(1_000L, 1.0, 0));
+    final Pair<List<WindowOutput>, Pair<Long, ByteBuffer>> output =
+        originalState.updateWindows(12_000L, 2.0, 0);
+    Assert.assertNotNull(output);
+    Assert.assertEquals(1, output.getLeft().size());
+
+    final Pair<Long, ByteBuffer> checkpoint = output.getRight();
+    final int position = checkpoint.getRight().position();
+    final int remaining = checkpoint.getRight().remaining();
+
+    // Several subtasks may restore from the same progress index
+    for (int i = 0; i < 2; ++i) {
+      final TimeSeriesRuntimeState restoredState = newState();
+      restoredState.restoreTimestampAndWindows(checkpoint);
+
+      Assert.assertEquals(position, checkpoint.getRight().position());
+      Assert.assertEquals(remaining, checkpoint.getRight().remaining());
+
+      final List<WindowOutput> restoredOutputs = restoredState.forceOutput();
+      Assert.assertEquals(1, restoredOutputs.size());
+      Assert.assertEquals(10_000L, restoredOutputs.get(0).getTimestamp());
+      Assert.assertEquals(originalState.getStateSizeInBytes(), restoredState.getStateSizeInBytes());
+    }
+  }
+
+  @Test
+  public void testStateSizeFollowsOpeningWindows() throws Exception {
+    final TimeSeriesRuntimeState state = newState();
+    Assert.assertEquals(0, state.getStateSizeInBytes());
+
+    state.updateWindows(1_000L, 1.0, Long.MAX_VALUE);
+    final long oneWindowSize = state.getStateSizeInBytes();
+    Assert.assertTrue(oneWindowSize > 0);
+
+    // More values in the same window do not grow the state
+    state.updateWindows(2_000L, 3.0, Long.MAX_VALUE);
+    Assert.assertEquals(oneWindowSize, state.getStateSizeInBytes());
+
+    // The next window replaces the emitted one
+    state.updateWindows(12_000L, 2.0, Long.MAX_VALUE);
+    Assert.assertEquals(oneWindowSize, state.getStateSizeInBytes());
+
+    // The size is of the objects in memory rather than of the serialized windows, which are not
+    // reported within the min report interval
+    final Pair<List<WindowOutput>, Pair<Long, ByteBuffer>> output =
+        state.updateWindows(22_000L, 2.0, Long.MAX_VALUE);
+    Assert.assertNull(output.getRight());
+    Assert.assertEquals(oneWindowSize, state.getStateSizeInBytes());
+  }
+
+  private TimeSeriesRuntimeState newState() {
+    return new TimeSeriesRuntimeState(
+        outputName2OperatorMap,
+        intermediateResultName2Supplier,
+        Collections.emptyMap(),
+        windowingProcessor);
+  }
+}
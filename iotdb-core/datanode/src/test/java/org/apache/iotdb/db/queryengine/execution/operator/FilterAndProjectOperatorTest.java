@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator;
+
+import org.apache.iotdb.db.queryengine.execution.operator.process.FilterAndProjectOperator;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.ColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.ArithmeticAdditionColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.CompareGreaterThanColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.ConstantColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.IdentityColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.LeafColumnTransformer;
+
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.column.DictionaryColumn;
+import org.apache.tsfile.read.common.block.column.IntColumn;
+import org.apache.tsfile.read.common.block.column.TimeColumn;
+import org.apache.tsfile.read.common.type.BooleanType;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.apache.tsfile.read.common.type.IntType.INT32;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+public class FilterAndProjectOperatorTest {
+
+  @Test
+  public void testFilterAndProject() throws Exception {
+    // s0 > 2, s0: [1, 3, null, 5, 2, 7]
+    TsBlock result =
+        filterAndProject(new int[] {1, 3, 0, 5, 2, 7}, new boolean[] {false, false, true});
+
+    assertEquals(3, result.getPositionCount());
+    long[] expectedTimes = {1, 3, 5};
+    int[] expectedS1 = {11, 13, 15};
+    int[] expectedSum = {14, 18, 22};
+    for (int i = 0; i < result.getPositionCount(); i++) {
+      assertEquals(expectedTimes[i], result.getTimeByIndex(i));
+      assertEquals(expectedS1[i], result.getColumn(0).getInt(i));
+      assertEquals(expectedSum[i], result.getColumn(1).getInt(i));
+    }
+    for (Column column : result.getValueColumns()) {
+      // the views of the selected positions must not be returned
+      assertFalse(column instanceof DictionaryColumn);
+    }
+  }
+
+  @Test
+  public void testAllSelected() throws Exception {
+    TsBlock result = filterAndProject(new int[] {3, 4, 5}, null);
+
+    assertEquals(3, result.getPositionCount());
+    for (int i = 0; i < result.getPositionCount(); i++) {
+      assertEquals(i, result.getTimeByIndex(i));
+      assertEquals(10 + i, result.getColumn(0).getInt(i));
+      assertEquals(3 + i + 10 + i, result.getColumn(1).getInt(i));
+    }
+  }
+
+  @Test
+  public void testNoneSelected() throws Exception {
+    TsBlock result = filterAndProject(new int[] {0, 1, 2}, null);
+
+    assertEquals(0, result.getPositionCount());
+  }
+
+  /** Select s1, s0 + s1 where s0 > 2, and s1 = 10 + time. */
+  private TsBlock filterAndProject(int[] s0, boolean[] s0Nulls) throws Exception {
+    int positionCount = s0.length;
+    long[] times = new long[positionCount];
+    int[] s1 = new int[positionCount];
+    for (int i = 0; i < positionCount; i++) {
+      times[i] = i;
+      s1[i] = 10 + i;
+    }
+    if (s0Nulls != null) {
+      s0Nulls = Arrays.copyOf(s0Nulls, positionCount);
+    }
+    TsBlock input =
+        new TsBlock(
+            positionCount,
+            new TimeColumn(positionCount, times),
+            new IntColumn(positionCount, Optional.ofNullable(s0Nulls), s0),
+            new IntColumn(positionCount, Optional.empty(), s1));
+    Operator child = Mockito.mock(Operator.class);
+    Mockito.when(child.nextWithTimer()).thenReturn(input);
+
+    IdentityColumnTransformer filterS0 = reference(new IdentityColumnTransformer(INT32, 0));
+    ConstantColumnTransformer constant =
+        reference(
+            new ConstantColumnTransformer(
+                INT32, new IntColumn(1, Optional.empty(), new int[] {2})));
+    ColumnTransformer filter =
+        reference(new CompareGreaterThanColumnTransformer(BooleanType.BOOLEAN, filterS0, constant));
+
+    IdentityColumnTransformer projectS0 = reference(new IdentityColumnTransformer(INT32, 0));
+    IdentityColumnTransformer projectS1 = new IdentityColumnTransformer(INT32, 1);
+    // referenced by the output and the addition
+    projectS1.addReferenceCount();
+    projectS1.addReferenceCount();
+    ColumnTransformer sum =
+        reference(new ArithmeticAdditionColumnTransformer(INT32, projectS0, projectS1));
+
+    FilterAndProjectOperator operator =
+        new FilterAndProjectOperator(
+            Mockito.mock(OperatorContext.class),
+            child,
+            Arrays.asList(TSDataType.INT32, TSDataType.INT32),
+            Arrays.<LeafColumnTransformer>asList(filterS0, constant),
+            filter,
+            Collections.emptyList(),
+            Arrays.<LeafColumnTransformer>asList(projectS0, projectS1),
+            Arrays.asList(projectS1, sum),
+            false,
+            true);
+    TsBlock result = operator.next();
+    assertNotNull(result);
+    return result;
+  }
+
+  private static <T extends ColumnTransformer> T reference(T columnTransformer) {
+    columnTransformer.addReferenceCount();
+    return columnTransformer;
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator;
+
+import org.apache.iotdb.db.queryengine.execution.operator.source.LateMaterializationUtils;
+
+import org.apache.tsfile.compress.ICompressor;
+import org.apache.tsfile.encoding.decoder.Decoder;
+import org.apache.tsfile.encoding.encoder.TSEncodingBuilder;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.header.PageHeader;
+import org.apache.tsfile.file.metadata.enums.CompressionType;
+import org.apache.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.filter.basic.Filter;
+import org.apache.tsfile.read.filter.factory.FilterFactory;
+import org.apache.tsfile.read.filter.factory.TimeFilterApi;
+import org.apache.tsfile.read.filter.factory.ValueFilterApi;
+import org.apache.tsfile.read.reader.page.TablePageReader;
+import org.apache.tsfile.read.reader.series.PaginationController;
+import org.apache.tsfile.write.page.TimePageWriter;
+import org.apache.tsfile.write.page.ValuePageWriter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LateMaterializationUtilsTest {
+
+  private static final int ROW_COUNT = 100;
+
+  // s0 INT32, s1 INT64, s2 DOUBLE without any value in the page
+  private static final List<TSDataType> DATA_TYPES =
+      Arrays.asList(TSDataType.INT32, TSDataType.INT64, TSDataType.DOUBLE);
+
+  private PageHeader timePageHeader;
+  private ByteBuffer timePageData;
+  private final List<PageHeader> valuePageHeaders = new ArrayList<>();
+  private final List<ByteBuffer> valuePageData = new ArrayList<>();
+
+  @Before
+  public void setUp() throws IOException {
+    ICompressor compressor = ICompressor.getCompressor(CompressionType.UNCOMPRESSED);
+    TimePageWriter timePageWriter =
+        new TimePageWriter(
+            TSEncodingBuilder.getEncodingBuilder(TSEncoding.PLAIN).getEncoder(TSDataType.INT64),
+            compressor);
+    ValuePageWriter s0Writer =
+        new ValuePageWriter(
+            TSEncodingBuilder.getEncodingBuilder(TSEncoding.PLAIN).getEncoder(TSDataType.INT32),
+            compressor,
+            TSDataType.INT32);
+    ValuePageWriter s1Writer =
+        new ValuePageWriter(
+            TSEncodingBuilder.getEncodingBuilder(TSEncoding.PLAIN).getEncoder(TSDataType.INT64),
+            compressor,
+            TSDataType.INT64);
+    for (int i = 0; i < ROW_COUNT; i++) {
+      timePageWriter.write(i);
+      s0Writer.write(i, i % 10, i % 13 == 0);
+      s1Writer.write(i, i * 100L, i % 7 == 0);
+    }
+
+    timePageData = timePageWriter.getUncompressedBytes();
+    timePageHeader =
+        new PageHeader(
+            timePageData.remaining(), timePageData.remaining(), timePageWriter.getStatistics());
+    for (ValuePageWriter valuePageWriter : Arrays.asList(s0Writer, s1Writer)) {
+      ByteBuffer data = valuePageWriter.getUncompressedBytes();
+      valuePageHeaders.add(
+          new PageHeader(data.remaining(), data.remaining(), valuePageWriter.getStatistics()));
+      valuePageData.add(data);
+    }
+    valuePageHeaders.add(null);
+    valuePageData.add(null);
+  }
+
+  @Test
+  public void testSameResultAsPageReader() throws IOException {
+    Filter pushDownFilter = ValueFilterApi.gt(0, 6, TSDataType.INT32);
+    Filter globalTimeFilter = TimeFilterApi.gtEq(10);
+
+    TsBlock expected = readWithPageReader(globalTimeFilter, pushDownFilter, null);
+    TsBlock actual =
+        LateMaterializationUtils.getAllSatisfiedData(
+            createPageReader(globalTimeFilter),
+            DATA_TYPES,
+            globalTimeFilter,
+            pushDownFilter,
+            new int[] {0},
+            null);
+    assertTrue(expected.getPositionCount() > 0);
+    assertTsBlockEquals(expected, actual);
+  }
+
+  @Test
+  public void testFilterOnMultipleColumnsWithPagination() throws IOException {
+    Filter pushDownFilter =
+        FilterFactory.or(
+            ValueFilterApi.gt(0, 7, TSDataType.INT32),
+            ValueFilterApi.lt(1, 2000L, TSDataType.INT64));
+
+    TsBlock expected = readWithPageReader(null, pushDownFilter, new PaginationController(10, 5));
+    TsBlock actual =
+        LateMaterializationUtils.getAllSatisfiedData(
+            createPageReader(null),
+            DATA_TYPES,
+            null,
+            pushDownFilter,
+            new int[] {0, 1},
+            new PaginationController(10, 5));
+    assertEquals(10, expected.getPositionCount());
+    assertTsBlockEquals(expected, actual);
+  }
+
+  @Test
+  public void testNoSatisfiedRow() throws IOException {
+    TsBlock actual =
+        LateMaterializationUtils.getAllSatisfiedData(
+            createPageReader(null),
+            DATA_TYPES,
+            null,
+            ValueFilterApi.gt(0, 100, TSDataType.INT32),
+            new int[] {0},
+            null);
+    assertEquals(0, actual.getPositionCount());
+    assertEquals(DATA_TYPES.size(), actual.getValueColumnCount());
+  }
+
+  private TsBlock readWithPageReader(
+      Filter globalTimeFilter, Filter pushDownFilter, PaginationController paginationController)
+      throws IOException {
+    TablePageReader pageReader = createPageReader(globalTimeFilter);
+    pageReader.addRecordFilter(pushDownFilter);
+    if (paginationController != null) {
+      pageReader.setLimitOffset(paginationController);
+    }
+    return pageReader.getAllSatisfiedData();
+  }
+
+  private TablePageReader createPageReader(Filter globalTimeFilter) {
+    List<ByteBuffer> valueBuffers = new ArrayList<>();
+    List<Decoder> valueDecoders = new ArrayList<>();
+    for (int i = 0; i < DATA_TYPES.size(); i++) {
+      ByteBuffer data = valuePageData.get(i);
+      valueBuffers.add(data == null ? null : data.duplicate());
+      valueDecoders.add(Decoder.getDecoderByType(TSEncoding.PLAIN, DATA_TYPES.get(i)));
+    }
+    TablePageReader pageReader =
+        new TablePageReader(
+            timePageHeader,
+            timePageData.duplicate(),
+            Decoder.getDecoderByType(TSEncoding.PLAIN, TSDataType.INT64),
+            valuePageHeaders,
+            valueBuffers,
+            DATA_TYPES,
+            valueDecoders,
+            globalTimeFilter);
+    pageReader.initTsBlockBuilder(DATA_TYPES);
+    return pageReader;
+  }
+
+  private void assertTsBlockEquals(TsBlock expected, TsBlock actual) {
+    assertEquals(expected.getPositionCount(), actual.getPositionCount());
+    assertEquals(expected.getValueColumnCount(), actual.getValueColumnCount());
+    for (int i = 0; i < expected.getPositionCount(); i++) {
+      assertEquals(expected.getTimeByIndex(i), actual.getTimeByIndex(i));
+      for (int j = 0; j < expected.getValueColumnCount(); j++) {
+        assertEquals(expected.getColumn(j).isNull(i), actual.getColumn(j).isNull(i));
+        if (!expected.getColumn(j).isNull(i)) {
+          assertEquals(expected.getColumn(j).getObject(i), actual.getColumn(j).getObject(i));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,332 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator;
+
+import org.apache.iotdb.common.rpc.thrift.TAggregationType;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.exception.MetadataException;
+import org.apache.iotdb.commons.path.IFullPath;
+import org.apache.iotdb.commons.path.MeasurementPath;
+import org.apache.iotdb.commons.path.NonAlignedFullPath;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
+import org.apache.iotdb.db.queryengine.common.PlanFragmentId;
+import org.apache.iotdb.db.queryengine.common.QueryId;
+import org.apache.iotdb.db.queryengine.execution.aggregation.AccumulatorFactory;
+import org.apache.iotdb.db.queryengine.execution.aggregation.TreeAggregator;
+import org.apache.iotdb.db.queryengine.execution.driver.DriverContext;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceStateMachine;
+import org.apache.iotdb.db.queryengine.execution.operator.source.SeriesAggregationScanOperator;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.AggregationStep;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.GroupByTimeParameter;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.SeriesScanOptions;
+import org.apache.iotdb.db.queryengine.plan.statement.component.Ordering;
+import org.apache.iotdb.db.storageengine.buffer.AggregationResultCache;
+import org.apache.iotdb.db.storageengine.dataregion.modification.ModificationFile;
+import org.apache.iotdb.db.storageengine.dataregion.modification.TreeDeletionEntry;
+import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSource;
+import org.apache.iotdb.db.storageengine.dataregion.read.reader.series.SeriesReaderTestUtil;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResourceStatus;
+import org.apache.iotdb.db.utils.constant.TestConstant;
+
+import com.google.common.collect.Sets;
+import org.apache.tsfile.common.conf.TSFileDescriptor;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.exception.write.WriteProcessException;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.utils.TimeDuration;
+import org.apache.tsfile.write.TsFileWriter;
+import org.apache.tsfile.write.record.TSRecord;
+import org.apache.tsfile.write.record.datapoint.DataPoint;
+import org.apache.tsfile.write.schema.IMeasurementSchema;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext.createFragmentInstanceContext;
+import static org.apache.iotdb.db.queryengine.execution.operator.AggregationOperatorTest.TEST_TIME_SLICE;
+import static org.apache.iotdb.db.queryengine.execution.operator.AggregationUtil.initTimeRangeIterator;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class SeriesAggregationScanOperatorResultCacheTest {
+
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+  private static final String SERIES_SCAN_OPERATOR_TEST_SG =
+      "root.SeriesAggregationScanOperatorResultCacheTest";
+  private static final String DEVICE = SERIES_SCAN_OPERATOR_TEST_SG + ".device0";
+  private static final String FINGERPRINT = DEVICE + ".sensor0|SINGLE:[count, sum]||true";
+  private static final int DEFAULT_MAX_TSBLOCK_SIZE_IN_BYTES =
+      TSFileDescriptor.getInstance().getConfig().getMaxTsBlockSizeInBytes();
+
+  private final AggregationResultCache cache = AggregationResultCache.getInstance();
+  private final List<String> deviceIds = new ArrayList<>();
+  private final List<IMeasurementSchema> measurementSchemas = new ArrayList<>();
+  private final List<TsFileResource> seqResources = new ArrayList<>();
+  private final List<TsFileResource> unSeqResources = new ArrayList<>();
+  private ExecutorService instanceNotificationExecutor;
+  private boolean enableAggregationResultCache;
+
+  @Before
+  public void setUp() throws MetadataException, IOException, WriteProcessException {
+    enableAggregationResultCache = CONFIG.isEnableAggregationResultCache();
+    CONFIG.setEnableAggregationResultCache(true);
+    cache.clear();
+    SeriesReaderTestUtil.setUp(
+        measurementSchemas, deviceIds, seqResources, unSeqResources, SERIES_SCAN_OPERATOR_TEST_SG);
+    this.instanceNotificationExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    SeriesReaderTestUtil.tearDown(seqResources, unSeqResources);
+    instanceNotificationExecutor.shutdown();
+    cache.clear();
+    CONFIG.setEnableAggregationResultCache(enableAggregationResultCache);
+  }
+
+  @Test
+  public void testCacheHit() throws Exception {
+    List<String> uncached = aggregate(null);
+    List<String> firstRun = aggregate(FINGERPRINT);
+    assertEquals(uncached, firstRun);
+    assertEquals(5, cache.getEntriesCount());
+
+    long hitCount = cache.getHitCount();
+    List<String> secondRun = aggregate(FINGERPRINT);
+    assertEquals(uncached, secondRun);
+    assertEquals(hitCount + 5, cache.getHitCount());
+  }
+
+  @Test
+  public void testFlushedWriteInvalidatesCache() throws Exception {
+    List<String> before = aggregate(FINGERPRINT);
+
+    // a later flush overwrites the first ten points of the series in a new unseq file
+    TsFileResource newResource = createResource(100);
+    writeDevice0(newResource, 0, 10, 1_000_000);
+    unSeqResources.add(newResource);
+
+    long hitCount = cache.getHitCount();
+    List<String> after = aggregate(FINGERPRINT);
+    assertEquals(aggregate(null), after);
+    assertNotEquals(before.get(0), after.get(0));
+    // the other windows are not affected by the new file
+    assertEquals(before.subList(1, 5), after.subList(1, 5));
+    assertEquals(hitCount + 4, cache.getHitCount());
+  }
+
+  @Test
+  public void testWorkingMemTableBypassesCache() throws Exception {
+    List<String> before = aggregate(FINGERPRINT);
+
+    // the working memtable of an unsealed file may receive data of the last window at any time
+    IDeviceID deviceID = IDeviceID.Factory.DEFAULT_FACTORY.create(DEVICE);
+    TsFileResource workingResource = createResource(100);
+    workingResource.setStatusForTest(TsFileResourceStatus.UNCLOSED);
+    workingResource.updateStartTime(deviceID, 450);
+    IFullPath path =
+        new NonAlignedFullPath(deviceID, new MeasurementSchema("sensor0", TSDataType.INT32));
+    TsFileResource unsealedResource =
+        new TsFileResource(
+            Collections.singletonMap(path, Collections.emptyList()),
+            Collections.singletonMap(path, Collections.emptyList()),
+            workingResource);
+    List<TsFileResource> seqWithUnsealed = new ArrayList<>(seqResources);
+    seqWithUnsealed.add(unsealedResource);
+
+    long hitCount = cache.getHitCount();
+    List<String> after =
+        aggregate(FINGERPRINT, new QueryDataSource(seqWithUnsealed, unSeqResources));
+    assertEquals(before, after);
+    // only the windows before the unsealed file can be served from the cache
+    assertEquals(hitCount + 4, cache.getHitCount());
+  }
+
+  @Test
+  public void testDeletionInvalidatesCache() throws Exception {
+    List<String> before = aggregate(FINGERPRINT);
+
+    // delete [0, 49] from every file containing data of the first window
+    IDeviceID deviceID = IDeviceID.Factory.DEFAULT_FACTORY.create(DEVICE);
+    List<TsFileResource> allResources = new ArrayList<>(seqResources);
+    allResources.addAll(unSeqResources);
+    for (TsFileResource resource : allResources) {
+      if (resource.getStartTime(deviceID).orElse(Long.MAX_VALUE) <= 49) {
+        ModificationFile modificationFile = resource.getExclusiveModFile();
+        modificationFile.write(
+            new TreeDeletionEntry(new MeasurementPath(DEVICE, "sensor0"), 0, 49));
+        modificationFile.close();
+      }
+    }
+
+    long hitCount = cache.getHitCount();
+    List<String> after = aggregate(FINGERPRINT);
+    assertEquals(aggregate(null), after);
+    assertNotEquals(before.get(0), after.get(0));
+    // the last unseq file also contains data of the second window
+    assertEquals(before.subList(2, 5), after.subList(2, 5));
+    assertEquals(hitCount + 3, cache.getHitCount());
+  }
+
+  @Test
+  public void testChangedTsFileSetInvalidatesCache() throws Exception {
+    List<String> before = aggregate(FINGERPRINT);
+
+    // compaction rewrites the last unseq file, which contains [0, 199], into a new file
+    TsFileResource compacted = createResource(100);
+    writeDevice0(compacted, 0, 200, 20000);
+    List<TsFileResource> compactedUnSeqResources = new ArrayList<>(unSeqResources);
+    compactedUnSeqResources.set(compactedUnSeqResources.size() - 1, compacted);
+
+    long hitCount = cache.getHitCount();
+    List<String> after =
+        aggregate(FINGERPRINT, new QueryDataSource(seqResources, compactedUnSeqResources));
+    assertEquals(before, after);
+    // the first two windows are recomputed from the new file
+    assertEquals(hitCount + 3, cache.getHitCount());
+    compacted.remove();
+  }
+
+  private TsFileResource createResource(int version) {
+    File file =
+        new File(TestConstant.getTestTsFilePath(SERIES_SCAN_OPERATOR_TEST_SG, 0, 0, version));
+    TsFileResource resource = new TsFileResource(file);
+    resource.setStatusForTest(TsFileResourceStatus.NORMAL);
+    resource.setMinPlanIndex(version);
+    resource.setMaxPlanIndex(version);
+    resource.setVersion(version);
+    return resource;
+  }
+
+  private void writeDevice0(TsFileResource resource, long startTime, long ptNum, long valueOffset)
+      throws IOException, WriteProcessException {
+    IDeviceID deviceID = IDeviceID.Factory.DEFAULT_FACTORY.create(DEVICE);
+    try (TsFileWriter fileWriter = new TsFileWriter(resource.getTsFile())) {
+      fileWriter.registerTimeseries(deviceID, new MeasurementSchema("sensor0", TSDataType.INT32));
+      for (long time = startTime; time < startTime + ptNum; time++) {
+        TSRecord record = new TSRecord(deviceID, time);
+        record.addTuple(
+            DataPoint.getDataPoint(
+                TSDataType.INT32, "sensor0", String.valueOf(time + valueOffset)));
+        fileWriter.writeRecord(record);
+        resource.updateStartTime(deviceID, time);
+        resource.updateEndTime(deviceID, time);
+      }
+    }
+  }
+
+  private List<String> aggregate(String fingerprint) throws Exception {
+    return aggregate(fingerprint, new QueryDataSource(seqResources, unSeqResources));
+  }
+
+  private List<String> aggregate(String fingerprint, QueryDataSource dataSource) throws Exception {
+    List<TreeAggregator> aggregators = new ArrayList<>();
+    AccumulatorFactory.createBuiltinAccumulators(
+            Arrays.asList(TAggregationType.COUNT, TAggregationType.SUM),
+            TSDataType.INT32,
+            Collections.emptyList(),
+            Collections.emptyMap(),
+            true)
+        .forEach(o -> aggregators.add(new TreeAggregator(o, AggregationStep.SINGLE)));
+    GroupByTimeParameter groupByTimeParameter =
+        new GroupByTimeParameter(0, 500, new TimeDuration(0, 100), new TimeDuration(0, 100), true);
+    SeriesAggregationScanOperator operator =
+        initSeriesAggregationScanOperator(aggregators, groupByTimeParameter, dataSource);
+    operator.setResultCacheFingerprint(fingerprint);
+
+    List<String> rows = new ArrayList<>();
+    while (operator.hasNext()) {
+      TsBlock resultTsBlock = operator.next();
+      if (resultTsBlock == null) {
+        continue;
+      }
+      for (int pos = 0; pos < resultTsBlock.getPositionCount(); pos++) {
+        StringBuilder row = new StringBuilder();
+        row.append(resultTsBlock.getTimeColumn().getLong(pos));
+        for (int i = 0; i < resultTsBlock.getValueColumnCount(); i++) {
+          row.append(',').append(resultTsBlock.getColumn(i).getObject(pos));
+        }
+        rows.add(row.toString());
+      }
+    }
+    operator.close();
+    return rows;
+  }
+
+  private SeriesAggregationScanOperator initSeriesAggregationScanOperator(
+      List<TreeAggregator> aggregators,
+      GroupByTimeParameter groupByTimeParameter,
+      QueryDataSource queryDataSource)
+      throws IllegalPathException {
+    NonAlignedFullPath measurementPath =
+        new NonAlignedFullPath(
+            IDeviceID.Factory.DEFAULT_FACTORY.create(DEVICE),
+            new MeasurementSchema("sensor0", TSDataType.INT32));
+    QueryId queryId = new QueryId("stub_query");
+    FragmentInstanceId instanceId =
+        new FragmentInstanceId(new PlanFragmentId(queryId, 0), "stub-instance");
+    FragmentInstanceStateMachine stateMachine =
+        new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
+    FragmentInstanceContext fragmentInstanceContext =
+        createFragmentInstanceContext(instanceId, stateMachine);
+    DriverContext driverContext = new DriverContext(fragmentInstanceContext, 0);
+    PlanNodeId planNodeId = new PlanNodeId("1");
+    driverContext.addOperatorContext(
+        1, planNodeId, SeriesAggregationScanOperator.class.getSimpleName());
+    driverContext
+        .getOperatorContexts()
+        .forEach(operatorContext -> operatorContext.setMaxRunTime(TEST_TIME_SLICE));
+
+    SeriesScanOptions.Builder scanOptionsBuilder = new SeriesScanOptions.Builder();
+    scanOptionsBuilder.withAllSensors(Sets.newHashSet("sensor0"));
+    SeriesAggregationScanOperator seriesAggregationScanOperator =
+        new SeriesAggregationScanOperator(
+            planNodeId,
+            measurementPath,
+            Ordering.ASC,
+            scanOptionsBuilder.build(),
+            driverContext.getOperatorContexts().get(0),
+            aggregators,
+            initTimeRangeIterator(groupByTimeParameter, true, true, ZoneId.systemDefault()),
+            groupByTimeParameter,
+            DEFAULT_MAX_TSBLOCK_SIZE_IN_BYTES,
+            true);
+    seriesAggregationScanOperator.initQueryDataSource(queryDataSource);
+    return seriesAggregationScanOperator;
+  }
+}
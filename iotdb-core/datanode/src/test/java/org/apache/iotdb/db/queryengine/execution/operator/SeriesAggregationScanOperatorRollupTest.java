@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator;
+
+import org.apache.iotdb.common.rpc.thrift.TAggregationType;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.exception.MetadataException;
+import org.apache.iotdb.commons.path.NonAlignedFullPath;
+import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
+import org.apache.iotdb.db.queryengine.common.PlanFragmentId;
+import org.apache.iotdb.db.queryengine.common.QueryId;
+import org.apache.iotdb.db.queryengine.execution.aggregation.AccumulatorFactory;
+import org.apache.iotdb.db.queryengine.execution.aggregation.TreeAggregator;
+import org.apache.iotdb.db.queryengine.execution.driver.DriverContext;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceStateMachine;
+import org.apache.iotdb.db.queryengine.execution.operator.source.SeriesAggregationScanOperator;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.AggregationStep;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.GroupByTimeParameter;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.SeriesScanOptions;
+import org.apache.iotdb.db.queryengine.plan.statement.component.Ordering;
+import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSource;
+import org.apache.iotdb.db.storageengine.dataregion.read.reader.series.SeriesReaderTestUtil;
+import org.apache.iotdb.db.storageengine.dataregion.rollup.RollupFileGenerator;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+
+import com.google.common.collect.Sets;
+import org.apache.tsfile.common.conf.TSFileDescriptor;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.exception.write.WriteProcessException;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.utils.TimeDuration;
+import org.apache.tsfile.write.schema.IMeasurementSchema;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext.createFragmentInstanceContext;
+import static org.apache.iotdb.db.queryengine.execution.operator.AggregationOperatorTest.TEST_TIME_SLICE;
+import static org.apache.iotdb.db.queryengine.execution.operator.AggregationUtil.initTimeRangeIterator;
+import static org.junit.Assert.assertEquals;
+
+public class SeriesAggregationScanOperatorRollupTest {
+
+  private static final String SERIES_SCAN_OPERATOR_TEST_SG =
+      "root.SeriesAggregationScanOperatorRollupTest";
+  private static final String DEVICE = SERIES_SCAN_OPERATOR_TEST_SG + ".device0";
+  private static final int DEFAULT_MAX_TSBLOCK_SIZE_IN_BYTES =
+      TSFileDescriptor.getInstance().getConfig().getMaxTsBlockSizeInBytes();
+
+  private final List<String> deviceIds = new ArrayList<>();
+  private final List<IMeasurementSchema> measurementSchemas = new ArrayList<>();
+  private final List<TsFileResource> seqResources = new ArrayList<>();
+  private final List<TsFileResource> unSeqResources = new ArrayList<>();
+  private ExecutorService instanceNotificationExecutor;
+
+  @Before
+  public void setUp() throws MetadataException, IOException, WriteProcessException {
+    SeriesReaderTestUtil.setUp(
+        measurementSchemas, deviceIds, seqResources, unSeqResources, SERIES_SCAN_OPERATOR_TEST_SG);
+    this.instanceNotificationExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    SeriesReaderTestUtil.tearDown(seqResources, unSeqResources);
+    instanceNotificationExecutor.shutdown();
+  }
+
+  @Test
+  public void testGroupByWithRollup() throws Exception {
+    generateRollupFiles();
+    GroupByTimeParameter groupByTimeParameter =
+        new GroupByTimeParameter(0, 500, new TimeDuration(0, 50), new TimeDuration(0, 50), true);
+
+    List<String> expected = aggregate(groupByTimeParameter, 0);
+    assertEquals(10, expected.size());
+    assertEquals(expected, aggregate(groupByTimeParameter, 25));
+  }
+
+  @Test
+  public void testGroupByWithRollupInPartOfFiles() throws Exception {
+    generateRollupFiles();
+    // only the buckets overlapping the query range are read from the rollup files
+    GroupByTimeParameter groupByTimeParameter =
+        new GroupByTimeParameter(150, 350, new TimeDuration(0, 50), new TimeDuration(0, 50), true);
+
+    List<String> expected = aggregate(groupByTimeParameter, 0);
+    assertEquals(4, expected.size());
+    assertEquals(expected, aggregate(groupByTimeParameter, 25));
+  }
+
+  @Test
+  public void testGroupByWithoutRollupFiles() throws Exception {
+    GroupByTimeParameter groupByTimeParameter =
+        new GroupByTimeParameter(0, 500, new TimeDuration(0, 50), new TimeDuration(0, 50), true);
+
+    // fall back to the raw data if the rollup files are absent
+    assertEquals(aggregate(groupByTimeParameter, 0), aggregate(groupByTimeParameter, 25));
+  }
+
+  private void generateRollupFiles() throws IOException {
+    for (TsFileResource resource : seqResources) {
+      RollupFileGenerator.generate(resource.getTsFile(), new long[] {10, 25});
+    }
+  }
+
+  private List<String> aggregate(GroupByTimeParameter groupByTimeParameter, long rollupInterval)
+      throws Exception {
+    List<TreeAggregator> aggregators = new ArrayList<>();
+    AccumulatorFactory.createBuiltinAccumulators(
+            Arrays.asList(
+                TAggregationType.COUNT,
+                TAggregationType.SUM,
+                TAggregationType.FIRST_VALUE,
+                TAggregationType.LAST_VALUE,
+                TAggregationType.MAX_VALUE,
+                TAggregationType.MIN_VALUE),
+            TSDataType.INT32,
+            Collections.emptyList(),
+            Collections.emptyMap(),
+            true)
+        .forEach(o -> aggregators.add(new TreeAggregator(o, AggregationStep.SINGLE)));
+    SeriesAggregationScanOperator operator =
+        initSeriesAggregationScanOperator(
+            aggregators,
+            groupByTimeParameter,
+            // rollup buckets are only used for the files not overlapped with others
+            new QueryDataSource(seqResources, Collections.emptyList()));
+    operator.setRollupInterval(rollupInterval);
+
+    List<String> rows = new ArrayList<>();
+    while (operator.hasNext()) {
+      TsBlock resultTsBlock = operator.next();
+      if (resultTsBlock == null) {
+        continue;
+      }
+      for (int pos = 0; pos < resultTsBlock.getPositionCount(); pos++) {
+        StringBuilder row = new StringBuilder();
+        row.append(resultTsBlock.getTimeColumn().getLong(pos));
+        for (int i = 0; i < resultTsBlock.getValueColumnCount(); i++) {
+          row.append(',').append(resultTsBlock.getColumn(i).getObject(pos));
+        }
+        rows.add(row.toString());
+      }
+    }
+    operator.close();
+    return rows;
+  }
+
+  private SeriesAggregationScanOperator initSeriesAggregationScanOperator(
+      List<TreeAggregator> aggregators,
+      GroupByTimeParameter groupByTimeParameter,
+      QueryDataSource queryDataSource)
+      throws IllegalPathException {
+    NonAlignedFullPath measurementPath =
+        new NonAlignedFullPath(
+            IDeviceID.Factory.DEFAULT_FACTORY.create(DEVICE),
+            new MeasurementSchema("sensor0", TSDataType.INT32));
+    QueryId queryId = new QueryId("stub_query");
+    FragmentInstanceId instanceId =
+        new FragmentInstanceId(new PlanFragmentId(queryId, 0), "stub-instance");
+    FragmentInstanceStateMachine stateMachine =
+        new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
+    FragmentInstanceContext fragmentInstanceContext =
+        createFragmentInstanceContext(instanceId, stateMachine);
+    DriverContext driverContext = new DriverContext(fragmentInstanceContext, 0);
+    PlanNodeId planNodeId = new PlanNodeId("1");
+    driverContext.addOperatorContext(
+        1, planNodeId, SeriesAggregationScanOperator.class.getSimpleName());
+    driverContext
+        .getOperatorContexts()
+        .forEach(operatorContext -> operatorContext.setMaxRunTime(TEST_TIME_SLICE));
+
+    SeriesScanOptions.Builder scanOptionsBuilder = new SeriesScanOptions.Builder();
+    scanOptionsBuilder.withAllSensors(Sets.newHashSet("sensor0"));
+    SeriesAggregationScanOperator seriesAggregationScanOperator =
+        new SeriesAggregationScanOperator(
+            planNodeId,
+            measurementPath,
+            Ordering.ASC,
+            scanOptionsBuilder.build(),
+            driverContext.getOperatorContexts().get(0),
+            aggregators,
+            initTimeRangeIterator(groupByTimeParameter, true, true, ZoneId.systemDefault()),
+            groupByTimeParameter,
+            DEFAULT_MAX_TSBLOCK_SIZE_IN_BYTES,
+            true);
+    seriesAggregationScanOperator.initQueryDataSource(queryDataSource);
+    return seriesAggregationScanOperator;
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.buffer;
+
+import org.apache.iotdb.db.storageengine.buffer.AggregationResultCache.AggregationResultCacheKey;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.read.common.block.column.LongColumn;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Optional;
+
+public class AggregationResultCacheTest {
+
+  private static final String FINGERPRINT = "root.sg.d1.s1|SINGLE:[count(root.sg.d1.s1)]||true";
+
+  private final AggregationResultCache cache = AggregationResultCache.getInstance();
+
+  @After
+  public void tearDown() {
+    cache.clear();
+  }
+
+  @Test
+  public void testKeyContainsFileVersions() {
+    TsFileResource resource = createResource(1, 1);
+    AggregationResultCacheKey key = createKey(resource, 0, 0);
+    cache.putForTest(key, new Column[] {createResult(10)});
+
+    Assert.assertEquals(10, cache.getIfPresent(createKey(resource, 0, 0))[0].getLong(0));
+    // another window
+    Assert.assertNull(cache.getIfPresent(createKey(resource, 100, 0)));
+    // the mod file of the file is changed
+    Assert.assertNull(cache.getIfPresent(createKey(resource, 0, 32)));
+    // the file is replaced by compaction
+    Assert.assertNull(cache.getIfPresent(createKey(createResource(1, 2), 0, 0)));
+  }
+
+  @Test
+  public void testInvalidate() {
+    TsFileResource resource1 = createResource(1, 1);
+    TsFileResource resource2 = createResource(2, 1);
+    AggregationResultCacheKey key1 = createKey(resource1, 0, 0);
+    AggregationResultCacheKey key2 = createKey(resource2, 0, 0);
+    cache.putForTest(key1, new Column[] {createResult(1)});
+    cache.putForTest(key2, new Column[] {createResult(2)});
+
+    cache.invalidate(Collections.singletonList(resource1));
+    Assert.assertNull(cache.getIfPresent(key1));
+    Assert.assertNotNull(cache.getIfPresent(key2));
+
+    cache.invalidate("3");
+    Assert.assertNotNull(cache.getIfPresent(key2));
+    cache.invalidate("1");
+    Assert.assertNull(cache.getIfPresent(key2));
+  }
+
+  private TsFileResource createResource(long fileVersion, long compactionCount) {
+    return new TsFileResource(
+        new File(
+            "target"
+                + File.separator
+                + "sequence"
+                + File.separator
+                + "root.sg"
+                + File.separator
+                + "1"
+                + File.separator
+                + "0"
+                + File.separator
+                + String.format("%d-%d-%d-0.tsfile", fileVersion, fileVersion, compactionCount)));
+  }
+
+  private AggregationResultCacheKey createKey(
+      TsFileResource resource, long startTime, long modFileSize) {
+    TsFileID tsFileID = resource.getTsFileID();
+    return new AggregationResultCacheKey(
+        FINGERPRINT,
+        tsFileID.regionId,
+        startTime,
+        startTime + 99,
+        new TsFileID[] {tsFileID},
+        new long[] {modFileSize});
+  }
+
+  private Column createResult(long count) {
+    return new LongColumn(1, Optional.empty(), new long[] {count});
+  }
+}
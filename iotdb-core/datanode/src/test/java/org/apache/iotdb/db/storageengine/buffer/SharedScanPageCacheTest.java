@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.buffer;
+
+import org.apache.iotdb.db.storageengine.buffer.SharedScanPageCache.SharedScanPageKey;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.tsfile.read.reader.IPageReader;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SharedScanPageCacheTest {
+
+  private final SharedScanPageCache cache = SharedScanPageCache.getInstance();
+
+  @After
+  public void tearDown() {
+    cache.clear();
+  }
+
+  @Test
+  public void testConcurrentQueriesDecodeOnce() throws Exception {
+    AtomicInteger decodeCount = new AtomicInteger();
+    CountDownLatch decoding = new CountDownLatch(1);
+    IPageReader pageReader = Mockito.mock(IPageReader.class);
+    Mockito.when(pageReader.getAllSatisfiedData())
+        .thenAnswer(
+            invocation -> {
+              decodeCount.incrementAndGet();
+              decoding.countDown();
+              // make the other queries arrive while decoding
+              Thread.sleep(100);
+              return createTsBlock();
+            });
+    SharedScanPageKey key = createKey(0);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Future<TsBlock> first = executor.submit(() -> cache.get(key, pageReader));
+      Assert.assertTrue(decoding.await(10, TimeUnit.SECONDS));
+      Future<TsBlock> second = executor.submit(() -> cache.get(key, pageReader));
+      Future<TsBlock> third = executor.submit(() -> cache.get(key, pageReader));
+      Assert.assertSame(first.get(), second.get());
+      Assert.assertSame(first.get(), third.get());
+    } finally {
+      executor.shutdownNow();
+    }
+    // late joiners are served from the cache
+    Assert.assertSame(cache.getIfPresent(key), cache.get(key, pageReader));
+    Assert.assertEquals(1, decodeCount.get());
+
+    // another page is decoded separately
+    cache.get(createKey(100), pageReader);
+    Assert.assertEquals(2, decodeCount.get());
+  }
+
+  @Test
+  public void testDecodeFailure() throws Exception {
+    IPageReader pageReader = Mockito.mock(IPageReader.class);
+    Mockito.when(pageReader.getAllSatisfiedData()).thenThrow(new IOException("broken page"));
+    SharedScanPageKey key = createKey(0);
+    try {
+      cache.get(key, pageReader);
+      Assert.fail();
+    } catch (IOException e) {
+      Assert.assertEquals("broken page", e.getMessage());
+    }
+    Assert.assertNull(cache.getIfPresent(key));
+  }
+
+  private SharedScanPageKey createKey(long pageStartTime) {
+    return new SharedScanPageKey(new TsFileID(1, 0, 1, 1, 0), 10, pageStartTime, TSDataType.INT32);
+  }
+
+  private TsBlock createTsBlock() {
+    TsBlockBuilder builder = new TsBlockBuilder(Collections.singletonList(TSDataType.INT32));
+    for (int i = 0; i < 10; i++) {
+      builder.getTimeColumnBuilder().writeLong(i);
+      builder.getColumnBuilder(0).writeInt(i);
+      builder.declarePosition();
+    }
+    return builder.build();
+  }
+}
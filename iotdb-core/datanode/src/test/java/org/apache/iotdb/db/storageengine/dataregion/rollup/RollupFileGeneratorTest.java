@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.rollup;
+
+import org.apache.tsfile.common.conf.TSFileConfig;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.tsfile.file.metadata.statistics.Statistics;
+import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.write.TsFileWriter;
+import org.apache.tsfile.write.record.TSRecord;
+import org.apache.tsfile.write.record.datapoint.IntDataPoint;
+import org.apache.tsfile.write.record.datapoint.StringDataPoint;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.List;
+
+public class RollupFileGeneratorTest {
+
+  private static final String DEVICE = "root.sg.d1";
+  private static final String MEASUREMENT = "s1";
+  private static final String BLOB_MEASUREMENT = "s2";
+
+  private final File tsFile = new File("target" + File.separator + "rollup-test.tsfile");
+
+  @Before
+  public void setUp() throws Exception {
+    Files.deleteIfExists(tsFile.toPath());
+    try (TsFileWriter writer = new TsFileWriter(tsFile)) {
+      writer.registerTimeseries(
+          DEVICE, new MeasurementSchema(MEASUREMENT, TSDataType.INT32, TSEncoding.PLAIN));
+      writer.registerTimeseries(
+          DEVICE, new MeasurementSchema(BLOB_MEASUREMENT, TSDataType.BLOB, TSEncoding.PLAIN));
+      for (int i = 0; i < 100; i++) {
+        TSRecord record = new TSRecord(DEVICE, i);
+        record.addTuple(new IntDataPoint(MEASUREMENT, i));
+        record.addTuple(
+            new StringDataPoint(
+                BLOB_MEASUREMENT, new Binary(String.valueOf(i), TSFileConfig.STRING_CHARSET)));
+        writer.writeRecord(record);
+        if (i % 30 == 0) {
+          writer.flush();
+        }
+      }
+    }
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(tsFile.toPath());
+    Files.deleteIfExists(RollupFileGenerator.getRollupFile(tsFile).toPath());
+  }
+
+  @Test
+  public void testGenerateAndRead() throws Exception {
+    RollupFileGenerator.generate(tsFile, new long[] {10, 50, 100});
+    IDeviceID deviceID = IDeviceID.Factory.DEFAULT_FACTORY.create(DEVICE);
+
+    List<Statistics<? extends Serializable>> buckets = readAllBuckets(deviceID, MEASUREMENT, 10);
+    Assert.assertNotNull(buckets);
+    Assert.assertEquals(10, buckets.size());
+    for (int i = 0; i < 10; i++) {
+      Statistics<? extends Serializable> bucket = buckets.get(i);
+      Assert.assertEquals(i * 10L, bucket.getStartTime());
+      Assert.assertEquals(i * 10L + 9, bucket.getEndTime());
+      Assert.assertEquals(10, bucket.getCount());
+      Assert.assertEquals(i * 10, bucket.getFirstValue());
+      Assert.assertEquals(i * 10 + 9, bucket.getMaxValue());
+      Assert.assertEquals(i * 100 + 45, bucket.getSumDoubleValue(), 0.0);
+    }
+
+    buckets = readAllBuckets(deviceID, MEASUREMENT, 50);
+    Assert.assertNotNull(buckets);
+    Assert.assertEquals(2, buckets.size());
+    Assert.assertEquals(50, buckets.get(1).getCount());
+    Assert.assertEquals(49, buckets.get(0).getLastValue());
+
+    // every chunk is in one bucket, so the bucket is merged from the chunk statistics
+    buckets = readAllBuckets(deviceID, MEASUREMENT, 100);
+    Assert.assertNotNull(buckets);
+    Assert.assertEquals(1, buckets.size());
+    Assert.assertEquals(100, buckets.get(0).getCount());
+    Assert.assertEquals(0, buckets.get(0).getFirstValue());
+    Assert.assertEquals(99, buckets.get(0).getLastValue());
+    Assert.assertEquals(4950, buckets.get(0).getSumDoubleValue(), 0.0);
+
+    // absent interval and series
+    Assert.assertNull(readAllBuckets(deviceID, MEASUREMENT, 20));
+    Assert.assertNull(readAllBuckets(deviceID, "s3", 10));
+  }
+
+  @Test
+  public void testReadBucketsInRange() throws Exception {
+    RollupFileGenerator.generate(tsFile, new long[] {10});
+    IDeviceID deviceID = IDeviceID.Factory.DEFAULT_FACTORY.create(DEVICE);
+
+    // the buckets overlapping [35, 62]
+    List<Statistics<? extends Serializable>> buckets =
+        RollupFileReader.readBuckets(tsFile, deviceID, MEASUREMENT, 10, 35, 62);
+    Assert.assertNotNull(buckets);
+    Assert.assertEquals(4, buckets.size());
+    for (int i = 0; i < 4; i++) {
+      Assert.assertEquals((i + 3) * 10L, buckets.get(i).getStartTime());
+      Assert.assertEquals(10, buckets.get(i).getCount());
+    }
+
+    Assert.assertTrue(
+        RollupFileReader.readBuckets(tsFile, deviceID, MEASUREMENT, 10, 200, 300).isEmpty());
+  }
+
+  @Test
+  public void testRegenerate() throws Exception {
+    RollupFileGenerator.generate(tsFile, new long[] {10});
+    IDeviceID deviceID = IDeviceID.Factory.DEFAULT_FACTORY.create(DEVICE);
+    Assert.assertNotNull(readAllBuckets(deviceID, MEASUREMENT, 10));
+
+    // the cached index of the old file must not be used
+    RollupFileGenerator.generate(tsFile, new long[] {50});
+    Assert.assertNull(readAllBuckets(deviceID, MEASUREMENT, 10));
+    Assert.assertEquals(2, readAllBuckets(deviceID, MEASUREMENT, 50).size());
+  }
+
+  @Test
+  public void testSkipUnsupportedDataType() throws Exception {
+    RollupFileGenerator.generate(tsFile, new long[] {10});
+    IDeviceID deviceID = IDeviceID.Factory.DEFAULT_FACTORY.create(DEVICE);
+
+    Assert.assertNull(readAllBuckets(deviceID, BLOB_MEASUREMENT, 10));
+    Assert.assertEquals(10, readAllBuckets(deviceID, MEASUREMENT, 10).size());
+  }
+
+  private List<Statistics<? extends Serializable>> readAllBuckets(
+      IDeviceID deviceID, String measurement, long interval) {
+    return RollupFileReader.readBuckets(
+        tsFile, deviceID, measurement, interval, Long.MIN_VALUE, Long.MAX_VALUE);
+  }
+}
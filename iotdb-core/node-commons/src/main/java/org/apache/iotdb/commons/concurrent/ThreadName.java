@@ -61,6 +61,7 @@ public enum ThreadName {
   FLUSH_TASK_SUBMIT("FlushTask-Submit-Pool"),
   TIMED_FLUSH_SEQ_MEMTABLE("Timed-Flush-Seq-Memtable"),
   TIMED_FLUSH_UNSEQ_MEMTABLE("Timed-Flush-Unseq-Memtable"),
+  ROLLUP_FILE_GENERATOR("Rollup-File-Generator"),
   // -------------------------- SchemaEngine --------------------------
   SCHEMA_REGION_RELEASE_PROCESSOR("SchemaRegion-Release-Task-Processor"),
   SCHEMA_REGION_RECOVER_TASK("SchemaRegion-Recover-Task"),
@@ -90,6 +91,7 @@ public enum ThreadName {
   CONFIG_NODE_LOAD_STATISTIC("Cluster-LoadStatistics-Service"),
   CONFIG_NODE_EVENT_SERVICE("Cluster-Event-Service"),
   CONFIG_NODE_LOAD_PUBLISHER("Cluster-LoadStatistics-Publisher"),
+  CONFIG_NODE_REGION_LOAD_BALANCE("Cluster-RegionLoadBalance-Service"),
   // -------------------------- ConfigNode-RegionManagement --------------------------
   CONFIG_NODE_REGION_MAINTAINER("IoTDB-Region-Maintainer"),
   // -------------------------- ConfigNode-Recover --------------------------
@@ -114,6 +116,8 @@ public enum ThreadName {
   ASYNC_DATANODE_IOT_CONSENSUS_CLIENT_POOL("AsyncDataNodeIoTConsensusServiceClientPool"),
   LOG_DISPATCHER("LogDispatcher"),
   IOT_CONSENSUS_BACKGROUND_TASK_EXECUTOR("IoTConsensusBackgroundTaskExecutor"),
+  IOT_CONSENSUS_FOLLOWER_APPLY("IoTConsensusFollowerApply"),
+  IOT_CONSENSUS_SNAPSHOT_TRANSMISSION("IoTConsensusSnapshotTransmission"),
   // -------------------------- Ratis --------------------------
   // NOTICE: The thread name of ratis cannot be edited here!
   // We list the thread name here just for distinguishing what module the thread belongs to.
@@ -128,6 +132,8 @@ public enum ThreadName {
   LOG_APPENDER("GrpcLogAppender"),
   EVENT_PROCESSOR("EventProcessor"),
   RATIS_BG_DISK_GUARDIAN("RatisBgDiskGuardian"),
+  RATIS_BG_LEADER_LEASE_SAMPLER("RatisBgLeaderLeaseSampler"),
+  RATIS_APPLY("RatisApply"),
   GRPC_DEFAULT_BOSS_ELG("grpc-default-boss-ELG"),
   GRPC_DEFAULT_EXECUTOR("grpc-default-executor"),
   GPRC_DEFAULT_WORKER_ELG("grpc-default-worker-ELG"),
@@ -136,6 +142,7 @@ public enum ThreadName {
   PIPE_EXTRACTOR_DISRUPTOR("Pipe-Extractor-Disruptor"),
   PIPE_PROCESSOR_EXECUTOR_POOL("Pipe-Processor-Executor-Pool"),
   PIPE_CONNECTOR_EXECUTOR_POOL("Pipe-Connector-Executor-Pool"),
+  PIPE_CONNECTOR_PENDING_QUEUE_SPILLER("Pipe-Connector-Pending-Queue-Spiller"),
   PIPE_CONSENSUS_EXECUTOR_POOL("Pipe-Consensus-Executor-Pool"),
   PIPE_CONFIGNODE_EXECUTOR_POOL("Pipe-ConfigNode-Executor-Pool"),
   PIPE_SUBTASK_CALLBACK_EXECUTOR_POOL("Pipe-SubTask-Callback-Executor-Pool"),
@@ -147,6 +154,7 @@ public enum ThreadName {
       "Pipe-Runtime-Periodical-Phantom-Reference-Cleaner"),
   PIPE_ASYNC_CONNECTOR_CLIENT_POOL("Pipe-Async-Connector-Client-Pool"),
   PIPE_RECEIVER_AIR_GAP_AGENT("Pipe-Receiver-Air-Gap-Agent"),
+  PIPE_RECEIVER_PARALLEL_APPLY_POOL("Pipe-Receiver-Parallel-Apply-Pool"),
   PIPE_AIR_GAP_RECEIVER("Pipe-Air-Gap-Receiver"),
   PIPE_PROGRESS_INDEX_BACKGROUND_SERVICE("Pipe-Progress-Index-Background-Service"),
   LOAD_DATATYPE_CONVERT_POOL("Load-Datatype-Convert-Pool"),
@@ -239,7 +247,8 @@ public enum ThreadName {
               FLUSH_SUB_TASK,
               FLUSH_TASK_SUBMIT,
               TIMED_FLUSH_SEQ_MEMTABLE,
-              TIMED_FLUSH_UNSEQ_MEMTABLE));
+              TIMED_FLUSH_UNSEQ_MEMTABLE,
+              ROLLUP_FILE_GENERATOR));
   private static final Set<ThreadName> schemaEngineThreadNames =
       new HashSet<>(
           Arrays.asList(
@@ -261,7 +270,9 @@ public enum ThreadName {
               IOT_CONSENSUS_RPC_PROCESSOR,
               ASYNC_DATANODE_IOT_CONSENSUS_CLIENT_POOL,
               LOG_DISPATCHER,
-              IOT_CONSENSUS_BACKGROUND_TASK_EXECUTOR));
+              IOT_CONSENSUS_BACKGROUND_TASK_EXECUTOR,
+              IOT_CONSENSUS_FOLLOWER_APPLY,
+              IOT_CONSENSUS_SNAPSHOT_TRANSMISSION));
 
   private static final Set<ThreadName> pipeConsensusThreadNames =
       new HashSet<>(
@@ -287,6 +298,8 @@ public enum ThreadName {
               LOG_APPENDER,
               EVENT_PROCESSOR,
               RATIS_BG_DISK_GUARDIAN,
+              RATIS_BG_LEADER_LEASE_SAMPLER,
+              RATIS_APPLY,
               GRPC_DEFAULT_BOSS_ELG,
               GPRC_DEFAULT_WORKER_ELG,
               GRPC_DEFAULT_EXECUTOR,
@@ -297,6 +310,7 @@ public enum ThreadName {
               PIPE_EXTRACTOR_DISRUPTOR,
               PIPE_PROCESSOR_EXECUTOR_POOL,
               PIPE_CONNECTOR_EXECUTOR_POOL,
+              PIPE_CONNECTOR_PENDING_QUEUE_SPILLER,
               PIPE_CONSENSUS_EXECUTOR_POOL,
               PIPE_CONFIGNODE_EXECUTOR_POOL,
               PIPE_SUBTASK_CALLBACK_EXECUTOR_POOL,
@@ -307,6 +321,7 @@ public enum ThreadName {
               PIPE_RUNTIME_PERIODICAL_PHANTOM_REFERENCE_CLEANER,
               PIPE_ASYNC_CONNECTOR_CLIENT_POOL,
               PIPE_RECEIVER_AIR_GAP_AGENT,
+              PIPE_RECEIVER_PARALLEL_APPLY_POOL,
               PIPE_AIR_GAP_RECEIVER,
               PIPE_PROGRESS_INDEX_BACKGROUND_SERVICE,
               SUBSCRIPTION_EXECUTOR_POOL,
@@ -353,7 +368,11 @@ public enum ThreadName {
               ASYNC_DATANODE_HEARTBEAT_CLIENT_POOL));
 
   private static final Set<ThreadName> configNodeLoadBalanceThreadNames =
-      new HashSet<>(Arrays.asList(CONFIG_NODE_LOAD_STATISTIC, CONFIG_NODE_LOAD_PUBLISHER));
+      new HashSet<>(
+          Arrays.asList(
+              CONFIG_NODE_LOAD_STATISTIC,
+              CONFIG_NODE_LOAD_PUBLISHER,
+              CONFIG_NODE_REGION_LOAD_BALANCE));
 
   private static final Set<ThreadName> configNodeRegionManagementThreadNames =
       new HashSet<>(Arrays.asList(CONFIG_NODE_REGION_MAINTAINER));
@@ -211,6 +211,15 @@ public class CommonConfig {
   private int pipeSubtaskExecutorMaxThreadNum =
       Math.max(5, Runtime.getRuntime().availableProcessors() / 2);
 
+  /**
+   * Whether the connector subtask executor grows and shrinks its worker threads with the subtask
+   * backlog and process CPU load, up to pipeSubtaskExecutorMaxThreadNum.
+   */
+  private boolean pipeSubtaskExecutorElasticEnabled = false;
+
+  private double pipeSubtaskExecutorElasticCpuThreshold = 0.8;
+  private long pipeSubtaskExecutorElasticAdjustIntervalSeconds = 10;
+
   private int pipeNonForwardingEventsProgressReportInterval = 100;
 
   private int pipeDataStructureTabletRowSize = 2048;
@@ -225,6 +234,9 @@ public class CommonConfig {
   private long pipeSubtaskExecutorBasicCheckPointIntervalByTimeDuration = 10 * 1000L;
   private long pipeSubtaskExecutorPendingQueueMaxBlockingTimeMs = 50;
 
+  private boolean pipeConnectorPendingQueueSpillEnabled = false;
+  private int pipeConnectorPendingQueueSpillThreshold = 1000;
+
   private long pipeSubtaskExecutorCronHeartbeatEventIntervalSeconds = 20;
   private long pipeSubtaskExecutorForcedRestartIntervalMs = Long.MAX_VALUE;
 
@@ -271,6 +283,9 @@ public class CommonConfig {
 
   private long pipeReceiverLoginPeriodicVerificationIntervalMs = 300000;
   private double pipeReceiverActualToEstimatedMemoryRatio = 3;
+  private boolean pipeReceiverParallelApplyEnabled = false;
+  private int pipeReceiverParallelApplyThreadCount =
+      Math.max(Runtime.getRuntime().availableProcessors() / 2, 1);
 
   private int pipeMaxAllowedHistoricalTsFilePerDataRegion = Integer.MAX_VALUE; // Deprecated
   private int pipeMaxAllowedPendingTsFileEpochPerDataRegion = Integer.MAX_VALUE; // Deprecated
@@ -1316,6 +1331,81 @@ public class CommonConfig {
     logger.info("pipeSubtaskExecutorMaxThreadNum is set to {}.", pipeSubtaskExecutorMaxThreadNum);
   }
 
+  public boolean isPipeSubtaskExecutorElasticEnabled() {
+    return pipeSubtaskExecutorElasticEnabled;
+  }
+
+  public void setPipeSubtaskExecutorElasticEnabled(boolean pipeSubtaskExecutorElasticEnabled) {
+    if (this.pipeSubtaskExecutorElasticEnabled == pipeSubtaskExecutorElasticEnabled) {
+      return;
+    }
+    this.pipeSubtaskExecutorElasticEnabled = pipeSubtaskExecutorElasticEnabled;
+    logger.info(
+        "pipeSubtaskExecutorElasticEnabled is set to {}.", pipeSubtaskExecutorElasticEnabled);
+  }
+
+  public double getPipeSubtaskExecutorElasticCpuThreshold() {
+    return pipeSubtaskExecutorElasticCpuThreshold;
+  }
+
+  public void setPipeSubtaskExecutorElasticCpuThreshold(
+      double pipeSubtaskExecutorElasticCpuThreshold) {
+    if (this.pipeSubtaskExecutorElasticCpuThreshold == pipeSubtaskExecutorElasticCpuThreshold) {
+      return;
+    }
+    this.pipeSubtaskExecutorElasticCpuThreshold = pipeSubtaskExecutorElasticCpuThreshold;
+    logger.info(
+        "pipeSubtaskExecutorElasticCpuThreshold is set to {}.",
+        pipeSubtaskExecutorElasticCpuThreshold);
+  }
+
+  public long getPipeSubtaskExecutorElasticAdjustIntervalSeconds() {
+    return pipeSubtaskExecutorElasticAdjustIntervalSeconds;
+  }
+
+  public void setPipeSubtaskExecutorElasticAdjustIntervalSeconds(
+      long pipeSubtaskExecutorElasticAdjustIntervalSeconds) {
+    if (this.pipeSubtaskExecutorElasticAdjustIntervalSeconds
+        == pipeSubtaskExecutorElasticAdjustIntervalSeconds) {
+      return;
+    }
+    this.pipeSubtaskExecutorElasticAdjustIntervalSeconds =
+        pipeSubtaskExecutorElasticAdjustIntervalSeconds;
+    logger.info(
+        "pipeSubtaskExecutorElasticAdjustIntervalSeconds is set to {}.",
+        pipeSubtaskExecutorElasticAdjustIntervalSeconds);
+  }
+
+  public boolean isPipeConnectorPendingQueueSpillEnabled() {
+    return pipeConnectorPendingQueueSpillEnabled;
+  }
+
+  public void setPipeConnectorPendingQueueSpillEnabled(
+      boolean pipeConnectorPendingQueueSpillEnabled) {
+    if (this.pipeConnectorPendingQueueSpillEnabled == pipeConnectorPendingQueueSpillEnabled) {
+      return;
+    }
+    this.pipeConnectorPendingQueueSpillEnabled = pipeConnectorPendingQueueSpillEnabled;
+    logger.info(
+        "pipeConnectorPendingQueueSpillEnabled is set to {}.",
+        pipeConnectorPendingQueueSpillEnabled);
+  }
+
+  public int getPipeConnectorPendingQueueSpillThreshold() {
+    return pipeConnectorPendingQueueSpillThreshold;
+  }
+
+  public void setPipeConnectorPendingQueueSpillThreshold(
+      int pipeConnectorPendingQueueSpillThreshold) {
+    if (this.pipeConnectorPendingQueueSpillThreshold == pipeConnectorPendingQueueSpillThreshold) {
+      return;
+    }
+    this.pipeConnectorPendingQueueSpillThreshold = pipeConnectorPendingQueueSpillThreshold;
+    logger.info(
+        "pipeConnectorPendingQueueSpillThreshold is set to {}.",
+        pipeConnectorPendingQueueSpillThreshold);
+  }
+
   public long getPipeSubtaskExecutorPendingQueueMaxBlockingTimeMs() {
     return pipeSubtaskExecutorPendingQueueMaxBlockingTimeMs;
   }
@@ -1465,6 +1555,31 @@ public class CommonConfig {
     return pipeReceiverActualToEstimatedMemoryRatio;
   }
 
+  public void setPipeReceiverParallelApplyEnabled(boolean pipeReceiverParallelApplyEnabled) {
+    if (this.pipeReceiverParallelApplyEnabled == pipeReceiverParallelApplyEnabled) {
+      return;
+    }
+    this.pipeReceiverParallelApplyEnabled = pipeReceiverParallelApplyEnabled;
+    logger.info("pipeReceiverParallelApplyEnabled is set to {}", pipeReceiverParallelApplyEnabled);
+  }
+
+  public boolean isPipeReceiverParallelApplyEnabled() {
+    return pipeReceiverParallelApplyEnabled;
+  }
+
+  public void setPipeReceiverParallelApplyThreadCount(int pipeReceiverParallelApplyThreadCount) {
+    if (this.pipeReceiverParallelApplyThreadCount == pipeReceiverParallelApplyThreadCount) {
+      return;
+    }
+    this.pipeReceiverParallelApplyThreadCount = pipeReceiverParallelApplyThreadCount;
+    logger.info(
+        "pipeReceiverParallelApplyThreadCount is set to {}", pipeReceiverParallelApplyThreadCount);
+  }
+
+  public int getPipeReceiverParallelApplyThreadCount() {
+    return pipeReceiverParallelApplyThreadCount;
+  }
+
   public int getPipeMaxAllowedHistoricalTsFilePerDataRegion() {
     return pipeMaxAllowedHistoricalTsFilePerDataRegion;
   }
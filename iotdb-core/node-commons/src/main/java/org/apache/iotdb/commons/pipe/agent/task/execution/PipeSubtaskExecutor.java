@@ -30,9 +30,12 @@ import com.google.common.util.concurrent.MoreExecutors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public abstract class PipeSubtaskExecutor {
 
@@ -47,17 +50,39 @@ public abstract class PipeSubtaskExecutor {
 
   private final Map<String, PipeSubtask> registeredIdSubtaskMapper;
 
+  private static final long ELASTIC_THREAD_KEEP_ALIVE_TIME_IN_SECONDS = 60;
+
   private final int corePoolSize;
   private int runningSubtaskNumber;
 
+  // In elastic mode, worker threads are created on demand up to the current core size and exit
+  // after being idle, while the core size itself follows the backlog and the process CPU load.
+  private final boolean isElastic;
+  private final String workingThreadName;
+
   protected PipeSubtaskExecutor(
       final int corePoolSize, final ThreadName threadName, final boolean disableLogInThreadPool) {
+    this(corePoolSize, threadName, disableLogInThreadPool, false);
+  }
+
+  protected PipeSubtaskExecutor(
+      final int corePoolSize,
+      final ThreadName threadName,
+      final boolean disableLogInThreadPool,
+      final boolean isElastic) {
     underlyingThreadPool =
         (WrappedThreadPoolExecutor)
             IoTDBThreadPoolFactory.newFixedThreadPool(corePoolSize, threadName.getName());
     if (disableLogInThreadPool) {
       underlyingThreadPool.disableErrorLog();
     }
+    this.isElastic = isElastic;
+    workingThreadName = threadName.getName();
+    if (isElastic) {
+      underlyingThreadPool.setKeepAliveTime(
+          ELASTIC_THREAD_KEEP_ALIVE_TIME_IN_SECONDS, TimeUnit.SECONDS);
+      underlyingThreadPool.allowCoreThreadTimeOut(true);
+    }
     subtaskWorkerThreadPoolExecutor = MoreExecutors.listeningDecorator(underlyingThreadPool);
 
     registeredIdSubtaskMapper = new ConcurrentHashMap<>();
@@ -161,6 +186,86 @@ public abstract class PipeSubtaskExecutor {
     return corePoolSize;
   }
 
+  public final boolean isElastic() {
+    return isElastic;
+  }
+
+  /**
+   * Resize the worker threads of an elastic executor by the process CPU load. Does nothing if the
+   * executor is not elastic.
+   */
+  public final void adjustThreadNumber(final double cpuThreshold) {
+    adjustThreadNumber(getProcessCpuLoad(), cpuThreshold);
+  }
+
+  /**
+   * Give up one thread when the CPU load exceeds the threshold, or take one more thread (up to
+   * {@link #getCorePoolSize()}) when subtasks are waiting in the queue and the CPU has headroom.
+   */
+  public final synchronized void adjustThreadNumber(
+      final double processCpuLoad, final double cpuThreshold) {
+    if (!isElastic || isShutdown()) {
+      return;
+    }
+
+    final int currentCorePoolSize = underlyingThreadPool.getCorePoolSize();
+    if (processCpuLoad > cpuThreshold) {
+      if (currentCorePoolSize > 1) {
+        resizeThreadPool(currentCorePoolSize - 1);
+        LOGGER.info(
+            "Process CPU load {} exceeds {}, pool size of {} is decreased to {}.",
+            processCpuLoad,
+            cpuThreshold,
+            workingThreadName,
+            currentCorePoolSize - 1);
+      }
+    } else if (!underlyingThreadPool.getQueue().isEmpty() && currentCorePoolSize < corePoolSize) {
+      resizeThreadPool(currentCorePoolSize + 1);
+      LOGGER.info(
+          "{} subtasks are waiting, pool size of {} is increased to {}.",
+          underlyingThreadPool.getQueue().size(),
+          workingThreadName,
+          currentCorePoolSize + 1);
+    }
+  }
+
+  /**
+   * Both the core and the maximum size are changed: a worker only retires after its current task
+   * when the pool exceeds the maximum size, otherwise it keeps taking the queued subtasks. The core
+   * size never exceeds the maximum size in between.
+   */
+  private void resizeThreadPool(final int newPoolSize) {
+    if (newPoolSize > underlyingThreadPool.getMaximumPoolSize()) {
+      underlyingThreadPool.setMaximumPoolSize(newPoolSize);
+      underlyingThreadPool.setCorePoolSize(newPoolSize);
+    } else {
+      underlyingThreadPool.setCorePoolSize(newPoolSize);
+      underlyingThreadPool.setMaximumPoolSize(newPoolSize);
+    }
+  }
+
+  public final int getCurrentCorePoolSize() {
+    return underlyingThreadPool.getCorePoolSize();
+  }
+
+  public final int getCurrentThreadNumber() {
+    return underlyingThreadPool.getPoolSize();
+  }
+
+  @TestOnly
+  public final int getActiveThreadNumber() {
+    return underlyingThreadPool.getActiveCount();
+  }
+
+  private static double getProcessCpuLoad() {
+    final OperatingSystemMXBean osMxBean = ManagementFactory.getOperatingSystemMXBean();
+    if (osMxBean instanceof com.sun.management.OperatingSystemMXBean) {
+      // negative if the load is not available yet
+      return Math.max(0, ((com.sun.management.OperatingSystemMXBean) osMxBean).getProcessCpuLoad());
+    }
+    return 0;
+  }
+
   public final int getRunningSubtaskNumber() {
     return runningSubtaskNumber;
   }
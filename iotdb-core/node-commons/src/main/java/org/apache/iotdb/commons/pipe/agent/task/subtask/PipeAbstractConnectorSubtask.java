@@ -58,6 +58,9 @@ public abstract class PipeAbstractConnectorSubtask extends PipeReportableSubtask
   @SuppressWarnings("java:S3077")
   protected volatile Event lastExceptionEvent;
 
+  // The time when the subtask was last submitted, used to measure how long it waits in the queue
+  private volatile long lastSubmitTimeInNanos = -1;
+
   protected PipeAbstractConnectorSubtask(
       final String taskID, final long creationTime, final PipeConnector outputPipeConnector) {
     super(taskID, creationTime);
@@ -237,11 +240,26 @@ public abstract class PipeAbstractConnectorSubtask extends PipeReportableSubtask
       return;
     }
 
+    lastSubmitTimeInNanos = System.nanoTime();
     final ListenableFuture<Boolean> nextFuture = subtaskWorkerThreadPoolExecutor.submit(this);
     registerCallbackHookAfterSubmit(nextFuture);
     isSubmitted = true;
   }
 
+  @Override
+  public Boolean call() throws Exception {
+    final long submitTimeInNanos = lastSubmitTimeInNanos;
+    if (submitTimeInNanos > 0) {
+      recordScheduleLatency(System.nanoTime() - submitTimeInNanos);
+    }
+    return super.call();
+  }
+
+  /** Called with the time this subtask waited in the executor queue before running. */
+  protected void recordScheduleLatency(final long latencyInNanos) {
+    // Do nothing by default
+  }
+
   protected void registerCallbackHookAfterSubmit(final ListenableFuture<Boolean> future) {
     Futures.addCallback(future, this, subtaskCallbackListeningExecutor);
   }
@@ -127,6 +127,18 @@ public class PipeConfig {
     return COMMON_CONFIG.getPipeSubtaskExecutorMaxThreadNum();
   }
 
+  public boolean isPipeSubtaskExecutorElasticEnabled() {
+    return COMMON_CONFIG.isPipeSubtaskExecutorElasticEnabled();
+  }
+
+  public double getPipeSubtaskExecutorElasticCpuThreshold() {
+    return COMMON_CONFIG.getPipeSubtaskExecutorElasticCpuThreshold();
+  }
+
+  public long getPipeSubtaskExecutorElasticAdjustIntervalSeconds() {
+    return COMMON_CONFIG.getPipeSubtaskExecutorElasticAdjustIntervalSeconds();
+  }
+
   public int getPipeSubtaskExecutorBasicCheckPointIntervalByConsumedEventCount() {
     return COMMON_CONFIG.getPipeSubtaskExecutorBasicCheckPointIntervalByConsumedEventCount();
   }
@@ -139,6 +151,14 @@ public class PipeConfig {
     return COMMON_CONFIG.getPipeSubtaskExecutorPendingQueueMaxBlockingTimeMs();
   }
 
+  public boolean isPipeConnectorPendingQueueSpillEnabled() {
+    return COMMON_CONFIG.isPipeConnectorPendingQueueSpillEnabled();
+  }
+
+  public int getPipeConnectorPendingQueueSpillThreshold() {
+    return COMMON_CONFIG.getPipeConnectorPendingQueueSpillThreshold();
+  }
+
   public long getPipeSubtaskExecutorCronHeartbeatEventIntervalSeconds() {
     return COMMON_CONFIG.getPipeSubtaskExecutorCronHeartbeatEventIntervalSeconds();
   }
@@ -329,6 +349,14 @@ public class PipeConfig {
     return COMMON_CONFIG.getPipeReceiverActualToEstimatedMemoryRatio();
   }
 
+  public boolean isPipeReceiverParallelApplyEnabled() {
+    return COMMON_CONFIG.isPipeReceiverParallelApplyEnabled();
+  }
+
+  public int getPipeReceiverParallelApplyThreadCount() {
+    return COMMON_CONFIG.getPipeReceiverParallelApplyThreadCount();
+  }
+
   /////////////////////////////// Hybrid Mode ///////////////////////////////
 
   public int getPipeMaxAllowedHistoricalTsFilePerDataRegion() {
@@ -500,6 +528,12 @@ public class PipeConfig {
         getPipeRealTimeQueuePollHistoricalTsFileThreshold());
 
     LOGGER.info("PipeSubtaskExecutorMaxThreadNum: {}", getPipeSubtaskExecutorMaxThreadNum());
+    LOGGER.info("PipeSubtaskExecutorElasticEnabled: {}", isPipeSubtaskExecutorElasticEnabled());
+    LOGGER.info(
+        "PipeSubtaskExecutorElasticCpuThreshold: {}", getPipeSubtaskExecutorElasticCpuThreshold());
+    LOGGER.info(
+        "PipeSubtaskExecutorElasticAdjustIntervalSeconds: {}",
+        getPipeSubtaskExecutorElasticAdjustIntervalSeconds());
     LOGGER.info(
         "PipeSubtaskExecutorBasicCheckPointIntervalByConsumedEventCount: {}",
         getPipeSubtaskExecutorBasicCheckPointIntervalByConsumedEventCount());
@@ -509,6 +543,11 @@ public class PipeConfig {
     LOGGER.info(
         "PipeSubtaskExecutorPendingQueueMaxBlockingTimeMs: {}",
         getPipeSubtaskExecutorPendingQueueMaxBlockingTimeMs());
+    LOGGER.info(
+        "PipeConnectorPendingQueueSpillEnabled: {}", isPipeConnectorPendingQueueSpillEnabled());
+    LOGGER.info(
+        "PipeConnectorPendingQueueSpillThreshold: {}",
+        getPipeConnectorPendingQueueSpillThreshold());
     LOGGER.info(
         "PipeSubtaskExecutorCronHeartbeatEventIntervalSeconds: {}",
         getPipeSubtaskExecutorCronHeartbeatEventIntervalSeconds());
@@ -613,6 +652,9 @@ public class PipeConfig {
     LOGGER.info(
         "PipeReceiverActualToEstimatedMemoryRatio: {}",
         getPipeReceiverActualToEstimatedMemoryRatio());
+    LOGGER.info("PipeReceiverParallelApplyEnabled: {}", isPipeReceiverParallelApplyEnabled());
+    LOGGER.info(
+        "PipeReceiverParallelApplyThreadCount: {}", getPipeReceiverParallelApplyThreadCount());
 
     LOGGER.info(
         "PipeMaxAllowedHistoricalTsFilePerDataRegion: {}",
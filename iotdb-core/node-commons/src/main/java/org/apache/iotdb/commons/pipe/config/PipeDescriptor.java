@@ -64,6 +64,21 @@ public class PipeDescriptor {
     if (pipeSubtaskExecutorMaxThreadNum > 0) {
       config.setPipeSubtaskExecutorMaxThreadNum(pipeSubtaskExecutorMaxThreadNum);
     }
+    config.setPipeSubtaskExecutorElasticEnabled(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "pipe_subtask_executor_elastic_enabled",
+                Boolean.toString(config.isPipeSubtaskExecutorElasticEnabled()))));
+    config.setPipeSubtaskExecutorElasticCpuThreshold(
+        Double.parseDouble(
+            properties.getProperty(
+                "pipe_subtask_executor_elastic_cpu_threshold",
+                Double.toString(config.getPipeSubtaskExecutorElasticCpuThreshold()))));
+    config.setPipeSubtaskExecutorElasticAdjustIntervalSeconds(
+        Long.parseLong(
+            properties.getProperty(
+                "pipe_subtask_executor_elastic_adjust_interval_seconds",
+                Long.toString(config.getPipeSubtaskExecutorElasticAdjustIntervalSeconds()))));
 
     config.setPipeSubtaskExecutorCronHeartbeatEventIntervalSeconds(
         Long.parseLong(
@@ -304,6 +319,16 @@ public class PipeDescriptor {
             properties.getProperty(
                 "pipe_subtask_executor_pending_queue_max_blocking_time_ms",
                 String.valueOf(config.getPipeSubtaskExecutorPendingQueueMaxBlockingTimeMs()))));
+    config.setPipeConnectorPendingQueueSpillEnabled(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "pipe_connector_pending_queue_spill_enabled",
+                String.valueOf(config.isPipeConnectorPendingQueueSpillEnabled()))));
+    config.setPipeConnectorPendingQueueSpillThreshold(
+        Integer.parseInt(
+            properties.getProperty(
+                "pipe_connector_pending_queue_spill_threshold",
+                String.valueOf(config.getPipeConnectorPendingQueueSpillThreshold()))));
     config.setPipeSubtaskExecutorForcedRestartIntervalMs(
         Long.parseLong(
             properties.getProperty(
@@ -435,6 +460,16 @@ public class PipeDescriptor {
             properties.getProperty(
                 "pipe_receiver_actual_to_estimated_memory_ratio",
                 Double.toString(config.getPipeReceiverActualToEstimatedMemoryRatio()))));
+    config.setPipeReceiverParallelApplyEnabled(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "pipe_receiver_parallel_apply_enabled",
+                Boolean.toString(config.isPipeReceiverParallelApplyEnabled()))));
+    config.setPipeReceiverParallelApplyThreadCount(
+        Integer.parseInt(
+            properties.getProperty(
+                "pipe_receiver_parallel_apply_thread_count",
+                Integer.toString(config.getPipeReceiverParallelApplyThreadCount()))));
 
     config.setPipeMaxAllowedHistoricalTsFilePerDataRegion(
         Integer.parseInt(
@@ -54,6 +54,11 @@ public class PipeConnectorConstant {
   public static final String SINK_IOTDB_PARALLEL_TASKS_KEY = "sink.parallel.tasks";
   public static final int CONNECTOR_IOTDB_PARALLEL_TASKS_DEFAULT_VALUE =
       PipeConfig.getInstance().getPipeSubtaskExecutorMaxThreadNum();
+  public static final String CONNECTOR_IOTDB_PARALLEL_TASKS_SHARD_BY_DEVICE_KEY =
+      "connector.parallel.tasks.shard-by-device";
+  public static final String SINK_IOTDB_PARALLEL_TASKS_SHARD_BY_DEVICE_KEY =
+      "sink.parallel.tasks.shard-by-device";
+  public static final boolean CONNECTOR_IOTDB_PARALLEL_TASKS_SHARD_BY_DEVICE_DEFAULT_VALUE = false;
 
   public static final String CONNECTOR_REALTIME_FIRST_KEY = "connector.realtime-first";
   public static final String SINK_REALTIME_FIRST_KEY = "sink.realtime-first";
@@ -78,6 +83,22 @@ public class PipeConnectorConstant {
   public static final long CONNECTOR_IOTDB_PLAIN_BATCH_SIZE_DEFAULT_VALUE = MB;
   public static final long CONNECTOR_IOTDB_TS_FILE_BATCH_SIZE_DEFAULT_VALUE = 2 * MB;
 
+  public static final String CONNECTOR_IOTDB_BATCH_ENCODING_ENABLE_KEY =
+      "connector.batch.encoding.enable";
+  public static final String SINK_IOTDB_BATCH_ENCODING_ENABLE_KEY = "sink.batch.encoding.enable";
+  public static final boolean CONNECTOR_IOTDB_BATCH_ENCODING_ENABLE_DEFAULT_VALUE = false;
+
+  public static final String CONNECTOR_IOTDB_BATCH_ADAPTIVE_ENABLE_KEY =
+      "connector.batch.adaptive.enable";
+  public static final String SINK_IOTDB_BATCH_ADAPTIVE_ENABLE_KEY = "sink.batch.adaptive.enable";
+  public static final boolean CONNECTOR_IOTDB_BATCH_ADAPTIVE_ENABLE_DEFAULT_VALUE = false;
+
+  public static final String CONNECTOR_IOTDB_BATCH_ADAPTIVE_TARGET_RTT_MS_KEY =
+      "connector.batch.adaptive.target-rtt-ms";
+  public static final String SINK_IOTDB_BATCH_ADAPTIVE_TARGET_RTT_MS_KEY =
+      "sink.batch.adaptive.target-rtt-ms";
+  public static final long CONNECTOR_IOTDB_BATCH_ADAPTIVE_TARGET_RTT_MS_DEFAULT_VALUE = 500;
+
   public static final String CONNECTOR_IOTDB_USER_KEY = "connector.user";
   public static final String SINK_IOTDB_USER_KEY = "sink.user";
   public static final String CONNECTOR_IOTDB_USERNAME_KEY = "connector.username";
@@ -21,12 +21,17 @@ package org.apache.iotdb.commons.pipe.connector.client;
 
 import org.apache.iotdb.common.rpc.thrift.TEndPoint;
 import org.apache.iotdb.commons.pipe.config.PipeConfig;
+import org.apache.iotdb.commons.pipe.connector.payload.thrift.common.PipeTransferHandshakeConstant;
+import org.apache.iotdb.service.rpc.thrift.TPipeTransferResp;
 
+import org.apache.tsfile.utils.ReadWriteIOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.SocketTimeoutException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -53,6 +58,12 @@ public abstract class IoTDBClientManager {
   // it is a DataNode receiver. The flag is useless for configNode receiver.
   protected boolean supportModsIfIsDataNodeReceiver = true;
 
+  // Whether each handshaked receiver accepts tablet batches in the encoded format. A receiver
+  // accepts it only by echoing the format in its handshake response, so that the old receivers and
+  // the configNode receivers always get the plain format.
+  private final Map<TEndPoint, Boolean> endPoint2SupportEncodedTabletBatch =
+      new ConcurrentHashMap<>();
+
   private static final int MAX_CONNECTION_TIMEOUT_MS = 24 * 60 * 60 * 1000; // 1 day
   private static final int FIRST_ADJUSTMENT_TIMEOUT_MS = 6 * 60 * 60 * 1000; // 6 hours
   protected static final AtomicInteger CONNECTION_TIMEOUT_MS =
@@ -85,6 +96,44 @@ public abstract class IoTDBClientManager {
     return supportModsIfIsDataNodeReceiver;
   }
 
+  /**
+   * @return {@code true} if all the handshaked receivers accept tablet batches in the encoded
+   *     format
+   */
+  public boolean supportEncodedTabletBatch() {
+    return !endPoint2SupportEncodedTabletBatch.isEmpty()
+        && !endPoint2SupportEncodedTabletBatch.containsValue(false);
+  }
+
+  protected void updateEncodedTabletBatchSupport(
+      final TEndPoint endPoint, final TPipeTransferResp resp) {
+    boolean isAccepted = false;
+    if (resp.isSetBody()) {
+      try {
+        isAccepted =
+            Boolean.parseBoolean(
+                ReadWriteIOUtils.readMap(resp.bufferForBody().duplicate())
+                    .get(PipeTransferHandshakeConstant.HANDSHAKE_KEY_ENCODED_TABLET_BATCH));
+      } catch (final Exception e) {
+        LOGGER.warn("Failed to parse the body of handshake response, ignore it.", e);
+      }
+    }
+    endPoint2SupportEncodedTabletBatch.put(endPoint, isAccepted);
+  }
+
+  /**
+   * Forget the encoded tablet batch support of the receiver, called when the receiver is going to
+   * be re-handshaked or dropped, so that a stale answer does not outlive the connection it belongs
+   * to.
+   */
+  protected void clearEncodedTabletBatchSupport(final TEndPoint endPoint) {
+    endPoint2SupportEncodedTabletBatch.remove(endPoint);
+  }
+
+  protected void clearEncodedTabletBatchSupport() {
+    endPoint2SupportEncodedTabletBatch.clear();
+  }
+
   public void adjustTimeoutIfNecessary(Throwable e) {
     do {
       if (e instanceof SocketTimeoutException || e instanceof TimeoutException) {
@@ -151,6 +151,7 @@ public abstract class IoTDBSyncClientManager extends IoTDBClientManager implemen
 
   protected void reconstructClient(TEndPoint endPoint) {
     endPoint2HandshakeErrorMessage.remove(endPoint);
+    clearEncodedTabletBatchSupport(endPoint);
 
     final Pair<IoTDBSyncClient, Boolean> clientAndStatus = endPoint2ClientAndStatus.get(endPoint);
 
@@ -247,6 +248,7 @@ public abstract class IoTDBSyncClientManager extends IoTDBClientManager implemen
             resp.getStatus());
         endPoint2HandshakeErrorMessage.put(client.getEndPoint(), resp.getStatus().getMessage());
       } else {
+        updateEncodedTabletBatchSupport(client.getEndPoint(), resp);
         clientAndStatus.setRight(true);
         client.setTimeout(CONNECTION_TIMEOUT_MS.get());
         LOGGER.info(
@@ -302,6 +304,7 @@ public abstract class IoTDBSyncClientManager extends IoTDBClientManager implemen
             e);
       } finally {
         clientAndStatus.setRight(false);
+        clearEncodedTabletBatchSupport(endPoint);
       }
     }
   }
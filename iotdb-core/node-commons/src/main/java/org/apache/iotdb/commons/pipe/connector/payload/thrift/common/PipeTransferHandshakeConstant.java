@@ -29,6 +29,9 @@ public class PipeTransferHandshakeConstant {
   public static final String HANDSHAKE_KEY_PASSWORD = "password";
   public static final String HANDSHAKE_KEY_VALIDATE_TSFILE = "validateTsFile";
   public static final String HANDSHAKE_KEY_MARK_AS_PIPE_REQUEST = "markAsPipeRequest";
+  // Sent by the sender if it can transfer tablet batches in the encoded format, and echoed in the
+  // body of the handshake response if the receiver accepts the format.
+  public static final String HANDSHAKE_KEY_ENCODED_TABLET_BATCH = "encodedTabletBatch";
 
   private PipeTransferHandshakeConstant() {
     // Utility class
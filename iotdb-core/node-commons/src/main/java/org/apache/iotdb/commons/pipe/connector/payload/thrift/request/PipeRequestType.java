@@ -45,6 +45,7 @@ public enum PipeRequestType {
   TRANSFER_TABLET_RAW_V2((short) 11),
   TRANSFER_TABLET_BINARY_V2((short) 12),
   TRANSFER_TABLET_BATCH_V2((short) 13),
+  TRANSFER_TABLET_BATCH_V3((short) 14),
 
   // Schema region / Delete Data
   TRANSFER_PLAN_NODE((short) 100),
@@ -26,8 +26,10 @@ import org.apache.tsfile.utils.PublicBAOS;
 import org.apache.tsfile.utils.ReadWriteIOUtils;
 
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -36,6 +38,9 @@ public abstract class PipeTransferFilePieceReq extends TPipeTransferReq {
   private transient String fileName;
   private transient long startWritingOffset;
   private transient byte[] filePiece;
+  // A view of the file piece in the body, so that the piece can be written to or read from a file
+  // channel without copying it into a separate array
+  private transient ByteBuffer filePieceBuffer;
 
   public final String getFileName() {
     return fileName;
@@ -46,9 +51,21 @@ public abstract class PipeTransferFilePieceReq extends TPipeTransferReq {
   }
 
   public final byte[] getFilePiece() {
+    if (filePiece == null && filePieceBuffer != null) {
+      final ByteBuffer buffer = filePieceBuffer.duplicate();
+      filePiece = new byte[buffer.remaining()];
+      buffer.get(filePiece);
+    }
     return filePiece;
   }
 
+  /**
+   * @return a view of the file piece, whose position and limit are independent of the request
+   */
+  public final ByteBuffer getFilePieceBuffer() {
+    return filePieceBuffer.duplicate();
+  }
+
   protected abstract PipeRequestType getPlanType();
 
   /////////////////////////////// Thrift ///////////////////////////////
@@ -59,6 +76,7 @@ public abstract class PipeTransferFilePieceReq extends TPipeTransferReq {
     this.fileName = snapshotName;
     this.startWritingOffset = startWritingOffset;
     this.filePiece = snapshotPiece;
+    this.filePieceBuffer = ByteBuffer.wrap(snapshotPiece);
 
     this.version = IoTDBConnectorRequestVersion.VERSION_1.getVersion();
     this.type = getPlanType().getType();
@@ -73,12 +91,61 @@ public abstract class PipeTransferFilePieceReq extends TPipeTransferReq {
     return this;
   }
 
+  /**
+   * Read the piece [startWritingOffset, startWritingOffset + pieceLength) of the file directly into
+   * an exactly sized body, without the intermediate read buffer and output stream.
+   */
+  protected final PipeTransferFilePieceReq convertToTPipeTransferReq(
+      final String fileName,
+      final long startWritingOffset,
+      final FileChannel fileChannel,
+      final int pieceLength)
+      throws IOException {
+    this.fileName = fileName;
+    this.startWritingOffset = startWritingOffset;
+
+    this.version = IoTDBConnectorRequestVersion.VERSION_1.getVersion();
+    this.type = getPlanType().getType();
+    try (final PublicBAOS byteArrayOutputStream = new PublicBAOS();
+        final DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream)) {
+      ReadWriteIOUtils.write(fileName, outputStream);
+      ReadWriteIOUtils.write(startWritingOffset, outputStream);
+      ReadWriteIOUtils.write(pieceLength, outputStream);
+
+      final int headerLength = byteArrayOutputStream.size();
+      final byte[] bodyBytes = new byte[headerLength + pieceLength];
+      System.arraycopy(byteArrayOutputStream.getBuf(), 0, bodyBytes, 0, headerLength);
+
+      final ByteBuffer pieceBuffer = ByteBuffer.wrap(bodyBytes, headerLength, pieceLength);
+      long readPosition = startWritingOffset;
+      while (pieceBuffer.hasRemaining()) {
+        final int readLength = fileChannel.read(pieceBuffer, readPosition);
+        if (readLength < 0) {
+          throw new EOFException(
+              String.format(
+                  "Reached the end of file %s at %s before reading %s bytes from %s.",
+                  fileName, readPosition, pieceLength, startWritingOffset));
+        }
+        readPosition += readLength;
+      }
+
+      filePieceBuffer = ByteBuffer.wrap(bodyBytes, headerLength, pieceLength).slice();
+      body = ByteBuffer.wrap(bodyBytes);
+    }
+
+    return this;
+  }
+
   protected final PipeTransferFilePieceReq translateFromTPipeTransferReq(
       TPipeTransferReq transferReq) {
 
     fileName = ReadWriteIOUtils.readString(transferReq.body);
     startWritingOffset = ReadWriteIOUtils.readLong(transferReq.body);
-    filePiece = ReadWriteIOUtils.readBinary(transferReq.body).getValues();
+    // The file piece is not copied out of the body, the receiver writes the view to disk directly
+    final int pieceLength = ReadWriteIOUtils.readInt(transferReq.body);
+    filePieceBuffer = transferReq.body.slice();
+    filePieceBuffer.limit(pieceLength);
+    transferReq.body.position(transferReq.body.position() + pieceLength);
 
     version = transferReq.version;
     type = transferReq.type;
@@ -115,7 +182,7 @@ public abstract class PipeTransferFilePieceReq extends TPipeTransferReq {
     PipeTransferFilePieceReq that = (PipeTransferFilePieceReq) obj;
     return fileName.equals(that.fileName)
         && startWritingOffset == that.startWritingOffset
-        && Arrays.equals(filePiece, that.filePiece)
+        && Arrays.equals(getFilePiece(), that.getFilePiece())
         && version == that.version
         && type == that.type
         && body.equals(that.body);
@@ -124,6 +191,6 @@ public abstract class PipeTransferFilePieceReq extends TPipeTransferReq {
   @Override
   public int hashCode() {
     return Objects.hash(
-        fileName, startWritingOffset, Arrays.hashCode(filePiece), version, type, body);
+        fileName, startWritingOffset, Arrays.hashCode(getFilePiece()), version, type, body);
   }
 }
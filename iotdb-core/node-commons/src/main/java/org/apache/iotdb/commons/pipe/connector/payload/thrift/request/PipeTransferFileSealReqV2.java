@@ -38,6 +38,11 @@ public abstract class PipeTransferFileSealReqV2 extends TPipeTransferReq {
   public static final String DATABASE_PATTERN = "database_pattern";
   public static final String TREE = "tree";
   public static final String TABLE = "table";
+  // The CRC32 checksum of a file computed by the sender, verified by the receiver if present
+  protected static final String FILE_CHECKSUM_KEY_PREFIX = "FILE_CHECKSUM_";
+  // The checksum of a file whose pieces are not read sequentially by the sender, e.g., after an
+  // offset reset, and will not be sent to the receiver
+  public static final long UNKNOWN_FILE_CHECKSUM = -1;
   protected transient List<String> fileNames;
   protected transient List<Long> fileLengths;
   protected transient Map<String, String> parameters;
@@ -54,6 +59,27 @@ public abstract class PipeTransferFileSealReqV2 extends TPipeTransferReq {
     return parameters;
   }
 
+  /**
+   * @return the checksum of the file sent by the sender, or {@link #UNKNOWN_FILE_CHECKSUM} if
+   *     absent
+   */
+  public final long getFileChecksum(final String fileName) {
+    final String checksum =
+        Objects.nonNull(parameters) ? parameters.get(generateFileChecksumKey(fileName)) : null;
+    return Objects.nonNull(checksum) ? Long.parseLong(checksum) : UNKNOWN_FILE_CHECKSUM;
+  }
+
+  protected static String generateFileChecksumKey(final String fileName) {
+    return FILE_CHECKSUM_KEY_PREFIX + fileName;
+  }
+
+  protected static void putFileChecksumIfKnown(
+      final Map<String, String> parameters, final String fileName, final long checksum) {
+    if (checksum != UNKNOWN_FILE_CHECKSUM) {
+      parameters.put(generateFileChecksumKey(fileName), String.valueOf(checksum));
+    }
+  }
+
   protected abstract PipeRequestType getPlanType();
 
   /////////////////////////////// Thrift ///////////////////////////////
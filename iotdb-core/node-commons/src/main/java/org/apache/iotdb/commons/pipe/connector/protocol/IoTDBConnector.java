@@ -178,6 +178,8 @@ public abstract class IoTDBConnector implements PipeConnector {
 
   private final AtomicLong totalUncompressedSize = new AtomicLong(0);
   private final AtomicLong totalCompressedSize = new AtomicLong(0);
+  private final AtomicLong totalTabletBatchRawSize = new AtomicLong(0);
+  private final AtomicLong totalTabletBatchEncodedSize = new AtomicLong(0);
   protected String attributeSortedString;
   protected Timer compressionTimer;
 
@@ -592,6 +594,25 @@ public abstract class IoTDBConnector implements PipeConnector {
     return totalUncompressedSize.get();
   }
 
+  /**
+   * Record the size of an encoded tablet batch.
+   *
+   * @param rawSize the size of the tablets in the plain layout
+   * @param encodedSize the size of the tablets after encoding and compression
+   */
+  public void recordTabletBatchEncoding(final long rawSize, final long encodedSize) {
+    totalTabletBatchRawSize.addAndGet(rawSize);
+    totalTabletBatchEncodedSize.addAndGet(encodedSize);
+  }
+
+  public long getTotalTabletBatchRawSize() {
+    return totalTabletBatchRawSize.get();
+  }
+
+  public long getTotalTabletBatchEncodedSize() {
+    return totalTabletBatchEncodedSize.get();
+  }
+
   public void rateLimitIfNeeded(
       final String pipeName,
       final long creationTime,
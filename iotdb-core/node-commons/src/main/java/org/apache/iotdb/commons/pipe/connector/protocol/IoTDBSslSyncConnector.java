@@ -25,6 +25,7 @@ import org.apache.iotdb.commons.pipe.config.PipeConfig;
 import org.apache.iotdb.commons.pipe.connector.client.IoTDBSyncClient;
 import org.apache.iotdb.commons.pipe.connector.client.IoTDBSyncClientManager;
 import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.PipeTransferFilePieceReq;
+import org.apache.iotdb.commons.pipe.connector.payload.thrift.request.PipeTransferFileSealReqV2;
 import org.apache.iotdb.commons.pipe.connector.payload.thrift.response.PipeTransferFilePieceResp;
 import org.apache.iotdb.pipe.api.annotation.TableModel;
 import org.apache.iotdb.pipe.api.annotation.TreeModel;
@@ -41,12 +42,16 @@ import org.apache.tsfile.utils.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.CRC32;
 
 import static org.apache.iotdb.commons.pipe.agent.plugin.builtin.BuiltinPipePlugin.IOTDB_THRIFT_CONNECTOR;
 import static org.apache.iotdb.commons.pipe.agent.plugin.builtin.BuiltinPipePlugin.IOTDB_THRIFT_SSL_CONNECTOR;
@@ -168,33 +173,35 @@ public abstract class IoTDBSslSyncConnector extends IoTDBConnector {
     }
   }
 
-  protected void transferFilePieces(
+  /**
+   * Transfer the pieces of the file. The pieces are read from the file channel into the request
+   * bodies directly.
+   *
+   * @return the CRC32 checksum of the file, or {@link
+   *     PipeTransferFileSealReqV2#UNKNOWN_FILE_CHECKSUM} if the receiver reset the offset
+   */
+  protected long transferFilePieces(
       final Map<Pair<String, Long>, Double> pipe2WeightMap,
       final File file,
       final Pair<IoTDBSyncClient, Boolean> clientAndStatus,
       final boolean isMultiFile)
       throws PipeException, IOException {
     final int readFileBufferSize = PipeConfig.getInstance().getPipeConnectorReadFileBufferSize();
-    final byte[] readBuffer = new byte[readFileBufferSize];
+    final CRC32 checksum = new CRC32();
+    boolean isChecksumKnown = true;
     long position = 0;
-    try (final RandomAccessFile reader = new RandomAccessFile(file, "r")) {
-      while (true) {
-        final int readLength = reader.read(readBuffer);
-        if (readLength == -1) {
-          break;
-        }
+    try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      while (position < channel.size()) {
+        final int readLength = (int) Math.min(readFileBufferSize, channel.size() - position);
 
-        final byte[] payLoad =
-            readLength == readFileBufferSize
-                ? readBuffer
-                : Arrays.copyOfRange(readBuffer, 0, readLength);
         final PipeTransferFilePieceResp resp;
         try {
-          final TPipeTransferReq req =
-              compressIfNeeded(
-                  isMultiFile
-                      ? getTransferMultiFilePieceReq(file.getName(), position, payLoad)
-                      : getTransferSingleFilePieceReq(file.getName(), position, payLoad));
+          final PipeTransferFilePieceReq pieceReq =
+              isMultiFile
+                  ? getTransferMultiFilePieceReq(file.getName(), position, channel, readLength)
+                  : getTransferSingleFilePieceReq(file.getName(), position, channel, readLength);
+          checksum.update(pieceReq.getFilePieceBuffer());
+          final TPipeTransferReq req = compressIfNeeded(pieceReq);
           pipe2WeightMap.forEach(
               (namePair, weight) ->
                   rateLimitIfNeeded(
@@ -220,7 +227,8 @@ public abstract class IoTDBSslSyncConnector extends IoTDBConnector {
         // to the receiver, then the receiver will redirect the file position to the last position
         if (status.getCode() == TSStatusCode.PIPE_TRANSFER_FILE_OFFSET_RESET.getStatusCode()) {
           position = resp.getEndWritingOffset();
-          reader.seek(position);
+          // The pieces are not read sequentially any more
+          isChecksumKnown = false;
           LOGGER.info("Redirect file position to {}.", position);
           continue;
         }
@@ -240,6 +248,37 @@ public abstract class IoTDBSslSyncConnector extends IoTDBConnector {
         }
       }
     }
+    return isChecksumKnown ? checksum.getValue() : PipeTransferFileSealReqV2.UNKNOWN_FILE_CHECKSUM;
+  }
+
+  /**
+   * Construct the piece request from the file channel. The default implementation reads the piece
+   * into a separate array, subclasses may read it into the request body directly.
+   */
+  protected PipeTransferFilePieceReq getTransferSingleFilePieceReq(
+      final String fileName, final long position, final FileChannel channel, final int readLength)
+      throws IOException {
+    return getTransferSingleFilePieceReq(
+        fileName, position, readFilePiece(channel, position, readLength));
+  }
+
+  protected PipeTransferFilePieceReq getTransferMultiFilePieceReq(
+      final String fileName, final long position, final FileChannel channel, final int readLength)
+      throws IOException {
+    return getTransferMultiFilePieceReq(
+        fileName, position, readFilePiece(channel, position, readLength));
+  }
+
+  private static byte[] readFilePiece(
+      final FileChannel channel, final long position, final int readLength) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(readLength);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException(
+            String.format("Reached the end of file before reading %s bytes.", readLength));
+      }
+    }
+    return buffer.array();
   }
 
   protected abstract PipeTransferFilePieceReq getTransferSingleFilePieceReq(
@@ -47,12 +47,16 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_EXCEPTION_DATA_CONVERT_ON_TYPE_MISMATCH_DEFAULT_VALUE;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeConnectorConstant.CONNECTOR_IOTDB_PASSWORD_DEFAULT_VALUE;
@@ -78,6 +82,8 @@ public abstract class IoTDBFileReceiver implements IoTDBReceiver {
 
   private static final PipeConfig PIPE_CONFIG = PipeConfig.getInstance();
 
+  private static final int CHECKSUM_READ_BUFFER_SIZE = 64 * 1024;
+
   private File writingFile;
   private RandomAccessFile writingFileWriter;
 
@@ -379,7 +385,13 @@ public abstract class IoTDBFileReceiver implements IoTDBReceiver {
         return PipeTransferFilePieceResp.toTPipeTransferResp(status, writingFileWriter.length());
       }
 
-      writingFileWriter.write(req.getFilePiece());
+      // Write the piece from the request body to the file directly, the channel shares the
+      // position with the writer
+      final ByteBuffer filePieceBuffer = req.getFilePieceBuffer();
+      final FileChannel writingFileChannel = writingFileWriter.getChannel();
+      while (filePieceBuffer.hasRemaining()) {
+        writingFileChannel.write(filePieceBuffer);
+      }
       return PipeTransferFilePieceResp.toTPipeTransferResp(
           RpcUtils.SUCCESS_STATUS, writingFileWriter.length());
     } catch (final Exception e) {
@@ -636,6 +648,19 @@ public abstract class IoTDBFileReceiver implements IoTDBReceiver {
         }
       }
 
+      // The files are deleted in the finally block if any checksum mismatches, then all of them
+      // will be retransmitted by the sender
+      for (int i = 0; i < fileNames.size(); ++i) {
+        if (Objects.nonNull(fileNames.get(i))) {
+          final TPipeTransferResp resp =
+              checkFileChecksum(
+                  files.get(i), fileNames.get(i), req.getFileChecksum(fileNames.get(i)));
+          if (Objects.nonNull(resp)) {
+            return resp;
+          }
+        }
+      }
+
       // Sync here is necessary to ensure that the data is written to the disk. Or data region may
       // load the file before the data is written to the disk and cause unexpected behavior after
       // system restart. (e.g., empty file in data region's data directory)
@@ -763,6 +788,43 @@ public abstract class IoTDBFileReceiver implements IoTDBReceiver {
     return null;
   }
 
+  private TPipeTransferResp checkFileChecksum(
+      final File file, final String fileName, final long expectedChecksum) throws IOException {
+    if (expectedChecksum == PipeTransferFileSealReqV2.UNKNOWN_FILE_CHECKSUM) {
+      return null;
+    }
+
+    final CRC32 checksum = new CRC32();
+    try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      final ByteBuffer buffer = ByteBuffer.allocate(CHECKSUM_READ_BUFFER_SIZE);
+      while (channel.read(buffer) >= 0) {
+        buffer.flip();
+        checksum.update(buffer);
+        buffer.clear();
+      }
+    }
+
+    if (expectedChecksum != checksum.getValue()) {
+      final TSStatus status =
+          RpcUtils.getStatus(
+              TSStatusCode.PIPE_TRANSFER_FILE_ERROR,
+              String.format(
+                  "Failed to seal file %s, because the checksum of file is not correct. "
+                      + "The original file has checksum %s, but receiver file has checksum %s.",
+                  fileName, expectedChecksum, checksum.getValue()));
+      LOGGER.warn(
+          "Receiver id = {}: Failed to seal file {}, because the checksum of file is not correct. "
+              + "The original file has checksum {}, but receiver file has checksum {}.",
+          receiverId.get(),
+          fileName,
+          expectedChecksum,
+          checksum.getValue());
+      return new TPipeTransferResp(status);
+    }
+
+    return null;
+  }
+
   private boolean isWritingFileAvailable() {
     final boolean isWritingFileAvailable =
         writingFile != null && writingFile.exists() && writingFileWriter != null;
@@ -62,6 +62,9 @@ public enum Metric {
   PIPE_RECEIVE_EVENT("pipe_receive_event"),
   RATIS_CONSENSUS_WRITE("ratis_consensus_write"),
   RATIS_CONSENSUS_READ("ratis_consensus_read"),
+  RATIS_CONSENSUS_LINEARIZABLE_READ("ratis_consensus_linearizable_read"),
+  RATIS_CONSENSUS_APPLY("ratis_consensus_apply"),
+  RATIS_CONSENSUS_APPLY_BATCH_SIZE("ratis_consensus_apply_batch_size"),
   // storage engine related
   POINTS("points"),
   POINTS_IN("points_in"),
@@ -146,11 +149,18 @@ public enum Metric {
   UNTRANSFERRED_TSFILE_COUNT("untransferred_tsfile_count"),
   UNTRANSFERRED_HEARTBEAT_COUNT("untransferred_heartbeat_count"),
   PIPE_CONNECTOR_BATCH_SIZE("pipe_connector_batch_size"),
+  PIPE_CONNECTOR_ADAPTIVE_BATCH_SIZE("pipe_connector_adaptive_batch_size"),
+  PIPE_CONNECTOR_ADAPTIVE_BATCH_DELAY("pipe_connector_adaptive_batch_delay"),
+  PIPE_CONNECTOR_SCHEDULE_LATENCY("pipe_connector_schedule_latency"),
   PIPE_PENDING_HANDLERS_SIZE("pipe_pending_handlers_size"),
   PIPE_TOTAL_UNCOMPRESSED_SIZE("pipe_total_uncompressed_size"),
   PIPE_TOTAL_COMPRESSED_SIZE("pipe_total_compressed_size"),
   PIPE_COMPRESSION_TIME("pipe_compression_time"),
+  PIPE_TOTAL_TABLET_BATCH_RAW_SIZE("pipe_total_tablet_batch_raw_size"),
+  PIPE_TOTAL_TABLET_BATCH_ENCODED_SIZE("pipe_total_tablet_batch_encoded_size"),
   PIPE_DATANODE_RECEIVER("pipe_datanode_receiver"),
+  PIPE_DATANODE_RECEIVER_PARALLEL_APPLY_QUEUE_DEPTH(
+      "pipe_datanode_receiver_parallel_apply_queue_depth"),
   PIPE_CONFIGNODE_RECEIVER("pipe_confignode_receiver"),
   PIPE_EXTRACTOR_TABLET_SUPPLY("pipe_extractor_tablet_supply"),
   PIPE_EXTRACTOR_TSFILE_SUPPLY("pipe_extractor_tsfile_supply"),
@@ -191,6 +201,7 @@ public enum Metric {
   PIPE_GLOBAL_REMAINING_TIME("pipe_global_remaining_time"),
   PIPE_TSFILE_TO_TABLETS_TIME("pipe_tsfile_to_tablets_time"),
   PIPE_TSFILE_TO_TABLETS_RATE("pipe_tsfile_to_tablets_rate"),
+  PIPE_TSFILE_TO_TABLETS_ROW_RATE("pipe_tsfile_to_tablets_row_rate"),
   // subscription related
   SUBSCRIPTION_UNCOMMITTED_EVENT_COUNT("subscription_uncommitted_event_count"),
   SUBSCRIPTION_CURRENT_COMMIT_ID("subscription_current_commit_id"),
@@ -126,6 +126,23 @@ struct TCleanupTransferredSnapshotRes {
   1: required common.TSStatus status
 }
 
+struct TSnapshotFileDigest {
+  1: required string filePath
+  2: required i64 fileSize
+  3: required i64 checksum
+}
+
+struct TReuseSnapshotFilesReq {
+  1: required common.TConsensusGroupId consensusGroupId
+  2: required string snapshotId
+  3: required list<TSnapshotFileDigest> fileDigests
+}
+
+struct TReuseSnapshotFilesRes {
+  1: required common.TSStatus status
+  2: optional list<string> reusedFilePaths
+}
+
 service IoTConsensusIService {
   TSyncLogEntriesRes syncLogEntries(TSyncLogEntriesReq req)
   TInactivatePeerRes inactivatePeer(TInactivatePeerReq req)
@@ -137,4 +154,5 @@ service IoTConsensusIService {
   TSendSnapshotFragmentRes sendSnapshotFragment(TSendSnapshotFragmentReq req)
   TTriggerSnapshotLoadRes triggerSnapshotLoad(TTriggerSnapshotLoadReq req)
   TCleanupTransferredSnapshotRes cleanupTransferredSnapshot(TCleanupTransferredSnapshotReq req)
+  TReuseSnapshotFilesRes reuseSnapshotFiles(TReuseSnapshotFilesReq req)
 }
\ No newline at end of file
@@ -45,8 +45,17 @@ struct TPipeConsensusBatchTransferReq {
   1:required list<TPipeConsensusTransferReq> batchReqs
 }
 
+// Cumulative acknowledgement: every request of the same reboot and restart round whose replicate
+// index is not larger than syncedCommitId's has been processed by the receiver, except for the
+// sparse skippedReplicateIndexes that were passed over when the receiver's buffer was full
+struct TPipeConsensusAck {
+  1:required TCommitId syncedCommitId
+  2:optional list<i64> skippedReplicateIndexes
+}
+
 struct TPipeConsensusBatchTransferResp {
   1:required list<TPipeConsensusTransferResp> batchResps
+  2:optional TPipeConsensusAck ack
 }
 
 struct TSetActiveReq {
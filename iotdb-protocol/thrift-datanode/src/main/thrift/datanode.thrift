@@ -310,6 +310,13 @@ struct TDataNodeHeartbeatResp {
   14: optional list<bool> pipeCompletedList
   15: optional list<i64> pipeRemainingEventCountList
   16: optional list<double> pipeRemainingTimeList
+  17: optional map<i32, TRegionLoadSample> regionLoadSamples
+}
+
+struct TRegionLoadSample {
+  1: required double writePointsPerSecond
+  2: required double readRequestsPerSecond
+  3: required i64 diskUsage
 }
 
 struct TPipeHeartbeatReq {